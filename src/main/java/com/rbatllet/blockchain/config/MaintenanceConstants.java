@@ -124,6 +124,15 @@ public final class MaintenanceConstants {
      */
     public static final int MAX_ORPHANED_FILES_PER_CLEANUP = 1000;
 
+    /**
+     * Minimum age of a content-addressed blob's last reference update before cleanup may
+     * delete the blob or lower its reference count. A reference is counted before the block
+     * that holds it commits, so younger counts may belong to blocks still being written.
+     *
+     * <p>Default: 5 minutes
+     */
+    public static final long BLOB_REFERENCE_GRACE_PERIOD_MS = 300_000L; // 5 minutes
+
     /**
      * Batch size for orphaned file detection queries.
      * Trades off memory usage vs. query overhead.
@@ -0,0 +1,174 @@
+package com.rbatllet.blockchain.config.util;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.config.util.DatabaseMigrator.Migration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versioned schema migrations for the blockchain tables.
+ *
+ * <p>Databases managed with {@code hbm2ddl.auto="update"} receive these changes from the
+ * entity annotations automatically. Production databases running with
+ * {@code hbm2ddl.auto="validate"} must apply them explicitly with {@link DatabaseMigrator}:</p>
+ *
+ * <pre>{@code
+ * DatabaseMigrator migrator = new DatabaseMigrator(config);
+ * migrator.addMigrations(BlockchainSchemaMigrations.all(config.getDatabaseType()));
+ * MigrationResult result = migrator.migrate();
+ * }</pre>
+ *
+ * @since 1.0.6
+ * @see DatabaseMigrator
+ */
+public final class BlockchainSchemaMigrations {
+
+    /** Index name shared with {@code @Index} on {@link com.rbatllet.blockchain.entity.Block}. */
+    public static final String BLOCKS_HASH_INDEX = "idx_blocks_hash";
+
+    /** Index names shared with {@code @Index} on {@link com.rbatllet.blockchain.entity.Block}. */
+    public static final String BLOCKS_SIGNER_FINGERPRINT_INDEX = "idx_blocks_signer_key_fingerprint";
+    public static final String BLOCKS_RECIPIENT_FINGERPRINT_INDEX = "idx_blocks_recipient_key_fingerprint";
+
+    private BlockchainSchemaMigrations() {
+    }
+
+    /**
+     * All blockchain migrations for the given database, in version order.
+     *
+     * @param databaseType target database
+     * @return migrations to register with {@link DatabaseMigrator#addMigrations(List)}
+     * @throws IllegalArgumentException if databaseType is null
+     */
+    public static List<Migration> all(DatabaseConfig.DatabaseType databaseType) {
+        List<Migration> migrations = new ArrayList<>();
+        migrations.add(blocksHashIndex(databaseType));
+        migrations.addAll(publicKeyDictionary(databaseType));
+        migrations.add(offChainWrappedDataKey(databaseType));
+        migrations.add(blocksPasswordCheckValue(databaseType));
+        return List.copyOf(migrations);
+    }
+
+    /**
+     * V1: index {@code blocks.hash}, used by hash lookups of search results
+     * ({@code getBlockByHash}, {@code existsBlockWithHash}, {@code batchRetrieveBlocksByHash}).
+     *
+     * <p>SQLite, PostgreSQL and H2 use {@code CREATE INDEX IF NOT EXISTS}, so the migration is a
+     * no-op when Hibernate already created the index. MySQL has no conditional form.</p>
+     *
+     * @param databaseType target database
+     * @return the migration
+     * @throws IllegalArgumentException if databaseType is null
+     */
+    public static Migration blocksHashIndex(DatabaseConfig.DatabaseType databaseType) {
+        if (databaseType == null) {
+            throw new IllegalArgumentException("Database type cannot be null");
+        }
+        String sql = databaseType == DatabaseConfig.DatabaseType.MYSQL
+            ? "CREATE INDEX " + BLOCKS_HASH_INDEX + " ON blocks (hash)"
+            : "CREATE INDEX IF NOT EXISTS " + BLOCKS_HASH_INDEX + " ON blocks (hash)";
+        return Migration.builder()
+            .version("V1")
+            .description("Add blocks hash index")
+            .sql(sql)
+            .build();
+    }
+
+    /**
+     * V2-V8: public key dictionary. Signer and recipient keys move from TEXT columns in
+     * {@code blocks} to the {@code public_keys} table, referenced by SHA3-256 fingerprint.
+     *
+     * <ul>
+     *   <li>V2 creates {@code public_keys}</li>
+     *   <li>V3/V4 add {@code blocks.signer_key_fingerprint} / {@code recipient_key_fingerprint}</li>
+     *   <li>V5/V6 index the fingerprint columns</li>
+     *   <li>V7/V8 drop the old indexes on the TEXT key columns</li>
+     * </ul>
+     *
+     * <p>Existing rows are backfilled on the next startup by {@code Blockchain} (the fingerprint
+     * cannot be computed portably in SQL), which also clears the legacy key columns. The empty
+     * columns can then be dropped manually.</p>
+     *
+     * @param databaseType target database
+     * @return migrations in version order
+     * @throws IllegalArgumentException if databaseType is null
+     */
+    public static List<Migration> publicKeyDictionary(DatabaseConfig.DatabaseType databaseType) {
+        if (databaseType == null) {
+            throw new IllegalArgumentException("Database type cannot be null");
+        }
+        boolean mysql = databaseType == DatabaseConfig.DatabaseType.MYSQL;
+        String timestampType = mysql ? "DATETIME(6)" : "TIMESTAMP(6)";
+        String createIndex = mysql ? "CREATE INDEX " : "CREATE INDEX IF NOT EXISTS ";
+
+        return List.of(
+            migration("V2", "Create public key dictionary",
+                "CREATE TABLE IF NOT EXISTS public_keys (" +
+                "fingerprint VARCHAR(64) NOT NULL PRIMARY KEY, " +
+                "public_key TEXT NOT NULL, " +
+                "created_at " + timestampType + " NOT NULL)"),
+            migration("V3", "Add blocks signer key fingerprint",
+                "ALTER TABLE blocks ADD COLUMN signer_key_fingerprint VARCHAR(64)"),
+            migration("V4", "Add blocks recipient key fingerprint",
+                "ALTER TABLE blocks ADD COLUMN recipient_key_fingerprint VARCHAR(64)"),
+            migration("V5", "Add blocks signer key fingerprint index",
+                createIndex + BLOCKS_SIGNER_FINGERPRINT_INDEX + " ON blocks (signer_key_fingerprint)"),
+            migration("V6", "Add blocks recipient key fingerprint index",
+                createIndex + BLOCKS_RECIPIENT_FINGERPRINT_INDEX + " ON blocks (recipient_key_fingerprint)"),
+            migration("V7", "Drop blocks signer public key index",
+                dropIndex(databaseType, "idx_blocks_signer_public_key")),
+            migration("V8", "Drop blocks recipient public key index",
+                dropIndex(databaseType, "idx_blocks_recipient_public_key"))
+        );
+    }
+
+    /**
+     * V9: add {@code off_chain_data.wrappedDataKey}, the per-block wrapped key of a
+     * deduplicated (content-addressed) off-chain blob. Null for per-block files, so existing
+     * rows need no backfill.
+     *
+     * @param databaseType target database
+     * @return the migration
+     * @throws IllegalArgumentException if databaseType is null
+     */
+    public static Migration offChainWrappedDataKey(DatabaseConfig.DatabaseType databaseType) {
+        if (databaseType == null) {
+            throw new IllegalArgumentException("Database type cannot be null");
+        }
+        return migration("V9", "Add off-chain wrapped data key",
+            "ALTER TABLE off_chain_data ADD COLUMN wrappedDataKey VARCHAR(128)");
+    }
+
+    /**
+     * V10: add {@code blocks.password_check_value}, the key check value that matches a password
+     * to a password-encrypted block without decrypting it. Null for older blocks, which are
+     * still matched by trial decryption.
+     *
+     * @param databaseType target database
+     * @return the migration
+     * @throws IllegalArgumentException if databaseType is null
+     */
+    public static Migration blocksPasswordCheckValue(DatabaseConfig.DatabaseType databaseType) {
+        if (databaseType == null) {
+            throw new IllegalArgumentException("Database type cannot be null");
+        }
+        return migration("V10", "Add blocks password check value",
+            "ALTER TABLE blocks ADD COLUMN password_check_value VARCHAR(16)");
+    }
+
+    private static String dropIndex(DatabaseConfig.DatabaseType databaseType, String indexName) {
+        // MySQL indexes are table-scoped and have no IF EXISTS form
+        return databaseType == DatabaseConfig.DatabaseType.MYSQL
+            ? "DROP INDEX " + indexName + " ON blocks"
+            : "DROP INDEX IF EXISTS " + indexName;
+    }
+
+    private static Migration migration(String version, String description, String sql) {
+        return Migration.builder()
+            .version(version)
+            .description(description)
+            .sql(sql)
+            .build();
+    }
+}
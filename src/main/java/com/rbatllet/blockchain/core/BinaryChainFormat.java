@@ -0,0 +1,857 @@
+package com.rbatllet.blockchain.core;
+
+import com.rbatllet.blockchain.entity.AuthorizedKey;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.entity.OffChainData;
+import com.rbatllet.blockchain.entity.PublicKeyEntry;
+import com.rbatllet.blockchain.security.UserRole;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Package-private compact binary chain export format.
+ *
+ * <p>The JSON export repeats every Base64 ML-DSA key and signature in every block. This format
+ * stores the same content as {@link com.rbatllet.blockchain.dto.ChainExportData} with raw
+ * bytes and per-segment compression:</p>
+ * <pre>
+ * file     := MAGIC version:u8 totalBlocks:i64 exportTimestamp segment* END blockCount:i64
+ * segment  := type:u8 rawLength:i32 crc32c:i32 compressedLength:i32 deflate(payload)
+ * payload  := keyCount:i32 key* recordCount:i32 (recordLength:i32 record)*
+ * </pre>
+ * <ul>
+ *   <li>The first segment holds the authorized keys, the following ones up to
+ *       {@link #BLOCKS_PER_SEGMENT} blocks each, in block number order.</li>
+ *   <li>Each segment carries a dictionary of the public keys it references; records refer to
+ *       keys by index. Hashes (hex) and keys and signatures (Base64) are stored as raw bytes;
+ *       values that are not canonical hex/Base64 (e.g. the genesis markers) are kept as text,
+ *       so converting back reproduces the original strings.</li>
+ *   <li>The CRC32C of the uncompressed payload is checked on read. Segments are
+ *       self-contained, so they are encoded and decoded in parallel when an executor is given,
+ *       while records keep file order.</li>
+ *   <li>Segment lengths are capped at {@link #MAX_SEGMENT_LENGTH}; the writer closes a segment
+ *       early once its blocks reach {@link #SEGMENT_SIZE_BUDGET}. Record, field and count
+ *       values can never exceed the bytes left in their segment. Every length is checked
+ *       before it is allocated, so a corrupted header cannot exhaust memory.</li>
+ * </ul>
+ *
+ * <p><strong>Thread Safety:</strong> {@link Writer} and {@link Reader} are not thread-safe;
+ * one instance per export or import.</p>
+ *
+ * @since 1.0.6
+ */
+final class BinaryChainFormat {
+
+    /** Leading bytes of every binary export. */
+    static final byte[] MAGIC = {'P', 'B', 'C', 'X'};
+    static final int VERSION = 1;
+    static final int BLOCKS_PER_SEGMENT = 1000;
+    /** Largest raw or compressed segment payload accepted by the reader (256MB). */
+    static final int MAX_SEGMENT_LENGTH = 256 << 20;
+    /** Estimated block bytes after which the writer closes a segment early (32MB). */
+    static final long SEGMENT_SIZE_BUDGET = 32L << 20;
+
+    private static final byte SEGMENT_END = 0;
+    private static final byte SEGMENT_AUTHORIZED_KEYS = 1;
+    private static final byte SEGMENT_BLOCKS = 2;
+
+    // Tags of optional fields
+    private static final byte ABSENT = 0;
+    private static final byte RAW = 1;
+    private static final byte TEXT = 2;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private BinaryChainFormat() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * @return true if {@code file} starts with the binary export magic
+     */
+    static boolean isBinaryExport(File file) {
+        byte[] head = new byte[MAGIC.length];
+        try (InputStream in = new FileInputStream(file)) {
+            return in.readNBytes(head, 0, head.length) == head.length && Arrays.equals(head, MAGIC);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * First import pass over a binary export: authorized keys and per-signer block time range.
+     * Every segment is decoded, so a damaged file is rejected before anything is deleted.
+     *
+     * @param decoder executor for parallel segment decoding, or {@code null}
+     */
+    static ChainImportReader.Scan scan(File file, ExecutorService decoder) {
+        Map<String, LocalDateTime> earliest = new HashMap<>();
+        Map<String, LocalDateTime> latest = new HashMap<>();
+        long blockCount = 0;
+        try (Reader reader = new Reader(file, decoder)) {
+            Block block;
+            while ((block = reader.nextBlock()) != null) {
+                ChainImportReader.recordSignerTime(earliest, latest, block.getSignerPublicKey(), block.getTimestamp());
+                blockCount++;
+            }
+            return new ChainImportReader.Scan(reader.authorizedKeys(), earliest, latest, blockCount,
+                reader.exportTimestamp(), null, null);
+        }
+    }
+
+    /** One stored segment. */
+    private record Segment(byte type, int rawLength, int checksum, byte[] compressed) { }
+
+    /**
+     * Streaming writer: header, authorized keys, blocks in order, then {@link #finish()}.
+     */
+    static final class Writer implements AutoCloseable {
+
+        private final DataOutputStream out;
+        private final ExecutorService encoder;
+        private final int maxInFlight;
+        private final ArrayDeque<Future<Segment>> pending = new ArrayDeque<>();
+        private List<Block> segmentBlocks = new ArrayList<>(BLOCKS_PER_SEGMENT);
+        private long segmentSize;
+        private long blocksWritten;
+        private boolean keysWritten;
+
+        /**
+         * @param encoder executor for parallel segment encoding, or {@code null}
+         * @param parallelism number of segments encoded ahead of the file position
+         */
+        Writer(File file, long totalBlocks, LocalDateTime exportTimestamp,
+               ExecutorService encoder, int parallelism) {
+            try {
+                this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+                this.encoder = encoder;
+                this.maxInFlight = Math.max(1, parallelism) * 2;
+                out.write(MAGIC);
+                out.writeByte(VERSION);
+                out.writeLong(totalBlocks);
+                writeTimestamp(out, exportTimestamp);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write binary chain export " + file, e);
+            }
+        }
+
+        /** Write the authorized keys; must be called once, before the first block. */
+        void writeAuthorizedKeys(List<AuthorizedKey> keys) {
+            if (keysWritten || blocksWritten > 0 || !segmentBlocks.isEmpty()) {
+                throw new IllegalStateException("Authorized keys must be written once, before the blocks");
+            }
+            keysWritten = true;
+            List<AuthorizedKey> copy = new ArrayList<>(keys);
+            submit(() -> encodeKeys(copy));
+        }
+
+        void writeBlock(Block block) {
+            if (!keysWritten) {
+                writeAuthorizedKeys(Collections.emptyList());
+            }
+            segmentBlocks.add(block);
+            segmentSize += estimatedSize(block);
+            if (segmentBlocks.size() == BLOCKS_PER_SEGMENT || segmentSize >= SEGMENT_SIZE_BUDGET) {
+                submitBlocks();
+            }
+        }
+
+        /** Write the remaining segments and the trailer. */
+        void finish() {
+            if (!keysWritten) {
+                writeAuthorizedKeys(Collections.emptyList());
+            }
+            if (!segmentBlocks.isEmpty()) {
+                submitBlocks();
+            }
+            drain(0);
+            try {
+                out.writeByte(SEGMENT_END);
+                out.writeLong(blocksWritten);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void submitBlocks() {
+            List<Block> blocks = segmentBlocks;
+            segmentBlocks = new ArrayList<>(BLOCKS_PER_SEGMENT);
+            segmentSize = 0;
+            blocksWritten += blocks.size();
+            submit(() -> encodeBlocks(blocks));
+        }
+
+        private void submit(Callable<Segment> encode) {
+            if (encoder != null) {
+                pending.add(encoder.submit(encode));
+            } else {
+                try {
+                    pending.add(CompletableFuture.completedFuture(encode.call()));
+                } catch (Exception e) {
+                    throw new IllegalStateException("Cannot encode segment", e);
+                }
+            }
+            drain(maxInFlight);
+        }
+
+        /** Write finished segments in order until at most {@code limit} are outstanding. */
+        private void drain(int limit) {
+            while (pending.size() > limit) {
+                Segment segment = await(pending.poll());
+                try {
+                    out.writeByte(segment.type());
+                    out.writeInt(segment.rawLength());
+                    out.writeInt(segment.checksum());
+                    out.writeInt(segment.compressed().length);
+                    out.write(segment.compressed());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            for (Future<Segment> future : pending) {
+                future.cancel(true);
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Streaming reader. The authorized keys are read when the reader is opened; blocks are
+     * returned in file order while up to twice the decoder's parallelism segments are decoded
+     * ahead.
+     */
+    static final class Reader implements ChainImportSource {
+
+        private final DataInputStream in;
+        private final ExecutorService decoder;
+        private final int maxInFlight;
+        private final long totalBlocks;
+        private final LocalDateTime exportTimestamp;
+        private final List<AuthorizedKey> authorizedKeys;
+        private final ArrayDeque<Future<List<Block>>> pending = new ArrayDeque<>();
+        private Iterator<Block> current = Collections.emptyIterator();
+        private long blocksRead;
+        private long trailerBlockCount = -1;
+
+        /**
+         * @param decoder executor for parallel segment decoding, or {@code null}
+         * @throws IllegalStateException if the file is not a binary export of a supported version
+         */
+        Reader(File file, ExecutorService decoder) {
+            this.decoder = decoder;
+            this.maxInFlight = decoder != null ? Math.max(2, Runtime.getRuntime().availableProcessors() * 2) : 1;
+            try {
+                this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+                byte[] magic = new byte[MAGIC.length];
+                in.readFully(magic);
+                if (!Arrays.equals(magic, MAGIC)) {
+                    throw new IllegalStateException("Not a binary chain export: " + file);
+                }
+                int version = in.readUnsignedByte();
+                if (version != VERSION) {
+                    throw new IllegalStateException("Unsupported binary chain export version: " + version);
+                }
+                this.totalBlocks = in.readLong();
+                this.exportTimestamp = readTimestamp(in);
+                Segment keys = readSegment();
+                if (keys == null || keys.type() != SEGMENT_AUTHORIZED_KEYS) {
+                    throw new IllegalStateException("Binary chain export has no authorized keys segment");
+                }
+                this.authorizedKeys = decodeKeys(keys);
+            } catch (EOFException e) {
+                throw new IllegalStateException("Truncated binary chain export: " + file, e);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read binary chain export " + file, e);
+            }
+        }
+
+        List<AuthorizedKey> authorizedKeys() {
+            return authorizedKeys;
+        }
+
+        /** Block count announced in the header. */
+        long totalBlocks() {
+            return totalBlocks;
+        }
+
+        LocalDateTime exportTimestamp() {
+            return exportTimestamp;
+        }
+
+        @Override
+        public Block nextBlock() {
+            while (!current.hasNext()) {
+                fill();
+                Future<List<Block>> next = pending.poll();
+                if (next == null) {
+                    if (blocksRead != trailerBlockCount) {
+                        throw new IllegalStateException("Binary chain export trailer announces "
+                            + trailerBlockCount + " blocks but " + blocksRead + " were found");
+                    }
+                    return null;
+                }
+                current = await(next).iterator();
+            }
+            blocksRead++;
+            return current.next();
+        }
+
+        /** Queue segment decodes until {@code maxInFlight} are outstanding or the trailer is read. */
+        private void fill() {
+            try {
+                while (trailerBlockCount < 0 && pending.size() < maxInFlight) {
+                    Segment segment = readSegment();
+                    if (segment == null) {
+                        trailerBlockCount = in.readLong();
+                    } else if (segment.type() != SEGMENT_BLOCKS) {
+                        throw new IllegalStateException("Unexpected segment type " + segment.type());
+                    } else if (decoder != null) {
+                        pending.add(decoder.submit(() -> decodeBlocks(segment)));
+                    } else {
+                        pending.add(CompletableFuture.completedFuture(decodeBlocks(segment)));
+                    }
+                }
+            } catch (EOFException e) {
+                throw new IllegalStateException("Truncated binary chain export", e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * @return the next segment, or {@code null} at the trailer
+         */
+        private Segment readSegment() throws IOException {
+            byte type = in.readByte();
+            if (type == SEGMENT_END) {
+                return null;
+            }
+            int rawLength = in.readInt();
+            int checksum = in.readInt();
+            int compressedLength = in.readInt();
+            if (rawLength < 0 || rawLength > MAX_SEGMENT_LENGTH
+                    || compressedLength < 0 || compressedLength > MAX_SEGMENT_LENGTH) {
+                throw new IllegalStateException("Corrupted binary chain export: segment length "
+                    + rawLength + " (" + compressedLength + " compressed)");
+            }
+            byte[] compressed = new byte[compressedLength];
+            in.readFully(compressed);
+            return new Segment(type, rawLength, checksum, compressed);
+        }
+
+        @Override
+        public void close() {
+            for (Future<List<Block>> future : pending) {
+                future.cancel(true);
+            }
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ========== Segment codec ==========
+
+    private static Segment encodeKeys(List<AuthorizedKey> keys) throws IOException {
+        KeyDictionary dictionary = new KeyDictionary();
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        for (AuthorizedKey key : keys) {
+            writeRecord(out, record -> {
+                writeLong(record, key.getId());
+                record.writeInt(dictionary.indexOf(key.getPublicKey()));
+                writeString(record, key.getOwnerName());
+                writeString(record, key.getRole() != null ? key.getRole().name() : null);
+                record.writeBoolean(key.isActive());
+                writeTimestamp(record, key.getCreatedAt());
+                writeTimestamp(record, key.getRevokedAt());
+                writeString(record, key.getCreatedBy());
+            });
+        }
+        return seal(SEGMENT_AUTHORIZED_KEYS, dictionary, keys.size(), records);
+    }
+
+    private static List<AuthorizedKey> decodeKeys(Segment segment) throws IOException {
+        DataInputStream in = open(segment);
+        List<String> dictionary = readDictionary(in);
+        int count = readCount(in, 4); // every record takes at least its length prefix
+        List<AuthorizedKey> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DataInputStream record = readRecord(in);
+            AuthorizedKey key = new AuthorizedKey();
+            key.setId(readLong(record));
+            key.setPublicKey(lookup(dictionary, record.readInt()));
+            key.setOwnerName(readString(record));
+            String role = readString(record);
+            if (role != null) {
+                key.setRole(UserRole.valueOf(role));
+            }
+            key.setActive(record.readBoolean());
+            key.setCreatedAt(readTimestamp(record));
+            key.setRevokedAt(readTimestamp(record));
+            key.setCreatedBy(readString(record));
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private static Segment encodeBlocks(List<Block> blocks) throws IOException {
+        KeyDictionary dictionary = new KeyDictionary();
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        for (Block block : blocks) {
+            writeRecord(out, record -> {
+                record.writeLong(block.getBlockNumber());
+                writeTimestamp(record, block.getTimestamp());
+                writeHex(record, block.getPreviousHash());
+                writeHex(record, block.getHash());
+                writeBase64(record, block.getSignature());
+                record.writeInt(dictionary.indexOf(block.getSignerPublicKey()));
+                record.writeInt(dictionary.indexOf(block.getRecipientPublicKey()));
+                writeString(record, block.getData());
+                writeString(record, block.getManualKeywords());
+                writeString(record, block.getAutoKeywords());
+                writeString(record, block.getSearchableContent());
+                writeString(record, block.getContentCategory());
+                writeFlag(record, block.getIsEncrypted());
+                writeString(record, block.getEncryptionMetadata());
+                writeString(record, block.getCustomMetadata());
+
+                OffChainData offChainData = block.getOffChainData();
+                record.writeBoolean(offChainData != null);
+                if (offChainData != null) {
+                    writeLong(record, offChainData.getId());
+                    writeHex(record, offChainData.getDataHash());
+                    writeBase64(record, offChainData.getSignature());
+                    writeString(record, offChainData.getFilePath());
+                    writeLong(record, offChainData.getFileSize());
+                    writeString(record, offChainData.getEncryptionIV());
+                    writeString(record, offChainData.getEncryptionSalt());
+                    writeTimestamp(record, offChainData.getCreatedAt());
+                    writeString(record, offChainData.getContentType());
+                    record.writeInt(dictionary.indexOf(offChainData.getSignerPublicKey()));
+                    // Trailing and optional: records written before it end here. Always written
+                    // (also when null), so a field following the off-chain section is not read as it
+                    writeString(record, offChainData.getWrappedDataKey());
+                }
+                // Trailing and optional: records written before it end here
+                writeHex(record, block.getPasswordCheckValue());
+            });
+        }
+        return seal(SEGMENT_BLOCKS, dictionary, blocks.size(), records);
+    }
+
+    private static List<Block> decodeBlocks(Segment segment) throws IOException {
+        DataInputStream in = open(segment);
+        List<String> dictionary = readDictionary(in);
+        // One key entry per distinct key: its fingerprint is computed once per segment
+        Map<Integer, PublicKeyEntry> entries = new HashMap<>();
+        int count = readCount(in, 4); // every record takes at least its length prefix
+        List<Block> blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DataInputStream record = readRecord(in);
+            Block block = new Block();
+            block.setBlockNumber(record.readLong());
+            block.setTimestamp(readTimestamp(record));
+            block.setPreviousHash(readHex(record));
+            block.setHash(readHex(record));
+            block.setSignature(readBase64(record));
+            block.setSignerKey(keyEntry(dictionary, entries, record.readInt()));
+            block.setRecipientKey(keyEntry(dictionary, entries, record.readInt()));
+            block.setData(readString(record));
+            block.setManualKeywords(readString(record));
+            block.setAutoKeywords(readString(record));
+            block.setSearchableContent(readString(record));
+            block.setContentCategory(readString(record));
+            block.setIsEncrypted(readFlag(record));
+            block.setEncryptionMetadata(readString(record));
+            block.setCustomMetadata(readString(record));
+
+            if (record.readBoolean()) {
+                OffChainData offChainData = new OffChainData();
+                offChainData.setId(readLong(record));
+                offChainData.setDataHash(readHex(record));
+                offChainData.setSignature(readBase64(record));
+                offChainData.setFilePath(readString(record));
+                offChainData.setFileSize(readLong(record));
+                offChainData.setEncryptionIV(readString(record));
+                offChainData.setEncryptionSalt(readString(record));
+                offChainData.setCreatedAt(readTimestamp(record));
+                offChainData.setContentType(readString(record));
+                offChainData.setSignerPublicKey(lookup(dictionary, record.readInt()));
+                if (record.available() > 0) {
+                    offChainData.setWrappedDataKey(readString(record));
+                }
+                block.setOffChainData(offChainData);
+            }
+            if (record.available() > 0) {
+                block.setPasswordCheckValue(readHex(record));
+            }
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    /**
+     * Rough upper bound of the bytes a block adds to its segment: text fields at up to three
+     * UTF-8 bytes per char, plus hashes, signatures and fixed-size fields.
+     */
+    private static long estimatedSize(Block block) {
+        long chars = length(block.getData()) + length(block.getManualKeywords())
+            + length(block.getAutoKeywords()) + length(block.getSearchableContent())
+            + length(block.getContentCategory()) + length(block.getEncryptionMetadata())
+            + length(block.getCustomMetadata()) + length(block.getSignature())
+            + length(block.getPasswordCheckValue());
+        OffChainData offChainData = block.getOffChainData();
+        if (offChainData != null) {
+            chars += length(offChainData.getSignature()) + length(offChainData.getFilePath())
+                + length(offChainData.getEncryptionIV()) + length(offChainData.getEncryptionSalt())
+                + length(offChainData.getContentType()) + length(offChainData.getWrappedDataKey());
+        }
+        return chars * 3 + 512;
+    }
+
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static PublicKeyEntry keyEntry(List<String> dictionary, Map<Integer, PublicKeyEntry> entries, int index) {
+        String publicKey = lookup(dictionary, index);
+        return publicKey != null ? entries.computeIfAbsent(index, i -> new PublicKeyEntry(publicKey)) : null;
+    }
+
+    /** Public keys of one segment, referenced by index ({@code -1} = null). */
+    private static final class KeyDictionary {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+
+        int indexOf(String publicKey) {
+            if (publicKey == null) {
+                return -1;
+            }
+            return indexes.computeIfAbsent(publicKey, k -> {
+                keys.add(k);
+                return keys.size() - 1;
+            });
+        }
+    }
+
+    private static String lookup(List<String> dictionary, int index) {
+        if (index == -1) {
+            return null;
+        }
+        if (index < 0 || index >= dictionary.size()) {
+            throw new IllegalStateException("Corrupted binary chain export: key index " + index);
+        }
+        return dictionary.get(index);
+    }
+
+    private static List<String> readDictionary(DataInputStream in) throws IOException {
+        // Every key takes at least its tag byte
+        int size = readCount(in, 1);
+        List<String> keys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(readBase64(in));
+        }
+        return keys;
+    }
+
+    /** Compress a segment payload: dictionary, record count, records. */
+    private static Segment seal(byte type, KeyDictionary dictionary, int recordCount,
+                                ByteArrayOutputStream records) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(records.size() + dictionary.keys.size() * 2600 + 8);
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeInt(dictionary.keys.size());
+        for (String key : dictionary.keys) {
+            writeBase64(out, key);
+        }
+        out.writeInt(recordCount);
+        records.writeTo(out);
+        out.flush();
+        if (payload.size() > MAX_SEGMENT_LENGTH) {
+            throw new IllegalStateException("Binary chain export segment of " + payload.size()
+                + " bytes exceeds the format maximum of " + MAX_SEGMENT_LENGTH);
+        }
+        byte[] raw = payload.toByteArray();
+
+        CRC32C crc = new CRC32C();
+        crc.update(raw);
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            byte[] buffer = new byte[1 << 16];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return new Segment(type, raw.length, (int) crc.getValue(), compressed.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /** Decompress a segment and check its checksum. */
+    private static DataInputStream open(Segment segment) throws IOException {
+        byte[] raw = new byte[segment.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(segment.compressed());
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, raw.length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != raw.length || !inflater.finished()) {
+                throw new IllegalStateException("Corrupted binary chain export: segment length mismatch");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted binary chain export: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(raw);
+        if ((int) crc.getValue() != segment.checksum()) {
+            throw new IllegalStateException("Corrupted binary chain export: segment checksum mismatch");
+        }
+        return new DataInputStream(new ByteArrayInputStream(raw));
+    }
+
+    // ========== Records and fields ==========
+
+    @FunctionalInterface
+    private interface RecordBody {
+        void write(DataOutputStream record) throws IOException;
+    }
+
+    /** Write one length-prefixed record. */
+    private static void writeRecord(DataOutputStream out, RecordBody body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream record = new DataOutputStream(buffer);
+        body.write(record);
+        record.flush();
+        out.writeInt(buffer.size());
+        buffer.writeTo(out);
+    }
+
+    private static DataInputStream readRecord(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IllegalStateException("Corrupted binary chain export: record length " + length);
+        }
+        byte[] record = new byte[length];
+        in.readFully(record);
+        return new DataInputStream(new ByteArrayInputStream(record));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte tag, byte[] bytes) throws IOException {
+        out.writeByte(tag);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IllegalStateException("Corrupted binary chain export: field length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Read an entry count of a decoded segment, bounded by the bytes left in it.
+     *
+     * @param minEntryBytes smallest encoded size of one entry
+     */
+    private static int readCount(DataInputStream in, int minEntryBytes) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > in.available() / minEntryBytes) {
+            throw new IllegalStateException("Corrupted binary chain export: entry count " + count);
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeByte(ABSENT);
+        } else {
+            writeBytes(out, TEXT, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return tag == ABSENT ? null : new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    /** Lower-case hex is stored as raw bytes, anything else as text. */
+    private static void writeHex(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeByte(ABSENT);
+            return;
+        }
+        byte[] raw = null;
+        if (!value.isEmpty() && value.length() % 2 == 0) {
+            try {
+                raw = HEX.parseHex(value);
+            } catch (IllegalArgumentException e) {
+                raw = null;
+            }
+        }
+        if (raw != null && HEX.formatHex(raw).equals(value)) {
+            writeBytes(out, RAW, raw);
+        } else {
+            writeBytes(out, TEXT, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readHex(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        if (tag == ABSENT) {
+            return null;
+        }
+        byte[] bytes = readBytes(in);
+        return tag == RAW ? HEX.formatHex(bytes) : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Canonical Base64 is stored as raw bytes, anything else as text. */
+    private static void writeBase64(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeByte(ABSENT);
+            return;
+        }
+        byte[] raw = null;
+        if (!value.isEmpty() && value.length() % 4 == 0) {
+            try {
+                raw = Base64.getDecoder().decode(value);
+            } catch (IllegalArgumentException e) {
+                raw = null;
+            }
+        }
+        if (raw != null && Base64.getEncoder().encodeToString(raw).equals(value)) {
+            writeBytes(out, RAW, raw);
+        } else {
+            writeBytes(out, TEXT, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readBase64(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        if (tag == ABSENT) {
+            return null;
+        }
+        byte[] bytes = readBytes(in);
+        return tag == RAW ? Base64.getEncoder().encodeToString(bytes) : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeByte(value == null ? ABSENT : RAW);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readByte() == ABSENT ? null : in.readLong();
+    }
+
+    private static void writeFlag(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? ABSENT : RAW);
+        if (value != null) {
+            out.writeBoolean(value);
+        }
+    }
+
+    private static Boolean readFlag(DataInputStream in) throws IOException {
+        return in.readByte() == ABSENT ? null : in.readBoolean();
+    }
+
+    private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeByte(ABSENT);
+            return;
+        }
+        out.writeByte(RAW);
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        if (in.readByte() == ABSENT) {
+            return null;
+        }
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while coding binary chain export", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof IOException io) {
+                throw new UncheckedIOException(io);
+            }
+            throw new IllegalStateException("Cannot code binary chain export segment", cause);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.rbatllet.blockchain.core;
+
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.util.CryptoUtil;
+
+import java.time.ZoneOffset;
+
+/**
+ * Package-private single source of truth for the canonical block content fields.
+ *
+ * <p>The canonical content is the concatenation of
+ * {@code blockNumber + previousHash + data + timestampEpochSecondsUTC + signerPublicKey + recipientPublicKey}.
+ * {@link Blockchain#buildBlockContent(Block)} materializes it as a String (needed for ML-DSA signing),
+ * while {@link #hash(Block)} streams the same fields straight into the calling thread's
+ * {@link CryptoUtil.HashBuilder}, so hashing a block never builds the concatenated String
+ * or its UTF-8 copy.</p>
+ *
+ * <p>Streaming each field separately yields the same UTF-8 bytes as encoding the concatenation
+ * because no field boundary can split a surrogate pair (numbers and hex hashes are ASCII).</p>
+ *
+ * @since 1.0.6
+ */
+final class BlockContentHasher {
+
+    private BlockContentHasher() {
+    }
+
+    /**
+     * Calculate the SHA3-256 hash of the block's canonical content.
+     *
+     * @param block the block to hash
+     * @return hexadecimal hash, identical to {@code CryptoUtil.calculateHash(buildBlockContent(block))}
+     */
+    static String hash(Block block) {
+        CryptoUtil.HashBuilder builder = CryptoUtil.hashBuilder();
+        Long blockNumber = block.getBlockNumber();
+        if (blockNumber != null) {
+            builder.append(blockNumber.longValue());
+        } else {
+            builder.append("null");
+        }
+        appendIfPresent(builder, block.getPreviousHash());
+        builder.append(dataForHash(block));
+        builder.append(timestampSeconds(block));
+        appendIfPresent(builder, block.getSignerPublicKey());
+        appendIfPresent(builder, block.getRecipientPublicKey());
+        return builder.toHex();
+    }
+
+    /**
+     * SECURITY FIX: Use appropriate data field based on encryption status.
+     * For encrypted blocks, use encryptionMetadata (encrypted data) for hash calculation;
+     * for unencrypted blocks, use the data field.
+     */
+    static String dataForHash(Block block) {
+        if (block.isDataEncrypted() && block.getEncryptionMetadata() != null) {
+            return block.getEncryptionMetadata();
+        }
+        return block.getData() != null ? block.getData() : "";
+    }
+
+    /**
+     * Use epoch seconds for timestamp to ensure consistency (0 if unset).
+     */
+    static long timestampSeconds(Block block) {
+        return block.getTimestamp() != null
+            ? block.getTimestamp().toEpochSecond(ZoneOffset.UTC)
+            : 0;
+    }
+
+    private static void appendIfPresent(CryptoUtil.HashBuilder builder, String value) {
+        if (value != null) {
+            builder.append(value);
+        }
+    }
+}
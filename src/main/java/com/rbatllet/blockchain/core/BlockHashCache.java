@@ -0,0 +1,69 @@
+package com.rbatllet.blockchain.core;
+
+import java.util.Map;
+
+import com.rbatllet.blockchain.util.BoundedLruCache;
+
+/**
+ * Package-private bounded LRU cache of block hash → block number.
+ *
+ * <p>Used by {@link BlockRepository} to turn hash lookups (search results are identified by
+ * block hash) into primary-key lookups. Entries are only hints: callers must check that the
+ * block they load for a cached number still has the requested hash, so a stale entry can
+ * cost one extra query but never return a wrong block.</p>
+ *
+ * <p>Entries at or above a block number are dropped whenever blocks are deleted
+ * (rollback), and the whole cache is cleared when the chain is wiped (import, reset).</p>
+ *
+ * <p><strong>Thread Safety:</strong> Thread-safe; backed by a {@link BoundedLruCache}.</p>
+ *
+ * @since 1.0.6
+ */
+final class BlockHashCache {
+
+    /** Default number of cached hashes (~10K entries ≈ 1.5MB). */
+    static final int DEFAULT_CAPACITY = 10_000;
+
+    private final BoundedLruCache<String, Long> entries;
+
+    BlockHashCache(int capacity) {
+        this.entries = new BoundedLruCache<>(capacity);
+    }
+
+    /**
+     * @return cached block number for {@code hash}, or {@code null} on a miss
+     */
+    Long get(String hash) {
+        return entries.get(hash);
+    }
+
+    void put(String hash, Long blockNumber) {
+        entries.put(hash, blockNumber);
+    }
+
+    void remove(String hash) {
+        entries.remove(hash);
+    }
+
+    /**
+     * Drop every entry pointing at {@code blockNumber} or later (blocks being deleted).
+     */
+    void removeFrom(long blockNumber) {
+        entries.removeIf(number -> number >= blockNumber);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return snapshot with size, capacity, hits, misses and hit rate (percentage)
+     */
+    Map<String, Object> getStatistics() {
+        return entries.getStatistics();
+    }
+}
@@ -1,6 +1,7 @@
 package com.rbatllet.blockchain.core;
 
 import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.entity.PublicKeyEntry;
 import com.rbatllet.blockchain.util.CryptoUtil;
 import com.rbatllet.blockchain.util.JPAUtil;
 import com.rbatllet.blockchain.service.SecureBlockEncryptionService;
@@ -11,6 +12,7 @@ import com.rbatllet.blockchain.config.MemorySafetyConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.TypedQuery;
@@ -20,12 +22,23 @@ import org.hibernate.Session;
 import org.hibernate.ScrollableResults;
 import org.hibernate.ScrollMode;
 
+import java.security.PrivateKey;
+import java.sql.Clob;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -73,6 +86,17 @@ class BlockRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(BlockRepository.class);
 
+    /**
+     * Shared hash → block number cache (static: all Blockchain instances share one database).
+     * Entries are verified against the loaded block, so a stale hint never returns a wrong block.
+     */
+    private static final BlockHashCache HASH_CACHE = new BlockHashCache(BlockHashCache.DEFAULT_CAPACITY);
+
+    /**
+     * Shared chain tip (static for the same reason); moved by every insert and delete below.
+     */
+    private static final ChainTip CHAIN_TIP = new ChainTip();
+
     /**
      * API version for tracking batch optimization features
      * 
@@ -94,7 +118,7 @@ class BlockRepository {
                     if (JPAUtil.hasActiveTransaction()) {
                         // Use existing global transaction
                         EntityManager em = JPAUtil.getEntityManager();
-                        em.persist(block);
+                        persistNewBlock(em, block);
                     } else {
                         // Create own transaction
                         EntityManager em = JPAUtil.getEntityManager();
@@ -104,7 +128,7 @@ class BlockRepository {
                             transaction = em.getTransaction();
                             transaction.begin();
 
-                            em.persist(block);
+                            persistNewBlock(em, block);
 
                             transaction.commit();
                         } catch (Exception e) {
@@ -127,10 +151,38 @@ class BlockRepository {
      *
      * <p><strong>Phase 5.2 (v1.0.6):</strong> Batch Write API for 5-10x throughput improvement</p>
      *
+     * <p>Signs every block sequentially on the calling thread. Equivalent to
+     * {@link #batchInsertBlocks(EntityManager, List, ExecutorService)} with a
+     * {@code null} executor.</p>
+     *
+     * @param em EntityManager with active transaction (provided by caller)
+     * @param requests List of block write requests (already validated by Blockchain layer)
+     * @return List of persisted blocks with assigned block numbers and hashes
+     * @throws RuntimeException if batch insert fails
+     * @since 1.0.6
+     */
+    public List<Block> batchInsertBlocks(EntityManager em, List<Blockchain.BlockWriteRequest> requests) {
+        return batchInsertBlocks(em, requests, null);
+    }
+
+    /**
+     * Batch insert multiple blocks in a single transaction leveraging JDBC batching,
+     * optionally signing the blocks in parallel.
+     *
      * <p><strong>JDBC Batching:</strong> This method accumulates multiple persist() calls
      * and flushes them in batches of 50 (hibernate.jdbc.batch_size), minimizing database
      * round-trips and maximizing throughput.
      *
+     * <p><strong>Parallel signing:</strong> Only the hash chain is order-dependent
+     * (each block embeds the previous block's hash); an ML-DSA signature never feeds
+     * into the next block. Each flush chunk is therefore processed in three steps:
+     * <ol>
+     *   <li>Build block content and chain hashes sequentially</li>
+     *   <li>Sign all blocks of the chunk on {@code signingExecutor} (or sequentially if null)</li>
+     *   <li>Persist the chunk and flush</li>
+     * </ol>
+     * Working per chunk keeps at most 50 block contents in memory at any time.
+     *
      * <p><strong>Implementation based on Hibernate best practices:</strong>
      * <ul>
      *   <li>Multiple persist() calls within single transaction</li>
@@ -141,79 +193,93 @@ class BlockRepository {
      *
      * @param em EntityManager with active transaction (provided by caller)
      * @param requests List of block write requests (already validated by Blockchain layer)
+     * @param signingExecutor Executor used to sign blocks in parallel, or {@code null} to
+     *        sign sequentially. The executor is owned by the caller and is never shut down here.
      * @return List of persisted blocks with assigned block numbers and hashes
      * @throws RuntimeException if batch insert fails
      * @since 1.0.6
      */
-    public List<Block> batchInsertBlocks(EntityManager em, List<Blockchain.BlockWriteRequest> requests) {
+    public List<Block> batchInsertBlocks(EntityManager em, List<Blockchain.BlockWriteRequest> requests,
+                                         ExecutorService signingExecutor) {
         List<Block> insertedBlocks = new ArrayList<>();
         int batchSize = 50; // Match hibernate.jdbc.batch_size configuration
 
         try {
-            // Get last block to calculate starting block number
-            Block lastBlock = getLastBlock(em);
-            long nextBlockNumber = (lastBlock == null) ? 0L : lastBlock.getBlockNumber() + 1;
-            String previousHash = (lastBlock == null) ? "0" : lastBlock.getHash();
-
-            logger.debug("🚀 [BATCH-INSERT] Starting batch insert of {} blocks from block #{}",
-                requests.size(), nextBlockNumber);
-
-            // Create and persist all blocks
-            for (int i = 0; i < requests.size(); i++) {
-                Blockchain.BlockWriteRequest request = requests.get(i);
-
-                // Create block with manual ID assignment
-                Block block = new Block();
-                block.setBlockNumber(nextBlockNumber + i);
-                block.setData(request.getData());
-                block.setPreviousHash(previousHash);
-                block.setTimestamp(LocalDateTime.now());
-                String publicKeyString = CryptoUtil.publicKeyToString(request.getPublicKey());
-                block.setSignerPublicKey(publicKeyString);
-
-                // Calculate hash and signature using the SAME format as buildBlockContent()
-                // CRITICAL: Must use epoch seconds for timestamp consistency
-                long timestampSeconds = block.getTimestamp().toEpochSecond(java.time.ZoneOffset.UTC);
-                String blockContent =
-                    block.getBlockNumber() +
-                    block.getPreviousHash() +
-                    block.getData() +
-                    timestampSeconds +
-                    publicKeyString;
-                
-                // Calculate hash
-                String hash = CryptoUtil.calculateHash(blockContent);
-                block.setHash(hash);
-                
-                // Sign the block content (NOT just the data)
-                String signature = CryptoUtil.signData(
-                    blockContent,
-                    request.getPrivateKey()
-                );
-                block.setSignature(signature);
-
-                // Set custom metadata if provided
-                if (request.getCustomMetadata() != null && !request.getCustomMetadata().isEmpty()) {
-                    try {
-                        ObjectMapper mapper = new ObjectMapper();
-                        String metadataJson = mapper.writeValueAsString(request.getCustomMetadata());
-                        block.setCustomMetadata(metadataJson);
-                    } catch (Exception e) {
-                        logger.warn("⚠️ Failed to serialize custom metadata: {}", e.getMessage());
+            // Get the chain tip to calculate starting block number
+            ChainTip.Tip tip = getChainTip();
+            long nextBlockNumber = tip.nextBlockNumber();
+            String previousHash = tip.isEmpty() ? "0" : tip.hash();
+
+            logger.debug("🚀 [BATCH-INSERT] Starting batch insert of {} blocks from block #{} (signing: {})",
+                requests.size(), nextBlockNumber, signingExecutor != null ? "parallel" : "sequential");
+
+            for (int chunkStart = 0; chunkStart < requests.size(); chunkStart += batchSize) {
+                int chunkEnd = Math.min(chunkStart + batchSize, requests.size());
+                List<Block> chunkBlocks = new ArrayList<>(chunkEnd - chunkStart);
+                List<String> chunkContents = new ArrayList<>(chunkEnd - chunkStart);
+
+                // Step 1: Create blocks and chain hashes (sequential - each hash depends on the previous one)
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    Blockchain.BlockWriteRequest request = requests.get(i);
+
+                    // Create block with manual ID assignment
+                    Block block = new Block();
+                    block.setBlockNumber(nextBlockNumber + i);
+                    block.setData(request.getData());
+                    block.setPreviousHash(previousHash);
+                    block.setTimestamp(LocalDateTime.now());
+                    String publicKeyString = CryptoUtil.publicKeyToString(request.getPublicKey());
+                    block.setSignerPublicKey(publicKeyString);
+
+                    // Calculate hash using the SAME format as buildBlockContent()
+                    // CRITICAL: Must use epoch seconds for timestamp consistency
+                    long timestampSeconds = block.getTimestamp().toEpochSecond(java.time.ZoneOffset.UTC);
+                    String blockContent =
+                        block.getBlockNumber() +
+                        block.getPreviousHash() +
+                        block.getData() +
+                        timestampSeconds +
+                        publicKeyString;
+
+                    String hash = CryptoUtil.calculateHash(blockContent);
+                    block.setHash(hash);
+
+                    // Set custom metadata if provided
+                    if (request.getCustomMetadata() != null && !request.getCustomMetadata().isEmpty()) {
+                        try {
+                            ObjectMapper mapper = new ObjectMapper();
+                            String metadataJson = mapper.writeValueAsString(request.getCustomMetadata());
+                            block.setCustomMetadata(metadataJson);
+                        } catch (Exception e) {
+                            logger.warn("⚠️ Failed to serialize custom metadata: {}", e.getMessage());
+                        }
                     }
-                }
 
-                // Persist (accumulates in batch)
-                em.persist(block);
-                insertedBlocks.add(block);
-                logger.debug("📝 [BATCH-INSERT] persist() called for block #{} (total: {}/{})", block.getBlockNumber(), i + 1, requests.size());
+                    chunkBlocks.add(block);
+                    chunkContents.add(blockContent);
 
-                // Update previousHash for next block
-                previousHash = hash;
+                    // Update previousHash for next block
+                    previousHash = hash;
+                }
+
+                // Step 2: Sign the block content (NOT just the data) - independent per block
+                List<PrivateKey> chunkKeys = new ArrayList<>(chunkEnd - chunkStart);
+                for (Blockchain.BlockWriteRequest request : requests.subList(chunkStart, chunkEnd)) {
+                    chunkKeys.add(request.getPrivateKey());
+                }
+                signBlocks(chunkBlocks, chunkContents, chunkKeys, signingExecutor);
+
+                // Step 3: Persist (accumulates in batch)
+                for (Block block : chunkBlocks) {
+                    persistNewBlock(em, block);
+                    insertedBlocks.add(block);
+                    logger.debug("📝 [BATCH-INSERT] persist() called for block #{} (total: {}/{})",
+                        block.getBlockNumber(), insertedBlocks.size(), requests.size());
+                }
 
                 // Flush every batchSize entities to control memory
-                if ((i + 1) % batchSize == 0) {
-                    logger.debug("🔄 [BATCH-INSERT] FLUSH() called at block {} (flushing {} blocks)", i + 1, batchSize);
+                if (chunkBlocks.size() == batchSize) {
+                    logger.debug("🔄 [BATCH-INSERT] FLUSH() called at block {} (flushing {} blocks)", chunkEnd, batchSize);
                     em.flush();
                     em.clear(); // Clear first-level cache to prevent OOM
                     logger.debug("✅ [BATCH-INSERT] FLUSH() + CLEAR() completed");
@@ -227,12 +293,49 @@ class BlockRepository {
 
             return insertedBlocks;
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("❌ [BATCH-INSERT] Batch insert interrupted while signing blocks");
+            throw new RuntimeException("Batch insert interrupted", e);
         } catch (Exception e) {
             logger.error("❌ [BATCH-INSERT] Batch insert failed: {}", e.getMessage(), e);
             throw new RuntimeException("Batch insert failed: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Sign a chunk of blocks whose hashes have already been chained. Also used by
+     * {@link Blockchain#addLargePayload} for its chunk blocks.
+     *
+     * @param blocks Blocks to sign (signature is set in place)
+     * @param contents Block content strings, index-aligned with {@code blocks}
+     * @param privateKeys Signing keys, index-aligned with {@code blocks}
+     * @param signingExecutor Executor for parallel signing, or {@code null} for sequential signing
+     * @throws InterruptedException if interrupted while waiting for parallel signatures
+     * @throws ExecutionException if any signature fails
+     */
+    static void signBlocks(List<Block> blocks, List<String> contents, List<PrivateKey> privateKeys,
+                           ExecutorService signingExecutor) throws InterruptedException, ExecutionException {
+        if (signingExecutor == null || blocks.size() < 2) {
+            for (int i = 0; i < blocks.size(); i++) {
+                blocks.get(i).setSignature(CryptoUtil.signData(contents.get(i), privateKeys.get(i)));
+            }
+            return;
+        }
+
+        List<Callable<String>> tasks = new ArrayList<>(blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            String content = contents.get(i);
+            PrivateKey privateKey = privateKeys.get(i);
+            tasks.add(() -> CryptoUtil.signData(content, privateKey));
+        }
+
+        List<Future<String>> signatures = signingExecutor.invokeAll(tasks);
+        for (int i = 0; i < blocks.size(); i++) {
+            blocks.get(i).setSignature(signatures.get(i).get());
+        }
+    }
+
     /**
      * Batch insert of existing blocks (for import operations).
      * Phase 5.2: Batch insert performance optimization for chain import.
@@ -254,7 +357,7 @@ class BlockRepository {
                 Block block = blocks.get(i);
 
                 // Persist (accumulates in batch)
-                em.persist(block);
+                persistNewBlock(em, block);
                 logger.debug("📝 [BATCH-INSERT] persist() called for block #{} (total: {}/{})",
                     block.getBlockNumber(), i + 1, blocks.size());
 
@@ -279,6 +382,148 @@ class BlockRepository {
         }
     }
 
+    /**
+     * Persist a new block: interns its keys and moves the chain tip forward.
+     * Every block insert goes through here.
+     */
+    static void persistNewBlock(EntityManager em, Block block) {
+        internPublicKeys(em, block);
+        em.persist(block);
+        CHAIN_TIP.appended(em, block);
+    }
+
+    /**
+     * Replace the block's signer/recipient key entries with dictionary rows, inserting
+     * keys seen for the first time. Must run before {@code em.persist(block)}.
+     *
+     * <p>Writes are serialized by the global blockchain write lock, so two transactions
+     * never insert the same fingerprint concurrently.</p>
+     */
+    private static void internPublicKeys(EntityManager em, Block block) {
+        block.setSignerKey(internPublicKey(em, block.getSignerKey()));
+        block.setRecipientKey(internPublicKey(em, block.getRecipientKey()));
+    }
+
+    private static PublicKeyEntry internPublicKey(EntityManager em, PublicKeyEntry entry) {
+        if (entry == null || em.contains(entry)) {
+            return entry;
+        }
+        PublicKeyEntry existing = em.find(PublicKeyEntry.class, entry.getFingerprint());
+        if (existing != null) {
+            return existing;
+        }
+        em.persist(entry);
+        return entry;
+    }
+
+    /**
+     * Factory whose database was already checked for legacy key columns
+     * (re-checked when tests or applications switch databases with {@code JPAUtil.initialize}).
+     */
+    private static volatile EntityManagerFactory legacyKeyColumnsCheckedFor;
+
+    /**
+     * Move keys of blocks written before the public key dictionary into {@code public_keys}.
+     *
+     * <p>Older databases store the full Base64 keys in {@code blocks.signer_public_key} and
+     * {@code blocks.recipient_public_key}. The fingerprint is SHA3-256, which none of the
+     * supported databases computes portably in SQL, so the backfill runs here: each legacy
+     * row gets its fingerprint references and its legacy key columns are cleared to reclaim
+     * space. Runs once per {@link EntityManagerFactory}; databases without the legacy columns
+     * only pay one metadata lookup.</p>
+     *
+     * @return number of blocks migrated
+     */
+    public int migrateLegacyPublicKeyColumns() {
+        EntityManagerFactory emf = JPAUtil.getEntityManagerFactory();
+        if (emf == null || emf == legacyKeyColumnsCheckedFor) {
+            return 0;
+        }
+        synchronized (BlockRepository.class) {
+            if (emf == legacyKeyColumnsCheckedFor) {
+                return 0;
+            }
+            int migrated = backfillLegacyPublicKeyColumns();
+            legacyKeyColumnsCheckedFor = emf;
+            if (migrated > 0) {
+                logger.info("🔑 Moved public keys of {} legacy blocks into the public_keys dictionary", migrated);
+            }
+            return migrated;
+        }
+    }
+
+    /**
+     * Backfill step of {@link #migrateLegacyPublicKeyColumns()}, without the once-per-database guard.
+     */
+    int backfillLegacyPublicKeyColumns() {
+        return JPAUtil.executeInTransaction(em -> {
+            if (!hasLegacyKeyColumns(em)) {
+                return 0;
+            }
+            int count = 0;
+            long lastBlockNumber = -1;
+            while (true) {
+                @SuppressWarnings("unchecked")
+                List<Object[]> rows = em.createNativeQuery(
+                        "SELECT block_number, signer_public_key, recipient_public_key FROM blocks " +
+                        "WHERE block_number > ?1 AND signer_key_fingerprint IS NULL " +
+                        "AND (signer_public_key IS NOT NULL OR recipient_public_key IS NOT NULL) " +
+                        "ORDER BY block_number")
+                    .setParameter(1, lastBlockNumber)
+                    .setMaxResults(MemorySafetyConstants.DEFAULT_BATCH_SIZE)
+                    .getResultList();
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Object[] row : rows) {
+                    long blockNumber = ((Number) row[0]).longValue();
+                    String signerKey = columnText(row[1]);
+                    String recipientKey = columnText(row[2]);
+                    PublicKeyEntry signer = signerKey != null
+                        ? internPublicKey(em, new PublicKeyEntry(signerKey)) : null;
+                    PublicKeyEntry recipient = recipientKey != null
+                        ? internPublicKey(em, new PublicKeyEntry(recipientKey)) : null;
+                    em.flush();
+                    em.createNativeQuery(
+                            "UPDATE blocks SET signer_key_fingerprint = ?1, recipient_key_fingerprint = ?2, " +
+                            "signer_public_key = NULL, recipient_public_key = NULL WHERE block_number = ?3")
+                        .setParameter(1, signer != null ? signer.getFingerprint() : null)
+                        .setParameter(2, recipient != null ? recipient.getFingerprint() : null)
+                        .setParameter(3, blockNumber)
+                        .executeUpdate();
+                    lastBlockNumber = blockNumber;
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private static boolean hasLegacyKeyColumns(EntityManager em) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Unquoted identifiers are stored upper-case by H2 and lower-case by PostgreSQL
+            for (String table : new String[] { "blocks", "BLOCKS" }) {
+                try (ResultSet columns = metaData.getColumns(null, null, table, null)) {
+                    while (columns.next()) {
+                        if ("signer_public_key".equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        });
+    }
+
+    /** TEXT columns come back as {@link Clob} on some drivers (H2). */
+    private static String columnText(Object value) throws SQLException {
+        if (value instanceof Clob clob) {
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return (String) value;
+    }
+
     /**
      * Update an existing block in the database
      * Uses global transaction if available, otherwise creates its own
@@ -540,6 +785,81 @@ class BlockRepository {
         }
     }
 
+    /**
+     * Keyset pagination: get the blocks that follow a block number, in block number order.
+     *
+     * <p>Seeks on the primary key instead of skipping rows with {@code OFFSET}, so every page
+     * costs the same regardless of its position in the chain. To walk the whole chain start
+     * with {@code -1} and pass the number of the last block of each page to get the next one;
+     * an empty page (or one shorter than {@code limit}) marks the end.</p>
+     *
+     * @param afterBlockNumber exclusive lower bound ({@code -1} to start at the genesis block)
+     * @param limit maximum number of blocks to return
+     * @return blocks with {@code blockNumber > afterBlockNumber}, ascending
+     * @throws IllegalArgumentException if limit is not positive
+     * @since 1.0.6
+     */
+    public List<Block> getBlocksAfter(long afterBlockNumber, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        return OperationLoggingInterceptor.logDatabaseOperation("SELECT", "blocks_after", () -> {
+            EntityManager em = JPAUtil.getEntityManager();
+            try {
+                TypedQuery<Block> query = em.createQuery(
+                        "SELECT b FROM Block b LEFT JOIN FETCH b.offChainData " +
+                        "WHERE b.blockNumber > :afterBlockNumber ORDER BY b.blockNumber ASC", Block.class);
+                query.setParameter("afterBlockNumber", afterBlockNumber);
+                query.setMaxResults(limit);
+                return query.getResultList();
+            } finally {
+                if (!JPAUtil.hasActiveTransaction()) {
+                    em.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Keyset pagination backwards: get the blocks that precede a block number.
+     *
+     * <p>Returns the {@code limit} highest-numbered blocks below {@code beforeBlockNumber}, in
+     * ascending order. To walk the chain from the tip start with {@link Long#MAX_VALUE} and pass
+     * the number of the first block of each page to get the previous one; an empty page marks
+     * the start of the chain. Like {@link #getBlocksAfter(long, int)} it never assumes that
+     * block numbers are contiguous.</p>
+     *
+     * @param beforeBlockNumber exclusive upper bound ({@link Long#MAX_VALUE} to end at the tip)
+     * @param limit maximum number of blocks to return
+     * @return blocks with {@code blockNumber < beforeBlockNumber}, ascending
+     * @throws IllegalArgumentException if limit is not positive
+     * @since 1.0.6
+     */
+    public List<Block> getBlocksBefore(long beforeBlockNumber, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        return OperationLoggingInterceptor.logDatabaseOperation("SELECT", "blocks_before", () -> {
+            EntityManager em = JPAUtil.getEntityManager();
+            try {
+                TypedQuery<Block> query = em.createQuery(
+                        "SELECT b FROM Block b LEFT JOIN FETCH b.offChainData " +
+                        "WHERE b.blockNumber < :beforeBlockNumber ORDER BY b.blockNumber DESC", Block.class);
+                query.setParameter("beforeBlockNumber", beforeBlockNumber);
+                query.setMaxResults(limit);
+                List<Block> blocks = new ArrayList<>(query.getResultList());
+                Collections.reverse(blocks);
+                return blocks;
+            } finally {
+                if (!JPAUtil.hasActiveTransaction()) {
+                    em.close();
+                }
+            }
+        });
+    }
+
     /**
      * Get blocks paginated for better performance
      * 
@@ -602,6 +922,47 @@ class BlockRepository {
         }
     }
 
+    /**
+     * Current chain tip (last block number, hash and block count) without querying the
+     * database once it is known. Inside a transaction that inserted or deleted blocks,
+     * the tip includes those uncommitted changes.
+     *
+     * @return chain tip, {@link ChainTip.Tip#EMPTY} if there are no blocks
+     */
+    ChainTip.Tip getChainTip() {
+        return CHAIN_TIP.get(JPAUtil.getEntityManagerFactory(), this::loadChainTip);
+    }
+
+    /**
+     * Forget the cached chain tip so that the next lookup reads it from the database.
+     */
+    void invalidateChainTip() {
+        CHAIN_TIP.invalidate();
+    }
+
+    private ChainTip.Tip loadChainTip() {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            List<Object[]> last = em.createQuery(
+                    "SELECT b.blockNumber, b.hash FROM Block b ORDER BY b.blockNumber DESC", Object[].class)
+                    .setMaxResults(1)
+                    .getResultList();
+            if (last.isEmpty()) {
+                return ChainTip.Tip.EMPTY;
+            }
+            Long count = em.createQuery("SELECT COUNT(b) FROM Block b", Long.class).getSingleResult();
+            List<String> genesis = em.createQuery(
+                    "SELECT b.hash FROM Block b WHERE b.blockNumber = 0", String.class)
+                    .getResultList();
+            return new ChainTip.Tip((Long) last.get(0)[0], (String) last.get(0)[1], count,
+                genesis.isEmpty() ? null : genesis.get(0));
+        } finally {
+            if (!JPAUtil.hasActiveTransaction()) {
+                em.close();
+            }
+        }
+    }
+
     /**
      * Get blocks within a specific block number range.
      *
@@ -962,17 +1323,17 @@ class BlockRepository {
         EntityManager em = JPAUtil.getEntityManager();
         try {
             // Single indexed query with OR conditions
-            // Uses indexes on: is_encrypted, recipient_public_key, signer_public_key
+            // Uses indexes on: is_encrypted, recipient_key_fingerprint, signer_key_fingerprint
             // Excludes genesis block (block 0) as it's a system block, not user data
             TypedQuery<Block> query = em.createQuery(
                 "SELECT b FROM Block b " +
                 "WHERE b.blockNumber > 0 AND (" +
                 "   b.isEncrypted = false " +
-                "   OR b.recipientPublicKey = :userPublicKey " +
-                "   OR b.signerPublicKey = :userPublicKey)",
+                "   OR b.recipientKey.fingerprint = :userKeyFingerprint " +
+                "   OR b.signerKey.fingerprint = :userKeyFingerprint)",
                 Block.class
             );
-            query.setParameter("userPublicKey", userPublicKey);
+            query.setParameter("userKeyFingerprint", PublicKeyEntry.fingerprintOf(userPublicKey));
             query.setMaxResults(maxResults);
             return query.getResultList();
         } finally {
@@ -1063,10 +1424,30 @@ class BlockRepository {
 
         EntityManager em = JPAUtil.getEntityManager();
         try {
+            // Cached number turns the lookup into a primary-key probe (hash re-checked)
+            Long cachedNumber = HASH_CACHE.get(hash);
+            if (cachedNumber != null) {
+                TypedQuery<Long> byNumber = em.createQuery(
+                        "SELECT COUNT(b) FROM Block b WHERE b.blockNumber = :blockNumber AND b.hash = :hash",
+                        Long.class);
+                byNumber.setParameter("blockNumber", cachedNumber);
+                byNumber.setParameter("hash", hash);
+                if (byNumber.getSingleResult() > 0) {
+                    return true;
+                }
+                HASH_CACHE.remove(hash);
+            }
+
             TypedQuery<Long> query = em.createQuery(
-                    "SELECT COUNT(b) FROM Block b WHERE b.hash = :hash", Long.class);
+                    "SELECT b.blockNumber FROM Block b WHERE b.hash = :hash", Long.class);
             query.setParameter("hash", hash);
-            return query.getSingleResult() > 0;
+            query.setMaxResults(1);
+            List<Long> numbers = query.getResultList();
+            if (numbers.isEmpty()) {
+                return false;
+            }
+            HASH_CACHE.put(hash, numbers.get(0));
+            return true;
         } finally {
             if (!JPAUtil.hasActiveTransaction()) {
                 em.close();
@@ -1083,6 +1464,8 @@ class BlockRepository {
             int deletedCount = em.createQuery("DELETE FROM Block b WHERE b.blockNumber = :blockNumber")
                     .setParameter("blockNumber", blockNumber)
                     .executeUpdate();
+            CHAIN_TIP.changed(em);
+            HASH_CACHE.removeFrom(blockNumber);
             return deletedCount > 0;
         } else {
             EntityManager em = JPAUtil.getEntityManager();
@@ -1095,8 +1478,10 @@ class BlockRepository {
                 int deletedCount = em.createQuery("DELETE FROM Block b WHERE b.blockNumber = :blockNumber")
                         .setParameter("blockNumber", blockNumber)
                         .executeUpdate();
+                CHAIN_TIP.changed(em);
 
                 transaction.commit();
+                HASH_CACHE.removeFrom(blockNumber);
                 return deletedCount > 0;
             } catch (Exception e) {
                 if (transaction != null && transaction.isActive()) {
@@ -1174,10 +1559,10 @@ class BlockRepository {
             EntityManager em) {
         Session session = em.unwrap(Session.class);
 
-        String hql = "SELECT b FROM Block b WHERE b.signerPublicKey = :signerPublicKey";
+        String hql = "SELECT b FROM Block b WHERE b.signerKey.fingerprint = :signerKeyFingerprint";
 
         try (ScrollableResults<Block> scrollableResults = session.createQuery(hql, Block.class)
-                .setParameter("signerPublicKey", signerPublicKey)
+                .setParameter("signerKeyFingerprint", PublicKeyEntry.fingerprintOf(signerPublicKey))
                 .setReadOnly(true)
                 .setFetchSize(1000)
                 .scroll(ScrollMode.FORWARD_ONLY)) {
@@ -1225,11 +1610,11 @@ class BlockRepository {
         boolean hasMore = true;
         int totalCount = 0;
 
-        String hql = "SELECT b FROM Block b WHERE b.signerPublicKey = :signerPublicKey";
+        String hql = "SELECT b FROM Block b WHERE b.signerKey.fingerprint = :signerKeyFingerprint";
 
         while (hasMore) {
             List<Block> batch = em.createQuery(hql, Block.class)
-                    .setParameter("signerPublicKey", signerPublicKey)
+                    .setParameter("signerKeyFingerprint", PublicKeyEntry.fingerprintOf(signerPublicKey))
                     .setFirstResult(offset)
                     .setMaxResults(MemorySafetyConstants.DEFAULT_BATCH_SIZE)
                     .getResultList();
@@ -1299,9 +1684,9 @@ class BlockRepository {
         EntityManager em = JPAUtil.getEntityManager();
         try {
             TypedQuery<Block> query = em.createQuery(
-                    "SELECT b FROM Block b WHERE b.signerPublicKey = :signerPublicKey",
+                    "SELECT b FROM Block b WHERE b.signerKey.fingerprint = :signerKeyFingerprint",
                     Block.class);
-            query.setParameter("signerPublicKey", signerPublicKey);
+            query.setParameter("signerKeyFingerprint", PublicKeyEntry.fingerprintOf(signerPublicKey));
             query.setMaxResults(maxResults);
 
             return query.getResultList();
@@ -1320,9 +1705,9 @@ class BlockRepository {
         EntityManager em = JPAUtil.getEntityManager();
         try {
             TypedQuery<Long> query = em.createQuery(
-                    "SELECT COUNT(b) FROM Block b WHERE b.signerPublicKey = :signerPublicKey",
+                    "SELECT COUNT(b) FROM Block b WHERE b.signerKey.fingerprint = :signerKeyFingerprint",
                     Long.class);
-            query.setParameter("signerPublicKey", signerPublicKey);
+            query.setParameter("signerKeyFingerprint", PublicKeyEntry.fingerprintOf(signerPublicKey));
             return query.getSingleResult();
         } finally {
             if (!JPAUtil.hasActiveTransaction()) {
@@ -1363,9 +1748,9 @@ class BlockRepository {
         EntityManager em = JPAUtil.getEntityManager();
         try {
             TypedQuery<Block> query = em.createQuery(
-                    "SELECT b FROM Block b WHERE b.recipientPublicKey = :recipientPublicKey",
+                    "SELECT b FROM Block b WHERE b.recipientKey.fingerprint = :recipientKeyFingerprint",
                     Block.class);
-            query.setParameter("recipientPublicKey", recipientPublicKey);
+            query.setParameter("recipientKeyFingerprint", PublicKeyEntry.fingerprintOf(recipientPublicKey));
             query.setMaxResults(maxResults);
 
             return query.getResultList();
@@ -1393,9 +1778,9 @@ class BlockRepository {
         EntityManager em = JPAUtil.getEntityManager();
         try {
             TypedQuery<Long> query = em.createQuery(
-                    "SELECT COUNT(b) FROM Block b WHERE b.recipientPublicKey = :recipientPublicKey",
+                    "SELECT COUNT(b) FROM Block b WHERE b.recipientKey.fingerprint = :recipientKeyFingerprint",
                     Long.class);
-            query.setParameter("recipientPublicKey", recipientPublicKey);
+            query.setParameter("recipientKeyFingerprint", PublicKeyEntry.fingerprintOf(recipientPublicKey));
             return query.getSingleResult();
         } finally {
             if (!JPAUtil.hasActiveTransaction()) {
@@ -1455,6 +1840,8 @@ class BlockRepository {
     public int deleteBlocksAfter(Long blockNumber) {
         if (JPAUtil.hasActiveTransaction()) {
             EntityManager em = JPAUtil.getEntityManager();
+            HASH_CACHE.removeFrom(blockNumber + 1);
+            CHAIN_TIP.changed(em);
             return em.createQuery("DELETE FROM Block b WHERE b.blockNumber > :blockNumber")
                     .setParameter("blockNumber", blockNumber)
                     .executeUpdate();
@@ -1469,8 +1856,10 @@ class BlockRepository {
                 int deletedCount = em.createQuery("DELETE FROM Block b WHERE b.blockNumber > :blockNumber")
                         .setParameter("blockNumber", blockNumber)
                         .executeUpdate();
+                CHAIN_TIP.changed(em);
 
                 transaction.commit();
+                HASH_CACHE.removeFrom(blockNumber + 1);
                 return deletedCount;
             } catch (Exception e) {
                 if (transaction != null && transaction.isActive()) {
@@ -1489,6 +1878,8 @@ class BlockRepository {
     public int deleteAllBlocks() {
         if (JPAUtil.hasActiveTransaction()) {
             EntityManager em = JPAUtil.getEntityManager();
+            HASH_CACHE.clear();
+            CHAIN_TIP.changed(em);
             return em.createQuery("DELETE FROM Block b").executeUpdate();
         } else {
             EntityManager em = JPAUtil.getEntityManager();
@@ -1499,8 +1890,10 @@ class BlockRepository {
                 transaction.begin();
 
                 int deletedCount = em.createQuery("DELETE FROM Block b").executeUpdate();
+                CHAIN_TIP.changed(em);
 
                 transaction.commit();
+                HASH_CACHE.clear();
                 return deletedCount;
             } catch (Exception e) {
                 if (transaction != null && transaction.isActive()) {
@@ -1555,12 +1948,27 @@ class BlockRepository {
 
         EntityManager em = JPAUtil.getEntityManager();
         try {
+            // Cached number turns the lookup into a primary-key find (hash re-checked)
+            Long cachedNumber = HASH_CACHE.get(hash);
+            if (cachedNumber != null) {
+                Block cached = em.find(Block.class, cachedNumber);
+                if (cached != null && hash.equals(cached.getHash())) {
+                    return cached;
+                }
+                HASH_CACHE.remove(hash);
+            }
+
             TypedQuery<Block> query = em.createQuery(
                     "SELECT b FROM Block b WHERE b.hash = :hash", Block.class);
             query.setParameter("hash", hash);
 
             List<Block> results = query.getResultList();
-            return results.isEmpty() ? null : results.get(0);
+            if (results.isEmpty()) {
+                return null;
+            }
+            Block block = results.get(0);
+            HASH_CACHE.put(hash, block.getBlockNumber());
+            return block;
         } finally {
             if (!JPAUtil.hasActiveTransaction()) {
                 em.close();
@@ -2478,6 +2886,16 @@ class BlockRepository {
         }
     }
 
+    /**
+     * Get hash → block number cache statistics (size, capacity, hits, misses, hitRate).
+     *
+     * @return statistics snapshot
+     * @since 1.0.6
+     */
+    public Map<String, Object> getHashCacheStatistics() {
+        return HASH_CACHE.getStatistics();
+    }
+
     /**
      * Clean up test data - Delete all blocks except genesis block (block 0) and
      * reset sequence
@@ -2485,11 +2903,13 @@ class BlockRepository {
      * WARNING: This method is intended for testing purposes only
      */
     public void cleanupTestData() {
+        HASH_CACHE.clear();
         if (JPAUtil.hasActiveTransaction()) {
             // Use existing global transaction
             EntityManager em = JPAUtil.getEntityManager();
             // Delete all blocks except genesis (block 0)
             em.createQuery("DELETE FROM Block b WHERE b.blockNumber > 0").executeUpdate();
+            CHAIN_TIP.changed(em);
             // Phase 5.0: Next block will start from blockNumber 0 (manual assignment)
             // Clear Hibernate session cache to avoid entity conflicts
             em.flush();
@@ -2499,6 +2919,7 @@ class BlockRepository {
             JPAUtil.executeInTransaction(em -> {
                 // Delete all blocks except genesis (block 0)
                 em.createQuery("DELETE FROM Block b WHERE b.blockNumber > 0").executeUpdate();
+                CHAIN_TIP.changed(em);
                 // Phase 5.0: Next block will start from blockNumber 0 (manual assignment)
                 // Clear Hibernate session cache to avoid entity conflicts
                 em.flush();
@@ -2515,11 +2936,13 @@ class BlockRepository {
      * WARNING: This method is intended for testing purposes only - removes ALL data
      */
     public void completeCleanupTestData() {
+        HASH_CACHE.clear();
         if (JPAUtil.hasActiveTransaction()) {
             // Use existing global transaction
             EntityManager em = JPAUtil.getEntityManager();
             // Delete ALL blocks (including genesis)
             em.createQuery("DELETE FROM Block").executeUpdate();
+            CHAIN_TIP.changed(em);
             // Phase 5.0: Next block will start from blockNumber 0 (manual assignment)
             // Clear Hibernate session cache to avoid entity conflicts
             em.flush();
@@ -2529,6 +2952,7 @@ class BlockRepository {
             JPAUtil.executeInTransaction(em -> {
                 // Delete ALL blocks (including genesis)
                 em.createQuery("DELETE FROM Block").executeUpdate();
+                CHAIN_TIP.changed(em);
                 // Phase 5.0: Next block will start from blockNumber 0 (manual assignment)
                 // Clear Hibernate session cache to avoid entity conflicts
                 em.flush();
@@ -2855,12 +3279,48 @@ class BlockRepository {
         EntityManager em = JPAUtil.getEntityManager();
 
         try {
-            // Create optimized JPA query with IN clause for hashes
-            String jpql = "SELECT b FROM Block b WHERE b.hash IN :hashes";
-            TypedQuery<Block> query = em.createQuery(jpql, Block.class);
-            query.setParameter("hashes", blockHashes);
+            // Resolve cached hashes through the primary key; verify and fall back for stale entries
+            List<Block> results = new ArrayList<>(blockHashes.size());
+            List<String> uncachedHashes = new ArrayList<>();
+            Map<Long, String> cachedNumbers = new HashMap<>();
+            for (String hash : blockHashes) {
+                Long blockNumber = HASH_CACHE.get(hash);
+                if (blockNumber != null) {
+                    cachedNumbers.put(blockNumber, hash);
+                } else {
+                    uncachedHashes.add(hash);
+                }
+            }
 
-            List<Block> results = query.getResultList();
+            if (!cachedNumbers.isEmpty()) {
+                List<Block> cachedBlocks = executeBatchRetrieval(em, new ArrayList<>(cachedNumbers.keySet()));
+                for (Block block : cachedBlocks) {
+                    String expectedHash = cachedNumbers.remove(block.getBlockNumber());
+                    if (expectedHash != null && expectedHash.equals(block.getHash())) {
+                        results.add(block);
+                    } else if (expectedHash != null) {
+                        HASH_CACHE.remove(expectedHash);
+                        uncachedHashes.add(expectedHash);
+                    }
+                }
+                // Cached numbers that no longer exist
+                for (String staleHash : cachedNumbers.values()) {
+                    HASH_CACHE.remove(staleHash);
+                    uncachedHashes.add(staleHash);
+                }
+            }
+
+            if (!uncachedHashes.isEmpty()) {
+                // Create optimized JPA query with IN clause for hashes (uses idx_blocks_hash)
+                String jpql = "SELECT b FROM Block b WHERE b.hash IN :hashes";
+                TypedQuery<Block> query = em.createQuery(jpql, Block.class);
+                query.setParameter("hashes", uncachedHashes);
+                for (Block block : query.getResultList()) {
+                    HASH_CACHE.put(block.getHash(), block.getBlockNumber());
+                    results.add(block);
+                }
+            }
+            results.sort(Comparator.comparing(Block::getBlockNumber));
 
             logger.debug(
                     "✅ Batch retrieved {} blocks by hash successfully (requested: {})",
@@ -2988,21 +3448,26 @@ class BlockRepository {
             Consumer<List<Block>> batchProcessor,
             int batchSize,
             EntityManager em) {
-        long totalBlocks = getBlockCount();
         int batchCount = 0;
+        long lastBlockNumber = -1L;
 
-        for (long offset = 0; offset < totalBlocks; offset += batchSize) {
-            int limit = (int) Math.min(batchSize, totalBlocks - offset);
-            List<Block> batch = getBlocksPaginated(offset, limit);
+        // Keyset pagination: each page seeks past the last block of the previous one
+        while (true) {
+            List<Block> batch = getBlocksAfter(lastBlockNumber, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            lastBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
 
-            if (!batch.isEmpty()) {
-                batchProcessor.accept(batch);
-                batchCount++;
+            batchProcessor.accept(batch);
+            batchCount++;
 
-                // Clear persistence context to prevent memory accumulation (only if session is still open)
-                if (em.isOpen()) {
-                    em.clear();
-                }
+            // Clear persistence context to prevent memory accumulation (only if session is still open)
+            if (em.isOpen()) {
+                em.clear();
+            }
+            if (batch.size() < batchSize) {
+                break;
             }
         }
 
@@ -3605,11 +4070,12 @@ class BlockRepository {
             EntityManager em) {
 
         
-        long offset = 0;
+        long processed = 0;
+        long lastBlockNumber = blockNumber;
         boolean hasMore = true;
 
         while (hasMore) {
-            List<Block> batch = getBlocksAfterPaginated(blockNumber, offset, MemorySafetyConstants.DEFAULT_BATCH_SIZE);
+            List<Block> batch = getBlocksAfter(lastBlockNumber, MemorySafetyConstants.DEFAULT_BATCH_SIZE);
 
             if (batch.isEmpty()) {
                 break;
@@ -3620,14 +4086,15 @@ class BlockRepository {
             }
 
             hasMore = (batch.size() == MemorySafetyConstants.DEFAULT_BATCH_SIZE);
-            offset += MemorySafetyConstants.DEFAULT_BATCH_SIZE;
+            processed += batch.size();
+            lastBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
 
             if (em.isOpen()) {
                 em.clear();
             }
         }
 
-        logger.debug("✅ StreamBlocksAfter (Pagination): Processed {} blocks", offset);
+        logger.debug("✅ StreamBlocksAfter (Pagination): Processed {} blocks", processed);
 
         if (!JPAUtil.hasActiveTransaction()) {
             em.close();
@@ -19,6 +19,7 @@ import com.rbatllet.blockchain.search.SearchFrameworkEngine;
 import com.rbatllet.blockchain.search.SearchFrameworkEngine.EnhancedSearchResult;
 import com.rbatllet.blockchain.search.SearchLevel;
 import com.rbatllet.blockchain.security.KeyFileLoader;
+import com.rbatllet.blockchain.security.PasswordVerifier;
 import com.rbatllet.blockchain.security.UserRole;
 import com.rbatllet.blockchain.search.SearchSpecialistAPI;
 import com.rbatllet.blockchain.service.OffChainStorageService;
@@ -33,6 +34,7 @@ import com.rbatllet.blockchain.validation.BlockStatus;
 import com.rbatllet.blockchain.validation.BlockValidationResult;
 import com.rbatllet.blockchain.validation.ChainValidationResult;
 import com.rbatllet.blockchain.validation.EncryptedBlockValidator;
+import com.rbatllet.blockchain.validation.ValidationCheckpoint;
 import jakarta.persistence.EntityManager;
 import tools.jackson.core.JsonEncoding;
 import tools.jackson.core.JsonGenerator;
@@ -41,6 +43,8 @@ import tools.jackson.databind.ObjectWriter;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -54,16 +58,28 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.StampedLock;
@@ -140,6 +156,7 @@ public class Blockchain {
 
     private final BlockRepository blockRepository;
     private final AuthorizedKeyDAO authorizedKeyDAO;
+    private final ValidationCheckpointStore validationCheckpointStore;
     private static final String GENESIS_PREVIOUS_HASH = "0";
 
     // Global lock for thread safety across multiple instances
@@ -151,7 +168,7 @@ public class Blockchain {
     // SECURITY FIX: Consistent block size validation
     // Use single byte-based limit for all data types to prevent confusion and bypass attempts
     // Increased to 10MB to support enterprise use cases (medical records, legal documents, etc.)
-    // NOTE: Files > 10MB should use multi-block chunking (planned for future implementation)
+    // NOTE: Larger payloads are split into chunk blocks by addLargePayload()
     private static final int MAX_BLOCK_SIZE_BYTES = 10 * 1024 * 1024; // 10MB max per block
     // SECURITY: Single coherent limit prevents bypass through multibyte character manipulation
 
@@ -167,6 +184,13 @@ public class Blockchain {
     // Batch processing configuration
     // Process blocks in batches to avoid memory issues and optimize database access
     private static final int VALIDATION_BATCH_SIZE = 1000;  // For validation/search/streaming (faster, read-only)
+    private static final int IMPORT_BATCH_SIZE = 500;       // Blocks per verify/insert step of importChain (two in flight)
+
+    /** Payload bytes per chunk block written by {@link #addLargePayload}. */
+    public static final int LARGE_PAYLOAD_CHUNK_BYTES = 4 * 1024 * 1024;
+
+    /** File extension of binary chain exports ({@link #exportChainBinary(String, boolean)}). */
+    public static final String BINARY_EXPORT_EXTENSION = ".pbcx";
 
     // Display configuration
     // Limit sample size for log messages and debugging output
@@ -184,9 +208,19 @@ public class Blockchain {
     private volatile int currentOffChainThresholdBytes =
         OFF_CHAIN_THRESHOLD_BYTES;
 
+    // Optional executor for parallel ML-DSA signing in addBlocksBatch (null = sequential)
+    private volatile ExecutorService batchSigningExecutor = null;
+
+    // Fork-join parallelism for validateChainDetailed/validateChainStreaming (1 = sequential)
+    private volatile int validationParallelism = 1;
+
+    // Resume validateChainDetailed/validateChainStreaming after the persisted checkpoint (opt-in)
+    private volatile boolean incrementalValidationEnabled = false;
+
     public Blockchain() {
         this.blockRepository = new BlockRepository();
         this.authorizedKeyDAO = new AuthorizedKeyDAO();
+        this.validationCheckpointStore = new ValidationCheckpointStore(this.authorizedKeyDAO);
 
         // Initialize Search Framework Engine with high security configuration
         EncryptionConfig searchConfig =
@@ -215,6 +249,13 @@ public class Blockchain {
     private void initializeGenesisBlock() {
         long stamp = GLOBAL_BLOCKCHAIN_LOCK.writeLock();
         try {
+            // Databases created before the public key dictionary: move keys out of block rows
+            // (checked once per database; blocks cannot be read correctly until this has run)
+            blockRepository.migrateLegacyPublicKeyColumns();
+
+            // The chain tip is re-read from this database before the first append
+            blockRepository.invalidateChainTip();
+
             // Use global transaction for consistency
             JPAUtil.executeInTransaction(em -> {
                 initializeGenesisBlockInternal(em);
@@ -241,8 +282,7 @@ public class Blockchain {
             );
             genesisBlock.setTimestamp(genesisTime);
 
-            String blockContent = buildBlockContent(genesisBlock);
-            genesisBlock.setHash(CryptoUtil.calculateHash(blockContent));
+            genesisBlock.setHash(calculateBlockHash(genesisBlock));
             genesisBlock.setSignature("GENESIS");
             genesisBlock.setSignerPublicKey("GENESIS");
 
@@ -306,57 +346,58 @@ public class Blockchain {
      * api.storeSearchableData("Financial data", departmentPasswords[1], financeKeywords);
      * }</pre>
      *
+     * <p><strong>Password Matching:</strong> Encrypted blocks carry a short password check value
+     * (see {@link com.rbatllet.blockchain.security.PasswordVerifier}), so each block is assigned
+     * its password in a single pass and decrypted only with that password. Blocks created before
+     * check values existed are matched by trying each password on their encrypted keywords.</p>
+     *
      * <p><strong>Edge Case Handling:</strong> This method safely handles null arrays, empty arrays,
      * and arrays containing null elements by using a default fallback password for initialization.</p>
      *
      * @param passwords Array of department-specific passwords for multi-tenant scenarios.
      *                  Can be null, empty, or contain null elements - method handles all edge cases gracefully.
-     *                  If valid passwords are provided, the first non-null password is used for initialization.
+     *                  Null and blank elements are ignored; the first valid password becomes the search default.
      * @throws IllegalStateException if the blockchain is in an inconsistent state that prevents initialization
      * @since 1.0.5
      * @see UserFriendlyEncryptionAPI#storeSearchableData(String, String, String[])
      * @see #searchBlocks(String, SearchLevel)
      */
     public void initializeAdvancedSearchWithMultiplePasswords(String[] passwords) {
+        List<String> validPasswords = new ArrayList<>();
+        if (passwords != null) {
+            for (String password : passwords) {
+                if (password != null && !password.trim().isEmpty()) {
+                    validPasswords.add(password);
+                }
+            }
+        }
+
         // Define the initialization logic as a lambda
         Runnable initLogic = () -> {
-            // Only initialize if there are blocks to index
-            if (blockRepository.getBlockCount() > 0) {
-                KeyPair tempKeyPair = CryptoUtil.generateKeyPair();
-
-                // Initialize with first password to avoid null error
-                // Other passwords will be registered per-block as data is stored
-                String initPassword = (passwords != null && passwords.length > 0 && passwords[0] != null)
-                                    ? passwords[0]
-                                    : "defaultPassword123!"; // Fallback
+            KeyPair tempKeyPair = CryptoUtil.generateKeyPair();
+            if (validPasswords.isEmpty()) {
                 searchSpecialistAPI.initializeWithBlockchain(
                     this,
-                    initPassword,
+                    "defaultPassword123!", // Fallback
                     tempKeyPair.getPrivate()
                 );
+            } else {
+                // Each block is indexed with its own password, matched by its password check value
+                reindexBlocksWithPasswords(validPasswords, tempKeyPair.getPrivate());
+            }
 
+            if (blockRepository.getBlockCount() > 0) {
                 logger.info(
                     "📊 Search Framework Engine initialized efficiently with {} blocks for {} department passwords",
                     blockRepository.getBlockCount(),
-                    passwords != null ? passwords.length : 0
+                    validPasswords.size()
                 );
 
                 // Print password registry stats
                 logger.info("📊 Password registry stats: {}", searchSpecialistAPI.getPasswordRegistryStats());
             } else {
-                // No existing blocks, just initialize empty with first password
-                KeyPair tempKeyPair = CryptoUtil.generateKeyPair();
-                String initPassword = (passwords != null && passwords.length > 0 && passwords[0] != null)
-                                    ? passwords[0]
-                                    : "defaultPassword123!"; // Fallback
-                searchSpecialistAPI.initializeWithBlockchain(
-                    this,
-                    initPassword,
-                    tempKeyPair.getPrivate()
-                );
-
                 logger.info("📊 Search Framework Engine initialized for empty blockchain with {} department passwords ready",
-                           passwords != null ? passwords.length : 0);
+                           validPasswords.size());
             }
         };
 
@@ -421,6 +462,21 @@ public class Blockchain {
         }
     }
 
+    /**
+     * Reindex all blocks, each with the one of {@code passwords} it was encrypted with.
+     * Password check values identify the password without decrypting, so the chain is
+     * read once regardless of the number of passwords.
+     */
+    private void reindexBlocksWithPasswords(List<String> passwords, PrivateKey privateKey) {
+        SearchFrameworkEngine.IndexingResult result =
+            searchSpecialistAPI.initializeWithBlockchainPasswords(this, passwords, privateKey);
+        logger.info(
+            "📊 Reindexed {} blocks with {} passwords in one pass",
+            result.getBlocksProcessed(),
+            passwords.size()
+        );
+    }
+
     /**
      * Reindex blocks that have encrypted keywords with their associated passwords
      * Since passwords cannot be retrieved from registry (security by design),
@@ -810,8 +866,9 @@ public class Blockchain {
                         );
                     }
 
-                    // 3. Get the last block for previous hash and calculate next block number
-                    Block lastBlock = blockRepository.getLastBlockWithLock();
+                    // 3. Get the chain tip for previous hash and calculate next block number
+                    // (kept in memory under the write lock, no query)
+                    Block lastBlock = blockRepository.getChainTip().toBlockReference();
 
                     // 4. Calculate next block number from last block (manual assignment before persist)
                     Long nextBlockNumber = (lastBlock == null) ? 0L : lastBlock.getBlockNumber() + 1;
@@ -1056,6 +1113,10 @@ public class Blockchain {
      * <p><strong>Atomicity:</strong> Either all blocks are added successfully, or none are added.
      * If any block fails validation, the entire batch is rolled back.
      *
+     * <p><strong>Parallel signing:</strong> Hashes are always chained in order, but block
+     * signatures can be computed in parallel by configuring an executor with
+     * {@link #setBatchSigningExecutor(ExecutorService)}.
+     *
      * <p><strong>Performance:</strong>
      * <ul>
      *   <li>Batch size 10: ~2,500 blocks/sec (5x improvement)</li>
@@ -1178,8 +1239,9 @@ public class Blockchain {
         long stamp = GLOBAL_BLOCKCHAIN_LOCK.writeLock();
         try {
             logger.info("✅ Batch validation passed for {} blocks, delegating to repository", requests.size());
+            ExecutorService signingExecutor = batchSigningExecutor;
             insertedBlocks = JPAUtil.executeInTransaction(em -> {
-                return blockRepository.batchInsertBlocks(em, requests);
+                return blockRepository.batchInsertBlocks(em, requests, signingExecutor);
             });
         } finally {
             GLOBAL_BLOCKCHAIN_LOCK.unlockWrite(stamp);
@@ -1262,6 +1324,340 @@ public class Blockchain {
         return null;
     }
 
+    /**
+     * Store a payload of any size as chained chunk blocks plus a manifest block.
+     *
+     * <p>The payload is read in chunks of {@link #LARGE_PAYLOAD_CHUNK_BYTES}. Each chunk becomes
+     * an off-chain block ({@code OFF_CHAIN_REF:<hash>}, encrypted with the same derived
+     * password as any off-chain block), and a final block holds the
+     * {@link LargePayloadManifest} listing the chunks and the hash of the whole payload.
+     * Chunk blocks validate, export and import like any other off-chain block.</p>
+     *
+     * <p>The payload is read, hashed and encrypted to off-chain files before the global write
+     * lock is taken, so other writers are only held up while the blocks are numbered, chained,
+     * signed and persisted. The chunk keys are bound to the block numbers the chunks are
+     * expected to get; if other blocks are added in the meantime, they are re-wrapped under
+     * the lock (one key derivation per chunk).</p>
+     *
+     * <p>All blocks are written in one transaction: either the whole payload is on the chain
+     * or none of it is (off-chain files of a failed write are deleted). With an executor set
+     * by {@link #setBatchSigningExecutor(ExecutorService)}, a window of chunks is hashed,
+     * encrypted and signed in parallel, and the block signatures are computed in parallel;
+     * memory use is bounded by that window, not by the payload size.</p>
+     *
+     * <p>Use {@link #openLargePayload(Block)} to read the payload back.</p>
+     *
+     * @param payload payload stream, read to its end but not closed
+     * @param contentType MIME type recorded in the manifest and the chunks' off-chain data
+     *        ({@code application/octet-stream} if null)
+     * @param signerPrivateKey private key signing every block
+     * @param signerPublicKey public key of the signer (must be authorized)
+     * @return the manifest block
+     * @throws IllegalArgumentException if an argument is null, the payload is empty or it
+     *         needs more than {@link MemorySafetyConstants#MAX_BATCH_SIZE} blocks
+     * @throws UnauthorizedKeyException if the signer key is not authorized
+     * @throws RuntimeException if reading the payload or writing a block fails
+     * @since 1.0.6
+     */
+    public Block addLargePayload(InputStream payload, String contentType,
+                                 PrivateKey signerPrivateKey, PublicKey signerPublicKey) {
+        if (payload == null) {
+            throw new IllegalArgumentException("Payload stream cannot be null");
+        }
+        validateBlockInput("", signerPrivateKey, signerPublicKey);
+        String publicKeyString = CryptoUtil.publicKeyToString(signerPublicKey);
+        String payloadType = contentType != null ? contentType : "application/octet-stream";
+
+        // Fail before staging anything; checked again under the lock at the blocks' timestamp
+        checkLargePayloadSigner(publicKeyString, LocalDateTime.now());
+
+        ExecutorService executor = batchSigningExecutor;
+        List<OffChainStorageService.StagedData> staged = new ArrayList<>();
+        Block manifestBlock;
+        try {
+            // Outside the write lock: read, hash, encrypt and store every chunk, and bind the
+            // chunk keys to the block numbers the chunks will get unless another block comes first
+            long predictedFirstChunk = blockRepository.getChainTip().nextBlockNumber();
+            StagedPayload stagedPayload = stageLargePayload(payload, payloadType, signerPrivateKey,
+                publicKeyString, executor, staged);
+            wrapChunkKeys(executor, staged, predictedFirstChunk, publicKeyString);
+
+            // Under the write lock: number, chain, sign and persist the blocks
+            long stamp = GLOBAL_BLOCKCHAIN_LOCK.writeLock();
+            try {
+                manifestBlock = JPAUtil.executeInTransaction(em -> writeLargePayload(em, staged, predictedFirstChunk,
+                    stagedPayload, payloadType, signerPrivateKey, publicKeyString, executor));
+            } finally {
+                GLOBAL_BLOCKCHAIN_LOCK.unlockWrite(stamp);
+            }
+        } catch (RuntimeException e) {
+            // Nothing was committed: remove the staged chunk files
+            staged.forEach(chunk -> offChainStorageService.deleteData(chunk.offChainData()));
+            throw e;
+        } catch (Exception e) {
+            staged.forEach(chunk -> offChainStorageService.deleteData(chunk.offChainData()));
+            throw new RuntimeException("Failed to store large payload: " + e.getMessage(), e);
+        } finally {
+            staged.forEach(chunk -> Arrays.fill(chunk.dataKey(), (byte) 0));
+        }
+
+        long firstChunk = LargePayloadManifest.fromBlock(manifestBlock).chunks().get(0).blockNumber();
+        logger.info("📦 Large payload stored in blocks #{}-#{} ({} chunks)", firstChunk,
+            manifestBlock.getBlockNumber(), staged.size());
+        indexBlocksRangeAsync(firstChunk, manifestBlock.getBlockNumber());
+        return manifestBlock;
+    }
+
+    /** Hash (hex) and size of a payload staged by {@link #stageLargePayload}. */
+    private record StagedPayload(String payloadHash, long totalSize) { }
+
+    /**
+     * First step of {@link #addLargePayload}, run without the write lock: read the payload in
+     * chunks and store each one encrypted under its own data key
+     * ({@link OffChainStorageService#stageData}). Every staged chunk is added to
+     * {@code staged}, also when a later one fails, so the caller can delete them.
+     */
+    private StagedPayload stageLargePayload(InputStream payload, String contentType, PrivateKey signerPrivateKey,
+                                            String publicKeyString, ExecutorService executor,
+                                            List<OffChainStorageService.StagedData> staged) throws Exception {
+        // Chunks in memory at once: one per worker, at most 8 (32 MiB)
+        int window = executor == null ? 1 : Math.min(8, executor instanceof ForkJoinPool pool
+            ? pool.getParallelism() : Runtime.getRuntime().availableProcessors());
+        int maxChunks = MemorySafetyConstants.MAX_BATCH_SIZE - 1;
+        MessageDigest payloadDigest = MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM);
+        long totalSize = 0;
+
+        boolean endOfPayload = false;
+        while (!endOfPayload) {
+            // 1. Read the next window of chunks
+            List<byte[]> windowData = new ArrayList<>(window);
+            while (windowData.size() < window) {
+                byte[] chunk = payload.readNBytes(LARGE_PAYLOAD_CHUNK_BYTES);
+                if (chunk.length > 0) {
+                    windowData.add(chunk);
+                    payloadDigest.update(chunk);
+                    totalSize += chunk.length;
+                }
+                if (chunk.length < LARGE_PAYLOAD_CHUNK_BYTES) {
+                    endOfPayload = true;
+                    break;
+                }
+            }
+            if (staged.size() + windowData.size() > maxChunks) {
+                throw new IllegalArgumentException("Payload exceeds " + maxChunks + " chunks of "
+                    + LARGE_PAYLOAD_CHUNK_BYTES + " bytes");
+            }
+
+            // 2. Hash, encrypt and sign the chunks' off-chain files (independent per chunk)
+            List<Callable<OffChainStorageService.StagedData>> stageTasks = new ArrayList<>(windowData.size());
+            for (byte[] chunk : windowData) {
+                stageTasks.add(() -> offChainStorageService.stageData(chunk, signerPrivateKey,
+                    publicKeyString, contentType));
+            }
+            runStagingTasks(executor, stageTasks, staged);
+        }
+        if (staged.isEmpty()) {
+            throw new IllegalArgumentException("Payload cannot be empty");
+        }
+        return new StagedPayload(HexFormat.of().formatHex(payloadDigest.digest()), totalSize);
+    }
+
+    /**
+     * Wrap the data key of each staged chunk under the off-chain password of its block number,
+     * the first chunk becoming block {@code firstBlockNumber}. One key derivation per chunk.
+     */
+    private void wrapChunkKeys(ExecutorService executor, List<OffChainStorageService.StagedData> staged,
+                               long firstBlockNumber, String publicKeyString) throws Exception {
+        List<Callable<Void>> wrapTasks = new ArrayList<>(staged.size());
+        for (int i = 0; i < staged.size(); i++) {
+            OffChainStorageService.StagedData chunk = staged.get(i);
+            long blockNumber = firstBlockNumber + i;
+            wrapTasks.add(() -> {
+                offChainStorageService.wrapDataKey(chunk, generateOffChainPassword(blockNumber, publicKeyString));
+                return null;
+            });
+        }
+        runStagingTasks(executor, wrapTasks, null);
+    }
+
+    /**
+     * Second step of {@link #addLargePayload}: runs under the write lock, inside the
+     * transaction. Chains, signs and persists the chunk blocks, then the manifest block.
+     */
+    private Block writeLargePayload(EntityManager em, List<OffChainStorageService.StagedData> staged,
+                                    long predictedFirstChunk, StagedPayload stagedPayload, String contentType,
+                                    PrivateKey signerPrivateKey, String publicKeyString,
+                                    ExecutorService executor) throws Exception {
+        LocalDateTime blockTimestamp = LocalDateTime.now();
+        checkLargePayloadSigner(publicKeyString, blockTimestamp);
+        ChainTip.Tip tip = blockRepository.getChainTip();
+        long nextBlockNumber = tip.nextBlockNumber();
+        if (nextBlockNumber != predictedFirstChunk) {
+            // Blocks were added while the chunks were staged: rebind the keys to the new numbers
+            logger.debug("Large payload starts at block #{} instead of #{}: re-wrapping {} chunk keys",
+                nextBlockNumber, predictedFirstChunk, staged.size());
+            wrapChunkKeys(executor, staged, nextBlockNumber, publicKeyString);
+        }
+        String previousHash = tip.isEmpty() ? GENESIS_PREVIOUS_HASH : tip.hash();
+        List<LargePayloadManifest.Chunk> chunks = new ArrayList<>(staged.size());
+        int batchSize = 50; // Match hibernate.jdbc.batch_size configuration
+
+        for (int batchStart = 0; batchStart < staged.size(); batchStart += batchSize) {
+            int batchEnd = Math.min(batchStart + batchSize, staged.size());
+            List<Block> blocks = new ArrayList<>(batchEnd - batchStart);
+            List<String> contents = new ArrayList<>(batchEnd - batchStart);
+
+            // 1. Chain the chunk blocks (sequential)
+            for (int i = batchStart; i < batchEnd; i++) {
+                OffChainData offChainData = staged.get(i).offChainData();
+                long blockNumber = nextBlockNumber + i;
+                Block block = newLargePayloadBlock(blockNumber, previousHash,
+                    "OFF_CHAIN_REF:" + offChainData.getDataHash(), blockTimestamp, publicKeyString);
+                block.setOffChainData(offChainData);
+                block.setContentCategory("LARGE_PAYLOAD_CHUNK");
+                String content = buildBlockContent(block);
+                block.setHash(CryptoUtil.calculateHash(content));
+                previousHash = block.getHash();
+                blocks.add(block);
+                contents.add(content);
+                chunks.add(new LargePayloadManifest.Chunk(blockNumber, offChainData.getFileSize(),
+                    offChainData.getDataHash()));
+            }
+
+            // 2. Sign them (independent per block), 3. persist and flush
+            BlockRepository.signBlocks(blocks, contents, Collections.nCopies(blocks.size(), signerPrivateKey),
+                executor);
+            for (Block block : blocks) {
+                BlockRepository.persistNewBlock(em, block);
+            }
+            em.flush();
+            em.clear();
+        }
+
+        // 4. Manifest block after the last chunk
+        LargePayloadManifest manifest = new LargePayloadManifest(contentType, stagedPayload.totalSize(),
+            LARGE_PAYLOAD_CHUNK_BYTES, stagedPayload.payloadHash(), chunks);
+        String manifestData = manifest.toBlockData();
+        if (!validateDataSize(manifestData)) {
+            throw new IllegalArgumentException("Large payload manifest exceeds maximum block size limits");
+        }
+        Block manifestBlock = newLargePayloadBlock(nextBlockNumber + chunks.size(), previousHash, manifestData,
+            blockTimestamp, publicKeyString);
+        manifestBlock.setContentCategory("LARGE_PAYLOAD");
+        String manifestContent = buildBlockContent(manifestBlock);
+        manifestBlock.setHash(CryptoUtil.calculateHash(manifestContent));
+        manifestBlock.setSignature(CryptoUtil.signData(manifestContent, signerPrivateKey));
+        BlockRepository.persistNewBlock(em, manifestBlock);
+        em.flush();
+        return manifestBlock;
+    }
+
+    private void checkLargePayloadSigner(String publicKeyString, LocalDateTime timestamp) {
+        if (!authorizedKeyDAO.wasKeyAuthorizedAt(publicKeyString, timestamp)) {
+            throw new UnauthorizedKeyException(
+                "Unauthorized key attempting to add large payload",
+                publicKeyString,
+                "ADD_LARGE_PAYLOAD",
+                timestamp
+            );
+        }
+    }
+
+    private static Block newLargePayloadBlock(long blockNumber, String previousHash, String data,
+                                              LocalDateTime timestamp, String publicKeyString) {
+        Block block = new Block();
+        block.setBlockNumber(blockNumber);
+        block.setPreviousHash(previousHash);
+        block.setData(data);
+        block.setTimestamp(timestamp);
+        block.setSignerPublicKey(publicKeyString);
+        return block;
+    }
+
+    /**
+     * Run the independent staging tasks of {@link #addLargePayload} on {@code executor}, or
+     * sequentially if it is null, and return their results in order. Results are added to
+     * {@code completed} (if not null) as soon as they are known, including when another task
+     * fails, so that the files they stored can be deleted.
+     */
+    private static <T> List<T> runStagingTasks(ExecutorService executor, List<Callable<T>> tasks,
+                                               List<T> completed) throws Exception {
+        List<T> results = new ArrayList<>(tasks.size());
+        if (executor == null || tasks.size() < 2) {
+            for (Callable<T> task : tasks) {
+                T result = task.call();
+                results.add(result);
+                if (completed != null) {
+                    completed.add(result);
+                }
+            }
+            return results;
+        }
+
+        Exception failure = null;
+        for (Future<T> future : executor.invokeAll(tasks)) {
+            try {
+                T result = future.get();
+                results.add(result);
+                if (completed != null) {
+                    completed.add(result);
+                }
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return results;
+    }
+
+    /**
+     * Open the payload of a manifest block written by {@link #addLargePayload}.
+     *
+     * <p>The manifest block's hash and signature are checked first. Chunks are then read one at
+     * a time: each chunk block must match the manifest (same signer, same off-chain hash), its
+     * off-chain segments are authenticated as they are decrypted, and its size and hash are
+     * checked when it has been read. The hash of the whole payload is checked at the end of
+     * the stream. A failed check makes {@code read} throw {@link IOException} (or
+     * {@link SecurityException} for a chunk hash mismatch).</p>
+     *
+     * @param manifestBlock block returned by {@link #addLargePayload}, or read back from the chain
+     * @return stream of the payload; the caller closes it
+     * @throws IllegalArgumentException if the block is not a manifest block
+     * @throws SecurityException if the manifest block's hash or signature is invalid
+     * @since 1.0.6
+     */
+    public InputStream openLargePayload(Block manifestBlock) {
+        LargePayloadManifest manifest = LargePayloadManifest.fromBlock(manifestBlock);
+        String blockContent = buildBlockContent(manifestBlock);
+        if (!CryptoUtil.calculateHash(blockContent).equals(manifestBlock.getHash())
+            || !CryptoUtil.verifySignature(blockContent, manifestBlock.getSignature(),
+                CryptoUtil.getCachedPublicKey(manifestBlock.getSignerPublicKey()))) {
+            throw new SecurityException("Large payload manifest block #" + manifestBlock.getBlockNumber()
+                + " has an invalid hash or signature");
+        }
+        String signer = manifestBlock.getSignerPublicKey();
+        return new LargePayloadInputStream(manifest, chunk -> {
+            Block block = getBlock(chunk.blockNumber());
+            if (block == null || !block.hasOffChainData() || !signer.equals(block.getSignerPublicKey())
+                || !chunk.dataHash().equals(block.getOffChainData().getDataHash())) {
+                throw new IOException("Chunk block #" + chunk.blockNumber() + " does not match the manifest of block #"
+                    + manifestBlock.getBlockNumber());
+            }
+            try {
+                return offChainStorageService.openDataStream(block.getOffChainData(),
+                    generateOffChainPassword(block.getBlockNumber(), signer));
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Cannot open chunk block #" + chunk.blockNumber(), e);
+            }
+        });
+    }
+
     /**
      * Index a range of blocks for search functionality.
      *
@@ -2478,8 +2874,8 @@ public class Blockchain {
                         );
                     }
 
-                    // 5. Get last block and calculate next block number (manual assignment before persist)
-                    Block lastBlock = blockRepository.getLastBlockWithLock();
+                    // 5. Get the chain tip and calculate next block number (manual assignment before persist)
+                    Block lastBlock = blockRepository.getChainTip().toBlockReference();
                     Long nextBlockNumber = (lastBlock == null) ? 0L : lastBlock.getBlockNumber() + 1;
 
                     // 6. Handle off-chain storage if needed (for encrypted data)
@@ -2534,6 +2930,9 @@ public class Blockchain {
                     // 8. Calculate block hash (uses encryptionMetadata for encrypted blocks)
                     String blockContent = buildBlockContent(newBlock);
                     newBlock.setHash(CryptoUtil.calculateHash(blockContent));
+                    newBlock.setPasswordCheckValue(
+                        passwordCheckValue(encryptionPassword, newBlock.getHash())
+                    );
 
                     // 9. Sign the block
                     String signature = CryptoUtil.signData(
@@ -2615,6 +3014,25 @@ public class Blockchain {
         return savedBlock;
     }
 
+    /**
+     * Password check value of a new encrypted block (see {@link PasswordVerifier}),
+     * or null when the chain has no genesis block to salt it with. The genesis hash comes from
+     * the chain tip and the verifier key from {@link PasswordVerifier}'s cache, so only the
+     * first block written with a password pays for the key derivation.
+     */
+    private String passwordCheckValue(String password, String blockHash) {
+        String genesisHash = blockRepository.getChainTip().genesisHash();
+        if (genesisHash == null) {
+            return null;
+        }
+        PasswordVerifier verifier = PasswordVerifier.derive(password, genesisHash);
+        try {
+            return verifier.checkValue(blockHash);
+        } finally {
+            verifier.destroy();
+        }
+    }
+
     /**
      * Add a recipient-encrypted block using public key cryptography
      *
@@ -2694,8 +3112,8 @@ public class Blockchain {
                         );
                     }
 
-                    // 5. Get last block and calculate next block number
-                    Block lastBlock = blockRepository.getLastBlockWithLock();
+                    // 5. Get the chain tip and calculate next block number
+                    Block lastBlock = blockRepository.getChainTip().toBlockReference();
                     Long nextBlockNumber = (lastBlock == null) ? 0L : lastBlock.getBlockNumber() + 1;
 
                     // 6. Create the new recipient-encrypted block
@@ -2832,9 +3250,8 @@ public class Blockchain {
                         em.flush(); // Ensure ID is generated
                     }
 
-                    // 4. Get blockchain info using current EntityManager to avoid stale reads
-                    // CRITICAL FIX: Use em from current transaction to see most recent blocks
-                    Block lastBlock = blockRepository.getLastBlock(em);
+                    // 4. Get the chain tip (includes blocks added earlier in this transaction)
+                    Block lastBlock = blockRepository.getChainTip().toBlockReference();
                     Long newBlockNumber = (lastBlock != null)
                         ? lastBlock.getBlockNumber() + 1
                         : 1L;
@@ -2923,8 +3340,8 @@ public class Blockchain {
                     );
                     newBlock.setSignature(signature);
 
-                    // 11. Persist the block
-                    em.persist(newBlock);
+                    // 11. Persist the block (interns signer/recipient keys and moves the chain tip)
+                    BlockRepository.persistNewBlock(em, newBlock);
                     em.flush();
 
                     logger.info(
@@ -3414,9 +3831,8 @@ public class Blockchain {
             }
 
             // 3. Verify hash integrity
-            // buildBlockContent() automatically uses correct field based on encryption status
-            String blockContent = buildBlockContent(block);
-            String calculatedHash = CryptoUtil.calculateHash(blockContent);
+            // calculateBlockHash() automatically uses correct field based on encryption status
+            String calculatedHash = calculateBlockHash(block);
             if (!block.getHash().equals(calculatedHash)) {
                 logger.error(
                     "❌ [{}] VALIDATION FAILURE: Block hash integrity check failed for block #{}",
@@ -3425,7 +3841,7 @@ public class Blockchain {
                 );
                 logger.error("🔍 Stored hash: {}", block.getHash());
                 logger.error("🔍 Calculated hash: {}", calculatedHash);
-                logger.error("🔍 Block content: {}", blockContent);
+                logger.error("🔍 Block content: {}", buildBlockContent(block));
                 logger.error("🔍 Is encrypted: {}", block.isDataEncrypted());
                 throw new BlockValidationException(
                     String.format("Block hash integrity check failed. Stored: %s, Calculated: %s",
@@ -3436,7 +3852,8 @@ public class Blockchain {
             }
 
             // 4. Verify digital signature
-            PublicKey signerPublicKey = CryptoUtil.stringToPublicKey(
+            PublicKey signerPublicKey = CryptoUtil.getCachedPublicKey(
+                block.getSignerKeyFingerprint(),
                 block.getSignerPublicKey()
             );
             // Use the same content building method as for hash calculation
@@ -3580,9 +3997,7 @@ public class Blockchain {
 
             // 3. Verify hash integrity
             if (structurallyValid) {
-                String calculatedHash = CryptoUtil.calculateHash(
-                    buildBlockContent(block)
-                );
+                String calculatedHash = calculateBlockHash(block);
                 if (!block.getHash().equals(calculatedHash)) {
                     cryptographicallyValid = false;
                     errorMessage = "Block hash integrity check failed";
@@ -3597,7 +4012,8 @@ public class Blockchain {
             // 4. Verify digital signature
             if (cryptographicallyValid) {
                 try {
-                    PublicKey signerPublicKey = CryptoUtil.stringToPublicKey(
+                    PublicKey signerPublicKey = CryptoUtil.getCachedPublicKey(
+                        block.getSignerKeyFingerprint(),
                         block.getSignerPublicKey()
                     );
                     String blockContent = buildBlockContent(block);
@@ -4007,11 +4423,16 @@ public class Blockchain {
      * 
      * DEADLOCK FIX #9: Uses internal method to allow lock-free calling
      * For normal use, this method manages locks automatically.
+     *
+     * INCREMENTAL: When {@link #setIncrementalValidationEnabled(boolean)} is on, validation
+     * resumes after the persisted checkpoint and the result contains only the new blocks.
      */
     public ChainValidationResult validateChainDetailed() {
         long stamp = GLOBAL_BLOCKCHAIN_LOCK.readLock();
         try {
-            return validateChainDetailedInternal();
+            return validateChainDetailedInternal(
+                incrementalValidationEnabled && !JPAUtil.hasActiveTransaction()
+            );
         } finally {
             GLOBAL_BLOCKCHAIN_LOCK.unlockRead(stamp);
         }
@@ -4021,9 +4442,12 @@ public class Blockchain {
      * INTERNAL: Detailed chain validation without locks
      * This is the actual implementation used by both public methods
      * 
+     * @param incremental resume after the stored {@link ValidationCheckpoint} and advance it
      * @return ChainValidationResult with comprehensive validation information
      */
-    private ChainValidationResult validateChainDetailedInternal() {
+    private ChainValidationResult validateChainDetailedInternal(boolean incremental) {
+        ForkJoinPool validationPool = createValidationPool();
+        LocalDateTime validationStartedAt = LocalDateTime.now();
         try {
             long totalBlocks = blockRepository.getBlockCount();
 
@@ -4046,58 +4470,91 @@ public class Blockchain {
                 return new ChainValidationResult(blockResults);
             }
 
-            // Validate genesis block (always fetch first)
-            Block genesisBlock = blockRepository.getBlockByNumber(0L);
-            if (genesisBlock == null) {
-                logger.error("❌ Genesis block not found");
-                return new ChainValidationResult(blockResults);
-            }
-
-            BlockValidationResult.Builder genesisBuilder =
-                new BlockValidationResult.Builder(genesisBlock);
+            // INCREMENTAL: resume after the last verified block if the checkpoint is still trusted
+            Block anchorBlock = incremental ? resolveValidationCheckpointAnchor() : null;
+            Block previousBlock;
+            long startOffset;
+            long verifiedThrough = -1;
+            String verifiedHash = null;
 
-            if (
-                !genesisBlock.getBlockNumber().equals(0L) ||
-                !genesisBlock.getPreviousHash().equals(GENESIS_PREVIOUS_HASH)
-            ) {
-                logger.error("❌ Invalid genesis block");
-                blockResults.add(
-                    genesisBuilder
-                        .structurallyValid(false)
-                        .cryptographicallyValid(false)
-                        .authorizationValid(false)
-                        .errorMessage("Invalid genesis block")
-                        .status(BlockStatus.INVALID)
-                        .build()
-                );
+            if (anchorBlock != null) {
+                previousBlock = anchorBlock;
+                startOffset = anchorBlock.getBlockNumber() + 1;
+                verifiedThrough = anchorBlock.getBlockNumber();
+                verifiedHash = anchorBlock.getHash();
+                logger.info("📍 Incremental validation resuming after block #{}", verifiedThrough);
             } else {
-                blockResults.add(
-                    genesisBuilder
-                        .structurallyValid(true)
-                        .cryptographicallyValid(true)
-                        .authorizationValid(true)
-                        .status(BlockStatus.VALID)
-                        .build()
-                );
+                // Validate genesis block (always fetch first)
+                Block genesisBlock = blockRepository.getBlockByNumber(0L);
+                if (genesisBlock == null) {
+                    logger.error("❌ Genesis block not found");
+                    return new ChainValidationResult(blockResults);
+                }
+
+                BlockValidationResult.Builder genesisBuilder =
+                    new BlockValidationResult.Builder(genesisBlock);
+
+                if (
+                    !genesisBlock.getBlockNumber().equals(0L) ||
+                    !genesisBlock.getPreviousHash().equals(GENESIS_PREVIOUS_HASH)
+                ) {
+                    logger.error("❌ Invalid genesis block");
+                    blockResults.add(
+                        genesisBuilder
+                            .structurallyValid(false)
+                            .cryptographicallyValid(false)
+                            .authorizationValid(false)
+                            .errorMessage("Invalid genesis block")
+                            .status(BlockStatus.INVALID)
+                            .build()
+                    );
+                } else {
+                    blockResults.add(
+                        genesisBuilder
+                            .structurallyValid(true)
+                            .cryptographicallyValid(true)
+                            .authorizationValid(true)
+                            .status(BlockStatus.VALID)
+                            .build()
+                    );
+                }
+
+                previousBlock = genesisBlock;
+                startOffset = 1;
+                if (blockResults.get(0).isValid()) {
+                    verifiedThrough = 0;
+                    verifiedHash = genesisBlock.getHash();
+                }
             }
 
             // Validate blocks in batches (memory-efficient pagination)
-            Block previousBlock = genesisBlock;
             int blocksWithOffChain = 0;
             int validOffChainBlocks = 0;
             long totalOffChainSize = 0;
+            boolean verifiedPrefixIntact = verifiedThrough >= 0;
 
-            for (long offset = 1; offset < totalBlocks; offset += VALIDATION_BATCH_SIZE) {
+            for (long offset = startOffset; offset < totalBlocks; offset += VALIDATION_BATCH_SIZE) {
                 int limit = (int) Math.min(VALIDATION_BATCH_SIZE, totalBlocks - offset);
-                List<Block> batch = blockRepository.getBlocksPaginated(offset, limit);
+                // Keyset pagination: seek past the last validated block (no OFFSET scan)
+                List<Block> batch = blockRepository.getBlocksAfter(previousBlock.getBlockNumber(), limit);
+                List<BlockValidationResult> batchValidation = validateBlocksDetailed(
+                    batch,
+                    previousBlock,
+                    validationPool
+                );
 
-                for (Block currentBlock : batch) {
-                    BlockValidationResult result = validateBlockDetailed(
-                        currentBlock,
-                        previousBlock
-                    );
+                for (int i = 0; i < batch.size(); i++) {
+                    Block currentBlock = batch.get(i);
+                    BlockValidationResult result = batchValidation.get(i);
                     blockResults.add(result);
 
+                    if (verifiedPrefixIntact && result.isValid()) {
+                        verifiedThrough = currentBlock.getBlockNumber();
+                        verifiedHash = currentBlock.getHash();
+                    } else {
+                        verifiedPrefixIntact = false;
+                    }
+
                     // Collect off-chain statistics
                     if (currentBlock.hasOffChainData()) {
                         blocksWithOffChain++;
@@ -4120,6 +4577,10 @@ public class Blockchain {
                 }
             }
 
+            if (incremental) {
+                advanceValidationCheckpoint(anchorBlock, verifiedThrough, verifiedHash, validationStartedAt);
+            }
+
             ChainValidationResult chainResult = new ChainValidationResult(
                 blockResults
             );
@@ -4170,6 +4631,10 @@ public class Blockchain {
         } catch (Exception e) {
             logger.error("❌ Error during detailed chain validation", e);
             return new ChainValidationResult(new ArrayList<>());
+        } finally {
+            if (validationPool != null) {
+                validationPool.shutdown();
+            }
         }
     }
 
@@ -4183,7 +4648,7 @@ public class Blockchain {
      * @return ChainValidationResult with comprehensive validation information
      */
     public ChainValidationResult validateChainDetailedWithoutLock() {
-        return validateChainDetailedInternal();
+        return validateChainDetailedInternal(false);
     }
 
     /**
@@ -4191,6 +4656,9 @@ public class Blockchain {
      * Instead of accumulating all validation results, this method processes the chain in batches
      * and calls a consumer for each batch result. Suitable for blockchains with millions of blocks.
      *
+     * <p>With {@link #setIncrementalValidationEnabled(boolean)} the run resumes after the
+     * persisted validation checkpoint and the summary counts only the newly validated blocks.</p>
+     *
      * @param batchResultConsumer Consumer that receives validation results for each batch
      * @param batchSize Number of blocks to validate in each batch (default: 1000)
      * @return Summary statistics (counts only, no individual block results)
@@ -4204,6 +4672,9 @@ public class Blockchain {
         }
 
         long stamp = GLOBAL_BLOCKCHAIN_LOCK.readLock();
+        ForkJoinPool validationPool = createValidationPool();
+        boolean incremental = incrementalValidationEnabled && !JPAUtil.hasActiveTransaction();
+        LocalDateTime validationStartedAt = LocalDateTime.now();
         try {
             long totalBlocks = blockRepository.getBlockCount();
             final long[] validCount = {0};
@@ -4215,41 +4686,73 @@ public class Blockchain {
                 return new ValidationSummary(0, 0, 0, 0);
             }
 
-            // Validate genesis block
-            Block genesisBlock = blockRepository.getBlockByNumber(0L);
-            if (genesisBlock == null) {
-                logger.error("❌ Genesis block not found");
-                return new ValidationSummary(0, 0, 1, 0);
-            }
-
+            // INCREMENTAL: resume after the last verified block if the checkpoint is still trusted
+            Block anchorBlock = incremental ? resolveValidationCheckpointAnchor() : null;
             List<BlockValidationResult> batchResults = new ArrayList<>();
-            BlockValidationResult.Builder genesisBuilder = new BlockValidationResult.Builder(genesisBlock);
-
-            if (!genesisBlock.getBlockNumber().equals(0L) || !genesisBlock.getPreviousHash().equals(GENESIS_PREVIOUS_HASH)) {
-                batchResults.add(genesisBuilder.structurallyValid(false).cryptographicallyValid(false)
-                    .authorizationValid(false).errorMessage("Invalid genesis block").status(BlockStatus.INVALID).build());
-                invalidCount[0]++;
+            Block previousBlock;
+            long startOffset;
+            long verifiedThrough = -1;
+            String verifiedHash = null;
+
+            if (anchorBlock != null) {
+                previousBlock = anchorBlock;
+                startOffset = anchorBlock.getBlockNumber() + 1;
+                verifiedThrough = anchorBlock.getBlockNumber();
+                verifiedHash = anchorBlock.getHash();
+                logger.info("📍 Incremental validation resuming after block #{}", verifiedThrough);
             } else {
-                batchResults.add(genesisBuilder.structurallyValid(true).cryptographicallyValid(true)
-                    .authorizationValid(true).status(BlockStatus.VALID).build());
-                validCount[0]++;
-            }
+                // Validate genesis block
+                Block genesisBlock = blockRepository.getBlockByNumber(0L);
+                if (genesisBlock == null) {
+                    logger.error("❌ Genesis block not found");
+                    return new ValidationSummary(0, 0, 1, 0);
+                }
 
-            // Send genesis result
-            batchResultConsumer.accept(new ArrayList<>(batchResults));
-            batchResults.clear();
+                BlockValidationResult.Builder genesisBuilder = new BlockValidationResult.Builder(genesisBlock);
+
+                if (!genesisBlock.getBlockNumber().equals(0L) || !genesisBlock.getPreviousHash().equals(GENESIS_PREVIOUS_HASH)) {
+                    batchResults.add(genesisBuilder.structurallyValid(false).cryptographicallyValid(false)
+                        .authorizationValid(false).errorMessage("Invalid genesis block").status(BlockStatus.INVALID).build());
+                    invalidCount[0]++;
+                } else {
+                    batchResults.add(genesisBuilder.structurallyValid(true).cryptographicallyValid(true)
+                        .authorizationValid(true).status(BlockStatus.VALID).build());
+                    validCount[0]++;
+                }
+
+                // Send genesis result
+                batchResultConsumer.accept(new ArrayList<>(batchResults));
+                batchResults.clear();
+
+                previousBlock = genesisBlock;
+                startOffset = 1;
+                if (validCount[0] == 1) {
+                    verifiedThrough = 0;
+                    verifiedHash = genesisBlock.getHash();
+                }
+            }
 
             // Validate remaining blocks in batches
-            Block previousBlock = genesisBlock;
+            boolean verifiedPrefixIntact = verifiedThrough >= 0;
 
-            for (long offset = 1; offset < totalBlocks; offset += batchSize) {
+            for (long offset = startOffset; offset < totalBlocks; offset += batchSize) {
                 int limit = (int) Math.min(batchSize, totalBlocks - offset);
-                List<Block> batch = blockRepository.getBlocksPaginated(offset, limit);
+                // Keyset pagination: seek past the last validated block (no OFFSET scan)
+                List<Block> batch = blockRepository.getBlocksAfter(previousBlock.getBlockNumber(), limit);
+                List<BlockValidationResult> batchValidation = validateBlocksDetailed(batch, previousBlock, validationPool);
 
-                for (Block currentBlock : batch) {
-                    BlockValidationResult result = validateBlockDetailed(currentBlock, previousBlock);
+                for (int i = 0; i < batch.size(); i++) {
+                    Block currentBlock = batch.get(i);
+                    BlockValidationResult result = batchValidation.get(i);
                     batchResults.add(result);
 
+                    if (verifiedPrefixIntact && result.isValid()) {
+                        verifiedThrough = currentBlock.getBlockNumber();
+                        verifiedHash = currentBlock.getHash();
+                    } else {
+                        verifiedPrefixIntact = false;
+                    }
+
                     // Count statuses
                     if (result.getStatus() == BlockStatus.VALID) validCount[0]++;
                     else if (result.getStatus() == BlockStatus.INVALID) invalidCount[0]++;
@@ -4268,17 +4771,166 @@ public class Blockchain {
                 }
             }
 
-            logger.info("✅ Streaming validation completed: {} total blocks", totalBlocks);
-            return new ValidationSummary(totalBlocks, validCount[0], invalidCount[0], revokedCount[0]);
+            if (incremental) {
+                advanceValidationCheckpoint(anchorBlock, verifiedThrough, verifiedHash, validationStartedAt);
+            }
+
+            long validatedBlocks = totalBlocks - (anchorBlock != null ? startOffset : 0);
+            logger.info("✅ Streaming validation completed: {} total blocks", validatedBlocks);
+            return new ValidationSummary(validatedBlocks, validCount[0], invalidCount[0], revokedCount[0]);
 
         } catch (Exception e) {
             logger.error("❌ Error during streaming chain validation", e);
             return new ValidationSummary(0, 0, 0, 0);
         } finally {
+            if (validationPool != null) {
+                validationPool.shutdown();
+            }
             GLOBAL_BLOCKCHAIN_LOCK.unlockRead(stamp);
         }
     }
 
+    /**
+     * Validate a page of consecutive blocks, in parallel when a pool is provided.
+     *
+     * <p>Each block only needs its predecessor's stored hash and number, so the expensive
+     * SHA3 recomputation and ML-DSA verification of every block in the page are independent.
+     * The page is split recursively across the fork-join pool; results keep the page order,
+     * so callers aggregate them exactly as in sequential mode.</p>
+     *
+     * @param batch Consecutive blocks ordered by block number
+     * @param previousBlock Predecessor of the first block in {@code batch}
+     * @param pool Fork-join pool, or {@code null} to validate sequentially on the calling thread
+     * @return Validation results, index-aligned with {@code batch}
+     */
+    private List<BlockValidationResult> validateBlocksDetailed(
+        List<Block> batch,
+        Block previousBlock,
+        ForkJoinPool pool
+    ) {
+        BlockValidationResult[] results = new BlockValidationResult[batch.size()];
+        if (pool == null || batch.size() < 2) {
+            Block predecessor = previousBlock;
+            for (int i = 0; i < batch.size(); i++) {
+                results[i] = validateBlockDetailed(batch.get(i), predecessor);
+                predecessor = batch.get(i);
+            }
+        } else {
+            pool.invoke(new BlockValidationTask(batch, previousBlock, results, 0, batch.size()));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Fork-join task that validates a slice {@code [from, to)} of a block page.
+     */
+    private final class BlockValidationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int SEQUENTIAL_THRESHOLD = 16;
+
+        // Fork-join tasks are never serialized
+        private final transient List<Block> batch;
+        private final transient Block pagePredecessor;
+        private final transient BlockValidationResult[] results;
+        private final int from;
+        private final int to;
+
+        BlockValidationTask(List<Block> batch, Block pagePredecessor,
+                            BlockValidationResult[] results, int from, int to) {
+            this.batch = batch;
+            this.pagePredecessor = pagePredecessor;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Block predecessor = (i == 0) ? pagePredecessor : batch.get(i - 1);
+                    results[i] = validateBlockDetailed(batch.get(i), predecessor);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new BlockValidationTask(batch, pagePredecessor, results, from, middle),
+                new BlockValidationTask(batch, pagePredecessor, results, middle, to)
+            );
+        }
+    }
+
+    /**
+     * Resolve the block to resume incremental validation from.
+     *
+     * <p>The stored checkpoint is only trusted if the block it names still exists with the
+     * same hash; otherwise it is cleared and validation falls back to a full run.</p>
+     *
+     * @return the last verified block, or {@code null} to validate from genesis
+     */
+    private Block resolveValidationCheckpointAnchor() {
+        ValidationCheckpoint checkpoint = validationCheckpointStore.load();
+        if (checkpoint == null) {
+            return null;
+        }
+        Block anchor = blockRepository.getBlockByNumber(checkpoint.getBlockNumber());
+        if (anchor == null || !checkpoint.getBlockHash().equals(anchor.getHash())) {
+            logger.warn("⚠️ Validation checkpoint at block #{} no longer matches the chain - running full validation",
+                checkpoint.getBlockNumber());
+            validationCheckpointStore.clear();
+            return null;
+        }
+        return anchor;
+    }
+
+    /**
+     * Persist the end of the verified prefix if the run extended it.
+     */
+    private void advanceValidationCheckpoint(Block anchorBlock, long verifiedThrough,
+                                             String verifiedHash, LocalDateTime validatedAt) {
+        long previous = anchorBlock != null ? anchorBlock.getBlockNumber() : -1;
+        if (verifiedThrough > previous && verifiedHash != null) {
+            validationCheckpointStore.save(verifiedThrough, verifiedHash, validatedAt);
+        }
+    }
+
+    /**
+     * Create the fork-join pool for one validation run, or {@code null} for sequential mode.
+     *
+     * <p>Parallel validation is skipped when the calling thread holds an active transaction:
+     * worker threads use their own EntityManagers and would not see uncommitted changes.</p>
+     */
+    private ForkJoinPool createValidationPool() {
+        int parallelism = validationParallelism;
+        if (parallelism <= 1) {
+            return null;
+        }
+        if (JPAUtil.hasActiveTransaction()) {
+            logger.debug("🔍 Active transaction on calling thread - validating sequentially");
+            return null;
+        }
+        return newValidationPool(parallelism);
+    }
+
+    /**
+     * Create a fork-join pool of {@code ValidationWorker} threads.
+     * Callers must shut it down.
+     */
+    private static ForkJoinPool newValidationPool(int parallelism) {
+        return new ForkJoinPool(
+            parallelism,
+            pool -> {
+                ForkJoinWorkerThread thread =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("ValidationWorker-" + thread.getPoolIndex());
+                return thread;
+            },
+            null,
+            false
+        );
+    }
+
     /**
      * Summary of validation results (lightweight, no individual block details)
      */
@@ -4467,6 +5119,7 @@ public class Blockchain {
         // Create a custom Spliterator for batch processing
         Spliterator<Block> spliterator = new Spliterator<Block>() {
             private long currentOffset = startBlockNumber;
+            private long lastLoadedBlockNumber = startBlockNumber - 1;
             private Block previousBlock = initialPreviousBlock;
             private List<Block> currentBatch = null;
             private int batchIndex = 0;
@@ -4481,12 +5134,13 @@ public class Blockchain {
                         }
 
                         int limit = (int) Math.min(VALIDATION_BATCH_SIZE, totalBlocks - currentOffset);
-                        currentBatch = blockRepository.getBlocksPaginated(currentOffset, limit);
+                        currentBatch = blockRepository.getBlocksAfter(lastLoadedBlockNumber, limit);
                         batchIndex = 0;
 
                         if (currentBatch.isEmpty()) {
                             return false;
                         }
+                        lastLoadedBlockNumber = currentBatch.get(currentBatch.size() - 1).getBlockNumber();
                     }
 
                     // Get current block
@@ -4558,7 +5212,7 @@ public class Blockchain {
      * @param batchSize Number of blocks per batch (default: 1000)
      *
      * @since 2025-10-08 (Performance Optimization - Phase B.1)
-     * @see #validateChainDetailedInternal() - Validation (automatic benefit)
+     * @see #validateChainDetailedInternal(boolean) - Validation (automatic benefit)
      * @see #verifyAllOffChainIntegrity() - Off-chain verification (automatic benefit)
      * @see SearchFrameworkEngine#searchExhaustiveOffChain(String, int, KeyPair, String) - Search (automatic benefit)
      */
@@ -4591,20 +5245,8 @@ public class Blockchain {
      * @return The block content as a string
      */
     public String buildBlockContent(Block block) {
-        // Use epoch seconds for timestamp to ensure consistency
-        long timestampSeconds = block.getTimestamp() != null
-            ? block.getTimestamp().toEpochSecond(ZoneOffset.UTC)
-            : 0;
-
-        // SECURITY FIX: Use appropriate data field based on encryption status
-        // For encrypted blocks, use encryptionMetadata (encrypted data) for hash calculation
-        // For unencrypted blocks, use data field
-        String dataForHash;
-        if (block.isDataEncrypted() && block.getEncryptionMetadata() != null) {
-            dataForHash = block.getEncryptionMetadata();
-        } else {
-            dataForHash = block.getData() != null ? block.getData() : "";
-        }
+        long timestampSeconds = BlockContentHasher.timestampSeconds(block);
+        String dataForHash = BlockContentHasher.dataForHash(block);
 
         String content =
             block.getBlockNumber() +
@@ -4629,15 +5271,26 @@ public class Blockchain {
             logger.trace("  - signerPublicKey: {}", block.getSignerPublicKey() != null ? block.getSignerPublicKey().substring(0, Math.min(20, block.getSignerPublicKey().length())) + "..." : "null");
             logger.trace("  - recipientPublicKey: {}", block.getRecipientPublicKey() != null ? block.getRecipientPublicKey().substring(0, Math.min(20, block.getRecipientPublicKey().length())) + "..." : "null");
             logger.trace("  - Final content: {}", content.substring(0, Math.min(100, content.length())) + "...");
-        }
-        String calculatedHash = CryptoUtil.calculateHash(content);
-        if (logger.isTraceEnabled()) {
-            logger.trace("  - Calculated hash: {}", calculatedHash);
+            logger.trace("  - Calculated hash: {}", CryptoUtil.calculateHash(content));
         }
 
         return content;
     }
 
+    /**
+     * CORE FUNCTION: Calculate the SHA3-256 hash of a block's canonical content
+     *
+     * <p>Produces the same value as {@code CryptoUtil.calculateHash(buildBlockContent(block))}
+     * but streams each field into a reused per-thread digest instead of concatenating
+     * the (up to 10MB) data and both public keys into a temporary String.</p>
+     *
+     * @param block The block to hash
+     * @return The hexadecimal block hash
+     */
+    public String calculateBlockHash(Block block) {
+        return BlockContentHasher.hash(block);
+    }
+
     /**
      * Check if a public key is currently authorized.
      *
@@ -5125,7 +5778,7 @@ public class Blockchain {
      * @since 1.0.6
      */
     private boolean revokeAuthorizedKeyInternal(String publicKeyString) {
-        return JPAUtil.executeInTransaction(em -> {
+        boolean revoked = JPAUtil.executeInTransaction(em -> {
             // Validate input parameter
             if (publicKeyString == null || publicKeyString.trim().isEmpty()) {
                 logger.error("❌ Public key cannot be null or empty");
@@ -5161,6 +5814,11 @@ public class Blockchain {
             logger.info("✅ Key revoked successfully");
             return true;
         });
+        if (revoked) {
+            // Blocks verified under this key must be re-checked against the new revocation
+            validationCheckpointStore.clear();
+        }
+        return revoked;
     }
 
     /**
@@ -5428,9 +6086,14 @@ public class Blockchain {
             int integrityFailures = 0;
 
             // Process blocks in batches to avoid memory issues
+            long afterBlockNumber = -1L; // keyset cursor: last block number of the previous batch
             for (long offset = 0; offset < totalBlocks; offset += VALIDATION_BATCH_SIZE) {
                 int limit = (int) Math.min(VALIDATION_BATCH_SIZE, totalBlocks - offset);
-                List<Block> batch = blockRepository.getBlocksPaginated(offset, limit);
+                List<Block> batch = blockRepository.getBlocksAfter(afterBlockNumber, limit);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
 
                 for (Block block : batch) {
                     if (block.hasOffChainData()) {
@@ -5492,13 +6155,23 @@ public class Blockchain {
      * @since 1.0.6
      */
     private void isValidFilePath(String filePath, String operation) {
+        // Imports accept both export formats
+        boolean binaryImport = "import".equals(operation) && filePath != null
+            && filePath.endsWith(BINARY_EXPORT_EXTENSION);
+        isValidFilePath(filePath, operation, binaryImport ? BINARY_EXPORT_EXTENSION : ".json");
+    }
+
+    /**
+     * {@link #isValidFilePath(String, String)} with the extension required for export/import.
+     */
+    private void isValidFilePath(String filePath, String operation, String expectedExtension) {
         // Use PathSecurityUtil for core security validation
         PathSecurityUtil.validateFilePath(filePath, operation);
 
         // Fast extension check for export/import
         boolean isExportImport = "export".equals(operation) || "import".equals(operation);
         if (isExportImport) {
-            PathSecurityUtil.validateFileExtension(filePath, ".json", operation);
+            PathSecurityUtil.validateFileExtension(filePath, expectedExtension, operation);
         }
 
         // Additional operation-specific validation
@@ -5580,9 +6253,20 @@ public class Blockchain {
      * @return true if export was successful, false otherwise
      */
     private boolean exportChainInternal(String filePath, boolean includeOffChainFiles) {
+        return exportChainJson(filePath, includeOffChainFiles, null);
+    }
+
+    /**
+     * Streaming JSON export of the blocks after {@code anchor} (all blocks if {@code null}).
+     * A delta export records the anchor block number and hash in the header.
+     */
+    private boolean exportChainJson(String filePath, boolean includeOffChainFiles, Block anchor) {
         try {
             // Use batch processing for streaming export
             long totalBlocks = blockRepository.getBlockCount();
+            if (anchor != null) {
+                totalBlocks -= anchor.getBlockNumber() + 1;
+            }
 
             // MEMORY SAFETY: Warn if exporting very large chains (>100K blocks)
             final int SAFE_EXPORT_LIMIT = MemorySafetyConstants.SAFE_EXPORT_LIMIT;
@@ -5604,26 +6288,9 @@ public class Blockchain {
             // OPTIMIZED (Priority 3): Stream JSON directly to file without accumulating blocks
             // Setup off-chain backup directory if needed
             File exportDir = new File(filePath).getParentFile();
-            File offChainBackupDir = includeOffChainFiles ? new File(exportDir, "off-chain-backup") : null;
+            File offChainBackupDir = includeOffChainFiles ? createOffChainBackupDir(exportDir) : null;
             AtomicInteger offChainFilesExported = new AtomicInteger(0);
 
-            if (includeOffChainFiles && offChainBackupDir != null) {
-                if (!offChainBackupDir.exists()) {
-                    try {
-                        if (!offChainBackupDir.mkdirs()) {
-                            logger.error(
-                                "❌ Failed to create off-chain backup directory: {}",
-                                offChainBackupDir.getAbsolutePath()
-                            );
-                            offChainBackupDir = null; // Disable off-chain backup
-                        }
-                    } catch (SecurityException e) {
-                        logger.error("❌ Security exception creating backup directory", e);
-                        offChainBackupDir = null; // Disable off-chain backup
-                    }
-                }
-            }
-
             // STREAMING JSON EXPORT: Write directly to file without memory accumulation
             ObjectMapper mapper = new ObjectMapper();
             ObjectWriter writer = mapper.writer().withDefaultPrettyPrinter();
@@ -5640,6 +6307,10 @@ public class Blockchain {
                 generator.writeStringProperty("version", "1.1");
                 generator.writeNumberProperty("totalBlocks", totalBlocks);
                 generator.writeStringProperty("exportTimestamp", LocalDateTime.now().toString());
+                if (anchor != null) {
+                    generator.writeNumberProperty(ChainImportReader.ANCHOR_BLOCK_NUMBER_FIELD, anchor.getBlockNumber());
+                    generator.writeStringProperty(ChainImportReader.ANCHOR_HASH_FIELD, anchor.getHash());
+                }
 
                 // Write authorized keys array
                 generator.writeName("authorizedKeys");
@@ -5652,47 +6323,19 @@ public class Blockchain {
                 AtomicLong blocksExported = new AtomicLong(0);
 
                 // Stream blocks in batches without accumulating
+                // keyset cursor: last block number of the previous batch
+                long afterBlockNumber = anchor != null ? anchor.getBlockNumber() : -1L;
                 for (long offset = 0; offset < totalBlocks; offset += VALIDATION_BATCH_SIZE) {
-                    List<Block> batch = blockRepository.getBlocksPaginated(offset, VALIDATION_BATCH_SIZE);
+                    List<Block> batch = blockRepository.getBlocksAfter(afterBlockNumber, VALIDATION_BATCH_SIZE);
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    afterBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
 
                     for (Block block : batch) {
                         // Handle off-chain file export if needed (before serializing block)
-                        if (includeOffChainFiles && finalOffChainBackupDir != null && block.hasOffChainData()) {
-                            try {
-                                OffChainData offChainData = block.getOffChainData();
-                                File sourceFile = new File(offChainData.getFilePath());
-
-                                if (sourceFile.exists()) {
-                                    String fileName =
-                                        "block_" +
-                                        block.getBlockNumber() +
-                                        "_" +
-                                        sourceFile.getName();
-                                    File backupFile = new File(finalOffChainBackupDir, fileName);
-
-                                    // Copy file using Java NIO
-                                    java.nio.file.Files.copy(
-                                        sourceFile.toPath(),
-                                        backupFile.toPath(),
-                                        java.nio.file.StandardCopyOption.REPLACE_EXISTING
-                                    );
-
-                                    // Update path to relative location for export
-                                    offChainData.setFilePath("off-chain-backup/" + fileName);
-                                    offChainFilesExported.incrementAndGet();
-
-                                    if (logger.isTraceEnabled()) {
-                                        logger.trace("  ✓ Exported off-chain file for block #{}",
-                                            block.getBlockNumber());
-                                    }
-                                } else {
-                                    logger.warn("  ⚠ Off-chain file missing for block #{}: {}",
-                                        block.getBlockNumber(), sourceFile.getAbsolutePath());
-                                }
-                            } catch (Exception e) {
-                                logger.error("  ❌ Error exporting off-chain file for block #{}",
-                                    block.getBlockNumber(), e);
-                            }
+                        if (finalOffChainBackupDir != null && exportOffChainFile(block, finalOffChainBackupDir)) {
+                            offChainFilesExported.incrementAndGet();
                         }
 
                         // Write block directly to JSON stream (no accumulation)
@@ -5729,12 +6372,217 @@ public class Blockchain {
         }
     }
 
+
+    /**
+     * Create the {@code off-chain-backup} directory next to an export file.
+     *
+     * @return the directory, or {@code null} if it cannot be created (off-chain export disabled)
+     */
+    private File createOffChainBackupDir(File exportDir) {
+        File offChainBackupDir = new File(exportDir, "off-chain-backup");
+        if (!offChainBackupDir.exists()) {
+            try {
+                if (!offChainBackupDir.mkdirs()) {
+                    logger.error(
+                        "❌ Failed to create off-chain backup directory: {}",
+                        offChainBackupDir.getAbsolutePath()
+                    );
+                    return null; // Disable off-chain backup
+                }
+            } catch (SecurityException e) {
+                logger.error("❌ Security exception creating backup directory", e);
+                return null; // Disable off-chain backup
+            }
+        }
+        return offChainBackupDir;
+    }
+
+    /**
+     * Copy the off-chain file of {@code block} into the backup directory and point the block's
+     * off-chain path at the copy (relative to the export file).
+     *
+     * @return true if a file was copied
+     */
+    private boolean exportOffChainFile(Block block, File offChainBackupDir) {
+        if (!block.hasOffChainData()) {
+            return false;
+        }
+        try {
+            OffChainData offChainData = block.getOffChainData();
+            File sourceFile = new File(offChainData.getFilePath());
+
+            if (OffChainStorageService.storedDataExists(offChainData.getFilePath())) {
+                // Pack entries (pack-000001.pack#7) are exported as standalone files
+                String fileName =
+                    "block_" +
+                    block.getBlockNumber() +
+                    "_" +
+                    sourceFile.getName().replace('#', '_');
+                File backupFile = new File(offChainBackupDir, fileName);
+
+                OffChainStorageService.copyStoredFile(offChainData.getFilePath(), backupFile.toPath());
+
+                // Update path to relative location for export
+                offChainData.setFilePath("off-chain-backup/" + fileName);
+
+                if (logger.isTraceEnabled()) {
+                    logger.trace("  ✓ Exported off-chain file for block #{}",
+                        block.getBlockNumber());
+                }
+                return true;
+            }
+            logger.warn("  ⚠ Off-chain file missing for block #{}: {}",
+                block.getBlockNumber(), sourceFile.getAbsolutePath());
+        } catch (Exception e) {
+            logger.error("  ❌ Error exporting off-chain file for block #{}",
+                block.getBlockNumber(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Export the blocks after {@code afterBlockNumber}, including their off-chain files.
+     *
+     * @see #exportChainDelta(String, long, boolean)
+     * @since 1.0.6
+     */
+    public boolean exportChainDelta(String filePath, long afterBlockNumber) {
+        return exportChainDelta(filePath, afterBlockNumber, true);
+    }
+
+    /**
+     * Incremental (delta) export: the blocks after {@code afterBlockNumber} and their off-chain
+     * files, plus the number and hash of block {@code afterBlockNumber} as the anchor.
+     *
+     * <p>Same JSON layout as {@link #exportChain(String, boolean)} with two extra header fields,
+     * {@code anchorBlockNumber} and {@code anchorHash}; all authorized keys are included. Blocks
+     * are read with the keyset cursor starting at the anchor, so the cost is proportional to the
+     * number of exported blocks, not to the chain length. Apply the file to a copy of the chain
+     * that ends at the anchor with {@link #importChainDelta(String)}. Exporting after the last
+     * block writes an empty delta.</p>
+     *
+     * @param filePath Path to export the delta JSON
+     * @param afterBlockNumber anchor block; blocks with higher numbers are exported
+     * @param includeOffChainFiles Whether to export off-chain files
+     * @return true if export was successful, false if the anchor block does not exist or writing failed
+     * @throws IllegalArgumentException if filePath is invalid or afterBlockNumber is negative
+     * @throws SecurityException if path traversal attempt detected
+     * @throws IllegalStateException if directory creation fails
+     * @since 1.0.6
+     */
+    public boolean exportChainDelta(String filePath, long afterBlockNumber, boolean includeOffChainFiles) {
+        isValidFilePath(filePath, "export");
+        if (afterBlockNumber < 0) {
+            throw new IllegalArgumentException("afterBlockNumber cannot be negative: " + afterBlockNumber);
+        }
+
+        long stamp = GLOBAL_BLOCKCHAIN_LOCK.readLock();
+        try {
+            Block anchor = blockRepository.getBlockByNumber(afterBlockNumber);
+            if (anchor == null) {
+                logger.error("❌ Cannot export delta: anchor block #{} does not exist", afterBlockNumber);
+                return false;
+            }
+            logger.info("📤 Exporting delta after block #{}", afterBlockNumber);
+            return exportChainJson(filePath, includeOffChainFiles, anchor);
+        } finally {
+            GLOBAL_BLOCKCHAIN_LOCK.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Export the blockchain in the compact binary format, including off-chain files.
+     *
+     * @see #exportChainBinary(String, boolean)
+     * @since 1.0.6
+     */
+    public boolean exportChainBinary(String filePath) {
+        return exportChainBinary(filePath, true);
+    }
+
+    /**
+     * Export the blockchain in the compact binary format.
+     *
+     * <p>Same content as {@link #exportChain(String, boolean)}, stored as checksummed,
+     * Deflate-compressed segments of length-prefixed records with raw hash, key and signature
+     * bytes and a per-segment public key dictionary (see {@link BinaryChainFormat}). With
+     * {@link #setValidationParallelism(int)} above 1 the segments are encoded in parallel.
+     * {@link #importChain(String)} recognizes the format by its header;
+     * {@link ChainExportConverter} converts between the binary and JSON forms.</p>
+     *
+     * @param filePath Path to export the blockchain to (must end in {@value #BINARY_EXPORT_EXTENSION})
+     * @param includeOffChainFiles Whether to export off-chain files
+     * @return true if export was successful
+     * @throws IllegalArgumentException if filePath is invalid
+     * @throws SecurityException if path traversal attempt detected
+     * @throws IllegalStateException if directory creation fails
+     * @since 1.0.6
+     */
+    public boolean exportChainBinary(String filePath, boolean includeOffChainFiles) {
+        isValidFilePath(filePath, "export", BINARY_EXPORT_EXTENSION);
+
+        long stamp = GLOBAL_BLOCKCHAIN_LOCK.readLock();
+        int parallelism = validationParallelism;
+        ForkJoinPool pool = parallelism > 1 ? newValidationPool(parallelism) : null;
+        try {
+            long totalBlocks = blockRepository.getBlockCount();
+            List<AuthorizedKey> allKeys = authorizedKeyDAO.getAllAuthorizedKeys();
+            File file = new File(filePath);
+            File offChainBackupDir = includeOffChainFiles ? createOffChainBackupDir(file.getParentFile()) : null;
+            int offChainFilesExported = 0;
+            long blocksExported = 0;
+
+            try (BinaryChainFormat.Writer writer = new BinaryChainFormat.Writer(
+                    file, totalBlocks, LocalDateTime.now(), pool, parallelism)) {
+                writer.writeAuthorizedKeys(allKeys);
+
+                long afterBlockNumber = -1L; // keyset cursor: last block number of the previous batch
+                List<Block> batch;
+                while (!(batch = blockRepository.getBlocksAfter(afterBlockNumber, VALIDATION_BATCH_SIZE)).isEmpty()) {
+                    afterBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
+                    for (Block block : batch) {
+                        if (offChainBackupDir != null && exportOffChainFile(block, offChainBackupDir)) {
+                            offChainFilesExported++;
+                        }
+                        writer.writeBlock(block);
+                        blocksExported++;
+                    }
+                }
+                writer.finish();
+            }
+
+            logger.info("✅ Chain exported (binary) to: {} ({} blocks, {} authorized keys, {} bytes)",
+                filePath, blocksExported, allKeys.size(), file.length());
+            if (offChainFilesExported > 0) {
+                logger.info("📦 Exported {} off-chain files to: {}", offChainFilesExported,
+                    offChainBackupDir.getAbsolutePath());
+            }
+            return true;
+        } catch (Exception e) {
+            logger.error("❌ Error exporting chain (binary)", e);
+            return false;
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            GLOBAL_BLOCKCHAIN_LOCK.unlockRead(stamp);
+        }
+    }
+
     /**
      * CORE FUNCTION 3: Chain Import - Restore blockchain from file
      * FIXED: Added thread-safety with write lock and global transaction
      * DEADLOCK FIX: Validation moved outside writeLock to prevent nested lock acquisition
      *
-     * @param filePath Path to the JSON file to import
+     * <p>STREAMING: the file is read with a streaming parser, never as a whole. A first pass
+     * reads the authorized keys and each signer's block time range; a second pass verifies
+     * the blocks (linkage, hash, signature) in batches on {@link #setValidationParallelism(int)}
+     * workers and inserts them as they are verified. A malformed file is rejected before the
+     * current chain is touched, and a block that fails verification rolls the import back.
+     * Binary exports ({@link #exportChainBinary(String, boolean)}) are recognized by their
+     * header; their segments are decoded and checksum-verified on the same workers.</p>
+     *
+     * @param filePath Path to the JSON ({@code .json}) or binary ({@value #BINARY_EXPORT_EXTENSION}) export to import
      * @return true if import was successful
      * @throws IllegalArgumentException if filePath is invalid or file does not exist
      * @throws SecurityException if path traversal attempt detected
@@ -5748,26 +6596,46 @@ public class Blockchain {
         boolean importSuccess = false;
         long stamp = GLOBAL_BLOCKCHAIN_LOCK.writeLock();
         try {
-            importSuccess = JPAUtil.executeInTransaction(em -> {
-                try {
-                    // Read and parse JSON file
+            // The imported chain has not been validated by this node
+            validationCheckpointStore.clear();
+            blockRepository.invalidateChainTip();
+
+            File file = new File(filePath);
+            // Note: File existence already validated in isValidFilePath
+            boolean binary = BinaryChainFormat.isBinaryExport(file);
+            // Shared by binary segment decoding and block verification
+            int parallelism = validationParallelism;
+            ForkJoinPool pool = parallelism > 1 ? newValidationPool(parallelism) : null;
+            // Off-chain files restored by the import (absolute paths)
+            Set<String> restoredFiles = new HashSet<>();
+            // Off-chain references of the replaced chain, or null if the import failed
+            List<OffChainData> replacedOffChainData;
+            try {
+                replacedOffChainData = JPAUtil.executeInTransaction(em -> {
                     ObjectMapper mapper = new ObjectMapper();
 
-                    File file = new File(filePath);
-                    // Note: File existence already validated in isValidFilePath
+                    // Pass 1: authorized keys and per-signer block time range (block payloads are
+                    // skipped). A malformed file is rejected here, before anything is deleted.
+                    ChainImportReader.Scan scan;
+                    try {
+                        scan = binary
+                            ? BinaryChainFormat.scan(file, pool)
+                            : ChainImportReader.scan(mapper, file);
+                    } catch (Exception e) {
+                        logger.error("❌ Error importing chain", e);
+                        return null;
+                    }
 
-                    ChainExportData importData = mapper.readValue(
-                        file,
-                        ChainExportData.class
-                    );
+                    if (scan.isDelta()) {
+                        logger.error("❌ {} is a delta export (after block #{}) - use importChainDelta()",
+                            filePath, scan.anchorBlockNumber());
+                        return null;
+                    }
 
                     // Validate import data
-                    if (
-                        importData.getBlocks() == null ||
-                        importData.getBlocks().isEmpty()
-                    ) {
+                    if (scan.blockCount() == 0) {
                         logger.error("❌ No blocks found in import file");
-                        return false;
+                        return null;
                     }
 
                     // Clear existing data (WARNING: This will delete current blockchain!)
@@ -5775,43 +6643,9 @@ public class Blockchain {
                         "⚠️ WARNING: This will replace the current blockchain!"
                     );
 
-                    // CRITICAL: Clean up existing off-chain files before clearing database
-                    logger.info(
-                        "🧹 Cleaning up existing off-chain data before import..."
-                    );
-                    // Use batch processing instead of loading all blocks at once
-                    long totalExistingBlocks = blockRepository.getBlockCount();
-                    int existingOffChainFilesDeleted = 0;
-
-                    for (long offset = 0; offset < totalExistingBlocks; offset += VALIDATION_BATCH_SIZE) {
-                        List<Block> batch = blockRepository.getBlocksPaginated(offset, VALIDATION_BATCH_SIZE);
-                        for (Block block : batch) {
-                            if (block.hasOffChainData()) {
-                                try {
-                                    boolean fileDeleted =
-                                        offChainStorageService.deleteData(
-                                            block.getOffChainData()
-                                        );
-                                    if (fileDeleted) {
-                                        existingOffChainFilesDeleted++;
-                                    }
-                                } catch (Exception e) {
-                                    logger.error(
-                                        "❌ Error deleting existing off-chain data for block {}",
-                                        block.getBlockNumber(),
-                                        e
-                                    );
-                                }
-                            }
-                        }
-                    }
-
-                    if (existingOffChainFilesDeleted > 0) {
-                        logger.info(
-                            "🧹 Cleaned up {} existing off-chain files",
-                            existingOffChainFilesDeleted
-                        );
-                    }
+                    // Off-chain files of the current chain are deleted once the new chain is
+                    // committed: until then a rollback still references them
+                    List<OffChainData> existingOffChainData = collectOffChainData();
 
                     // Clear existing blocks and keys
                     blockRepository.deleteAllBlocks();
@@ -5821,212 +6655,23 @@ public class Blockchain {
                     em.flush();
                     em.clear();
 
-                    // Clean up any remaining orphaned files
-                    cleanupOrphanedOffChainFiles();
-
                     // Import authorized keys first with corrected timestamps
-                    if (importData.getAuthorizedKeys() != null) {
-                        // First, find the earliest and latest timestamp for each public key from the blocks
-                        Map<String, LocalDateTime> earliestBlockTimestamps =
-                            new HashMap<>();
-                        Map<String, LocalDateTime> latestBlockTimestamps =
-                            new HashMap<>();
-
-                        for (Block block : importData.getBlocks()) {
-                            if (
-                                block.getSignerPublicKey() != null &&
-                                !"GENESIS".equals(block.getSignerPublicKey())
-                            ) {
-                                String publicKey = block.getSignerPublicKey();
-                                LocalDateTime blockTimestamp =
-                                    block.getTimestamp();
-
-                                if (blockTimestamp != null) {
-                                    earliestBlockTimestamps.merge(
-                                        publicKey,
-                                        blockTimestamp,
-                                        (existing, current) ->
-                                            existing.isBefore(current)
-                                                ? existing
-                                                : current
-                                    );
-                                    latestBlockTimestamps.merge(
-                                        publicKey,
-                                        blockTimestamp,
-                                        (existing, current) ->
-                                            existing.isAfter(current)
-                                                ? existing
-                                                : current
-                                    );
-                                }
-                            }
-                        }
-
-                        // Import authorized keys with adjusted timestamps
-                        for (AuthorizedKey key : importData.getAuthorizedKeys()) {
-                            // Reset ID for new insertion
-                            key.setId(null);
+                    importAuthorizedKeys(scan);
 
-                            // FIXED: Maintain temporal consistency during import considering ALL events
-                            String publicKey = key.getPublicKey();
-
-                            // Find the earliest event timestamp for this key (blocks or revocation)
-                            LocalDateTime earliestEventTime = null;
-
-                            // Check earliest block signed by this key
-                            if (
-                                earliestBlockTimestamps.containsKey(publicKey)
-                            ) {
-                                earliestEventTime = earliestBlockTimestamps.get(
-                                    publicKey
-                                );
-                            }
-
-                            // Check if revocation time is earlier than first block
-                            if (key.getRevokedAt() != null) {
-                                if (
-                                    earliestEventTime == null ||
-                                    key
-                                        .getRevokedAt()
-                                        .isBefore(earliestEventTime)
-                                ) {
-                                    earliestEventTime = key.getRevokedAt();
-                                }
-                            }
-
-                            // Set key creation time to be before ALL events related to this key
-                            if (earliestEventTime != null) {
-                                key.setCreatedAt(
-                                    earliestEventTime.minusMinutes(1)
-                                );
-                            }
-
-                            // Handle revoked keys without revocation timestamp
-                            if (!key.isActive() && key.getRevokedAt() == null) {
-                                if (
-                                    latestBlockTimestamps.containsKey(publicKey)
-                                ) {
-                                    // Set revocation time after the latest block
-                                    LocalDateTime latestBlockTime =
-                                        latestBlockTimestamps.get(publicKey);
-                                    key.setRevokedAt(
-                                        latestBlockTime.plusMinutes(1)
-                                    );
-                                } else {
-                                    // For keys without blocks, set reasonable revocation time
-                                    key.setRevokedAt(
-                                        key.getCreatedAt().plusMinutes(1)
-                                    );
-                                }
-                            }
-
-                            authorizedKeyDAO.saveAuthorizedKey(key);
-                        }
-                        logger.info(
-                            "🔑 Imported {} authorized keys with adjusted timestamps",
-                            importData.getAuthorizedKeys().size()
-                        );
-                    }
-
-                    // CRITICAL: Handle off-chain files during import
-                    File importDir = new File(filePath).getParentFile();
+                    // Pass 2: stream, verify and insert the blocks, restoring off-chain files
+                    File importDir = file.getParentFile();
                     File offChainBackupDir = new File(
                         importDir,
                         "off-chain-backup"
                     );
-                    int offChainFilesImported = 0;
-
-                    // Import blocks with off-chain data handling
-                    // Phase 5.2: Prepare all blocks first, then use batch insert for performance
-                    List<Block> blocksToImport = new ArrayList<>();
-
-                    for (Block block : importData.getBlocks()) {
-                        // blockNumber is preserved from imported data (already set during export)
-
-                        // Handle off-chain data restoration
-                        if (block.hasOffChainData()) {
-                            OffChainData offChainData = block.getOffChainData();
-
-                            // Reset off-chain data ID for new insertion
-                            offChainData.setId(null);
-
-                            try {
-                                // Check if backup file exists in off-chain-backup directory
-                                String backupPath = offChainData.getFilePath();
-                                String fileName = new File(
-                                    backupPath
-                                ).getName();
-                                File backupFile = new File(
-                                    offChainBackupDir,
-                                    fileName
-                                );
-
-                                if (backupFile.exists()) {
-                                    // Create new file path in standard off-chain directory
-                                    File offChainDir = new File(
-                                        "off-chain-data"
-                                    );
-                                    if (!offChainDir.exists()) {
-                                        offChainDir.mkdirs();
-                                    }
-
-                                    String newFileName =
-                                        "block_" +
-                                        block.getBlockNumber() +
-                                        "_" +
-                                        System.currentTimeMillis() +
-                                        ".enc";
-                                    File newFile = new File(
-                                        offChainDir,
-                                        newFileName
-                                    );
-
-                                    // Copy backup file to new location
-                                    Files.copy(
-                                        backupFile.toPath(),
-                                        newFile.toPath(),
-                                        java.nio.file.StandardCopyOption.REPLACE_EXISTING
-                                    );
-
-                                    // Update file path in off-chain data
-                                    offChainData.setFilePath(
-                                        newFile.getAbsolutePath()
-                                    );
-                                    offChainFilesImported++;
-
-                                    if (logger.isTraceEnabled()) {
-                                        logger.trace(
-                                            "  ✓ Imported off-chain file for block #{}",
-                                            block.getBlockNumber()
-                                        );
-                                    }
-                                } else {
-                                    logger.warn(
-                                        "  ⚠ Off-chain backup file not found for block #{}: {}",
-                                        block.getBlockNumber(),
-                                        backupFile.getAbsolutePath()
-                                    );
-                                    // Remove off-chain reference if file is missing
-                                    block.setOffChainData(null);
-                                }
-                            } catch (Exception e) {
-                                logger.error(
-                                    "  ❌ Error importing off-chain file for block #{}",
-                                    block.getBlockNumber(),
-                                    e
-                                );
-                                // Remove off-chain reference if import fails
-                                block.setOffChainData(null);
-                            }
-                        }
-
-                        blocksToImport.add(block);
+                    long blocksImported;
+                    try (ChainImportSource source = binary
+                            ? new BinaryChainFormat.Reader(file, pool)
+                            : new ChainImportReader(mapper, file)) {
+                        blocksImported = importBlocksStreaming(em, source, pool, offChainBackupDir, restoredFiles,
+                            null, null);
                     }
 
-                    // Phase 5.2: Use batch insert for 5-10x performance improvement
-                    logger.info("🚀 Using batch insert for {} blocks...", blocksToImport.size());
-                    blockRepository.batchInsertExistingBlocks(em, blocksToImport);
-
                     // Phase 5.0: Block numbers assigned manually within write lock - no sync needed
 
                     logger.info(
@@ -6035,23 +6680,62 @@ public class Blockchain {
                     );
                     logger.info(
                         "✅ Imported {} blocks",
-                        importData.getBlocks().size()
+                        blocksImported
                     );
-                    if (offChainFilesImported > 0) {
+                    if (!restoredFiles.isEmpty()) {
                         logger.info(
                             "📦 Imported {} off-chain files",
-                            offChainFilesImported
+                            restoredFiles.size()
                         );
                     }
 
                     // DEADLOCK FIX: Don't validate inside writeLock - validation needs readLock
                     // Validation will be done after releasing the writeLock
-                    return true;
-                } catch (Exception e) {
-                    logger.error("❌ Error importing chain", e);
-                    return false;
+                    return existingOffChainData;
+                });
+            } catch (RuntimeException e) {
+                // The transaction was rolled back: the current chain is left as it was, but the
+                // files restored for the new one are not referenced by anything
+                logger.error("❌ Error importing chain", e);
+                deleteOffChainFiles(restoredFiles);
+                replacedOffChainData = null;
+            } finally {
+                if (pool != null) {
+                    pool.shutdownNow();
                 }
-            });
+            }
+            importSuccess = replacedOffChainData != null;
+
+            // CRITICAL: Clean up the off-chain files of the replaced chain, now that the new
+            // chain is committed and nothing references them any more
+            if (importSuccess) {
+                int existingOffChainFilesDeleted = 0;
+                for (OffChainData offChainData : replacedOffChainData) {
+                    if (restoredFiles.contains(new File(offChainData.getFilePath()).getAbsolutePath())) {
+                        continue;
+                    }
+                    try {
+                        if (offChainStorageService.deleteData(offChainData)) {
+                            existingOffChainFilesDeleted++;
+                        }
+                    } catch (Exception e) {
+                        logger.error(
+                            "❌ Error deleting existing off-chain data {}",
+                            offChainData.getFilePath(),
+                            e
+                        );
+                    }
+                }
+                if (existingOffChainFilesDeleted > 0) {
+                    logger.info(
+                        "🧹 Cleaned up {} existing off-chain files",
+                        existingOffChainFilesDeleted
+                    );
+                }
+
+                // Clean up any remaining orphaned files
+                cleanupOrphanedOffChainFiles(restoredFiles);
+            }
 
             // Phase 5.2: Trigger async indexing for imported blocks
             if (importSuccess) {
@@ -6083,35 +6767,533 @@ public class Blockchain {
             GLOBAL_BLOCKCHAIN_LOCK.unlockWrite(stamp);
         }
 
-        // DEADLOCK FIX: Validate AFTER releasing writeLock (validation needs readLock)
-        if (!importSuccess) {
-            return false;
+        // DEADLOCK FIX: Validate AFTER releasing writeLock (validation needs readLock)
+        if (!importSuccess) {
+            return false;
+        }
+
+        // Validate imported chain with detailed validation (outside writeLock)
+        var importValidation = validateChainDetailed();
+        boolean isValid =
+            importValidation.isStructurallyIntact() &&
+            importValidation.isFullyCompliant();
+        if (isValid) {
+            logger.info("✅ Imported chain validation: SUCCESS");
+        } else {
+            logger.error("❌ Imported chain validation: FAILED");
+            if (!importValidation.isStructurallyIntact()) {
+                logger.error(
+                    "  - Structural issues: {} invalid blocks",
+                    importValidation.getInvalidBlocks()
+                );
+            }
+            if (!importValidation.isFullyCompliant()) {
+                logger.error(
+                    "  - Compliance issues: {} revoked blocks",
+                    importValidation.getRevokedBlocks()
+                );
+            }
+        }
+
+        return isValid;
+    }
+
+    /**
+     * Off-chain references of the current chain, read with the keyset cursor.
+     */
+    private List<OffChainData> collectOffChainData() {
+        List<OffChainData> offChainData = new ArrayList<>();
+        long afterBlockNumber = -1L; // keyset cursor: last block number of the previous batch
+        List<Block> batch;
+        while (!(batch = blockRepository.getBlocksAfter(afterBlockNumber, VALIDATION_BATCH_SIZE)).isEmpty()) {
+            afterBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
+            for (Block block : batch) {
+                if (block.hasOffChainData()) {
+                    offChainData.add(block.getOffChainData());
+                }
+            }
+        }
+        return offChainData;
+    }
+
+    /**
+     * Append a delta export ({@link #exportChainDelta(String, long, boolean)}) to this chain.
+     *
+     * <p>The delta is accepted only if its anchor is the current last block (same number and
+     * hash). Its blocks are then verified and inserted like a full import (linkage from the
+     * anchor, hash, signature; see {@link #importChain(String)}) and their off-chain files are
+     * restored. Authorized keys of the delta that this chain does not know are added; known
+     * keys that the delta shows as revoked are revoked. Nothing is deleted, so the cost is
+     * proportional to the size of the delta.</p>
+     *
+     * <p>Before the transaction commits, and still under the write lock, every appended block
+     * is checked against the merged authorization history (its signer was authorized at its
+     * timestamp) and its off-chain data is verified. If any check fails the transaction rolls
+     * back: no block or key change of the delta is kept and no other writer can have appended
+     * in between.</p>
+     *
+     * @param filePath Path to the delta JSON file
+     * @return true if the delta was appended (or was empty), false if it does not apply to this
+     *         chain or fails verification; the chain is then left as it was
+     * @throws IllegalArgumentException if filePath is invalid or file does not exist
+     * @throws SecurityException if path traversal attempt detected
+     * @throws IllegalStateException if file is not readable
+     * @since 1.0.6
+     */
+    public boolean importChainDelta(String filePath) {
+        isValidFilePath(filePath, "import");
+
+        File file = new File(filePath);
+        ChainImportReader.Scan scan;
+        long appended;
+        long stamp = GLOBAL_BLOCKCHAIN_LOCK.writeLock();
+        int parallelism = validationParallelism;
+        ForkJoinPool pool = parallelism > 1 ? newValidationPool(parallelism) : null;
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            try {
+                scan = ChainImportReader.scan(mapper, file);
+            } catch (Exception e) {
+                logger.error("❌ Error reading delta export {}", filePath, e);
+                return false;
+            }
+            if (!scan.isDelta()) {
+                logger.error("❌ {} is not a delta export - use importChain()", filePath);
+                return false;
+            }
+            ChainTip.Tip tip = blockRepository.getChainTip();
+            if (tip.isEmpty() || tip.blockNumber() != scan.anchorBlockNumber()
+                    || !scan.anchorHash().equals(tip.hash())) {
+                logger.error("❌ Delta anchor block #{} does not match the last block of this chain (#{})",
+                    scan.anchorBlockNumber(), tip.isEmpty() ? "none" : tip.blockNumber());
+                return false;
+            }
+            if (scan.blockCount() == 0) {
+                logger.info("📋 Delta export {} has no blocks after #{}", filePath, scan.anchorBlockNumber());
+                return true;
+            }
+
+            File offChainBackupDir = new File(file.getParentFile(), "off-chain-backup");
+            Set<String> restoredFiles = new HashSet<>();
+            try {
+                appended = JPAUtil.executeInTransaction(em -> {
+                    mergeImportedAuthorizedKeys(scan);
+
+                    long count;
+                    try (ChainImportSource source = new ChainImportReader(mapper, file)) {
+                        count = importBlocksStreaming(em, source, pool, offChainBackupDir, restoredFiles,
+                            scan.anchorBlockNumber(), scan.anchorHash());
+                    }
+                    // Linkage, hashes and signatures were verified while streaming
+                    verifyAppendedBlocks(scan.anchorBlockNumber());
+                    return count;
+                });
+            } catch (RuntimeException e) {
+                deleteOffChainFiles(restoredFiles);
+                throw e;
+            }
+            logger.info("✅ Appended {} blocks after block #{} from: {}", appended, scan.anchorBlockNumber(), filePath);
+
+            CompletableFuture<IndexingCoordinator.IndexingResult> indexingFuture =
+                indexBlocksRangeAsync(scan.anchorBlockNumber() + 1, scan.anchorBlockNumber() + appended);
+            indexingFuture.exceptionally(ex -> {
+                logger.error("❌ Background indexing error for delta import: {}", ex.getMessage(), ex);
+                return null;
+            });
+            return true;
+        } catch (RuntimeException e) {
+            // The transaction was rolled back: the current chain is left as it was
+            logger.error("❌ Error importing delta", e);
+            return false;
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+            }
+            GLOBAL_BLOCKCHAIN_LOCK.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Post-import checks of a delta, run inside its transaction: each block after
+     * {@code anchorBlockNumber} must have been signed while its key was authorized (as seen by
+     * the merged, still uncommitted key history) and its off-chain data must verify.
+     *
+     * <p>Runs on the calling thread: the uncommitted key changes are only visible to it.</p>
+     *
+     * @throws IllegalStateException on the first block that fails, to roll the import back
+     */
+    private void verifyAppendedBlocks(long anchorBlockNumber) {
+        long afterBlockNumber = anchorBlockNumber; // keyset cursor
+        List<Block> batch;
+        while (!(batch = blockRepository.getBlocksAfter(afterBlockNumber, VALIDATION_BATCH_SIZE)).isEmpty()) {
+            afterBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
+            for (Block block : batch) {
+                if (!authorizedKeyDAO.wasKeyAuthorizedAt(block.getSignerPublicKey(), block.getTimestamp())) {
+                    throw new IllegalStateException("Delta block #" + block.getBlockNumber()
+                        + " was signed by a key that was not authorized at " + block.getTimestamp());
+                }
+                if (block.hasOffChainData()) {
+                    var offChainResult = BlockValidationUtil.validateOffChainDataDetailed(block);
+                    if (!offChainResult.isValid() || !verifyOffChainIntegrity(block)) {
+                        throw new IllegalStateException("Off-chain data of delta block #"
+                            + block.getBlockNumber() + " failed verification: " + offChainResult.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the authorized keys of a delta export that this chain does not know, and revoke known
+     * keys that the export shows as revoked.
+     */
+    private void mergeImportedAuthorizedKeys(ChainImportReader.Scan scan) {
+        Map<String, AuthorizedKey> latestLocal = new HashMap<>();
+        for (AuthorizedKey key : authorizedKeyDAO.getAllAuthorizedKeys()) {
+            latestLocal.put(key.getPublicKey(), key); // ordered by creation: the last one wins
+        }
+        Map<String, AuthorizedKey> latestImported = new LinkedHashMap<>();
+        for (AuthorizedKey key : scan.authorizedKeys()) {
+            latestImported.put(key.getPublicKey(), key);
+        }
+
+        int added = 0;
+        int revoked = 0;
+        for (AuthorizedKey key : latestImported.values()) {
+            AuthorizedKey local = latestLocal.get(key.getPublicKey());
+            if (local == null) {
+                adjustImportedKeyTimestamps(key, scan.earliestBlockTimestamps(), scan.latestBlockTimestamps());
+                authorizedKeyDAO.saveAuthorizedKey(key);
+                added++;
+            } else if (local.isActive() && !key.isActive()) {
+                // Keep the revocation time of the export (filled in like a full import if missing)
+                adjustImportedKeyTimestamps(key, scan.earliestBlockTimestamps(), scan.latestBlockTimestamps());
+                authorizedKeyDAO.revokeAuthorizedKey(key.getPublicKey(), key.getRevokedAt());
+                revoked++;
+            }
+        }
+        if (added > 0 || revoked > 0) {
+            logger.info("🔑 Delta import: added {} and revoked {} authorized keys", added, revoked);
+        }
+    }
+
+    /**
+     * Save the authorized keys of an import, moving each key's creation time before the
+     * first event that involves it (its first block or its revocation).
+     */
+    private void importAuthorizedKeys(ChainImportReader.Scan scan) {
+        if (scan.authorizedKeys().isEmpty()) {
+            return;
+        }
+        Map<String, LocalDateTime> earliestBlockTimestamps = scan.earliestBlockTimestamps();
+        Map<String, LocalDateTime> latestBlockTimestamps = scan.latestBlockTimestamps();
+
+        for (AuthorizedKey key : scan.authorizedKeys()) {
+            adjustImportedKeyTimestamps(key, earliestBlockTimestamps, latestBlockTimestamps);
+            authorizedKeyDAO.saveAuthorizedKey(key);
+        }
+        logger.info(
+            "🔑 Imported {} authorized keys with adjusted timestamps",
+            scan.authorizedKeys().size()
+        );
+    }
+
+    /**
+     * Prepare an imported key for insertion: clear its ID and move its creation (and missing
+     * revocation) time around the blocks it signed in the import file.
+     */
+    private void adjustImportedKeyTimestamps(AuthorizedKey key,
+                                             Map<String, LocalDateTime> earliestBlockTimestamps,
+                                             Map<String, LocalDateTime> latestBlockTimestamps) {
+        // Reset ID for new insertion
+        key.setId(null);
+
+        // FIXED: Maintain temporal consistency during import considering ALL events
+        String publicKey = key.getPublicKey();
+
+        // Find the earliest event timestamp for this key (blocks or revocation)
+        LocalDateTime earliestEventTime = earliestBlockTimestamps.get(publicKey);
+
+        // Check if revocation time is earlier than first block
+        if (key.getRevokedAt() != null) {
+            if (earliestEventTime == null || key.getRevokedAt().isBefore(earliestEventTime)) {
+                earliestEventTime = key.getRevokedAt();
+            }
+        }
+
+        // Set key creation time to be before ALL events related to this key
+        if (earliestEventTime != null) {
+            key.setCreatedAt(earliestEventTime.minusMinutes(1));
+        }
+
+        // Handle revoked keys without revocation timestamp
+        if (!key.isActive() && key.getRevokedAt() == null) {
+            LocalDateTime latestBlockTime = latestBlockTimestamps.get(publicKey);
+            if (latestBlockTime != null) {
+                // Set revocation time after the latest block
+                key.setRevokedAt(latestBlockTime.plusMinutes(1));
+            } else {
+                // For keys without blocks, set reasonable revocation time
+                key.setRevokedAt(key.getCreatedAt().plusMinutes(1));
+            }
+        }
+    }
+
+    /**
+     * Pass 2 of {@link #importChain(String)}: read, verify and insert the blocks of an export.
+     *
+     * <p>Blocks are read one at a time into batches of {@link #IMPORT_BATCH_SIZE}. While one
+     * batch is verified (linkage, hash and signature) on a fork-join pool of
+     * {@link #setValidationParallelism(int)} workers, the next one is read; a batch is inserted
+     * with {@link BlockRepository#batchInsertExistingBlocks} once its verification is done and
+     * before a further batch is read, so at most two batches are held in memory.
+     * Verification works on the parsed blocks only and never touches the database.</p>
+     *
+     * @param reader blocks of the export (JSON or binary)
+     * @param pool verification workers, or {@code null} to verify on the calling thread
+     * @param restoredFiles receives the absolute paths of the off-chain files restored so far
+     * @param anchorNumber block the first imported block must follow, or {@code null} if the
+     *        first block must be the genesis block
+     * @param anchorHash hash of the anchor block
+     * @return number of blocks imported
+     * @throws IllegalStateException if a block fails verification (the import transaction rolls back)
+     */
+    private long importBlocksStreaming(EntityManager em, ChainImportSource reader, ForkJoinPool pool,
+                                       File offChainBackupDir, Set<String> restoredFiles,
+                                       Long anchorNumber, String anchorHash) {
+        long blocksImported = 0;
+        List<Block> pending = null;           // read and being verified, not yet inserted
+        String[] pendingErrors = null;
+        ForkJoinTask<Void> pendingVerification = null;
+        Long previousNumber = anchorNumber;   // last block read so far (null before genesis)
+        String previousHash = anchorHash;
+
+        while (true) {
+            List<Block> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+            Block block;
+            while (batch.size() < IMPORT_BATCH_SIZE && (block = reader.nextBlock()) != null) {
+                restoreOffChainBackup(block, offChainBackupDir, restoredFiles);
+                batch.add(block);
+            }
+
+            if (pending != null) {
+                if (pendingVerification != null) {
+                    pendingVerification.join();
+                }
+                for (int i = 0; i < pending.size(); i++) {
+                    if (pendingErrors[i] != null) {
+                        throw new IllegalStateException(
+                            "Block #" + pending.get(i).getBlockNumber() + " failed verification: " + pendingErrors[i]
+                        );
+                    }
+                }
+                blockRepository.batchInsertExistingBlocks(em, pending);
+                em.clear(); // Inserted blocks are not needed in the persistence context
+                blocksImported += pending.size();
+                if (blocksImported / 100_000 > (blocksImported - pending.size()) / 100_000) {
+                    logger.info("  ✓ Imported {} blocks...", blocksImported);
+                }
+            }
+
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            String[] errors = new String[batch.size()];
+            if (pool != null) {
+                pendingVerification = pool.submit(
+                    new ImportVerificationTask(batch, previousNumber, previousHash, errors, 0, batch.size())
+                );
+            } else {
+                verifyImportedBlocks(batch, previousNumber, previousHash, errors, 0, batch.size());
+            }
+            pending = batch;
+            pendingErrors = errors;
+            Block last = batch.get(batch.size() - 1);
+            previousNumber = last.getBlockNumber();
+            previousHash = last.getHash();
+        }
+        return blocksImported;
+    }
+
+    /**
+     * Verify the slice {@code [from, to)} of an import batch, writing one error message (or
+     * {@code null}) per block into {@code errors}.
+     */
+    private void verifyImportedBlocks(List<Block> batch, Long previousNumber, String previousHash,
+                                      String[] errors, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Block previous = i == 0 ? null : batch.get(i - 1);
+            errors[i] = importedBlockError(
+                batch.get(i),
+                previous != null ? previous.getBlockNumber() : previousNumber,
+                previous != null ? previous.getHash() : previousHash
+            );
+        }
+    }
+
+    /**
+     * Check an imported block against its predecessor in the file: linkage, hash and signature.
+     * The checks that need the database (key authorization, off-chain files) are left to the
+     * validation run that follows the import.
+     *
+     * @param previousNumber number of the preceding block, or {@code null} for the first block
+     * @param previousHash hash of the preceding block
+     * @return the reason the block is rejected, or {@code null} if it is intact
+     */
+    private String importedBlockError(Block block, Long previousNumber, String previousHash) {
+        if (block.getBlockNumber() == null || block.getHash() == null || block.getPreviousHash() == null) {
+            return "missing block number, hash or previous hash";
+        }
+        if (previousNumber == null) {
+            return block.getBlockNumber() == 0L && GENESIS_PREVIOUS_HASH.equals(block.getPreviousHash())
+                ? null
+                : "first block is not a genesis block";
+        }
+        if (!block.getPreviousHash().equals(previousHash)) {
+            return "previous hash mismatch";
+        }
+        if (block.getBlockNumber() != previousNumber + 1) {
+            return "block number sequence error";
+        }
+        if (!block.getHash().equals(calculateBlockHash(block))) {
+            return "block hash integrity check failed";
+        }
+        try {
+            PublicKey signerPublicKey = CryptoUtil.getCachedPublicKey(
+                block.getSignerKeyFingerprint(),
+                block.getSignerPublicKey()
+            );
+            if (!CryptoUtil.verifySignature(buildBlockContent(block), block.getSignature(), signerPublicKey)) {
+                return "block signature verification failed";
+            }
+        } catch (Exception e) {
+            return "signature verification error: " + e.getMessage();
+        }
+        return null;
+    }
+
+    /**
+     * Fork-join task that verifies a slice {@code [from, to)} of an import batch.
+     */
+    private final class ImportVerificationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int SEQUENTIAL_THRESHOLD = 16;
+
+        // Fork-join tasks are never serialized
+        private final transient List<Block> batch;
+        private final Long previousNumber;
+        private final String previousHash;
+        private final String[] errors;
+        private final int from;
+        private final int to;
+
+        ImportVerificationTask(List<Block> batch, Long previousNumber, String previousHash,
+                               String[] errors, int from, int to) {
+            this.batch = batch;
+            this.previousNumber = previousNumber;
+            this.previousHash = previousHash;
+            this.errors = errors;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                verifyImportedBlocks(batch, previousNumber, previousHash, errors, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new ImportVerificationTask(batch, previousNumber, previousHash, errors, from, middle),
+                new ImportVerificationTask(batch, previousNumber, previousHash, errors, middle, to)
+            );
+        }
+    }
+
+    /**
+     * Copy the off-chain file of an imported block from the export's {@code off-chain-backup}
+     * directory into {@code off-chain-data} and point the block at it. The reference is dropped
+     * if the backup is missing or cannot be copied.
+     */
+    private void restoreOffChainBackup(Block block, File offChainBackupDir, Set<String> restoredFiles) {
+        if (!block.hasOffChainData()) {
+            return;
         }
+        OffChainData offChainData = block.getOffChainData();
 
-        // Validate imported chain with detailed validation (outside writeLock)
-        var importValidation = validateChainDetailed();
-        boolean isValid =
-            importValidation.isStructurallyIntact() &&
-            importValidation.isFullyCompliant();
-        if (isValid) {
-            logger.info("✅ Imported chain validation: SUCCESS");
-        } else {
-            logger.error("❌ Imported chain validation: FAILED");
-            if (!importValidation.isStructurallyIntact()) {
-                logger.error(
-                    "  - Structural issues: {} invalid blocks",
-                    importValidation.getInvalidBlocks()
+        // Reset off-chain data ID for new insertion
+        offChainData.setId(null);
+
+        try {
+            // Check if backup file exists in off-chain-backup directory
+            String fileName = new File(offChainData.getFilePath()).getName();
+            File backupFile = new File(offChainBackupDir, fileName);
+
+            if (backupFile.exists()) {
+                // Create new file path in standard off-chain directory
+                File offChainDir = new File("off-chain-data");
+                if (!offChainDir.exists()) {
+                    offChainDir.mkdirs();
+                }
+
+                String newFileName =
+                    "block_" +
+                    block.getBlockNumber() +
+                    "_" +
+                    System.currentTimeMillis() +
+                    ".enc";
+                File newFile = new File(offChainDir, newFileName);
+
+                // Copy backup file to new location
+                Files.copy(
+                    backupFile.toPath(),
+                    newFile.toPath(),
+                    java.nio.file.StandardCopyOption.REPLACE_EXISTING
                 );
-            }
-            if (!importValidation.isFullyCompliant()) {
-                logger.error(
-                    "  - Compliance issues: {} revoked blocks",
-                    importValidation.getRevokedBlocks()
+
+                // Update file path in off-chain data
+                offChainData.setFilePath(newFile.getAbsolutePath());
+                restoredFiles.add(newFile.getAbsolutePath());
+
+                if (logger.isTraceEnabled()) {
+                    logger.trace(
+                        "  ✓ Imported off-chain file for block #{}",
+                        block.getBlockNumber()
+                    );
+                }
+            } else {
+                logger.warn(
+                    "  ⚠ Off-chain backup file not found for block #{}: {}",
+                    block.getBlockNumber(),
+                    backupFile.getAbsolutePath()
                 );
+                // Remove off-chain reference if file is missing
+                block.setOffChainData(null);
             }
+        } catch (Exception e) {
+            logger.error(
+                "  ❌ Error importing off-chain file for block #{}",
+                block.getBlockNumber(),
+                e
+            );
+            // Remove off-chain reference if import fails
+            block.setOffChainData(null);
         }
+    }
 
-        return isValid;
+    /**
+     * Delete files by absolute path (restored off-chain files of an import that failed).
+     */
+    private void deleteOffChainFiles(Set<String> paths) {
+        for (String path : paths) {
+            try {
+                Files.deleteIfExists(Path.of(path));
+            } catch (Exception e) {
+                logger.error("Failed to delete off-chain file: {} - {}", path, e.getMessage());
+            }
+        }
     }
 
     /**
@@ -6126,7 +7308,8 @@ public class Blockchain {
     public boolean rollbackBlocks(Long numberOfBlocks) {
         long stamp = GLOBAL_BLOCKCHAIN_LOCK.writeLock();
         try {
-            return JPAUtil.executeInTransaction(em -> {
+            List<String> removedHashes = new ArrayList<>();
+            boolean rolledBack = JPAUtil.executeInTransaction(em -> {
                 if (numberOfBlocks <= 0) {
                     logger.error("❌ Number of blocks to rollback must be positive");
                     throw new IllegalArgumentException(
@@ -6149,31 +7332,36 @@ public class Blockchain {
 
                 // MEMORY SAFETY: Process rollback in batches without loading all blocks
                 try {
-                    // Calculate the starting offset for the last N blocks
-                    long startBlockNumber = currentBlockCount - numberOfBlocks;
-
                     // Validate we're not trying to rollback too many blocks at once
                     if (numberOfBlocks > MemorySafetyConstants.LARGE_ROLLBACK_THRESHOLD) {
                         logger.warn("⚠️  WARNING: Rolling back {} blocks (large rollback)", numberOfBlocks);
                         logger.warn("⚠️  This may take significant time. Consider smaller incremental rollbacks.");
                     }
 
-                    logger.info("🔄 Rolling back {} blocks (from #{} to #{}):",
-                        numberOfBlocks, startBlockNumber, currentBlockCount - 1);
+                    logger.info("🔄 Rolling back the last {} of {} blocks:",
+                        numberOfBlocks, currentBlockCount);
 
                     final int[] totalBlocksRemoved = {0};
                     final int[] offChainFilesDeleted = {0};
 
-                    // Process rollback in batches from highest to lowest block number
+                    // Process rollback in batches from highest to lowest block number, seeking
+                    // backwards from the first block of the previous batch
                     // This ensures proper chain consistency during rollback
-                    for (long batchEnd = currentBlockCount - 1; batchEnd >= startBlockNumber; batchEnd -= VALIDATION_BATCH_SIZE) {
-                        long batchStart = Math.max(startBlockNumber, batchEnd - VALIDATION_BATCH_SIZE + 1);
-                        int batchSize = (int) (batchEnd - batchStart + 1);
-
-                        logger.debug("📦 Processing rollback batch: blocks #{} to #{}", batchStart, batchEnd);
+                    long beforeBlockNumber = Long.MAX_VALUE;
+                    long remaining = numberOfBlocks;
+                    while (remaining > 0) {
+                        int batchSize = (int) Math.min(VALIDATION_BATCH_SIZE, remaining);
 
                         // Retrieve batch
-                        List<Block> batch = blockRepository.getBlocksPaginated((int) batchStart, batchSize);
+                        List<Block> batch = blockRepository.getBlocksBefore(beforeBlockNumber, batchSize);
+                        if (batch.isEmpty()) {
+                            break;
+                        }
+                        beforeBlockNumber = batch.get(0).getBlockNumber();
+                        remaining -= batch.size();
+
+                        logger.debug("📦 Processing rollback batch: blocks #{} to #{}",
+                            beforeBlockNumber, batch.get(batch.size() - 1).getBlockNumber());
 
                         // Process blocks in reverse order (highest to lowest)
                         for (int i = batch.size() - 1; i >= 0; i--) {
@@ -6209,6 +7397,7 @@ public class Blockchain {
 
                             // Delete the block from database (cascade will delete OffChainData entity)
                             blockRepository.deleteBlockByNumber(block.getBlockNumber());
+                            removedHashes.add(block.getHash());
                             totalBlocksRemoved[0]++;
                         }
 
@@ -6247,6 +7436,12 @@ public class Blockchain {
                     return false;
                 }
             });
+            if (rolledBack) {
+                blockRepository.invalidateChainTip();
+                validationCheckpointStore.clearIfAfter(blockRepository.getBlockCount() - 1);
+                removeFromSearchIndexes(removedHashes);
+            }
+            return rolledBack;
         } finally {
             GLOBAL_BLOCKCHAIN_LOCK.unlockWrite(stamp);
         }
@@ -6284,7 +7479,8 @@ public class Blockchain {
      * @since 1.0.6
      */
     private boolean rollbackToBlockInternal(Long targetBlockNumber) {
-        return JPAUtil.executeInTransaction(em -> {
+        List<String> removedHashes = new ArrayList<>();
+        boolean rolledBack = JPAUtil.executeInTransaction(em -> {
             // Defensive validation (should already be validated by public wrapper)
             if (targetBlockNumber == null || targetBlockNumber < 0L) {
                 logger.error("❌ Target block number cannot be null or negative");
@@ -6325,13 +7521,12 @@ public class Blockchain {
                 );
 
                 int offChainFilesDeleted = 0;
-                long offset = 0;
+                long afterBlockNumber = targetBlockNumber; // keyset cursor
                 boolean hasMore = true;
 
                 while (hasMore) {
-                    List<Block> blocksToDelete = blockRepository.getBlocksAfterPaginated(
-                        targetBlockNumber,
-                        offset,
+                    List<Block> blocksToDelete = blockRepository.getBlocksAfter(
+                        afterBlockNumber,
                         VALIDATION_BATCH_SIZE
                     );
 
@@ -6341,6 +7536,7 @@ public class Blockchain {
                     }
 
                     for (Block block : blocksToDelete) {
+                        removedHashes.add(block.getHash());
                         if (block.hasOffChainData()) {
                             try {
                                 boolean fileDeleted =
@@ -6371,7 +7567,7 @@ public class Blockchain {
                         }
                     }
 
-                    offset += VALIDATION_BATCH_SIZE;
+                    afterBlockNumber = blocksToDelete.get(blocksToDelete.size() - 1).getBlockNumber();
 
                     // Check if we got less than a full batch (end of data)
                     if (blocksToDelete.size() < VALIDATION_BATCH_SIZE) {
@@ -6408,6 +7604,29 @@ public class Blockchain {
                 return false;
             }
         });
+        if (rolledBack) {
+            blockRepository.invalidateChainTip();
+            validationCheckpointStore.clearIfAfter(targetBlockNumber);
+            removeFromSearchIndexes(removedHashes);
+        }
+        return rolledBack;
+    }
+
+    /**
+     * Drop rolled-back blocks from the search indexes in one batch, so searches stop
+     * returning blocks that no longer exist. Failures are logged, not propagated:
+     * the database rollback has already committed.
+     */
+    private void removeFromSearchIndexes(List<String> blockHashes) {
+        if (blockHashes.isEmpty()) {
+            return;
+        }
+        try {
+            searchFrameworkEngine.removeBlocks(blockHashes);
+            logger.debug("🔍 Removed {} rolled-back blocks from search indexes", blockHashes.size());
+        } catch (Exception e) {
+            logger.warn("⚠️ Search index cleanup after rollback had issues (non-critical): {}", e.getMessage());
+        }
     }
 
     /**
@@ -6774,6 +7993,59 @@ public class Blockchain {
         }
     }
 
+    /**
+     * Get the blocks that follow a block number (keyset pagination).
+     *
+     * <p>Preferred over {@link #getBlocksPaginated(long, int)} for walking the chain: each page
+     * seeks on the block number index, so the last page of a large chain is as cheap as the
+     * first (an {@code OFFSET} query reads and discards every skipped row).</p>
+     *
+     * <pre>{@code
+     * long after = -1;
+     * List<Block> page;
+     * while (!(page = blockchain.getBlocksAfter(after, 1000)).isEmpty()) {
+     *     process(page);
+     *     after = page.get(page.size() - 1).getBlockNumber();
+     * }
+     * }</pre>
+     *
+     * @param afterBlockNumber exclusive lower bound ({@code -1} to start at the genesis block)
+     * @param limit maximum number of blocks to return
+     * @return blocks with a higher block number, ascending; empty at the end of the chain
+     * @throws IllegalArgumentException if limit is not positive
+     * @since 1.0.6
+     */
+    public List<Block> getBlocksAfter(long afterBlockNumber, int limit) {
+        long stamp = GLOBAL_BLOCKCHAIN_LOCK.readLock();
+        try {
+            return blockRepository.getBlocksAfter(afterBlockNumber, limit);
+        } finally {
+            GLOBAL_BLOCKCHAIN_LOCK.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Get the blocks that precede a block number (keyset pagination towards genesis).
+     *
+     * <p>Returns the {@code limit} highest-numbered blocks below {@code beforeBlockNumber} in
+     * ascending order; {@code getBlocksBefore(Long.MAX_VALUE, 10)} is the last ten blocks of
+     * the chain. To keep walking backwards pass the number of the first block of each page.</p>
+     *
+     * @param beforeBlockNumber exclusive upper bound ({@link Long#MAX_VALUE} to end at the tip)
+     * @param limit maximum number of blocks to return
+     * @return blocks with a lower block number, ascending; empty before the genesis block
+     * @throws IllegalArgumentException if limit is not positive
+     * @since 1.0.6
+     */
+    public List<Block> getBlocksBefore(long beforeBlockNumber, int limit) {
+        long stamp = GLOBAL_BLOCKCHAIN_LOCK.readLock();
+        try {
+            return blockRepository.getBlocksBefore(beforeBlockNumber, limit);
+        } finally {
+            GLOBAL_BLOCKCHAIN_LOCK.unlockRead(stamp);
+        }
+    }
+
     /**
      * Batch retrieve blocks by their hash values (thread-safe)
      *
@@ -6917,7 +8189,9 @@ public class Blockchain {
      * 
      * <p><b>⚠️ Usage Note:</b> This method is safe for external API calls and read operations.
      * Internal blockchain methods that modify data within active transactions should use
-     * {@code blockRepository.getLastBlock(EntityManager)} to avoid transaction isolation issues.</p>
+     * {@code blockRepository.getChainTip()}, which includes the blocks added by their transaction.</p>
+     *
+     * <p>The block is loaded by primary key using the in-memory chain tip.</p>
      * 
      * @return Last block in chain, or null if blockchain is empty
      */
@@ -6929,12 +8203,12 @@ public class Blockchain {
         
         if (GLOBAL_BLOCKCHAIN_LOCK.validate(stamp)) {
             // Optimistic read succeeded - execute without lock
-            lastBlock = blockRepository.getLastBlockWithRefresh();
+            lastBlock = loadLastBlockFromTip();
         } else {
             // Validation failed (write occurred) - retry with read lock
             stamp = GLOBAL_BLOCKCHAIN_LOCK.readLock();
             try {
-                lastBlock = blockRepository.getLastBlockWithRefresh();
+                lastBlock = loadLastBlockFromTip();
             } finally {
                 GLOBAL_BLOCKCHAIN_LOCK.unlockRead(stamp);
             }
@@ -6943,9 +8217,29 @@ public class Blockchain {
         return lastBlock;
     }
 
+    /**
+     * Load the last block by primary key from the in-memory chain tip. Falls back to
+     * the {@code ORDER BY} query (and reloads the tip) if the tip no longer matches the
+     * database, e.g. after blocks were removed outside this API.
+     */
+    private Block loadLastBlockFromTip() {
+        ChainTip.Tip tip = blockRepository.getChainTip();
+        if (tip.isEmpty()) {
+            return null;
+        }
+        Block lastBlock = blockRepository.getBlockByNumber(tip.blockNumber());
+        if (lastBlock != null && tip.hash().equals(lastBlock.getHash())) {
+            return lastBlock;
+        }
+        blockRepository.invalidateChainTip();
+        return blockRepository.getLastBlockWithRefresh();
+    }
+
     /**
      * Get the total number of blocks
      * FIXED: Added thread-safety with read lock
+     *
+     * <p>Served from the in-memory chain tip (no {@code COUNT} query once it is loaded).</p>
      */
     public long getBlockCount() {
         // Try optimistic read first (lock-free, ~50% faster)
@@ -6954,12 +8248,12 @@ public class Blockchain {
         
         if (GLOBAL_BLOCKCHAIN_LOCK.validate(stamp)) {
             // Optimistic read succeeded - execute without lock
-            count = blockRepository.getBlockCount();
+            count = blockRepository.getChainTip().blockCount();
         } else {
             // Validation failed (write occurred) - retry with read lock
             stamp = GLOBAL_BLOCKCHAIN_LOCK.readLock();
             try {
-                count = blockRepository.getBlockCount();
+                count = blockRepository.getChainTip().blockCount();
             } finally {
                 GLOBAL_BLOCKCHAIN_LOCK.unlockRead(stamp);
             }
@@ -7144,11 +8438,11 @@ public class Blockchain {
      * Get blocks encrypted for a specific recipient public key (uses default limit).
      *
      * <p>This method returns blocks that were encrypted for the specified recipient.
-     * The recipient filtering uses the native {@code recipient_public_key} database column
+     * The recipient filtering uses the {@code recipient_key_fingerprint} column
      * with index for O(1) lookup performance.</p>
      *
      * <p><b>🔒 Privacy:</b> Uses public key (pseudonymous) instead of username,
-     * matching the privacy model of {@code signer_public_key}.</p>
+     * matching the privacy model of the signer key.</p>
      *
      * <p><b>⚡ Performance:</b> Uses indexed database query instead of loading all blocks
      * and filtering in-memory with JSON parsing (P0 performance fix).</p>
@@ -7171,11 +8465,11 @@ public class Blockchain {
      * Get blocks encrypted for a specific recipient public key with strict limit validation.
      *
      * <p>This method returns blocks that were encrypted for the specified recipient.
-     * The recipient filtering uses the native {@code recipient_public_key} database column
+     * The recipient filtering uses the {@code recipient_key_fingerprint} column
      * with index for O(1) lookup performance.</p>
      *
      * <p><b>🔒 Privacy:</b> Uses public key (pseudonymous) instead of username,
-     * matching the privacy model of {@code signer_public_key}.</p>
+     * matching the privacy model of the signer key.</p>
      *
      * <p><b>⚡ Performance:</b> Uses indexed database query instead of loading all blocks
      * and filtering in-memory with JSON parsing (P0 performance fix).</p>
@@ -7206,7 +8500,7 @@ public class Blockchain {
      * Count blocks encrypted for a specific recipient public key.
      *
      * <p>This method counts blocks that were encrypted for the specified recipient.
-     * Uses the native {@code recipient_public_key} database column with index
+     * Uses the indexed {@code recipient_key_fingerprint} column
      * for efficient counting.</p>
      *
      * @param recipientPublicKey The public key of the recipient
@@ -7448,6 +8742,8 @@ public class Blockchain {
         // NOW acquire writeLock AFTER reading data
         long stamp = GLOBAL_BLOCKCHAIN_LOCK.writeLock();
         try {
+            validationCheckpointStore.clear();
+
             // SECURITY FIX: Ensure emergency-backups directory exists
             File emergencyBackupDir = new File("emergency-backups");
             if (!emergencyBackupDir.exists()) {
@@ -7489,6 +8785,7 @@ public class Blockchain {
                 }
                 return null;
             });
+            blockRepository.invalidateChainTip();
 
             // SECURITY FIX: Clean off-chain directory AFTER successful database clear
             // More efficient to delete entire directory than individual files
@@ -7639,7 +8936,7 @@ public class Blockchain {
             // Validate public key format before using it
             PublicKey publicKey;
             try {
-                publicKey = CryptoUtil.stringToPublicKey(adminPublicKey);
+                publicKey = CryptoUtil.getCachedPublicKey(adminPublicKey);
                 if (publicKey == null) {
                     logger.error("❌ Admin verification failed: invalid public key format");
                     return false;
@@ -8404,6 +9701,200 @@ public class Blockchain {
         }
     }
 
+    /**
+     * Store identical off-chain payloads once.
+     *
+     * <p>When enabled, off-chain data is kept in content-addressed, reference-counted blobs
+     * under {@code off-chain-data/blobs/}: a payload added to several blocks is written once,
+     * and rollback or cleanup deletes it only when the last block referencing it is gone.
+     * Each block still decrypts with its own off-chain password. This also applies to the
+     * chunks of {@link #addLargePayload}, so repeated chunks are stored once.</p>
+     *
+     * @param enabled {@code true} to deduplicate new off-chain data (default {@code false})
+     * @since 1.0.6
+     * @see OffChainStorageService#setContentAddressed(boolean)
+     */
+    public void setOffChainDeduplicationEnabled(boolean enabled) {
+        offChainStorageService.setContentAddressed(enabled);
+        logger.info("📊 Off-chain deduplication {}", enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * @return {@code true} if new off-chain data is deduplicated
+     * @since 1.0.6
+     */
+    public boolean isOffChainDeduplicationEnabled() {
+        return offChainStorageService.isContentAddressed();
+    }
+
+    /**
+     * Store small off-chain payloads in shared pack files.
+     *
+     * <p>When enabled, off-chain payloads up to {@link OffChainStorageService#PACKED_PAYLOAD_MAX_BYTES}
+     * are appended to append-only pack files under {@code off-chain-data/packs/} and read through
+     * a memory mapping, so storing, verifying and exporting them does not create or open one file
+     * per block. Rolled-back entries are reclaimed by
+     * {@link com.rbatllet.blockchain.maintenance.OffChainCleanupService#cleanupOrphanedFiles()}.
+     * Deduplication ({@link #setOffChainDeduplicationEnabled(boolean)}) takes precedence.</p>
+     *
+     * @param enabled {@code true} to pack new off-chain data (default {@code false})
+     * @since 1.0.6
+     * @see OffChainStorageService#setPackedStorage(boolean)
+     */
+    public void setOffChainPackedStorageEnabled(boolean enabled) {
+        offChainStorageService.setPackedStorage(enabled);
+        logger.info("📊 Off-chain pack storage {}", enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * @return {@code true} if new small off-chain payloads are packed
+     * @since 1.0.6
+     */
+    public boolean isOffChainPackedStorageEnabled() {
+        return offChainStorageService.isPackedStorage();
+    }
+
+    /**
+     * Configure parallel ML-DSA signing for {@link #addBlocksBatch(List, boolean)}.
+     *
+     * <p>Hash chaining stays sequential (each block embeds its predecessor's hash), but
+     * signatures are independent and are computed on this executor before each JDBC flush.
+     * Signing is CPU-bound, so a {@link java.util.concurrent.ForkJoinPool} sized to the
+     * available cores is usually the best choice; a virtual-thread executor
+     * ({@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()}) also works.</p>
+     *
+     * <p>The executor is owned by the caller: it is never shut down by this class.</p>
+     *
+     * @param executor Executor used for batch signing, or {@code null} to sign sequentially (default)
+     * @since 1.0.6
+     */
+    public void setBatchSigningExecutor(ExecutorService executor) {
+        this.batchSigningExecutor = executor;
+        logger.info("📊 Batch signing mode updated to: {}", executor != null ? "parallel" : "sequential");
+    }
+
+    /**
+     * Get the executor used for parallel batch signing.
+     *
+     * @return the configured executor, or {@code null} if batches are signed sequentially
+     * @since 1.0.6
+     */
+    public ExecutorService getBatchSigningExecutor() {
+        return batchSigningExecutor;
+    }
+
+    /**
+     * Configure parallel chain validation for {@link #validateChainDetailed()} and
+     * {@link #validateChainStreaming(Consumer, int)}.
+     *
+     * <p>Each page of blocks is split across a fork-join pool of this size: hash recomputation
+     * and signature verification run in parallel, and results are aggregated in block order,
+     * so {@link ChainValidationResult} and {@link ValidationSummary} are identical to the
+     * sequential run.</p>
+     *
+     * @param parallelism Number of worker threads; {@code 1} validates sequentially (default).
+     *        {@link Runtime#availableProcessors()} is a good value for full audits.
+     * @throws IllegalArgumentException if parallelism is less than 1
+     * @since 1.0.6
+     */
+    public void setValidationParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Validation parallelism must be at least 1");
+        }
+        this.validationParallelism = parallelism;
+        logger.info("📊 Validation parallelism updated to: {}", parallelism);
+    }
+
+    /**
+     * Get the fork-join parallelism used for chain validation.
+     *
+     * @return number of validation workers ({@code 1} = sequential)
+     * @since 1.0.6
+     */
+    public int getValidationParallelism() {
+        return validationParallelism;
+    }
+
+    /**
+     * Enable or disable incremental chain validation.
+     *
+     * <p>When enabled, {@link #validateChainDetailed()} and
+     * {@link #validateChainStreaming(Consumer, int)} resume after the persisted
+     * {@link ValidationCheckpoint} (the last block of the verified prefix) instead of
+     * re-verifying every hash and signature from genesis, and advance the checkpoint when
+     * they finish. Results and summaries then cover only the newly validated blocks.</p>
+     *
+     * <p>The checkpoint is bound to the authorized-key records in force when it was written
+     * and is discarded automatically on rollback below it, key revocation, chain import and
+     * reinitialization. Validation inside an active transaction (recovery paths) always
+     * runs in full.</p>
+     *
+     * @param enabled true to validate incrementally (default: false)
+     */
+    public void setIncrementalValidationEnabled(boolean enabled) {
+        this.incrementalValidationEnabled = enabled;
+        logger.info("📍 Incremental validation {}", enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * @return true if chain validation resumes from the persisted checkpoint
+     */
+    public boolean isIncrementalValidationEnabled() {
+        return incrementalValidationEnabled;
+    }
+
+    /**
+     * Get the persisted incremental validation checkpoint.
+     *
+     * @return the checkpoint, or {@code null} if none is stored or it is no longer trusted
+     */
+    public ValidationCheckpoint getValidationCheckpoint() {
+        long stamp = GLOBAL_BLOCKCHAIN_LOCK.readLock();
+        try {
+            return validationCheckpointStore.load();
+        } finally {
+            GLOBAL_BLOCKCHAIN_LOCK.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Get statistics of the shared block hash → block number lookup cache.
+     *
+     * <p>The cache backs {@link #getBlockByHash(String)}, {@link #batchRetrieveBlocksByHash(List)}
+     * and hash existence checks in the repository; entries are verified on use and dropped on rollback/import.</p>
+     *
+     * @return map with size, capacity, hits, misses and hitRate (percentage)
+     */
+    public Map<String, Object> getBlockHashCacheStatistics() {
+        return blockRepository.getHashCacheStatistics();
+    }
+
+    /**
+     * Get statistics of the parsed public key cache used by signature verification.
+     *
+     * <p>Block validation ({@code validateBlock}, {@code validateBlockDetailed}, and through them
+     * chain validation and {@code ChainRecoveryManager}) and admin signature checks resolve signer
+     * keys through {@link CryptoUtil#getCachedPublicKey(String, String)}, keyed by the block's key
+     * fingerprint.</p>
+     *
+     * @return map with size, capacity, hits, misses and hitRate (percentage)
+     */
+    public Map<String, Object> getPublicKeyCacheStatistics() {
+        return CryptoUtil.getPublicKeyCacheStatistics();
+    }
+
+    /**
+     * Discard the incremental validation checkpoint so the next validation starts from genesis.
+     */
+    public void invalidateValidationCheckpoint() {
+        long stamp = GLOBAL_BLOCKCHAIN_LOCK.writeLock();
+        try {
+            validationCheckpointStore.clear();
+        } finally {
+            GLOBAL_BLOCKCHAIN_LOCK.unlockWrite(stamp);
+        }
+    }
+
     // Getters for current configuration
     public int getCurrentMaxBlockSizeBytes() {
         return currentMaxBlockSizeBytes;
@@ -8452,6 +9943,15 @@ public class Blockchain {
      * Clean up orphaned off-chain files that have no corresponding database entries
      */
     private void cleanupOrphanedOffChainFiles() {
+        cleanupOrphanedOffChainFiles(Set.of());
+    }
+
+    /**
+     * Clean up off-chain files, keeping the given ones
+     *
+     * @param keepPaths absolute paths of files that are still referenced
+     */
+    private void cleanupOrphanedOffChainFiles(Set<String> keepPaths) {
         try {
             File offChainDir = new File("off-chain-data");
             if (!offChainDir.exists() || !offChainDir.isDirectory()) {
@@ -8466,7 +9966,7 @@ public class Blockchain {
 
             int orphanedFilesDeleted = 0;
             for (File file : files) {
-                if (file.isFile()) {
+                if (file.isFile() && !keepPaths.contains(file.getAbsolutePath())) {
                     try {
                         boolean deleted = file.delete();
                         if (deleted) {
@@ -8509,8 +10009,13 @@ public class Blockchain {
             long totalBlocks = blockRepository.getBlockCount();
             Set<String> validFilePaths = new HashSet<>();
 
+            long afterBlockNumber = -1L; // keyset cursor: last block number of the previous batch
             for (long offset = 0; offset < totalBlocks; offset += VALIDATION_BATCH_SIZE) {
-                List<Block> batch = blockRepository.getBlocksPaginated(offset, VALIDATION_BATCH_SIZE);
+                List<Block> batch = blockRepository.getBlocksAfter(afterBlockNumber, VALIDATION_BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
                 for (Block block : batch) {
                     if (block.hasOffChainData()) {
                         validFilePaths.add(block.getOffChainData().getFilePath());
@@ -8740,8 +10245,13 @@ public class Blockchain {
             Map<String, Long> categoryCount = new HashMap<>();
 
             // Process blocks in batches to accumulate statistics
+            long afterBlockNumber = -1L; // keyset cursor: last block number of the previous batch
             for (long offset = 0; offset < totalBlocks; offset += VALIDATION_BATCH_SIZE) {
-                List<Block> batch = blockRepository.getBlocksPaginated(offset, VALIDATION_BATCH_SIZE);
+                List<Block> batch = blockRepository.getBlocksAfter(afterBlockNumber, VALIDATION_BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
                 for (Block block : batch) {
                     // Count encrypted blocks
                     if (block.isDataEncrypted()) {
@@ -8856,8 +10366,13 @@ public class Blockchain {
             List<Block> allBlocks = new ArrayList<>((int) totalBlocks);
 
             // Retrieve blocks in batches
+            long afterBlockNumber = -1L; // keyset cursor: last block number of the previous batch
             for (long offset = 0; offset < totalBlocks; offset += VALIDATION_BATCH_SIZE) {
-                List<Block> batch = blockRepository.getBlocksPaginated(offset, VALIDATION_BATCH_SIZE);
+                List<Block> batch = blockRepository.getBlocksAfter(afterBlockNumber, VALIDATION_BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
                 allBlocks.addAll(batch);
             }
 
@@ -8956,6 +10471,10 @@ public class Blockchain {
         boolean importSuccess = false;
         long stamp = GLOBAL_BLOCKCHAIN_LOCK.writeLock();
         try {
+            // The imported chain has not been validated by this node
+            validationCheckpointStore.clear();
+            blockRepository.invalidateChainTip();
+
             importSuccess = JPAUtil.executeInTransaction(em -> {
                 try {
                     // Read and parse JSON file
@@ -9201,10 +10720,6 @@ public class Blockchain {
      * Helper method to handle off-chain file export
      */
     private int handleOffChainExport(List<Block> blocks, String filePath) {
-        int offChainFilesExported = 0;
-        File exportDir = new File(filePath).getParentFile();
-        File offChainBackupDir = new File(exportDir, "off-chain-backup");
-
         // Check if any blocks have off-chain data
         boolean hasOffChainData = blocks
             .stream()
@@ -9213,69 +10728,18 @@ public class Blockchain {
             return 0;
         }
 
-        // Create backup directory
-        if (!offChainBackupDir.exists()) {
-            try {
-                if (!offChainBackupDir.mkdirs()) {
-                    logger.error(
-                        "❌ Failed to create off-chain backup directory"
-                    );
-                    return 0;
-                }
-            } catch (SecurityException e) {
-                logger.error("Security exception creating backup directory", e);
-                return 0;
-            }
+        File offChainBackupDir = createOffChainBackupDir(new File(filePath).getParentFile());
+        if (offChainBackupDir == null) {
+            return 0;
         }
 
         // Copy off-chain files to backup directory
+        int offChainFilesExported = 0;
         for (Block block : blocks) {
-            if (block.hasOffChainData()) {
-                try {
-                    OffChainData offChainData = block.getOffChainData();
-                    File sourceFile = new File(offChainData.getFilePath());
-
-                    if (sourceFile.exists()) {
-                        String fileName =
-                            "block_" +
-                            block.getBlockNumber() +
-                            "_" +
-                            sourceFile.getName();
-                        File backupFile = new File(offChainBackupDir, fileName);
-
-                        // Copy file
-                        java.nio.file.Files.copy(
-                            sourceFile.toPath(),
-                            backupFile.toPath(),
-                            java.nio.file.StandardCopyOption.REPLACE_EXISTING
-                        );
-
-                        // Update the path in the export data
-                        offChainData.setFilePath(
-                            "off-chain-backup/" + fileName
-                        );
-                        offChainFilesExported++;
-
-                        logger.debug(
-                            "  ✓ Exported off-chain file for block #{}",
-                            block.getBlockNumber()
-                        );
-                    } else {
-                        logger.warn(
-                            "  ⚠ Off-chain file missing for block #{}",
-                            block.getBlockNumber()
-                        );
-                    }
-                } catch (Exception e) {
-                    logger.error(
-                        "  ❌ Error exporting off-chain file for block #{}",
-                        block.getBlockNumber(),
-                        e
-                    );
-                }
+            if (exportOffChainFile(block, offChainBackupDir)) {
+                offChainFilesExported++;
             }
         }
-
         return offChainFilesExported;
     }
 
@@ -9359,8 +10823,13 @@ public class Blockchain {
         long totalBlocks = blockRepository.getBlockCount();
         int existingOffChainFilesDeleted = 0;
 
+        long afterBlockNumber = -1L; // keyset cursor: last block number of the previous batch
         for (long offset = 0; offset < totalBlocks; offset += VALIDATION_BATCH_SIZE) {
-            List<Block> batch = blockRepository.getBlocksPaginated(offset, VALIDATION_BATCH_SIZE);
+            List<Block> batch = blockRepository.getBlocksAfter(afterBlockNumber, VALIDATION_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterBlockNumber = batch.get(batch.size() - 1).getBlockNumber();
             for (Block block : batch) {
                 if (block.hasOffChainData()) {
                     try {
@@ -9419,6 +10888,7 @@ public class Blockchain {
         newBlock.setSignature(originalBlock.getSignature());
         newBlock.setIsEncrypted(originalBlock.isDataEncrypted());
         newBlock.setEncryptionMetadata(originalBlock.getEncryptionMetadata());
+        newBlock.setPasswordCheckValue(originalBlock.getPasswordCheckValue());
         newBlock.setManualKeywords(originalBlock.getManualKeywords());
         newBlock.setAutoKeywords(originalBlock.getAutoKeywords());
         newBlock.setSearchableContent(originalBlock.getSearchableContent());
@@ -9437,6 +10907,7 @@ public class Blockchain {
                 originalOffChain.getContentType(),
                 originalOffChain.getSignerPublicKey()
             );
+            newOffChain.setWrappedDataKey(originalOffChain.getWrappedDataKey());
             newOffChain.setId(null); // Reset ID for new persistence
             newBlock.setOffChainData(newOffChain);
         }
@@ -9606,6 +11077,14 @@ public class Blockchain {
                         }
                     }
                     
+                    if (!Objects.equals(existingBlock.getPasswordCheckValue(), block.getPasswordCheckValue())) {
+                        existingBlock.setPasswordCheckValue(block.getPasswordCheckValue());
+                        hasChanges = true;
+                        if (logger.isTraceEnabled()) {
+                            logger.trace("✅ Safe update: passwordCheckValue modified");
+                        }
+                    }
+                    
                     if (!Objects.equals(existingBlock.getManualKeywords(), block.getManualKeywords())) {
                         existingBlock.setManualKeywords(block.getManualKeywords());
                         hasChanges = true;
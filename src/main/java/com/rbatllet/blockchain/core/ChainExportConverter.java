@@ -0,0 +1,112 @@
+package com.rbatllet.blockchain.core;
+
+import com.rbatllet.blockchain.entity.AuthorizedKey;
+import com.rbatllet.blockchain.entity.Block;
+import tools.jackson.core.JsonEncoding;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Converts chain exports between the JSON form written by
+ * {@link Blockchain#exportChain(String, boolean)} and the binary form written by
+ * {@link Blockchain#exportChainBinary(String, boolean)}, without a database.
+ *
+ * <p>Both directions stream: blocks are converted one at a time. The content covered is the
+ * plain chain export (authorized keys and blocks with their off-chain references); the
+ * {@code encryptionData} section of an encrypted-chain export is not carried over. Off-chain
+ * backup files are referenced by relative path, so the converted file must stay next to the
+ * same {@code off-chain-backup} directory.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Stateless; conversions may run concurrently on
+ * different files.</p>
+ *
+ * @since 1.0.6
+ */
+public final class ChainExportConverter {
+
+    private ChainExportConverter() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Convert a JSON chain export to the binary format.
+     *
+     * @param jsonPath existing JSON export
+     * @param binaryPath binary file to write (overwritten)
+     * @return number of blocks converted
+     * @throws IllegalStateException if the JSON export is malformed or is a delta export
+     * @throws UncheckedIOException if a file cannot be read or written
+     */
+    public static long jsonToBinary(String jsonPath, String binaryPath) {
+        ObjectMapper mapper = new ObjectMapper();
+        File source = new File(jsonPath);
+        ChainImportReader.Scan scan = ChainImportReader.scan(mapper, source);
+        if (scan.isDelta()) {
+            throw new IllegalStateException("Delta exports have no binary form: " + jsonPath);
+        }
+        LocalDateTime exportTimestamp = scan.exportTimestamp() != null ? scan.exportTimestamp() : LocalDateTime.now();
+
+        long converted = 0;
+        try (ChainImportReader reader = new ChainImportReader(mapper, source);
+             BinaryChainFormat.Writer writer = new BinaryChainFormat.Writer(
+                 new File(binaryPath), scan.blockCount(), exportTimestamp, null, 1)) {
+            writer.writeAuthorizedKeys(scan.authorizedKeys());
+            Block block;
+            while ((block = reader.nextBlock()) != null) {
+                writer.writeBlock(block);
+                converted++;
+            }
+            writer.finish();
+        }
+        return converted;
+    }
+
+    /**
+     * Convert a binary chain export to the JSON format read by {@link Blockchain#importChain(String)}.
+     *
+     * @param binaryPath existing binary export
+     * @param jsonPath JSON file to write (overwritten)
+     * @return number of blocks converted
+     * @throws IllegalStateException if the binary export is corrupted
+     * @throws UncheckedIOException if a file cannot be read or written
+     */
+    public static long binaryToJson(String binaryPath, String jsonPath) {
+        ObjectWriter writer = new ObjectMapper().writer().withDefaultPrettyPrinter();
+        long converted = 0;
+        try (BinaryChainFormat.Reader reader = new BinaryChainFormat.Reader(new File(binaryPath), null);
+             FileOutputStream out = new FileOutputStream(jsonPath);
+             JsonGenerator generator = writer.createGenerator(out, JsonEncoding.UTF8)) {
+            List<AuthorizedKey> authorizedKeys = reader.authorizedKeys();
+            LocalDateTime exportTimestamp = reader.exportTimestamp();
+
+            generator.writeStartObject();
+            generator.writeStringProperty("version", "1.1");
+            generator.writeNumberProperty("totalBlocks", reader.totalBlocks());
+            generator.writeStringProperty("exportTimestamp",
+                (exportTimestamp != null ? exportTimestamp : LocalDateTime.now()).toString());
+            generator.writeName("authorizedKeys");
+            writer.writeValue(generator, authorizedKeys);
+
+            generator.writeName("blocks");
+            generator.writeStartArray();
+            Block block;
+            while ((block = reader.nextBlock()) != null) {
+                writer.writeValue(generator, block);
+                converted++;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot convert " + binaryPath + " to JSON", e);
+        }
+        return converted;
+    }
+}
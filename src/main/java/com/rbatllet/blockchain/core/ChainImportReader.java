@@ -0,0 +1,238 @@
+package com.rbatllet.blockchain.core;
+
+import com.rbatllet.blockchain.entity.AuthorizedKey;
+import com.rbatllet.blockchain.entity.Block;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Package-private streaming reader for chain export files (the JSON form of
+ * {@link com.rbatllet.blockchain.dto.ChainExportData}).
+ *
+ * <p>Used by {@link Blockchain#importChain(String)} so that an import never holds the whole
+ * block list in memory. The file is read twice:</p>
+ * <ul>
+ *   <li>{@link #scan} - lightweight first pass: reads the authorized keys and, for each signer,
+ *       the earliest and latest block timestamp. Block payloads are skipped, not materialized.
+ *       The whole document is parsed, so a malformed file is rejected before anything is
+ *       deleted.</li>
+ *   <li>{@link #nextBlock()} - second pass: returns the blocks one at a time.</li>
+ * </ul>
+ *
+ * <p><strong>Thread Safety:</strong> Not thread-safe; one reader per import.</p>
+ *
+ * @since 1.0.6
+ */
+final class ChainImportReader implements ChainImportSource {
+
+    private static final String BLOCKS_FIELD = "blocks";
+    private static final String AUTHORIZED_KEYS_FIELD = "authorizedKeys";
+    private static final String EXPORT_TIMESTAMP_FIELD = "exportTimestamp";
+    static final String ANCHOR_BLOCK_NUMBER_FIELD = "anchorBlockNumber";
+    static final String ANCHOR_HASH_FIELD = "anchorHash";
+    private static final String GENESIS_SIGNER = "GENESIS";
+
+    /**
+     * Result of the first pass.
+     *
+     * @param authorizedKeys authorized keys of the export (empty if the file has none)
+     * @param earliestBlockTimestamps earliest block timestamp per signer public key
+     * @param latestBlockTimestamps latest block timestamp per signer public key
+     * @param blockCount number of blocks in the file
+     * @param exportTimestamp when the export was written, or {@code null} if not recorded
+     * @param anchorBlockNumber for a delta export, the block the exported blocks follow;
+     *        {@code null} for a full export
+     * @param anchorHash for a delta export, the hash of the anchor block
+     */
+    record Scan(List<AuthorizedKey> authorizedKeys,
+                Map<String, LocalDateTime> earliestBlockTimestamps,
+                Map<String, LocalDateTime> latestBlockTimestamps,
+                long blockCount,
+                LocalDateTime exportTimestamp,
+                Long anchorBlockNumber,
+                String anchorHash) {
+
+        /** @return true for a delta export ({@link Blockchain#exportChainDelta(String, long)}) */
+        boolean isDelta() {
+            return anchorBlockNumber != null;
+        }
+    }
+
+    private final ObjectReader blockReader;
+    private final JsonParser parser;
+    private boolean inBlocks;
+    private boolean finished;
+
+    /**
+     * Open {@code file} for the second pass.
+     */
+    ChainImportReader(ObjectMapper mapper, File file) {
+        this.blockReader = elementReader(mapper, Block.class);
+        this.parser = mapper.createParser(file);
+    }
+
+    /**
+     * First pass over {@code file}.
+     *
+     * @throws tools.jackson.core.JacksonException if the file is not a well-formed export
+     */
+    static Scan scan(ObjectMapper mapper, File file) {
+        List<AuthorizedKey> authorizedKeys = new ArrayList<>();
+        Map<String, LocalDateTime> earliest = new HashMap<>();
+        Map<String, LocalDateTime> latest = new HashMap<>();
+        long blockCount = 0;
+        LocalDateTime exportTimestamp = null;
+        Long anchorBlockNumber = null;
+        String anchorHash = null;
+        ObjectReader keyReader = elementReader(mapper, AuthorizedKey.class);
+        ObjectReader timestampReader = elementReader(mapper, LocalDateTime.class);
+
+        try (JsonParser parser = mapper.createParser(file)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            String field;
+            while ((field = parser.nextName()) != null) {
+                JsonToken value = parser.nextToken();
+                if (AUTHORIZED_KEYS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        authorizedKeys.add(keyReader.readValue(parser));
+                    }
+                } else if (BLOCKS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        expect(parser.currentToken(), JsonToken.START_OBJECT);
+                        scanBlock(timestampReader, parser, earliest, latest);
+                        blockCount++;
+                    }
+                } else if (EXPORT_TIMESTAMP_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    exportTimestamp = parseTimestamp(parser.getString());
+                } else if (ANCHOR_BLOCK_NUMBER_FIELD.equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    anchorBlockNumber = parser.getLongValue();
+                } else if (ANCHOR_HASH_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    anchorHash = parser.getString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            expect(parser.nextToken(), null);
+        }
+        if ((anchorBlockNumber == null) != (anchorHash == null)) {
+            throw new IllegalStateException("Malformed chain export: delta anchor needs both "
+                + ANCHOR_BLOCK_NUMBER_FIELD + " and " + ANCHOR_HASH_FIELD);
+        }
+        return new Scan(authorizedKeys, earliest, latest, blockCount, exportTimestamp,
+            anchorBlockNumber, anchorHash);
+    }
+
+    /**
+     * Read the signer and timestamp of the block object at the parser and skip everything else.
+     */
+    private static void scanBlock(ObjectReader timestampReader, JsonParser parser,
+                                  Map<String, LocalDateTime> earliest,
+                                  Map<String, LocalDateTime> latest) {
+        String signer = null;
+        LocalDateTime timestamp = null;
+        String field;
+        while ((field = parser.nextName()) != null) {
+            JsonToken value = parser.nextToken();
+            if ("signerPublicKey".equals(field) && value == JsonToken.VALUE_STRING) {
+                signer = parser.getString();
+            } else if ("timestamp".equals(field) && value != JsonToken.VALUE_NULL) {
+                timestamp = timestampReader.readValue(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        recordSignerTime(earliest, latest, signer, timestamp);
+    }
+
+    /**
+     * Widen the time range of {@code signer} to include {@code timestamp}. Genesis blocks are
+     * not signed by an authorized key and are ignored.
+     */
+    static void recordSignerTime(Map<String, LocalDateTime> earliest, Map<String, LocalDateTime> latest,
+                                 String signer, LocalDateTime timestamp) {
+        if (signer != null && timestamp != null && !GENESIS_SIGNER.equals(signer)) {
+            earliest.merge(signer, timestamp, (existing, current) -> existing.isBefore(current) ? existing : current);
+            latest.merge(signer, timestamp, (existing, current) -> existing.isAfter(current) ? existing : current);
+        }
+    }
+
+    /**
+     * @return the next block of the file, or {@code null} after the last one
+     * @throws tools.jackson.core.JacksonException if the file is not a well-formed export
+     */
+    @Override
+    public Block nextBlock() {
+        if (finished) {
+            return null;
+        }
+        if (!inBlocks && !seekBlocks()) {
+            finished = true;
+            return null;
+        }
+        if (parser.nextToken() == JsonToken.END_ARRAY) {
+            finished = true;
+            return null;
+        }
+        return blockReader.readValue(parser);
+    }
+
+    /**
+     * Position the parser inside the top-level {@code blocks} array.
+     *
+     * @return false if the file has no blocks array
+     */
+    private boolean seekBlocks() {
+        if (parser.currentToken() == null) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+        }
+        String field;
+        while ((field = parser.nextName()) != null) {
+            JsonToken value = parser.nextToken();
+            if (BLOCKS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                inBlocks = true;
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            return null; // informational only
+        }
+    }
+
+    /**
+     * Reader for one element of a larger document (the parser stays open after the value).
+     */
+    private static ObjectReader elementReader(ObjectMapper mapper, Class<?> type) {
+        return mapper.readerFor(type).without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new IllegalStateException(
+                "Malformed chain export: expected " + (expected != null ? expected : "end of input") + " but found " + actual
+            );
+        }
+    }
+
+    @Override
+    public void close() {
+        parser.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.rbatllet.blockchain.core;
+
+import com.rbatllet.blockchain.entity.Block;
+
+/**
+ * Package-private sequence of blocks read from a chain export, in block number order.
+ * Implemented by the JSON ({@link ChainImportReader}) and binary ({@link BinaryChainFormat.Reader})
+ * export readers so that {@link Blockchain#importChain(String)} handles both formats alike.
+ *
+ * @since 1.0.6
+ */
+interface ChainImportSource extends AutoCloseable {
+
+    /**
+     * @return the next block, or {@code null} after the last one
+     * @throws IllegalStateException if the export is malformed or corrupted
+     */
+    Block nextBlock();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,185 @@
+package com.rbatllet.blockchain.core;
+
+import com.rbatllet.blockchain.entity.Block;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+
+import java.util.function.Supplier;
+
+/**
+ * Package-private in-memory chain tip: last block number, its hash, the block count and the
+ * genesis block hash.
+ *
+ * <p>Used by {@link BlockRepository} so that appending a block and
+ * {@link Blockchain#getLastBlock()} / {@link Blockchain#getBlockCount()} do not query the
+ * database for the head of the chain. The tip is loaded once per database and kept in step
+ * by the repository's write paths:</p>
+ * <ul>
+ *   <li>{@link #appended} - a block was persisted; the tip moves forward</li>
+ *   <li>{@link #changed} - blocks were deleted; the tip is reloaded on the next lookup</li>
+ * </ul>
+ *
+ * <p>Changes are staged per transaction. The thread that made them sees them immediately
+ * (it builds the next block on them); everyone else sees them once the transaction commits,
+ * and a rollback discards the tip so it is reloaded from the database.</p>
+ *
+ * <p><strong>Thread Safety:</strong> The committed tip is guarded by this object's monitor;
+ * staged changes are thread-confined. Writers are serialized by GLOBAL_BLOCKCHAIN_LOCK.</p>
+ *
+ * @since 1.0.6
+ */
+final class ChainTip {
+
+    /**
+     * Head of the chain.
+     *
+     * @param blockNumber number of the last block ({@code -1} for an empty chain)
+     * @param hash hash of the last block ({@code null} for an empty chain)
+     * @param blockCount number of blocks
+     * @param genesisHash hash of block #0 ({@code null} if there is none)
+     */
+    record Tip(long blockNumber, String hash, long blockCount, String genesisHash) {
+
+        static final Tip EMPTY = new Tip(-1L, null, 0L, null);
+
+        boolean isEmpty() {
+            return blockCount == 0;
+        }
+
+        long nextBlockNumber() {
+            return blockNumber + 1;
+        }
+
+        /**
+         * @return detached block carrying only the number and hash, enough to chain and
+         *         validate the next block against; {@code null} for an empty chain
+         */
+        Block toBlockReference() {
+            if (isEmpty()) {
+                return null;
+            }
+            Block reference = new Block();
+            reference.setBlockNumber(blockNumber);
+            reference.setHash(hash);
+            return reference;
+        }
+
+        /**
+         * @return tip after persisting {@code block}, or {@code null} if it cannot be derived
+         */
+        Tip append(Block block) {
+            if (block.getBlockNumber() == null || block.getHash() == null) {
+                return null;
+            }
+            String genesis = block.getBlockNumber() == 0L ? block.getHash() : genesisHash;
+            return block.getBlockNumber() > blockNumber
+                ? new Tip(block.getBlockNumber(), block.getHash(), blockCount + 1, genesis)
+                : new Tip(blockNumber, hash, blockCount + 1, genesis);
+        }
+    }
+
+    /** Changes of the current thread's transaction; {@code tip == null} means unknown. */
+    private static final class Staged {
+        Tip tip;
+    }
+
+    private final ThreadLocal<Staged> staged = new ThreadLocal<>();
+
+    private Tip committed;                      // guarded by this
+    private EntityManagerFactory committedFactory;
+    private long generation;                    // bumped by every commit, rollback and invalidation
+
+    /**
+     * Current tip for {@code factory}, calling {@code loader} if it is not known.
+     * A load that raced with a commit is returned but not kept.
+     */
+    Tip get(EntityManagerFactory factory, Supplier<Tip> loader) {
+        Staged own = staged.get();
+        if (own != null) {
+            if (own.tip == null) {
+                own.tip = loader.get();
+            }
+            return own.tip;
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            if (committed != null && committedFactory == factory) {
+                return committed;
+            }
+            loadGeneration = generation;
+        }
+        Tip loaded = loader.get();
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                committed = loaded;
+                committedFactory = factory;
+            }
+        }
+        return loaded;
+    }
+
+    /** Record a block persisted in {@code em}'s transaction. */
+    void appended(EntityManager em, Block block) {
+        Staged own = stage(em);
+        if (own != null && own.tip != null) {
+            own.tip = own.tip.append(block);
+        }
+    }
+
+    /** Record that blocks were deleted in {@code em}'s transaction. */
+    void changed(EntityManager em) {
+        Staged own = stage(em);
+        if (own != null) {
+            own.tip = null;
+        }
+    }
+
+    /** Forget the tip; the next lookup reloads it. */
+    synchronized void invalidate() {
+        generation++;
+        committed = null;
+    }
+
+    private Staged stage(EntityManager em) {
+        Staged own = staged.get();
+        if (own != null) {
+            return own;
+        }
+        if (em == null || !em.getTransaction().isActive()) {
+            invalidate();
+            return null;
+        }
+
+        EntityManagerFactory factory = em.getEntityManagerFactory();
+        Staged created = new Staged();
+        synchronized (this) {
+            created.tip = committedFactory == factory ? committed : null;
+        }
+        staged.set(created);
+        em.unwrap(Session.class).getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nothing to do before commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                staged.remove();
+                synchronized (ChainTip.this) {
+                    generation++;
+                    if (status == Status.STATUS_COMMITTED) {
+                        committed = created.tip;
+                        committedFactory = factory;
+                    } else {
+                        committed = null;
+                    }
+                }
+            }
+        });
+        return created;
+    }
+}
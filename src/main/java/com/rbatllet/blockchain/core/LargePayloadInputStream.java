@@ -0,0 +1,113 @@
+package com.rbatllet.blockchain.core;
+
+import com.rbatllet.blockchain.util.CryptoUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Package-private reassembly stream returned by {@link Blockchain#openLargePayload(com.rbatllet.blockchain.entity.Block)}.
+ *
+ * <p>Chunks are opened one at a time, in manifest order. Every chunk stream authenticates its
+ * segments as they are decrypted and checks the chunk hash at its end; this stream also checks
+ * each chunk's size and, at the end of the payload, the hash of the whole payload. A failed
+ * check surfaces as an exception from {@code read} before the next chunk is returned.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Not thread-safe.</p>
+ *
+ * @since 1.0.6
+ */
+final class LargePayloadInputStream extends InputStream {
+
+    /**
+     * Opens the verifying stream of one chunk.
+     */
+    @FunctionalInterface
+    interface ChunkOpener {
+        InputStream open(LargePayloadManifest.Chunk chunk) throws IOException;
+    }
+
+    private final LargePayloadManifest manifest;
+    private final ChunkOpener opener;
+    private final MessageDigest payloadDigest;
+    private InputStream current;
+    private int chunkIndex = -1;
+    private long chunkRead;
+    private boolean finished;
+
+    LargePayloadInputStream(LargePayloadManifest manifest, ChunkOpener opener) {
+        this.manifest = manifest;
+        this.opener = opener;
+        try {
+            this.payloadDigest = MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(CryptoUtil.HASH_ALGORITHM + " is not available", e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (!finished) {
+            if (current == null && !nextChunk()) {
+                return -1;
+            }
+            int n = current.read(b, off, len);
+            if (n > 0) {
+                chunkRead += n;
+                if (chunkRead > manifest.chunks().get(chunkIndex).size()) {
+                    throw new IOException(chunkError("is longer than the manifest states"));
+                }
+                payloadDigest.update(b, off, n);
+                return n;
+            }
+            // End of chunk: its stream has verified the chunk hash
+            if (chunkRead != manifest.chunks().get(chunkIndex).size()) {
+                throw new IOException(chunkError("is shorter than the manifest states"));
+            }
+            current.close();
+            current = null;
+        }
+        return -1;
+    }
+
+    private boolean nextChunk() throws IOException {
+        chunkIndex++;
+        if (chunkIndex == manifest.chunks().size()) {
+            finished = true;
+            String payloadHash = HexFormat.of().formatHex(payloadDigest.digest());
+            if (!payloadHash.equals(manifest.payloadHash())) {
+                throw new IOException("Large payload hash does not match its manifest");
+            }
+            return false;
+        }
+        current = opener.open(manifest.chunks().get(chunkIndex));
+        chunkRead = 0;
+        return true;
+    }
+
+    private String chunkError(String problem) {
+        return "Chunk " + chunkIndex + " (block #" + manifest.chunks().get(chunkIndex).blockNumber() + ") " + problem;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.rbatllet.blockchain.core;
+
+import com.rbatllet.blockchain.entity.Block;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+/**
+ * Manifest of a payload stored with {@link Blockchain#addLargePayload}: the chunk blocks
+ * holding it, in order, and the hash of the whole payload.
+ *
+ * <p>The manifest is the data of the block appended after the chunk blocks, as
+ * {@value #DATA_PREFIX} followed by this record in JSON. Each chunk block is an ordinary
+ * off-chain block ({@code OFF_CHAIN_REF:<hash>}), so chain validation, export and import
+ * treat it like any other block; the manifest only ties the chunks together.</p>
+ *
+ * @param contentType MIME type of the payload
+ * @param totalSize payload size in bytes
+ * @param chunkSize size of every chunk but the last
+ * @param payloadHash SHA3-256 (hex) of the whole payload
+ * @param chunks chunk blocks in payload order
+ * @since 1.0.6
+ */
+public record LargePayloadManifest(String contentType, long totalSize, int chunkSize, String payloadHash,
+                                   List<Chunk> chunks) {
+
+    /** Prefix of the data of a manifest block. */
+    public static final String DATA_PREFIX = "LARGE_PAYLOAD_MANIFEST:";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * One chunk of the payload.
+     *
+     * @param blockNumber block holding the chunk as off-chain data
+     * @param size chunk size in bytes
+     * @param dataHash SHA3-256 (hex) of the chunk, equal to its {@code OffChainData.dataHash}
+     */
+    public record Chunk(long blockNumber, long size, String dataHash) {
+    }
+
+    public LargePayloadManifest {
+        chunks = List.copyOf(chunks);
+    }
+
+    /**
+     * @return true if {@code block} holds a large payload manifest
+     */
+    public static boolean isManifest(Block block) {
+        return block != null && block.getData() != null && block.getData().startsWith(DATA_PREFIX);
+    }
+
+    /**
+     * Parse the manifest held by {@code block}.
+     *
+     * @throws IllegalArgumentException if the block is not a manifest block or the manifest is malformed
+     */
+    public static LargePayloadManifest fromBlock(Block block) {
+        if (!isManifest(block)) {
+            throw new IllegalArgumentException("Block is not a large payload manifest");
+        }
+        try {
+            LargePayloadManifest manifest = MAPPER.readValue(
+                block.getData().substring(DATA_PREFIX.length()), LargePayloadManifest.class);
+            if (manifest.chunks().isEmpty() || manifest.payloadHash() == null) {
+                throw new IllegalArgumentException("Large payload manifest of block #"
+                    + block.getBlockNumber() + " has no chunks");
+            }
+            return manifest;
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed large payload manifest in block #"
+                + block.getBlockNumber(), e);
+        }
+    }
+
+    /**
+     * @return the block data holding this manifest
+     */
+    String toBlockData() {
+        return DATA_PREFIX + MAPPER.writeValueAsString(this);
+    }
+}
@@ -0,0 +1,165 @@
+package com.rbatllet.blockchain.core;
+
+import com.rbatllet.blockchain.config.ConfigurationStorage;
+import com.rbatllet.blockchain.config.JPAConfigurationStorage;
+import com.rbatllet.blockchain.dao.AuthorizedKeyDAO;
+import com.rbatllet.blockchain.entity.AuthorizedKey;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.validation.ValidationCheckpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Package-private persistence for the incremental validation checkpoint.
+ *
+ * <p>The checkpoint is stored as a small key/value group in the configuration table
+ * (config type {@value #CONFIG_TYPE}), so no dedicated schema is required.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Callers must hold GLOBAL_BLOCKCHAIN_LOCK
+ * (read lock to load/save during validation, write lock to invalidate).</p>
+ *
+ * @since 1.0.6
+ */
+class ValidationCheckpointStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationCheckpointStore.class);
+
+    static final String CONFIG_TYPE = "VALIDATION_CHECKPOINT";
+
+    private static final String KEY_BLOCK_NUMBER = "block_number";
+    private static final String KEY_BLOCK_HASH = "block_hash";
+    private static final String KEY_VALIDATED_AT = "validated_at";
+    private static final String KEY_AUTHORIZED_KEYS_FINGERPRINT = "authorized_keys_fingerprint";
+
+    private final ConfigurationStorage storage;
+    private final AuthorizedKeyDAO authorizedKeyDAO;
+
+    ValidationCheckpointStore(AuthorizedKeyDAO authorizedKeyDAO) {
+        this(new JPAConfigurationStorage(), authorizedKeyDAO);
+    }
+
+    ValidationCheckpointStore(ConfigurationStorage storage, AuthorizedKeyDAO authorizedKeyDAO) {
+        this.storage = storage;
+        this.authorizedKeyDAO = authorizedKeyDAO;
+    }
+
+    /**
+     * Load the stored checkpoint if it is still bound to the current authorization records.
+     *
+     * <p>A checkpoint whose authorization fingerprint no longer matches (a key that existed at
+     * validation time was revoked, deleted or re-created) is discarded.</p>
+     *
+     * @return the checkpoint, or {@code null} if none is stored or it is no longer trusted
+     */
+    ValidationCheckpoint load() {
+        try {
+            Map<String, String> values = storage.loadConfiguration(CONFIG_TYPE);
+            if (values.isEmpty()) {
+                return null;
+            }
+
+            ValidationCheckpoint checkpoint = new ValidationCheckpoint(
+                Long.parseLong(values.get(KEY_BLOCK_NUMBER)),
+                values.get(KEY_BLOCK_HASH),
+                LocalDateTime.parse(values.get(KEY_VALIDATED_AT)),
+                values.get(KEY_AUTHORIZED_KEYS_FINGERPRINT)
+            );
+
+            String currentFingerprint = computeAuthorizedKeysFingerprint(checkpoint.getValidatedAt());
+            if (!currentFingerprint.equals(checkpoint.getAuthorizedKeysFingerprint())) {
+                logger.info("🔄 Authorized-key set changed since {} - discarding validation checkpoint",
+                    checkpoint.getValidatedAt());
+                clear();
+                return null;
+            }
+            return checkpoint;
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not load validation checkpoint, falling back to full validation: {}",
+                e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Persist a new checkpoint bound to the authorization records in force at {@code validatedAt}.
+     */
+    void save(long blockNumber, String blockHash, LocalDateTime validatedAt) {
+        try {
+            Map<String, String> values = new HashMap<>();
+            values.put(KEY_BLOCK_NUMBER, Long.toString(blockNumber));
+            values.put(KEY_BLOCK_HASH, blockHash);
+            values.put(KEY_VALIDATED_AT, validatedAt.toString());
+            values.put(KEY_AUTHORIZED_KEYS_FINGERPRINT, computeAuthorizedKeysFingerprint(validatedAt));
+
+            if (storage.saveConfiguration(CONFIG_TYPE, values)) {
+                logger.info("📍 Validation checkpoint advanced to block #{}", blockNumber);
+            } else {
+                logger.warn("⚠️ Failed to persist validation checkpoint for block #{}", blockNumber);
+            }
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to persist validation checkpoint: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remove the stored checkpoint (next validation starts from genesis).
+     */
+    void clear() {
+        try {
+            if (storage.configurationExists(CONFIG_TYPE)) {
+                storage.resetConfiguration(CONFIG_TYPE);
+                logger.info("🔄 Validation checkpoint invalidated");
+            }
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to invalidate validation checkpoint: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remove the stored checkpoint if it covers blocks after {@code blockNumber}.
+     * Used by rollback: a checkpoint at or below the new tip is still accurate.
+     */
+    void clearIfAfter(long blockNumber) {
+        try {
+            String stored = storage.getConfigurationValue(CONFIG_TYPE, KEY_BLOCK_NUMBER);
+            if (stored != null && Long.parseLong(stored) > blockNumber) {
+                clear();
+            }
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not check validation checkpoint, invalidating it: {}", e.getMessage());
+            clear();
+        }
+    }
+
+    /**
+     * Fingerprint of all authorization records created at or before {@code asOf}.
+     *
+     * <p>Keys authorized later cannot affect blocks validated before {@code asOf}, so they are
+     * excluded and adding a new user does not invalidate the checkpoint. Revocation or deletion
+     * of an older record changes the fingerprint.</p>
+     */
+    private String computeAuthorizedKeysFingerprint(LocalDateTime asOf) {
+        List<AuthorizedKey> keys = new ArrayList<>(authorizedKeyDAO.getAllAuthorizedKeys());
+        keys.sort(Comparator.comparing(AuthorizedKey::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        StringBuilder content = new StringBuilder();
+        for (AuthorizedKey key : keys) {
+            if (key.getCreatedAt() != null && key.getCreatedAt().isAfter(asOf)) {
+                continue;
+            }
+            content.append(key.getId()).append('|')
+                .append(key.getPublicKey()).append('|')
+                .append(key.getCreatedAt()).append('|')
+                .append(key.getRevokedAt()).append('|')
+                .append(key.isActive()).append('\n');
+        }
+        return CryptoUtil.calculateHash(content.toString());
+    }
+}
@@ -0,0 +1,122 @@
+package com.rbatllet.blockchain.dao;
+
+import com.rbatllet.blockchain.entity.AuthorizedKey;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Package-private in-memory index of authorization windows per public key.
+ *
+ * <p>Each {@link AuthorizedKey} row is one window {@code [createdAt, revokedAt)}. For a key
+ * and a timestamp T, the answer is the same as the database path in
+ * {@link AuthorizedKeyDAO#wasKeyAuthorizedAt}: take the latest window created at or before T
+ * and check that it had not been revoked by T. Windows are kept sorted by creation time, so
+ * the lookup is a binary search.</p>
+ *
+ * <p>Windows are identified by the row id, so applying the same row twice (for example a
+ * commit notification for a row that a reload already picked up) is harmless.</p>
+ *
+ * <p><strong>Thread Safety:</strong> All methods are synchronized.</p>
+ *
+ * @since 1.0.6
+ */
+final class AuthorizationTimeline {
+
+    private record Window(Long id, LocalDateTime createdAt, LocalDateTime revokedAt) { }
+
+    private static final Comparator<Window> ORDER = Comparator
+        .comparing(Window::createdAt)
+        .thenComparing(Window::id, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final Map<String, List<Window>> windowsByKey = new HashMap<>();
+
+    /**
+     * Build a timeline from all authorization rows (active and revoked).
+     */
+    AuthorizationTimeline(Collection<AuthorizedKey> keys) {
+        for (AuthorizedKey key : keys) {
+            put(key.getPublicKey(), key.getId(), key.getCreatedAt(), key.getRevokedAt());
+        }
+    }
+
+    /**
+     * @return whether {@code publicKey} was authorized at {@code timestamp}
+     */
+    synchronized boolean wasAuthorizedAt(String publicKey, LocalDateTime timestamp) {
+        List<Window> windows = windowsByKey.get(publicKey);
+        if (windows == null) {
+            return false;
+        }
+        // Latest window created at or before the timestamp
+        int low = 0;
+        int high = windows.size() - 1;
+        Window candidate = null;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Window window = windows.get(mid);
+            if (window.createdAt().isAfter(timestamp)) {
+                high = mid - 1;
+            } else {
+                candidate = window;
+                low = mid + 1;
+            }
+        }
+        return candidate != null
+            && (candidate.revokedAt() == null || timestamp.isBefore(candidate.revokedAt()));
+    }
+
+    /**
+     * @return the subset of {@code publicKeys} authorized at {@code timestamp}
+     */
+    synchronized Set<String> authorizedAt(Set<String> publicKeys, LocalDateTime timestamp) {
+        Set<String> authorized = new HashSet<>();
+        for (String publicKey : publicKeys) {
+            if (wasAuthorizedAt(publicKey, timestamp)) {
+                authorized.add(publicKey);
+            }
+        }
+        return authorized;
+    }
+
+    /**
+     * Insert or replace the window of one authorization row.
+     * Rows without creation time can never match a timestamp and are skipped.
+     */
+    synchronized void put(String publicKey, Long id, LocalDateTime createdAt, LocalDateTime revokedAt) {
+        if (publicKey == null || createdAt == null) {
+            return;
+        }
+        List<Window> windows = windowsByKey.computeIfAbsent(publicKey, k -> new ArrayList<>());
+        if (id != null) {
+            windows.removeIf(window -> id.equals(window.id()));
+        }
+        Window window = new Window(id, createdAt, revokedAt);
+        int position = 0;
+        while (position < windows.size() && ORDER.compare(windows.get(position), window) <= 0) {
+            position++;
+        }
+        windows.add(position, window);
+    }
+
+    /** Drop every window of a key (all its rows were deleted). */
+    synchronized void remove(String publicKey) {
+        windowsByKey.remove(publicKey);
+    }
+
+    /** Drop everything (all rows were deleted). */
+    synchronized void clear() {
+        windowsByKey.clear();
+    }
+
+    synchronized int keyCount() {
+        return windowsByKey.size();
+    }
+}
@@ -4,17 +4,19 @@ import com.rbatllet.blockchain.entity.AuthorizedKey;
 import com.rbatllet.blockchain.security.UserRole;
 import com.rbatllet.blockchain.util.JPAUtil;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * DAO for AuthorizedKey operations
@@ -25,9 +27,22 @@ import java.util.Set;
  * in Blockchain.java. AuthorizedKeyDAO is only called from within Blockchain's lock scope,
  * never directly by external code.</p>
  *
+ * <p><strong>Authorization timeline:</strong> {@link #wasKeyAuthorizedAt} and
+ * {@link #getAuthorizedKeysAt} are answered from an in-memory index of every key's
+ * authorization windows, loaded once per database and updated when a transaction that
+ * saved, revoked or deleted keys through this DAO commits (a rollback discards it).</p>
+ *
  * @version 1.0.5
  */
 public class AuthorizedKeyDAO {
+
+    // Shared by all DAO instances: they all read the same database
+    private static final Object TIMELINE_LOCK = new Object();
+    private static AuthorizationTimeline timeline;          // guarded by TIMELINE_LOCK
+    private static EntityManagerFactory timelineFactory;    // database the timeline was loaded from
+    private static long timelineGeneration;                 // bumped by every change and invalidation
+    // This thread's transaction while it has key changes that are not committed yet
+    private static final ThreadLocal<Transaction> UNCOMMITTED_CHANGES = new ThreadLocal<>();
     
     /**
      * Save a new authorized key
@@ -47,9 +62,13 @@ public class AuthorizedKeyDAO {
         if (externalTransaction) {
             // Use existing external transaction
             em.persist(authorizedKey);
+            updateTimelineOnCommit(em, t -> t.put(authorizedKey.getPublicKey(), authorizedKey.getId(),
+                authorizedKey.getCreatedAt(), authorizedKey.getRevokedAt()));
         } else if (JPAUtil.hasActiveTransaction()) {
             // Use existing global transaction
             em.persist(authorizedKey);
+            updateTimelineOnCommit(em, t -> t.put(authorizedKey.getPublicKey(), authorizedKey.getId(),
+                authorizedKey.getCreatedAt(), authorizedKey.getRevokedAt()));
         } else {
             // Create own transaction
             EntityTransaction transaction = null;
@@ -59,6 +78,8 @@ public class AuthorizedKeyDAO {
                 transaction.begin();
 
                 em.persist(authorizedKey);
+                updateTimelineOnCommit(em, t -> t.put(authorizedKey.getPublicKey(), authorizedKey.getId(),
+                    authorizedKey.getCreatedAt(), authorizedKey.getRevokedAt()));
 
                 transaction.commit();
             } catch (Exception e) {
@@ -153,9 +174,25 @@ public class AuthorizedKeyDAO {
      * FIXED: Better handling of external transactions
      */
     public void revokeAuthorizedKey(String publicKey) {
+        revokeAuthorizedKey(publicKey, java.time.LocalDateTime.now());
+    }
+
+    /**
+     * Revoke the most recent active authorization of a key as of {@code revokedAt}, e.g. the
+     * revocation time recorded in an imported chain.
+     *
+     * @param publicKey key to revoke
+     * @param revokedAt revocation time to record
+     * @throws IllegalArgumentException if publicKey is null or empty, or revokedAt is null
+     * @since 1.0.6
+     */
+    public void revokeAuthorizedKey(String publicKey, java.time.LocalDateTime revokedAt) {
         if (publicKey == null || publicKey.trim().isEmpty()) {
             throw new IllegalArgumentException("Public key cannot be null or empty");
         }
+        if (revokedAt == null) {
+            throw new IllegalArgumentException("Revocation time cannot be null");
+        }
 
         EntityManager em = JPAUtil.getEntityManager();
         boolean externalTransaction = em.getTransaction().isActive();
@@ -173,8 +210,10 @@ public class AuthorizedKeyDAO {
             if (!results.isEmpty()) {
                 AuthorizedKey keyToRevoke = results.get(0);
                 keyToRevoke.setActive(false);
-                keyToRevoke.setRevokedAt(java.time.LocalDateTime.now());
+                keyToRevoke.setRevokedAt(revokedAt);
                 em.merge(keyToRevoke);
+                updateTimelineOnCommit(em, t -> t.put(keyToRevoke.getPublicKey(), keyToRevoke.getId(),
+                    keyToRevoke.getCreatedAt(), keyToRevoke.getRevokedAt()));
             }
         } else {
             // Create own transaction
@@ -195,8 +234,10 @@ public class AuthorizedKeyDAO {
                 if (!results.isEmpty()) {
                     AuthorizedKey keyToRevoke = results.get(0);
                     keyToRevoke.setActive(false);
-                    keyToRevoke.setRevokedAt(java.time.LocalDateTime.now());
+                    keyToRevoke.setRevokedAt(revokedAt);
                     em.merge(keyToRevoke);
+                    updateTimelineOnCommit(em, t -> t.put(keyToRevoke.getPublicKey(), keyToRevoke.getId(),
+                        keyToRevoke.getCreatedAt(), keyToRevoke.getRevokedAt()));
                 }
 
                 transaction.commit();
@@ -225,6 +266,7 @@ public class AuthorizedKeyDAO {
             int deletedCount = em.createQuery("DELETE FROM AuthorizedKey ak WHERE ak.publicKey = :publicKey")
                     .setParameter("publicKey", publicKey)
                     .executeUpdate();
+            updateTimelineOnCommit(em, t -> t.remove(publicKey));
             return deletedCount > 0;
         } else {
             EntityManager em = JPAUtil.getEntityManager();
@@ -237,6 +279,7 @@ public class AuthorizedKeyDAO {
                 int deletedCount = em.createQuery("DELETE FROM AuthorizedKey ak WHERE ak.publicKey = :publicKey")
                         .setParameter("publicKey", publicKey)
                         .executeUpdate();
+                updateTimelineOnCommit(em, t -> t.remove(publicKey));
 
                 transaction.commit();
                 return deletedCount > 0;
@@ -257,6 +300,7 @@ public class AuthorizedKeyDAO {
     public int deleteAllAuthorizedKeys() {
         if (JPAUtil.hasActiveTransaction()) {
             EntityManager em = JPAUtil.getEntityManager();
+            updateTimelineOnCommit(em, AuthorizationTimeline::clear);
             return em.createQuery("DELETE FROM AuthorizedKey ak").executeUpdate();
         } else {
             EntityManager em = JPAUtil.getEntityManager();
@@ -267,6 +311,7 @@ public class AuthorizedKeyDAO {
                 transaction.begin();
 
                 int deletedCount = em.createQuery("DELETE FROM AuthorizedKey ak").executeUpdate();
+                updateTimelineOnCommit(em, AuthorizationTimeline::clear);
 
                 transaction.commit();
                 return deletedCount;
@@ -341,7 +386,10 @@ public class AuthorizedKeyDAO {
      * Check if a public key was authorized at a specific time
      * This is used for validating historical blocks that may have been signed
      * by keys that have since been revoked
-     * FIXED: Now finds the authorization that was valid at the specific timestamp
+     *
+     * <p>Finds the authorization created most recently at or before the timestamp and checks
+     * that it had not been revoked yet. Answered from the in-memory authorization timeline
+     * in O(log n) per key, without a database round trip once the timeline is loaded.</p>
      */
     public boolean wasKeyAuthorizedAt(String publicKey, java.time.LocalDateTime timestamp) {
         if (publicKey == null || publicKey.trim().isEmpty()) {
@@ -351,40 +399,104 @@ public class AuthorizedKeyDAO {
             throw new IllegalArgumentException("Timestamp cannot be null");
         }
 
-        EntityManager em = JPAUtil.getEntityManager();
-        try {
-            // Get all authorizations for this key, ordered by creation time
-            TypedQuery<AuthorizedKey> query = em.createQuery(
-                "SELECT ak FROM AuthorizedKey ak WHERE ak.publicKey = :publicKey ORDER BY ak.createdAt ASC",
-                AuthorizedKey.class);
-            query.setParameter("publicKey", publicKey);
+        return timeline().wasAuthorizedAt(publicKey, timestamp);
+    }
 
-            List<AuthorizedKey> keys = query.getResultList();
-            if (keys.isEmpty()) {
-                return false;
-            }
+    /**
+     * Discard the in-memory authorization timeline; it is reloaded on the next lookup.
+     *
+     * <p>Only needed after {@code authorized_keys} was modified without this DAO
+     * (for example by SQL run directly against the database).</p>
+     *
+     * @since 1.0.6
+     */
+    public static void invalidateAuthorizationTimeline() {
+        synchronized (TIMELINE_LOCK) {
+            timelineGeneration++;
+            timeline = null;
+        }
+    }
 
-            // Find the authorization that was valid at the given timestamp
-            AuthorizedKey validKey = null;
-            for (AuthorizedKey key : keys) {
-                if (key.getCreatedAt() != null && !timestamp.isBefore(key.getCreatedAt())) {
-                    validKey = key; // This key could be valid
-                } else {
-                    break; // Keys are ordered by creation, so we can stop here
-                }
+    /**
+     * Current timeline for the active database, loading it with one query if needed.
+     * A load that raced with a commit is used for this lookup but not kept.
+     *
+     * <p>While the caller's own transaction has uncommitted key changes, the shared timeline
+     * does not reflect them yet, so a private snapshot is read through that transaction.</p>
+     */
+    private AuthorizationTimeline timeline() {
+        Transaction uncommitted = UNCOMMITTED_CHANGES.get();
+        if (uncommitted != null) {
+            if (uncommitted.isActive()) {
+                return new AuthorizationTimeline(getAllAuthorizedKeys());
+            }
+            UNCOMMITTED_CHANGES.remove(); // ended without reporting completion
+        }
+        EntityManagerFactory factory = JPAUtil.getEntityManagerFactory();
+        long generation;
+        synchronized (TIMELINE_LOCK) {
+            if (timeline != null && timelineFactory == factory) {
+                return timeline;
             }
+            generation = timelineGeneration;
+        }
 
-            if (validKey == null) {
-                return false;
+        AuthorizationTimeline loaded = new AuthorizationTimeline(getAllAuthorizedKeys());
+        synchronized (TIMELINE_LOCK) {
+            if (timelineGeneration == generation) {
+                timeline = loaded;
+                timelineFactory = factory;
             }
+        }
+        return loaded;
+    }
 
-            // Use the temporal validation method on the correct key
-            return validKey.wasActiveAt(timestamp);
+    /**
+     * Apply a timeline change when the current transaction commits; discard the timeline
+     * if it rolls back (a reload may already have seen the uncommitted rows).
+     *
+     * <p>Until then the thread reads private snapshots (see {@link #timeline()}). The flag is
+     * set only once the synchronization that clears it is registered, and {@link #timeline()}
+     * also drops it if the transaction ended without reporting completion.</p>
+     */
+    private static void updateTimelineOnCommit(EntityManager em, Consumer<AuthorizationTimeline> change) {
+        EntityManagerFactory factory = em.getEntityManagerFactory();
+        Transaction transaction = em.unwrap(Session.class).getTransaction();
+        boolean registered = false;
+        try {
+            transaction.registerSynchronization(timelineSynchronization(factory, change));
+            registered = true;
         } finally {
-            if (!JPAUtil.hasActiveTransaction()) {
-                em.close();
+            if (!registered) {
+                // Nothing will apply this change: drop the shared timeline instead
+                invalidateAuthorizationTimeline();
             }
         }
+        // Only flag the thread once afterCompletion is guaranteed to clear it
+        UNCOMMITTED_CHANGES.set(transaction);
+    }
+
+    private static Synchronization timelineSynchronization(EntityManagerFactory factory,
+                                                           Consumer<AuthorizationTimeline> change) {
+        return new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nothing to do before commit
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                UNCOMMITTED_CHANGES.remove();
+                synchronized (TIMELINE_LOCK) {
+                    timelineGeneration++;
+                    if (status != Status.STATUS_COMMITTED || timelineFactory != factory) {
+                        timeline = null;
+                    } else if (timeline != null) {
+                        change.accept(timeline);
+                    }
+                }
+            }
+        };
     }
     
     /**
@@ -398,6 +510,7 @@ public class AuthorizedKeyDAO {
             EntityManager em = JPAUtil.getEntityManager();
             // Delete all authorized keys
             em.createQuery("DELETE FROM AuthorizedKey").executeUpdate();
+            updateTimelineOnCommit(em, AuthorizationTimeline::clear);
             // Clear Hibernate session cache to avoid entity conflicts
             em.flush();
             em.clear();
@@ -406,6 +519,7 @@ public class AuthorizedKeyDAO {
             JPAUtil.executeInTransaction(em -> {
                 // Delete all authorized keys
                 em.createQuery("DELETE FROM AuthorizedKey").executeUpdate();
+                updateTimelineOnCommit(em, AuthorizationTimeline::clear);
                 // Clear Hibernate session cache to avoid entity conflicts
                 em.flush();
                 em.clear();
@@ -467,10 +581,10 @@ public class AuthorizedKeyDAO {
 
     /**
      * Batch validation: Check which keys from a set were authorized at a specific time.
-     * This method performs ONE SINGLE query instead of N individual queries.
+     * Served from the in-memory authorization timeline (no query once it is loaded).
      *
-     * <p><strong>Performance:</strong> For batch operations with 100 blocks, this reduces
-     * database queries from 100 individual queries to 1 single query (100x improvement).</p>
+     * <p><strong>Performance:</strong> For batch operations with 100 blocks, this avoids
+     * 100 individual queries; each key is one binary search over its authorization windows.</p>
      *
      * @param publicKeys Set of public keys to validate
      * @param timestamp The point in time at which to verify authorization
@@ -485,48 +599,6 @@ public class AuthorizedKeyDAO {
             throw new IllegalArgumentException("Timestamp cannot be null");
         }
 
-        EntityManager em = JPAUtil.getEntityManager();
-        try {
-            // ONE SINGLE query with IN clause to fetch all authorizations for the given keys
-            TypedQuery<AuthorizedKey> query = em.createQuery(
-                "SELECT ak FROM AuthorizedKey ak WHERE ak.publicKey IN :publicKeys ORDER BY ak.createdAt ASC",
-                AuthorizedKey.class);
-            query.setParameter("publicKeys", publicKeys);
-
-            List<AuthorizedKey> allKeys = query.getResultList();
-
-            // Group by public key and validate each one
-            Map<String, List<AuthorizedKey>> keysByPublicKey = new HashMap<>();
-            for (AuthorizedKey key : allKeys) {
-                keysByPublicKey.computeIfAbsent(key.getPublicKey(), k -> new ArrayList<>()).add(key);
-            }
-
-            // Check which keys were authorized at the given timestamp
-            Set<String> authorizedKeys = new HashSet<>();
-            for (Map.Entry<String, List<AuthorizedKey>> entry : keysByPublicKey.entrySet()) {
-                String publicKey = entry.getKey();
-                List<AuthorizedKey> keys = entry.getValue();
-
-                // Find the authorization that was valid at the given timestamp
-                AuthorizedKey validKey = null;
-                for (AuthorizedKey key : keys) {
-                    if (key.getCreatedAt() != null && !timestamp.isBefore(key.getCreatedAt())) {
-                        validKey = key; // This key could be valid
-                    } else {
-                        break; // Keys are ordered by creation, so we can stop here
-                    }
-                }
-
-                if (validKey != null && validKey.wasActiveAt(timestamp)) {
-                    authorizedKeys.add(publicKey);
-                }
-            }
-
-            return authorizedKeys;
-        } finally {
-            if (!JPAUtil.hasActiveTransaction()) {
-                em.close();
-            }
-        }
+        return timeline().authorizedAt(publicKeys, timestamp);
     }
 }
\ No newline at end of file
@@ -25,8 +25,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
  *   <li><b>timestamp</b> - Block creation time</li>
  *   <li><b>hash</b> - Block's cryptographic hash</li>
  *   <li><b>signature</b> - Cryptographic signature</li>
- *   <li><b>signerPublicKey</b> - Signer identity</li>
- *   <li><b>recipientPublicKey</b> - Recipient identity (for encrypted blocks)</li>
+ *   <li><b>signerKey</b> - Signer identity (fingerprint reference into {@code public_keys})</li>
+ *   <li><b>recipientKey</b> - Recipient identity (for encrypted blocks)</li>
  * </ul>
  * <p><b>JPA will silently ignore any UPDATE statements</b> for these fields,
  * providing the final enforcement layer at the database level.</p>
@@ -46,6 +46,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
  * <ul>
  *   <li><b>customMetadata</b> - User-defined JSON metadata</li>
  *   <li><b>encryptionMetadata</b> - Encryption/recipient metadata</li>
+ *   <li><b>passwordCheckValue</b> - Non-secret check value of the encryption password</li>
  *   <li><b>manualKeywords</b> - User-specified search keywords</li>
  *   <li><b>autoKeywords</b> - Auto-extracted keywords</li>
  *   <li><b>searchableContent</b> - Combined searchable text</li>
@@ -72,9 +73,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
     // Composite index for encrypted blocks pagination (ORDER BY block_number DESC)
     // Eliminates filesort - provides 10-100x performance improvement
     @Index(name = "idx_blocks_encrypted_desc", columnList = "is_encrypted,block_number"),
-    @Index(name = "idx_blocks_signer_public_key", columnList = "signer_public_key"),
-    @Index(name = "idx_blocks_recipient_public_key", columnList = "recipient_public_key"),
-    @Index(name = "idx_blocks_content_category", columnList = "content_category")
+    // Signer/recipient lookups use 64-char fingerprints (keys themselves live in public_keys)
+    // Existing databases: see BlockchainSchemaMigrations.publicKeyDictionary()
+    @Index(name = "idx_blocks_signer_key_fingerprint", columnList = "signer_key_fingerprint"),
+    @Index(name = "idx_blocks_recipient_key_fingerprint", columnList = "recipient_key_fingerprint"),
+    @Index(name = "idx_blocks_content_category", columnList = "content_category"),
+    // Hash lookups: getBlockByHash / existsBlockWithHash / batchRetrieveBlocksByHash (search results)
+    // Existing databases: see BlockchainSchemaMigrations.blocksHashIndex()
+    @Index(name = "idx_blocks_hash", columnList = "hash")
 })
 public class Block {
 
@@ -104,11 +110,18 @@ public class Block {
     @Column(name = "signature", columnDefinition = "TEXT", updatable = false)
     private String signature;
 
-    @Column(name = "signer_public_key", columnDefinition = "TEXT", updatable = false)
-    private String signerPublicKey;
+    /**
+     * Signer key, interned in {@code public_keys} and referenced by fingerprint.
+     * The full key string is still what {@link #getSignerPublicKey()} returns and what the
+     * block hash covers, so existing chains validate unchanged.
+     */
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "signer_key_fingerprint", updatable = false)
+    private PublicKeyEntry signerKey;
 
-    @Column(name = "recipient_public_key", columnDefinition = "TEXT", updatable = false)
-    private String recipientPublicKey;  // Immutable: recipient cannot be changed after block creation
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "recipient_key_fingerprint", updatable = false)
+    private PublicKeyEntry recipientKey;  // Immutable: recipient cannot be changed after block creation
 
     // ========== MUTABLE FIELDS (Safe to update) ==========
     
@@ -135,6 +148,11 @@ public class Block {
     
     @Column(name = "encryption_metadata", columnDefinition = "TEXT")
     private String encryptionMetadata;    // Serialized EncryptedBlockData (when encrypted)
+
+    // Key check value of the encryption password (see PasswordVerifier); null for legacy blocks
+    // Existing databases: see BlockchainSchemaMigrations.blocksPasswordCheckValue()
+    @Column(name = "password_check_value", length = 16)
+    private String passwordCheckValue;
     
     // Custom metadata (safe to update)
     @Column(name = "custom_metadata", columnDefinition = "TEXT")
@@ -152,7 +170,7 @@ public class Block {
         this.timestamp = timestamp;
         this.hash = hash;
         this.signature = signature;
-        this.signerPublicKey = signerPublicKey;
+        this.signerKey = signerPublicKey != null ? new PublicKeyEntry(signerPublicKey) : null;
         this.isEncrypted = false; // Default to unencrypted for compatibility
     }
     
@@ -200,11 +218,35 @@ public class Block {
     public String getSignature() { return signature; }
     public void setSignature(String signature) { this.signature = signature; }
 
-    public String getSignerPublicKey() { return signerPublicKey; }
-    public void setSignerPublicKey(String signerPublicKey) { this.signerPublicKey = signerPublicKey; }
+    public String getSignerPublicKey() { return signerKey != null ? signerKey.getPublicKey() : null; }
+    public void setSignerPublicKey(String signerPublicKey) {
+        this.signerKey = signerPublicKey != null ? new PublicKeyEntry(signerPublicKey) : null;
+    }
+
+    public String getRecipientPublicKey() { return recipientKey != null ? recipientKey.getPublicKey() : null; }
+    public void setRecipientPublicKey(String recipientPublicKey) {
+        this.recipientKey = recipientPublicKey != null ? new PublicKeyEntry(recipientPublicKey) : null;
+    }
+
+    /** @return SHA3-256 fingerprint of the signer key (see {@link PublicKeyEntry#fingerprintOf(String)}) */
+    @JsonIgnore
+    public String getSignerKeyFingerprint() { return signerKey != null ? signerKey.getFingerprint() : null; }
+
+    /** @return SHA3-256 fingerprint of the recipient key, or null for blocks without recipient */
+    @JsonIgnore
+    public String getRecipientKeyFingerprint() { return recipientKey != null ? recipientKey.getFingerprint() : null; }
+
+    /**
+     * Interned key entries, replaced by managed instances before persist.
+     * Package-internal plumbing for the repository; not part of the block's JSON form.
+     */
+    @JsonIgnore
+    public PublicKeyEntry getSignerKey() { return signerKey; }
+    public void setSignerKey(PublicKeyEntry signerKey) { this.signerKey = signerKey; }
 
-    public String getRecipientPublicKey() { return recipientPublicKey; }
-    public void setRecipientPublicKey(String recipientPublicKey) { this.recipientPublicKey = recipientPublicKey; }
+    @JsonIgnore
+    public PublicKeyEntry getRecipientKey() { return recipientKey; }
+    public void setRecipientKey(PublicKeyEntry recipientKey) { this.recipientKey = recipientKey; }
 
     public OffChainData getOffChainData() { return offChainData; }
     public void setOffChainData(OffChainData offChainData) { this.offChainData = offChainData; }
@@ -267,6 +309,9 @@ public class Block {
     public String getEncryptionMetadata() { return encryptionMetadata; }
     public void setEncryptionMetadata(String encryptionMetadata) { this.encryptionMetadata = encryptionMetadata; }
     
+    public String getPasswordCheckValue() { return passwordCheckValue; }
+    public void setPasswordCheckValue(String passwordCheckValue) { this.passwordCheckValue = passwordCheckValue; }
+
     public String getCustomMetadata() { return customMetadata; }
     public void setCustomMetadata(String customMetadata) { this.customMetadata = customMetadata; }
     
@@ -321,6 +366,8 @@ public class Block {
         String dataPreview = data != null
             ? (data.length() > 50 ? data.substring(0, 50) + "..." : data)
             : "null";
+        String signerPublicKey = getSignerPublicKey();
+        String recipientPublicKey = getRecipientPublicKey();
 
         return "Block{" +
                 "blockNumber=" + blockNumber +
@@ -41,6 +41,10 @@ public class OffChainData {
     
     @Column(columnDefinition = "TEXT")
     private String signerPublicKey;
+
+    // Content-addressed blobs only: Base64(IV || AES-GCM wrapped data key), null for per-block files
+    @Column(length = 128)
+    private String wrappedDataKey;
     
     public OffChainData() {
         this.createdAt = LocalDateTime.now();
@@ -147,6 +151,14 @@ public class OffChainData {
     public void setSignerPublicKey(String signerPublicKey) {
         this.signerPublicKey = signerPublicKey;
     }
+
+    public String getWrappedDataKey() {
+        return wrappedDataKey;
+    }
+
+    public void setWrappedDataKey(String wrappedDataKey) {
+        this.wrappedDataKey = wrappedDataKey;
+    }
     
     @Override
     public String toString() {
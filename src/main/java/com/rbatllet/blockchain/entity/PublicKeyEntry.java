@@ -0,0 +1,95 @@
+package com.rbatllet.blockchain.entity;
+
+import com.rbatllet.blockchain.util.CryptoUtil;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Interned public key referenced by blocks (signer and recipient).
+ *
+ * <p>An ML-DSA-87 public key is ~3.5KB of Base64. Instead of repeating it in every block row
+ * (and in two b-tree indexes), each distinct key is stored once here and blocks reference it by
+ * its fingerprint: the SHA3-256 hex digest of the Base64 key string (64 characters).</p>
+ *
+ * <p>Entries are immutable and never deleted: a fingerprint always resolves to the same key,
+ * so the dictionary is safe to share between chains, rollbacks and re-imports.</p>
+ *
+ * @since 1.0.6
+ * @see Block#getSignerKeyFingerprint()
+ */
+@Entity
+@Table(name = "public_keys")
+public class PublicKeyEntry {
+
+    @Id
+    @Column(name = "fingerprint", length = 64, nullable = false, updatable = false)
+    private String fingerprint;
+
+    @Column(name = "public_key", columnDefinition = "TEXT", nullable = false, updatable = false)
+    private String publicKey;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Default constructor required by JPA
+     */
+    public PublicKeyEntry() {
+        // JPA requires no-arg constructor
+    }
+
+    /**
+     * Create an entry for a public key string, computing its fingerprint.
+     *
+     * @param publicKey Base64 public key (or a marker such as {@code "GENESIS"})
+     * @throws IllegalArgumentException if publicKey is null
+     */
+    public PublicKeyEntry(String publicKey) {
+        if (publicKey == null) {
+            throw new IllegalArgumentException("Public key cannot be null");
+        }
+        this.publicKey = publicKey;
+        this.fingerprint = fingerprintOf(publicKey);
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * Fingerprint used to reference a public key: SHA3-256 hex of the key string.
+     *
+     * @param publicKey Base64 public key string
+     * @return 64-character fingerprint, or null if publicKey is null
+     */
+    public static String fingerprintOf(String publicKey) {
+        return publicKey != null ? CryptoUtil.calculateHash(publicKey) : null;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PublicKeyEntry)) return false;
+        PublicKeyEntry that = (PublicKeyEntry) o;
+        return fingerprint != null && fingerprint.equals(that.getFingerprint());
+    }
+
+    @Override
+    public int hashCode() {
+        return fingerprint != null ? fingerprint.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "PublicKeyEntry{fingerprint='" + fingerprint + "'}";
+    }
+}
@@ -1,6 +1,7 @@
 package com.rbatllet.blockchain.maintenance;
 
 import com.rbatllet.blockchain.config.MaintenanceConstants;
+import com.rbatllet.blockchain.service.OffChainStorageService;
 import com.rbatllet.blockchain.service.PerformanceMetricsService;
 import com.rbatllet.blockchain.service.PerformanceMetricsService.AlertSeverity;
 import com.rbatllet.blockchain.util.JPAUtil;
@@ -12,10 +13,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -52,7 +56,10 @@ import org.slf4j.LoggerFactory;
  * off-chain-data/
  * ├── abc123.dat              ← Original file
  * ├── abc123.dat.gz           ← Compressed (>90 days old)
- * └── orphaned.dat            ← To be deleted (no DB reference)
+ * ├── orphaned.dat            ← To be deleted (no DB reference)
+ * ├── blobs/3f/a2/3fa2….blob  ← Deduplicated, deleted when no block references it
+ * ├── packs/pack-000001.pack  ← Small payloads; unreferenced entries deleted, pack compacted
+ * └── search-index/           ← Encrypted off-chain search index (left alone)
  * </pre>
  *
  * <p><strong>Usage Example:</strong>
@@ -86,6 +93,11 @@ public class OffChainCleanupService {
 
     private static final String OFF_CHAIN_DIR = "off-chain-data";
     private static final String GZIP_EXTENSION = ".gz";
+    private static final String BLOB_DIR = "blobs";
+    private static final String BLOB_EXTENSION = ".blob";
+    private static final String PACK_DIR = "packs";
+    private static final String SEARCH_INDEX_DIR = "search-index";
+    private static final String PACK_REFERENCE_MARKER = ".pack#";
 
     // Security: Pattern for valid off-chain filenames
     // Supports two formats:
@@ -227,6 +239,12 @@ public class OffChainCleanupService {
                 try {
                     String fileName = file.getName();
 
+                    // Content-addressed blobs and pack files are handled separately; the search index is not off-chain data
+                    if ((BLOB_DIR.equals(fileName) || PACK_DIR.equals(fileName) || SEARCH_INDEX_DIR.equals(fileName))
+                        && file.isDirectory()) {
+                        continue;
+                    }
+
                     // Security: Validate filename to prevent directory traversal
                     if (!isValidFilename(fileName)) {
                         logger.warn(
@@ -300,6 +318,65 @@ public class OffChainCleanupService {
                 }
             }
 
+            // Content-addressed blobs: delete those no block references any more
+            if (
+                deletedCount < MaintenanceConstants.MAX_ORPHANED_FILES_PER_CLEANUP &&
+                new File(offChainDir, BLOB_DIR).isDirectory()
+            ) {
+                try {
+                    OffChainStorageService.BlobCleanupResult blobs =
+                        new OffChainStorageService().cleanupBlobs(
+                            getBlobReferenceCounts(),
+                            Duration.ofMillis(
+                                MaintenanceConstants.BLOB_REFERENCE_GRACE_PERIOD_MS
+                            ),
+                            MaintenanceConstants.MAX_ORPHANED_FILES_PER_CLEANUP -
+                                deletedCount
+                        );
+                    deletedCount += blobs.deletedCount();
+                    spaceSaved += blobs.spaceFreed();
+                    totalFilesDeleted.addAndGet(blobs.deletedCount());
+                    totalSpaceSaved.addAndGet(blobs.spaceFreed());
+                    logger.debug(
+                        "  └─ Deleted {} unreferenced off-chain blobs",
+                        blobs.deletedCount()
+                    );
+                } catch (Exception e) {
+                    // Without reference counts no blob can be judged orphaned
+                    logger.warn("  └─ Skipping off-chain blob cleanup", e);
+                }
+            }
+
+            // Pack files: delete unreferenced entries and compact mostly-deleted packs
+            if (
+                deletedCount < MaintenanceConstants.MAX_ORPHANED_FILES_PER_CLEANUP &&
+                new File(offChainDir, PACK_DIR).isDirectory()
+            ) {
+                try {
+                    OffChainStorageService.PackCompactionResult packs =
+                        new OffChainStorageService().compactPacks(
+                            getReferencedPackEntries(),
+                            Duration.ofMillis(
+                                MaintenanceConstants.BLOB_REFERENCE_GRACE_PERIOD_MS
+                            ),
+                            MaintenanceConstants.MAX_ORPHANED_FILES_PER_CLEANUP -
+                                deletedCount
+                        );
+                    deletedCount += packs.deletedEntries();
+                    spaceSaved += packs.spaceFreed();
+                    totalFilesDeleted.addAndGet(packs.deletedEntries());
+                    totalSpaceSaved.addAndGet(packs.spaceFreed());
+                    logger.debug(
+                        "  └─ Deleted {} unreferenced pack entries, compacted {} packs",
+                        packs.deletedEntries(),
+                        packs.rewrittenPacks()
+                    );
+                } catch (Exception e) {
+                    // Without the referenced entries no entry can be judged orphaned
+                    logger.warn("  └─ Skipping off-chain pack compaction", e);
+                }
+            }
+
             // Record metrics
             long durationMs = System.currentTimeMillis() - startTime;
             metricsService.recordResponseTime("offchain_cleanup", durationMs);
@@ -424,6 +501,12 @@ public class OffChainCleanupService {
                 try {
                     String fileName = file.getName();
 
+                    // Content-addressed blobs and pack files are handled separately; the search index is not off-chain data
+                    if ((BLOB_DIR.equals(fileName) || PACK_DIR.equals(fileName) || SEARCH_INDEX_DIR.equals(fileName))
+                        && file.isDirectory()) {
+                        continue;
+                    }
+
                     // Security: Validate filename to prevent directory traversal
                     if (!isValidFilename(fileName)) {
                         logger.warn(
@@ -597,6 +680,63 @@ public class OffChainCleanupService {
         }
     }
 
+    /**
+     * Counts the blocks referencing each content-addressed blob.
+     *
+     * <p>Unlike {@link #getReferencedOffChainHashes()}, failures propagate: an empty
+     * result would get every blob deleted.
+     *
+     * @return referencing blocks per blob file name ({@code <id>.blob})
+     */
+    private Map<String, Long> getBlobReferenceCounts() {
+        return JPAUtil.<Map<String, Long>>executeInTransaction(em -> {
+            List<Object[]> rows = em
+                .createQuery(
+                    "SELECT ocd.filePath, COUNT(b) FROM Block b " +
+                        "JOIN b.offChainData ocd " +
+                        "WHERE ocd.filePath LIKE :suffix " +
+                        "GROUP BY ocd.filePath",
+                    Object[].class
+                )
+                .setParameter("suffix", "%" + BLOB_EXTENSION)
+                .getResultList();
+
+            Map<String, Long> counts = new HashMap<>();
+            for (Object[] row : rows) {
+                String fileName = Paths.get((String) row[0]).getFileName().toString();
+                counts.merge(fileName, (Long) row[1], Long::sum);
+            }
+            return counts;
+        });
+    }
+
+    /**
+     * Gets the pack entries referenced in the database.
+     *
+     * <p>Failures propagate, as for {@link #getBlobReferenceCounts()}.
+     *
+     * @return referenced entries as {@code <pack file name>#<entry id>}
+     */
+    private Set<String> getReferencedPackEntries() {
+        return JPAUtil.<Set<String>>executeInTransaction(em -> {
+            List<String> filePaths = em
+                .createQuery(
+                    "SELECT ocd.filePath FROM Block b " +
+                        "JOIN b.offChainData ocd " +
+                        "WHERE ocd.filePath LIKE :marker",
+                    String.class
+                )
+                .setParameter("marker", "%" + PACK_REFERENCE_MARKER + "%")
+                .getResultList();
+
+            Set<String> entries = new HashSet<>();
+            for (String filePath : filePaths) {
+                entries.add(Paths.get(filePath).getFileName().toString());
+            }
+            return entries;
+        });
+    }
+
     /**
      * Extracts base name from off-chain filename.
      *
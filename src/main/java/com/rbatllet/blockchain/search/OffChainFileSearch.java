@@ -8,6 +8,10 @@ import tools.jackson.databind.ObjectMapper;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
@@ -25,6 +29,9 @@ import java.util.regex.Pattern;
  * - Thread-safe search operations with caching
  * - Graceful handling of decryption failures
  * - Performance optimization with search result caching
+ * - Persistent per-password trigram index ({@link OffChainTermIndex}): files that cannot
+ *   contain the term are skipped without decryption; files are indexed the first time they
+ *   are decrypted, or ahead of time with {@link #indexOffChainContent(List, String)}
  * 
  * Thread Safety (v2.0):
  * - All cache operations are synchronized to prevent race conditions
@@ -43,6 +50,12 @@ public class OffChainFileSearch {
     private final Map<String, OffChainSearchResult> searchCache = new ConcurrentHashMap<>();
     private final Map<String, Long> cacheTimestamps = new ConcurrentHashMap<>();
     private static final long CACHE_EXPIRY_MS = 300_000; // 5 minutes
+
+    // Term indexes by password fingerprint (most recently used last)
+    private static final int MAX_OPEN_TERM_INDEXES = 16;
+    private static final int TERM_INDEX_SAVE_INTERVAL = 64;
+    private final Path termIndexDirectory;
+    private final Map<String, OffChainTermIndex> termIndexes = new LinkedHashMap<>(16, 0.75f, true);
     
     // Recursion control for JSON search
     private static final int MAX_RECURSION_DEPTH = 50;
@@ -56,6 +69,7 @@ public class OffChainFileSearch {
     public OffChainFileSearch() {
         this.offChainService = new OffChainStorageService();
         this.objectMapper = new ObjectMapper();
+        this.termIndexDirectory = Paths.get("off-chain-data", OffChainTermIndex.INDEX_DIRECTORY);
     }
     
     /**
@@ -170,6 +184,12 @@ public class OffChainFileSearch {
         }
         
         try {
+            // Indexed files that lack one of the term's trigrams cannot match
+            OffChainTermIndex termIndex = termIndex(password);
+            if (termIndex != null && termIndex.excludes(offChainData.getDataHash(), searchTerm)) {
+                return null;
+            }
+
             // Verify file exists
             if (!offChainService.fileExists(offChainData)) {
                 logger.warn("⚠️ Off-chain file not found: {}", offChainData.getFilePath());
@@ -178,6 +198,7 @@ public class OffChainFileSearch {
             
             // Decrypt and retrieve file content
             byte[] decryptedData = offChainService.retrieveData(offChainData, password);
+            indexDecryptedContent(termIndex, offChainData, decryptedData);
 
             logger.info("🔍 Off-chain file decrypted: {} bytes, contentType={}, searchTerm={}, file={}",
                 decryptedData != null ? decryptedData.length : 0,
@@ -215,6 +236,106 @@ public class OffChainFileSearch {
         return null;
     }
     
+    /**
+     * Index the content of blocks' off-chain files for {@code password} ahead of searches.
+     * Files already indexed are not decrypted again; files that do not decrypt with
+     * {@code password} are skipped. The index is saved every few files and by
+     * {@link #flushTermIndexes()}.
+     *
+     * @param blocks blocks whose off-chain files to index
+     * @param password password for decrypting off-chain files
+     * @return number of files newly indexed
+     */
+    public int indexOffChainContent(List<Block> blocks, String password) {
+        OffChainTermIndex termIndex = termIndex(password);
+        if (termIndex == null || blocks == null) {
+            return 0;
+        }
+        int indexed = 0;
+        for (Block block : blocks) {
+            for (OffChainData offChainData : extractOffChainReferences(block)) {
+                if (offChainData.getDataHash() == null || termIndex.contains(offChainData.getDataHash())) {
+                    continue;
+                }
+                try {
+                    indexDecryptedContent(termIndex, offChainData, offChainService.retrieveData(offChainData, password));
+                    indexed++;
+                } catch (Exception e) {
+                    logger.debug("Off-chain file of block {} not indexed: {}", block.getBlockNumber(), e.getMessage());
+                }
+            }
+        }
+        return indexed;
+    }
+
+    /**
+     * Save term indexes with documents added since they were last saved.
+     */
+    public void flushTermIndexes() {
+        List<OffChainTermIndex> open;
+        synchronized (termIndexes) {
+            open = new ArrayList<>(termIndexes.values());
+        }
+        for (OffChainTermIndex termIndex : open) {
+            saveTermIndex(termIndex);
+        }
+    }
+
+    /**
+     * Term index of {@code password}, opened on first use; null if it cannot be opened, in
+     * which case every file is decrypted as before.
+     */
+    private OffChainTermIndex termIndex(String password) {
+        if (password == null || password.isEmpty()) {
+            return null;
+        }
+        String fingerprint;
+        try {
+            // In-memory lookup key only; the index itself is keyed by PBKDF2
+            MessageDigest digest = MessageDigest.getInstance("SHA3-256");
+            fingerprint = HexFormat.of().formatHex(digest.digest(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            return null;
+        }
+        synchronized (termIndexes) {
+            OffChainTermIndex termIndex = termIndexes.get(fingerprint);
+            if (termIndex == null) {
+                try {
+                    termIndex = OffChainTermIndex.open(termIndexDirectory, password);
+                } catch (Exception e) {
+                    logger.warn("⚠️ Off-chain term index unavailable, searching without it: {}", e.getMessage());
+                    return null;
+                }
+                termIndexes.put(fingerprint, termIndex);
+                if (termIndexes.size() > MAX_OPEN_TERM_INDEXES) {
+                    Iterator<OffChainTermIndex> eldest = termIndexes.values().iterator();
+                    saveTermIndex(eldest.next());
+                    eldest.remove();
+                }
+            }
+            return termIndex;
+        }
+    }
+
+    private void indexDecryptedContent(OffChainTermIndex termIndex, OffChainData offChainData, byte[] decryptedData) {
+        if (termIndex == null || offChainData.getDataHash() == null || decryptedData == null) {
+            return;
+        }
+        // Same decoding as searchContent()
+        termIndex.add(offChainData.getDataHash(), new String(decryptedData, StandardCharsets.UTF_8));
+        if (termIndex.unsavedDocuments() >= TERM_INDEX_SAVE_INTERVAL) {
+            saveTermIndex(termIndex);
+        }
+    }
+
+    private void saveTermIndex(OffChainTermIndex termIndex) {
+        try {
+            termIndex.save();
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not save off-chain term index: {}", e.getMessage());
+        }
+    }
+
     /**
      * Search for terms within decrypted content based on content type
      */
@@ -595,6 +716,9 @@ public class OffChainFileSearch {
         stats.put("cacheSize", searchCache.size());
         stats.put("cacheExpiryMs", CACHE_EXPIRY_MS);
         stats.put("supportedContentTypes", TEXT_CONTENT_TYPES);
+        synchronized (termIndexes) {
+            stats.put("openTermIndexes", termIndexes.size());
+        }
         // Add thread safety info
         stats.put("threadSafe", true);
         stats.put("synchronizationMethod", "synchronized");
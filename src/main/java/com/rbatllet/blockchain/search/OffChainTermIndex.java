@@ -0,0 +1,364 @@
+package com.rbatllet.blockchain.search;
+
+import com.rbatllet.blockchain.security.KeyDerivationUtil;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Package-private persistent trigram index of decrypted off-chain content, one per password.
+ *
+ * <p>{@link OffChainFileSearch} matches a term as a case-insensitive substring of the decoded
+ * file. Every substring match implies that all trigrams of the term occur in the file, so a
+ * file whose posting lists lack one of them cannot match and is skipped without being
+ * decrypted. Files that pass are still decrypted to build snippets, so results are unchanged.</p>
+ * <pre>
+ * off-chain-data/search-index/
+ * ├── index.salt          ← PBKDF2 salt shared by all indexes (created on first use)
+ * └── 3fa2…e1.idx         ← MAGIC VERSION iv[12] AES-GCM(deflate(index)), one per password
+ * index := docCount (dataHash unfiltered:bool)* gramCount (gram:i64 n:i32 varint-delta(docId)*)*
+ * </pre>
+ * <ul>
+ *   <li>Documents are keyed by {@code OffChainData.dataHash} (SHA3-256 of the plaintext), so an
+ *       entry never goes stale: the same hash always means the same content. Entries of
+ *       deleted blocks stay until the index is rebuilt but are never consulted.</li>
+ *   <li>The file is encrypted under a key derived from the password and named by an HMAC under
+ *       a second derived key, so neither its name nor its content reveals anything without
+ *       the password.</li>
+ *   <li>Characters are folded per code point (lower of upper case, combining dot above
+ *       dropped), which identifies at least every pair of strings the search treats as equal.</li>
+ *   <li>A document with more than {@link #MAX_GRAMS_PER_DOCUMENT} distinct trigrams (typically
+ *       binary content) is recorded as unfiltered and always searched.</li>
+ * </ul>
+ *
+ * <p><strong>Thread Safety:</strong> All methods are synchronized.</p>
+ *
+ * @since 1.0.6
+ */
+final class OffChainTermIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffChainTermIndex.class);
+
+    static final String INDEX_DIRECTORY = "search-index";
+    static final int MAX_GRAMS_PER_DOCUMENT = 100_000;
+
+    private static final String SALT_FILE = "index.salt";
+    private static final String INDEX_EXTENSION = ".idx";
+    private static final byte[] MAGIC = {'O', 'C', 'T', 'I'};
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final int KEY_LENGTH = 32;
+    private static final int COMBINING_DOT_ABOVE = 0x0307;
+
+    private final Path file;
+    private final SecretKeySpec key;
+    private final Map<String, Integer> documentIds = new HashMap<>();
+    private final List<String> documents = new ArrayList<>();
+    private final BitSet unfiltered = new BitSet();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int unsavedDocuments;
+
+    private OffChainTermIndex(Path file, SecretKeySpec key) {
+        this.file = file;
+        this.key = key;
+    }
+
+    /**
+     * Open (or start) the index for {@code password} in {@code directory}.
+     */
+    static OffChainTermIndex open(Path directory, String password) throws IOException, GeneralSecurityException {
+        byte[] keys = KeyDerivationUtil.deriveKey(password, salt(directory),
+            KeyDerivationUtil.getDefaultIterations(), 2 * KEY_LENGTH);
+        try {
+            Mac mac = Mac.getInstance("HmacSHA3-256");
+            mac.init(new SecretKeySpec(keys, KEY_LENGTH, KEY_LENGTH, "HmacSHA3-256"));
+            String name = HexFormat.of().formatHex(mac.doFinal("off-chain-term-index".getBytes(StandardCharsets.US_ASCII)));
+            OffChainTermIndex index = new OffChainTermIndex(directory.resolve(name + INDEX_EXTENSION),
+                new SecretKeySpec(keys, 0, KEY_LENGTH, "AES"));
+            if (Files.exists(index.file)) {
+                index.load();
+            }
+            return index;
+        } finally {
+            Arrays.fill(keys, (byte) 0);
+        }
+    }
+
+    /**
+     * @return true if the document is indexed
+     */
+    synchronized boolean contains(String dataHash) {
+        return documentIds.containsKey(dataHash);
+    }
+
+    /**
+     * @return true if the indexed document cannot contain {@code term}; false if it may, or if
+     *         it is not indexed
+     */
+    synchronized boolean excludes(String dataHash, String term) {
+        Integer id = documentIds.get(dataHash);
+        if (id == null || unfiltered.get(id)) {
+            return false;
+        }
+        for (long gram : grams(term.trim(), Integer.MAX_VALUE)) {
+            Postings list = postings.get(gram);
+            if (list == null || !list.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Index the decoded content of a document; no-op if it is already indexed.
+     */
+    synchronized void add(String dataHash, String content) {
+        if (documentIds.containsKey(dataHash)) {
+            return;
+        }
+        int id = documents.size();
+        documents.add(dataHash);
+        documentIds.put(dataHash, id);
+        unsavedDocuments++;
+        Set<Long> grams = grams(content, MAX_GRAMS_PER_DOCUMENT);
+        if (grams == null) {
+            unfiltered.set(id);
+            return;
+        }
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+        }
+    }
+
+    synchronized int size() {
+        return documents.size();
+    }
+
+    synchronized int unsavedDocuments() {
+        return unsavedDocuments;
+    }
+
+    /**
+     * Write the index if documents were added since it was loaded or last saved.
+     */
+    synchronized void save() throws IOException, GeneralSecurityException {
+        if (unsavedDocuments == 0) {
+            return;
+        }
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(plain))) {
+            out.writeInt(documents.size());
+            for (int id = 0; id < documents.size(); id++) {
+                out.writeUTF(documents.get(id));
+                out.writeBoolean(unfiltered.get(id));
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<Long, Postings> entry : postings.entrySet()) {
+                out.writeLong(entry.getKey());
+                entry.getValue().write(out);
+            }
+        }
+
+        byte[] iv = new byte[IV_LENGTH];
+        CryptoUtil.getSecureRandom().nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_BITS, iv));
+        byte[] header = header();
+        cipher.updateAAD(header);
+        byte[] ciphertext = cipher.doFinal(plain.toByteArray());
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (var out = Files.newOutputStream(temp)) {
+                out.write(header);
+                out.write(iv);
+                out.write(ciphertext);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        unsavedDocuments = 0;
+        logger.debug("💾 Saved off-chain term index {} ({} documents, {} trigrams)",
+            file.getFileName(), documents.size(), postings.size());
+    }
+
+    private void load() throws IOException, GeneralSecurityException {
+        byte[] stored = Files.readAllBytes(file);
+        byte[] header = header();
+        if (stored.length < header.length + IV_LENGTH
+                || !Arrays.equals(stored, 0, header.length, header, 0, header.length)) {
+            throw new IOException("Not an off-chain term index: " + file);
+        }
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_BITS, stored, header.length, IV_LENGTH));
+        cipher.updateAAD(header);
+        byte[] plain = cipher.doFinal(stored, header.length + IV_LENGTH, stored.length - header.length - IV_LENGTH);
+
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(plain)))) {
+            int documentCount = in.readInt();
+            for (int id = 0; id < documentCount; id++) {
+                String dataHash = in.readUTF();
+                documents.add(dataHash);
+                documentIds.put(dataHash, id);
+                if (in.readBoolean()) {
+                    unfiltered.set(id);
+                }
+            }
+            int gramCount = in.readInt();
+            for (int i = 0; i < gramCount; i++) {
+                postings.put(in.readLong(), Postings.read(in));
+            }
+        }
+        logger.debug("📖 Loaded off-chain term index {} ({} documents)", file.getFileName(), documents.size());
+    }
+
+    private static byte[] header() {
+        return ByteBuffer.allocate(MAGIC.length + 1).put(MAGIC).put(VERSION).array();
+    }
+
+    /**
+     * Salt shared by the indexes of {@code directory}, created on first use.
+     */
+    private static byte[] salt(Path directory) throws IOException {
+        Path saltFile = directory.resolve(SALT_FILE);
+        if (!Files.exists(saltFile)) {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, SALT_FILE, ".tmp");
+            try {
+                Files.write(temp, KeyDerivationUtil.generateSalt());
+                Files.move(temp, saltFile);
+            } catch (FileAlreadyExistsException e) {
+                logger.debug("Off-chain term index salt created concurrently");
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return Files.readAllBytes(saltFile);
+    }
+
+    // ========== Trigrams ==========
+
+    /**
+     * Distinct folded trigrams of {@code text}.
+     *
+     * @return the trigrams, or null if there are more than {@code limit}
+     */
+    static Set<Long> grams(String text, int limit) {
+        Set<Long> grams = new HashSet<>();
+        long window = 0;
+        int length = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint == COMBINING_DOT_ABOVE) {
+                continue; // dropped by String.toLowerCase() after İ
+            }
+            window = ((window << 21) | Character.toLowerCase(Character.toUpperCase(codePoint))) & ((1L << 63) - 1);
+            if (++length >= 3 && grams.add(window) && grams.size() > limit) {
+                return null;
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Sorted document ids of one trigram; ids are appended in increasing order.
+     */
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(size);
+            int previous = 0;
+            for (int i = 0; i < size; i++) {
+                writeVarInt(out, ids[i] - previous);
+                previous = ids[i];
+            }
+        }
+
+        static Postings read(DataInputStream in) throws IOException {
+            Postings list = new Postings();
+            int size = in.readInt();
+            list.ids = new int[Math.max(2, size)];
+            int previous = 0;
+            for (int i = 0; i < size; i++) {
+                previous += readVarInt(in);
+                list.ids[i] = previous;
+            }
+            list.size = size;
+            return list;
+        }
+
+        private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+
+        private static int readVarInt(InputStream in) throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new IOException("Truncated off-chain term index");
+                }
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed off-chain term index");
+        }
+    }
+}
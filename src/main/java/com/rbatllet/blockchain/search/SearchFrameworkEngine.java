@@ -8,6 +8,7 @@ import com.rbatllet.blockchain.entity.Block;
 import com.rbatllet.blockchain.indexing.IndexingCoordinator;
 import com.rbatllet.blockchain.search.metadata.*;
 import com.rbatllet.blockchain.search.strategy.*;
+import com.rbatllet.blockchain.security.PasswordVerifier;
 import com.rbatllet.blockchain.service.SecureBlockEncryptionService;
 
 import java.security.PrivateKey;
@@ -23,6 +24,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -881,8 +883,8 @@ public class SearchFrameworkEngine {
     /**
      * Performs exhaustive off-chain search with memory-safe accumulation.
      *
-     * <p><b>Memory Safety</b>: Uses PriorityQueue (min-heap) to keep only top N results
-     * during accumulation. Buffer size = maxResults × 2 for ranking stability.</p>
+     * <p><b>Memory Safety</b>: Uses a bounded min-heap ({@link TopResults}) to keep only top N results
+     * during accumulation; a result that cannot make the top N is rejected after one comparison.</p>
      *
      * <p><b>Early Exit</b>: Stops processing after {@link com.rbatllet.blockchain.config.MemorySafetyConstants#SAFE_EXPORT_LIMIT}
      * blocks to prevent excessive processing time.</p>
@@ -949,25 +951,22 @@ public class SearchFrameworkEngine {
             }
 
             // ✅ MERGE STRATEGY: Combine results from multiple searches with deduplication
-            // Using PriorityQueue (min-heap) for efficient top-N selection
-            final int BUFFER_SIZE = maxResults * 2;
-            final PriorityQueue<EnhancedSearchResult> topResults = new PriorityQueue<>(
-                BUFFER_SIZE,
-                Comparator.comparingDouble(EnhancedSearchResult::getRelevanceScore)  // Min-heap
-            );
+            // Using a bounded min-heap (TopResults) for efficient top-N selection
+            final TopResults<EnhancedSearchResult> topResults =
+                new TopResults<>(maxResults, EnhancedSearchResult::getRelevanceScore);
             final Set<String> seenHashes = ConcurrentHashMap.newKeySet(); // Thread-safe deduplication
 
             // Add FAST public results first (highest priority)
             for (EnhancedSearchResult result : fastResults.getResults()) {
                 if (seenHashes.add(result.getBlockHash())) {
-                    addToTopResults(topResults, result, BUFFER_SIZE);
+                    topResults.offer(result);
                 }
             }
 
             // Add encrypted results (skip duplicates)
             for (EnhancedSearchResult result : encryptedResults.getResults()) {
                 if (seenHashes.add(result.getBlockHash())) {
-                    addToTopResults(topResults, result, BUFFER_SIZE);
+                    topResults.offer(result);
                 }
             }
 
@@ -1008,7 +1007,7 @@ public class SearchFrameworkEngine {
                     // Add on-chain results to top results
                     for (EnhancedSearchResult result : convertOnChainToEnhancedResults(batchOnChainResults, password)) {
                         if (seenHashes.add(result.getBlockHash())) {  // Deduplicate by block hash
-                            addToTopResults(topResults, result, BUFFER_SIZE);
+                            topResults.offer(result);
                         }
                     }
                 }, MemorySafetyConstants.DEFAULT_BATCH_SIZE);
@@ -1032,14 +1031,17 @@ public class SearchFrameworkEngine {
                     // Add off-chain results to top results
                     for (EnhancedSearchResult result : convertOffChainToEnhancedResults(blockOffChainResult, password)) {
                         if (seenHashes.add(result.getBlockHash())) {  // Deduplicate by block hash
-                            addToTopResults(topResults, result, BUFFER_SIZE);
+                            topResults.offer(result);
                         }
                     }
                 });
+
+                // Persist files indexed while searching, so the next query skips them
+                offChainFileSearch.flushTermIndexes();
             }
 
             // ✅ EXTRACT FINAL RESULTS: Sorted by relevance (best first)
-            List<EnhancedSearchResult> allResults = extractTopResults(topResults, maxResults);
+            List<EnhancedSearchResult> allResults = topResults.toList();
 
             long endTime = System.nanoTime();
             double totalTimeMs = (endTime - startTime) / 1_000_000.0;
@@ -1409,6 +1411,29 @@ public class SearchFrameworkEngine {
         offChainFileSearch.clearCache();
     }
 
+    /**
+     * Index the content of every off-chain file that decrypts with {@code password}, so that
+     * later {@link #searchExhaustiveOffChain(String, String, int)} calls skip files that cannot
+     * match without decrypting them. Files are otherwise indexed the first time a search
+     * decrypts them; this runs that pass ahead of time (e.g. from a background job).
+     *
+     * @param password Encryption password
+     * @return number of files newly indexed
+     * @since 1.0.6
+     */
+    public int indexOffChainContent(String password) {
+        if (blockchain == null || password == null || password.trim().isEmpty()) {
+            return 0;
+        }
+        AtomicInteger indexed = new AtomicInteger();
+        blockchain.streamBlocksWithOffChainData(block ->
+            indexed.addAndGet(offChainFileSearch.indexOffChainContent(Collections.singletonList(block), password))
+        );
+        offChainFileSearch.flushTermIndexes();
+        logger.info("📇 Indexed {} off-chain files for exhaustive search", indexed.get());
+        return indexed.get();
+    }
+
     // ===== BLOCKCHAIN INTEGRATION =====
 
     /**
@@ -1418,6 +1443,17 @@ public class SearchFrameworkEngine {
         List<Block> blocks,
         String password,
         PrivateKey privateKey
+    ) {
+        return indexFilteredBlocks(blocks, block -> password, privateKey);
+    }
+
+    /**
+     * Index filtered list of blocks, each with the password chosen for it (null for public-only)
+     */
+    private IndexingResult indexFilteredBlocks(
+        List<Block> blocks,
+        Function<Block, String> passwordForBlock,
+        PrivateKey privateKey
     ) {
         long startTime = System.nanoTime();
 
@@ -1432,6 +1468,8 @@ public class SearchFrameworkEngine {
             CompletableFuture<Void> task = CompletableFuture.runAsync(
                 () -> {
                     try {
+                        String password = passwordForBlock.apply(block);
+
                         // Extract user-defined search terms from the block
                         Set<String> userTerms = extractUserSearchTerms(
                             block,
@@ -1650,6 +1688,155 @@ public class SearchFrameworkEngine {
         // Store blockchain reference for INCLUDE_OFFCHAIN searches
         this.blockchain = blockchain;
 
+        if (!claimIndexingRun("SEARCH_FRAMEWORK_INDEX_BLOCKCHAIN")) {
+            // Return empty result for recent indexing
+            return new IndexingResult(0, 0, 0.0, null);
+        }
+
+        // Execute indexing synchronously only once
+        try {
+            // MEMORY SAFETY: Index blocks in batches WITHOUT accumulating all in memory
+            final int[] totalProcessed = {0};
+            final int[] totalIndexed = {0};
+            final long startTime = System.nanoTime();
+
+            blockchain.processChainInBatches(batch -> {
+                // Index this batch directly without accumulating
+                IndexingResult batchResult = indexFilteredBlocks(batch, password, privateKey);
+                totalProcessed[0] += batchResult.getBlocksProcessed();
+                totalIndexed[0] += batchResult.getBlocksIndexed();
+            }, 1000);
+
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            IndexingResult result = new IndexingResult(totalProcessed[0], totalIndexed[0], durationMs, null);
+
+            logger.info("✅ SearchFrameworkEngine blockchain indexing completed: {} processed, {} indexed in {}ms",
+                totalProcessed[0], totalIndexed[0], durationMs);
+
+            return result;
+
+        } catch (Exception e) {
+            logger.error("Failed to execute blockchain indexing", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Index the entire blockchain when blocks are encrypted with different passwords
+     * (for example one per department), assigning each block its password in one pass.
+     *
+     * <p>Each password is turned into a {@link PasswordVerifier} once. An encrypted block with a
+     * password check value is matched by one HMAC per candidate password and decrypted only with
+     * the matching one. Older blocks without a check value fall back to trying each password on
+     * their encrypted keywords. Either way, a block that none of the passwords was used for is
+     * indexed with public metadata only. Unencrypted blocks, and encrypted blocks with nothing
+     * to test the passwords on, are indexed with the first password, as
+     * {@link #indexBlockchain(Blockchain, String, PrivateKey)} would.</p>
+     *
+     * <p>Like {@code indexBlockchain}, runs are coordinated through the
+     * {@link IndexingCoordinator}: a call within the minimum interval of the previous one
+     * returns an empty result.</p>
+     *
+     * @param blockchain The blockchain to index
+     * @param passwords Candidate passwords, in priority order (at least one)
+     * @param privateKey Private key for signature verification
+     * @return IndexingResult with processed and indexed counts
+     * @throws IllegalArgumentException if blockchain or privateKey is null, or passwords is empty
+     * @since 1.0.6
+     */
+    public IndexingResult indexBlockchainWithPasswords(
+        Blockchain blockchain,
+        List<String> passwords,
+        PrivateKey privateKey
+    ) {
+        if (blockchain == null) {
+            throw new IllegalArgumentException("Blockchain cannot be null");
+        }
+        if (passwords == null || passwords.isEmpty()) {
+            throw new IllegalArgumentException("At least one password is required");
+        }
+        if (privateKey == null) {
+            throw new IllegalArgumentException("Private key cannot be null");
+        }
+        this.blockchain = blockchain;
+
+        if (!claimIndexingRun("SEARCH_FRAMEWORK_INDEX_BLOCKCHAIN_PASSWORDS")) {
+            return new IndexingResult(0, 0, 0.0, null);
+        }
+
+        Block genesis = blockchain.getBlock(0L);
+        List<PasswordVerifier> verifiers = new ArrayList<>(passwords.size());
+        if (genesis != null) {
+            for (String password : passwords) {
+                verifiers.add(PasswordVerifier.derive(password, genesis.getHash()));
+            }
+        }
+
+        AtomicInteger matchedByCheckValue = new AtomicInteger();
+        AtomicInteger matchedByDecryption = new AtomicInteger();
+        AtomicInteger unmatched = new AtomicInteger();
+        Function<Block, String> passwordForBlock = block -> {
+            if (!block.isDataEncrypted()) {
+                return passwords.get(0);
+            }
+            String checkValue = block.getPasswordCheckValue();
+            if (checkValue != null && !verifiers.isEmpty()) {
+                for (int i = 0; i < verifiers.size(); i++) {
+                    if (verifiers.get(i).matches(block.getHash(), checkValue)) {
+                        matchedByCheckValue.incrementAndGet();
+                        return passwords.get(i);
+                    }
+                }
+            } else {
+                String encryptedKeywords = encryptedKeywordEntry(block);
+                if (encryptedKeywords == null) {
+                    // Nothing to match the passwords against: use the first, as indexBlockchain would
+                    return passwords.get(0);
+                }
+                String password = findPasswordByDecryption(encryptedKeywords, passwords);
+                if (password != null) {
+                    matchedByDecryption.incrementAndGet();
+                    return password;
+                }
+            }
+            // None of the passwords was used for this block: public metadata only
+            unmatched.incrementAndGet();
+            return null;
+        };
+
+        try {
+            final int[] totalProcessed = {0};
+            final int[] totalIndexed = {0};
+            final long startTime = System.nanoTime();
+
+            blockchain.processChainInBatches(batch -> {
+                IndexingResult batchResult = indexFilteredBlocks(batch, passwordForBlock, privateKey);
+                totalProcessed[0] += batchResult.getBlocksProcessed();
+                totalIndexed[0] += batchResult.getBlocksIndexed();
+            }, 1000);
+
+            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            logger.info(
+                "✅ Multi-password indexing completed: {} processed, {} indexed in {}ms " +
+                "({} encrypted blocks matched by check value, {} by decryption, {} unmatched)",
+                totalProcessed[0], totalIndexed[0], durationMs,
+                matchedByCheckValue.get(), matchedByDecryption.get(), unmatched.get()
+            );
+            return new IndexingResult(totalProcessed[0], totalIndexed[0], durationMs, null);
+        } finally {
+            verifiers.forEach(PasswordVerifier::destroy);
+        }
+    }
+
+    /**
+     * Record the start of a whole-chain indexing run through the {@link IndexingCoordinator},
+     * unless the same operation already ran within the minimum interval (5s, 100ms in tests;
+     * not enforced in test mode). Prevents loops and duplicate runs across threads.
+     *
+     * @param operation coordinator key of the indexing operation
+     * @return true if the caller should index, false if it should skip
+     */
+    private boolean claimIndexingRun(String operation) {
         // Detect test environment and adjust interval accordingly
         boolean isTestEnvironment = isRunningInTest();
         int minInterval = isTestEnvironment ? 100 : 5000; // 100ms for tests, 5s for production
@@ -1662,7 +1849,7 @@ public class SearchFrameworkEngine {
             // Skip interval checks in test mode
             if (!coordinator.isTestMode()) {
                 // Check if indexing was recently executed to avoid unnecessary duplicate operations
-                long lastExecution = coordinator.getLastExecutionTime("SEARCH_FRAMEWORK_INDEX_BLOCKCHAIN");
+                long lastExecution = coordinator.getLastExecutionTime(operation);
                 long timeSinceLastExecution = System.currentTimeMillis() - lastExecution;
                 
                 if (lastExecution > 0 && timeSinceLastExecution < minInterval) {
@@ -1670,45 +1857,57 @@ public class SearchFrameworkEngine {
                         "⏭️ Skipping blockchain indexing - executed {}ms ago (min interval: {}ms)",
                         timeSinceLastExecution, minInterval
                     );
-                    // Return empty result for recent indexing
-                    return new IndexingResult(0, 0, 0.0, null);
+                    return false;
                 }
             }
             
             // Immediately mark as starting to prevent other threads from entering
             AtomicLong lastExecutionTracker = coordinator.indexingProgress.computeIfAbsent(
-                "SEARCH_FRAMEWORK_INDEX_BLOCKCHAIN", 
+                operation,
                 k -> new AtomicLong(0)
             );
             lastExecutionTracker.set(System.currentTimeMillis());
         }
+        return true;
+    }
 
-        // Execute indexing synchronously only once
-        try {
-            // MEMORY SAFETY: Index blocks in batches WITHOUT accumulating all in memory
-            final int[] totalProcessed = {0};
-            final int[] totalIndexed = {0};
-            final long startTime = System.nanoTime();
-
-            blockchain.processChainInBatches(batch -> {
-                // Index this batch directly without accumulating
-                IndexingResult batchResult = indexFilteredBlocks(batch, password, privateKey);
-                totalProcessed[0] += batchResult.getBlocksProcessed();
-                totalIndexed[0] += batchResult.getBlocksIndexed();
-            }, 1000);
-
-            double durationMs = (System.nanoTime() - startTime) / 1_000_000.0;
-            IndexingResult result = new IndexingResult(totalProcessed[0], totalIndexed[0], durationMs, null);
-
-            logger.info("✅ SearchFrameworkEngine blockchain indexing completed: {} processed, {} indexed in {}ms",
-                totalProcessed[0], totalIndexed[0], durationMs);
-
-            return result;
+    /**
+     * @return one of the block's encrypted keyword strings (the string format of
+     *         {@link SecureBlockEncryptionService}) to test passwords on, or null if it has none.
+     *         Encrypted blocks keep their private keywords in autoKeywords (one or more entries
+     *         separated by spaces); older blocks may hold them in manualKeywords instead.
+     */
+    private static String encryptedKeywordEntry(Block block) {
+        String manualKeywords = block.getManualKeywords();
+        if (manualKeywords != null && manualKeywords.split("\\|").length == 5) {
+            return manualKeywords;
+        }
+        String autoKeywords = block.getAutoKeywords();
+        if (autoKeywords != null) {
+            for (String entry : autoKeywords.trim().split("\\s+")) {
+                if (entry.split("\\|").length == 5) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
 
-        } catch (Exception e) {
-            logger.error("Failed to execute blockchain indexing", e);
-            throw e;
+    /**
+     * Find the password of a block without a check value by decrypting one of its encrypted
+     * keyword strings
+     * @return the first password that decrypts it, or null
+     */
+    private String findPasswordByDecryption(String keywords, List<String> passwords) {
+        for (String password : passwords) {
+            try {
+                SecureBlockEncryptionService.decryptFromString(keywords, password);
+                return password;
+            } catch (Exception e) {
+                // Wrong password - try the next one
+            }
         }
+        return null;
     }
 
     /**
@@ -2392,6 +2591,25 @@ public class SearchFrameworkEngine {
         strategyRouter.removeBlock(blockHash);
     }
 
+    /**
+     * Remove several blocks from all search indexes in one batch.
+     * Used after a rollback so each posting list is rewritten once rather than once per block.
+     *
+     * @param blockHashes hashes of the removed blocks
+     */
+    public void removeBlocks(Collection<String> blockHashes) {
+        if (blockHashes == null || blockHashes.isEmpty()) {
+            return;
+        }
+        for (String blockHash : blockHashes) {
+            if (blockHash != null) {
+                blockMetadataIndex.remove(blockHash);
+                globalProcessingMap.remove(blockHash);
+            }
+        }
+        strategyRouter.removeBlocks(blockHashes);
+    }
+
     // ===== METADATA ACCESS =====
 
     // Removed unused metadata access methods - metadata is now accessed through search results instead
@@ -2904,55 +3122,6 @@ public class SearchFrameworkEngine {
         }
     }
 
-    /**
-     * Adds new results to priority queue, maintaining only top N results.
-     *
-     * <p><b>Algorithm</b>: Min-heap keeps lowest score at root.
-     * If new result has higher score than root, evict root and add new result.</p>
-     *
-     * @param topResults Priority queue (min-heap)
-     * @param newResult New search result to consider
-     * @param maxSize Maximum size of priority queue
-     *
-     * @since 2025-10-08 (Memory Safety Refactoring - Phase A.4)
-     */
-    private void addToTopResults(
-            PriorityQueue<EnhancedSearchResult> topResults,
-            EnhancedSearchResult newResult,
-            int maxSize) {
-        if (topResults.size() < maxSize) {
-            // Heap not full - add directly
-            topResults.offer(newResult);
-        } else {
-            // Heap full - compare with lowest score
-            EnhancedSearchResult lowest = topResults.peek();
-            if (newResult.getRelevanceScore() > lowest.getRelevanceScore()) {
-                topResults.poll();      // Remove lowest
-                topResults.offer(newResult);  // Add new higher
-            }
-        }
-    }
-
-    /**
-     * Extracts top N results from priority queue, sorted by relevance (descending).
-     *
-     * @param topResults Priority queue (min-heap) containing top results
-     * @param maxResults Maximum results to extract
-     * @return Sorted list of results (best first)
-     *
-     * @since 2025-10-08 (Memory Safety Refactoring - Phase A.4)
-     */
-    private List<EnhancedSearchResult> extractTopResults(
-            PriorityQueue<EnhancedSearchResult> topResults,
-            int maxResults) {
-        // Convert heap to sorted list (best first)
-        List<EnhancedSearchResult> results = new ArrayList<>(topResults);
-        results.sort(Comparator.comparingDouble(EnhancedSearchResult::getRelevanceScore).reversed());
-
-        // Trim to maxResults
-        return results.subList(0, Math.min(maxResults, results.size()));
-    }
-
     /**
      * Detect if we're running in a test environment
      * @return true if running in test context
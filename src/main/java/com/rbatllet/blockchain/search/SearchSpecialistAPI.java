@@ -1052,6 +1052,48 @@ public class SearchSpecialistAPI {
         return result;
     }
     
+    /**
+     * Initializes the search engine with blockchain data encrypted under several passwords
+     * (for example one per department).
+     *
+     * <p>Each block is indexed with the password it was encrypted with, matched through the
+     * block's password check value instead of trial decryption (see
+     * {@link SearchFrameworkEngine#indexBlockchainWithPasswords(Blockchain, List, PrivateKey)}).
+     * The first password becomes the default for search operations.</p>
+     *
+     * @param blockchain the blockchain instance to index. Must not be null.
+     * @param passwords candidate passwords in priority order. Must not be null or empty, and
+     *                  must not contain null, empty or whitespace-only passwords.
+     * @param privateKey the private key for signature verification. Must not be null.
+     * @return an indexing result with the number of blocks processed and indexed. Never null.
+     * @throws IllegalArgumentException if any parameter is invalid
+     * @since 1.0.6
+     * @see #initializeWithBlockchain(Blockchain, String, PrivateKey) for a single password
+     */
+    public SearchFrameworkEngine.IndexingResult initializeWithBlockchainPasswords(
+            Blockchain blockchain, List<String> passwords, PrivateKey privateKey) {
+        if (blockchain == null) {
+            throw new IllegalArgumentException("Blockchain cannot be null");
+        }
+        if (passwords == null || passwords.isEmpty()) {
+            throw new IllegalArgumentException("Passwords cannot be null or empty");
+        }
+        for (String password : passwords) {
+            if (password == null || password.trim().isEmpty()) {
+                throw new IllegalArgumentException("Password cannot be null, empty or contain only whitespace");
+            }
+        }
+        if (privateKey == null) {
+            throw new IllegalArgumentException("Private key cannot be null");
+        }
+
+        SearchFrameworkEngine.IndexingResult result =
+            searchEngine.indexBlockchainWithPasswords(blockchain, passwords, privateKey);
+        this.defaultPassword = passwords.get(0);
+        isInitialized = true;
+        return result;
+    }
+
     /**
      * Initializes the search engine with blockchain data asynchronously for non-blocking operation.
      * 
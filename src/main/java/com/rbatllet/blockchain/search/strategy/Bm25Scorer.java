@@ -0,0 +1,76 @@
+package com.rbatllet.blockchain.search.strategy;
+
+/**
+ * Package-private collection statistics and Okapi BM25 term scoring.
+ *
+ * <p>The owner reports each document's length as it is added and removed; the document
+ * frequency of a term is passed in at query time (for {@link FastIndexSearch}, the size of
+ * the term's posting list):</p>
+ * <pre>
+ * idf(t)       = ln(1 + (N - df + 0.5) / (df + 0.5))
+ * score(t, d)  = idf(t) · tf · (k1 + 1) / (tf + k1 · (1 - b + b · |d| / avgdl))
+ * </pre>
+ * <p>Rare terms therefore outweigh common ones, and a match in a short document outweighs the
+ * same match in a long one. {@code idf} is always positive, so every match scores above 0.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Not thread-safe; guarded by the owning index's lock.</p>
+ *
+ * @since 1.0.6
+ */
+final class Bm25Scorer {
+
+    /** Term frequency saturation. */
+    static final double K1 = 1.2;
+
+    /** Strength of document length normalisation. */
+    static final double B = 0.75;
+
+    private long documentCount;
+    private long totalLength;
+
+    void addDocument(int length) {
+        documentCount++;
+        totalLength += length;
+    }
+
+    void removeDocument(int length) {
+        if (documentCount > 0) {
+            documentCount--;
+            totalLength = Math.max(0, totalLength - length);
+        }
+    }
+
+    void clear() {
+        documentCount = 0;
+        totalLength = 0;
+    }
+
+    long documentCount() {
+        return documentCount;
+    }
+
+    double averageLength() {
+        return documentCount > 0 ? (double) totalLength / documentCount : 0.0;
+    }
+
+    /**
+     * @param documentFrequency number of documents containing the term
+     */
+    double idf(int documentFrequency) {
+        double n = Math.max(documentCount, documentFrequency);
+        return Math.log(1.0 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    /**
+     * Saturated, length-normalised term frequency: the BM25 factor that multiplies {@link #idf(int)}.
+     */
+    double termFrequencyNorm(int termFrequency, int documentLength) {
+        double averageLength = averageLength();
+        double lengthRatio = averageLength > 0 ? documentLength / averageLength : 1.0;
+        return termFrequency * (K1 + 1) / (termFrequency + K1 * (1 - B + B * lengthRatio));
+    }
+
+    double score(int termFrequency, int documentFrequency, int documentLength) {
+        return idf(documentFrequency) * termFrequencyNorm(termFrequency, documentLength);
+    }
+}
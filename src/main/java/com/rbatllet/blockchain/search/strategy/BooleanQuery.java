@@ -0,0 +1,628 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Package-private parser for Boolean and phrase queries over the public keyword index, plus the
+ * document id matchers {@link FastIndexSearch} builds from the parsed tree and a text evaluator
+ * {@link EncryptedContentSearch} applies to decrypted content.
+ *
+ * <pre>
+ * query   := or
+ * or      := and ( "OR" and )*
+ * and     := unary ( ["AND"] unary )*        adjacent clauses are ANDed
+ * unary   := ( "NOT" | "-" ) unary | primary
+ * primary := "(" or ")" | "phrase" | field:value | field:"value" | field:"(" or ")" | keyword
+ * field   := category | type | contenttype | time | timerange
+ * </pre>
+ * <p>Inside {@code field:( ... )} every keyword and phrase is a value of that field, so
+ * {@code category:(medium OR large)} means {@code category:medium OR category:large}. A field
+ * with nothing after the colon stays a keyword ({@code "category:"}) and so still restricts.</p>
+ * <p>Operators are recognised in upper case only (also {@code &&}, {@code ||}), so lower-case
+ * "and", "or" and "not" stay ordinary keywords. Keywords are lower-cased and lose a
+ * {@code public:} prefix, as at indexing time; an unknown {@code name:value} is a keyword too.
+ * Parsing is lenient: an unbalanced parenthesis or a dangling operator is ignored rather than
+ * rejected, since queries come straight from search boxes.</p>
+ *
+ * <p>The public index keeps keyword sets without positions, so a quoted phrase matches the
+ * multi-word keyword itself or, failing that, blocks holding all of its words.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Parsing is stateless and thread-safe. Matchers are not;
+ * they are built per query under the owning index's read lock.</p>
+ *
+ * @since 1.0.6
+ */
+final class BooleanQuery {
+
+    private BooleanQuery() {
+    }
+
+    // ===== SYNTAX TREE =====
+
+    /** Public metadata fields that can be filtered on. */
+    enum Field {
+        CATEGORY, CONTENT_TYPE, TIME_RANGE;
+
+        static Field of(String name) {
+            switch (name.toLowerCase(Locale.ROOT)) {
+                case "category":
+                    return CATEGORY;
+                case "type":
+                case "contenttype":
+                case "content_type":
+                    return CONTENT_TYPE;
+                case "time":
+                case "timerange":
+                case "time_range":
+                    return TIME_RANGE;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    sealed interface Node permits Term, Phrase, FieldFilter, And, Or, Not { }
+
+    record Term(String keyword) implements Node { }
+
+    record Phrase(String keyword, List<String> words) implements Node { }
+
+    record FieldFilter(Field field, String value) implements Node { }
+
+    record And(List<Node> clauses) implements Node { }
+
+    record Or(List<Node> clauses) implements Node { }
+
+    record Not(Node clause) implements Node { }
+
+    // ===== PARSING =====
+
+    private enum TokenType { LPAREN, RPAREN, AND, OR, NOT, PHRASE, FIELD, WORD }
+
+    private record Token(TokenType type, String text, Field field) { }
+
+    /**
+     * @return true if the query uses any operator, parenthesis, quoted phrase or field filter,
+     *         i.e. if parsing it means more than ORing its words
+     */
+    static boolean isBooleanQuery(String query) {
+        if (query == null) {
+            return false;
+        }
+        for (Token token : tokenize(query)) {
+            if (token.type() != TokenType.WORD) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the query tree, or null if the query holds no clause
+     */
+    static Node parse(String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        return new Parser(tokenize(query)).parseQuery();
+    }
+
+    private static List<Token> tokenize(String query) {
+        List<Token> tokens = new ArrayList<>();
+        // Field each open group applies to its words (null outside field groups), innermost last
+        List<Field> groupFields = new ArrayList<>();
+        Field groupField = null;
+        int i = 0;
+        int n = query.length();
+        while (i < n) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(') {
+                tokens.add(new Token(TokenType.LPAREN, "(", null));
+                groupFields.add(groupField);
+                i++;
+            } else if (c == ')') {
+                if (!groupFields.isEmpty()) { // drop unmatched closing parentheses
+                    tokens.add(new Token(TokenType.RPAREN, ")", null));
+                    groupFields.remove(groupFields.size() - 1);
+                    groupField = groupFields.isEmpty() ? null : groupFields.get(groupFields.size() - 1);
+                }
+                i++;
+            } else if (c == '"') {
+                int end = query.indexOf('"', i + 1);
+                end = end < 0 ? n : end;
+                String phrase = query.substring(i + 1, end);
+                if (groupField != null && !phrase.isBlank()) {
+                    tokens.add(new Token(TokenType.FIELD, phrase.trim(), groupField));
+                } else {
+                    tokens.add(new Token(TokenType.PHRASE, phrase, null));
+                }
+                i = end + 1;
+            } else if (c == '-' && i + 1 < n && !Character.isWhitespace(query.charAt(i + 1))) {
+                tokens.add(new Token(TokenType.NOT, "-", null));
+                i++;
+            } else {
+                int start = i;
+                while (i < n && !Character.isWhitespace(query.charAt(i))
+                       && query.charAt(i) != '(' && query.charAt(i) != ')' && query.charAt(i) != '"') {
+                    i++;
+                }
+                String word = query.substring(start, i);
+                int colon = word.indexOf(':');
+                Field field = colon > 0 ? Field.of(word.substring(0, colon)) : null;
+                if (field != null) {
+                    String value = word.substring(colon + 1);
+                    if (value.isEmpty() && i < n && query.charAt(i) == '(') {
+                        groupField = field; // applies to the group the next iteration opens
+                        continue;
+                    }
+                    if (value.isEmpty() && i < n && query.charAt(i) == '"') {
+                        int end = query.indexOf('"', i + 1);
+                        end = end < 0 ? n : end;
+                        value = query.substring(i + 1, end);
+                        i = end + 1;
+                    }
+                    if (value.isBlank()) {
+                        tokens.add(new Token(TokenType.WORD, word, null)); // no value: keep it as a keyword
+                    } else {
+                        tokens.add(new Token(TokenType.FIELD, value.trim(), field));
+                    }
+                } else {
+                    TokenType type = operatorType(word);
+                    boolean fieldValue = groupField != null && type == TokenType.WORD;
+                    tokens.add(new Token(fieldValue ? TokenType.FIELD : type, word, fieldValue ? groupField : null));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static TokenType operatorType(String word) {
+        switch (word) {
+            case "AND":
+            case "&&":
+                return TokenType.AND;
+            case "OR":
+            case "||":
+                return TokenType.OR;
+            case "NOT":
+                return TokenType.NOT;
+            default:
+                return TokenType.WORD;
+        }
+    }
+
+    /**
+     * Lower-case a keyword and strip the {@code public:} prefix, as {@link FastIndexSearch} does
+     * when indexing.
+     */
+    static String normalize(String keyword) {
+        String normalized = keyword.toLowerCase();
+        return normalized.startsWith("public:") ? normalized.substring("public:".length()) : normalized;
+    }
+
+    private static final class Parser {
+        private final List<Token> tokens;
+        private int position;
+
+        Parser(List<Token> tokens) {
+            this.tokens = tokens;
+        }
+
+        Node parseQuery() {
+            return parseOr(); // the tokenizer drops unmatched ')', so this consumes every token
+        }
+
+        private TokenType peek() {
+            return position < tokens.size() ? tokens.get(position).type() : null;
+        }
+
+        private Node parseOr() {
+            List<Node> clauses = new ArrayList<>();
+            addClause(clauses, parseAnd());
+            while (peek() == TokenType.OR) {
+                position++;
+                addClause(clauses, parseAnd());
+            }
+            return clauses.isEmpty() ? null : clauses.size() == 1 ? clauses.get(0) : new Or(clauses);
+        }
+
+        private Node parseAnd() {
+            List<Node> clauses = new ArrayList<>();
+            for (TokenType type = peek(); type != null && type != TokenType.OR && type != TokenType.RPAREN;
+                 type = peek()) {
+                if (type == TokenType.AND) {
+                    position++;
+                } else {
+                    addClause(clauses, parseUnary());
+                }
+            }
+            return clauses.isEmpty() ? null : clauses.size() == 1 ? clauses.get(0) : new And(clauses);
+        }
+
+        private Node parseUnary() {
+            if (peek() == TokenType.NOT) {
+                position++;
+                Node clause = parseUnary();
+                if (clause == null) {
+                    return null;
+                }
+                return clause instanceof Not not ? not.clause() : new Not(clause);
+            }
+            return parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            TokenType type = peek();
+            if (type == null || type == TokenType.AND || type == TokenType.OR || type == TokenType.RPAREN) {
+                return null;
+            }
+            Token token = tokens.get(position++);
+            switch (type) {
+                case LPAREN:
+                    Node group = parseOr();
+                    if (peek() == TokenType.RPAREN) {
+                        position++;
+                    }
+                    return group;
+                case PHRASE:
+                    List<String> words = Arrays.stream(token.text().trim().split("\\s+"))
+                        .filter(word -> !word.isEmpty())
+                        .map(BooleanQuery::normalize)
+                        .toList();
+                    if (words.isEmpty()) {
+                        return null;
+                    }
+                    return words.size() == 1 ? new Term(words.get(0)) : new Phrase(String.join(" ", words), words);
+                case FIELD:
+                    return new FieldFilter(token.field(), token.text());
+                default:
+                    return new Term(normalize(token.text()));
+            }
+        }
+
+        private static void addClause(List<Node> clauses, Node clause) {
+            if (clause != null) {
+                clauses.add(clause);
+            }
+        }
+    }
+
+    // ===== TEXT EVALUATION =====
+
+    /**
+     * Evaluate the tree against decrypted text, which the public index never sees. A keyword or
+     * phrase matches if the text contains it, as {@link EncryptedContentSearch} matches words; a
+     * category filter compares with {@code category} ignoring case. Content type and time filters
+     * cannot be checked on text and never match, so they keep restricting the query.
+     *
+     * @param lowerText lower-cased text to evaluate
+     * @param category the block's content category, or null if unknown
+     */
+    static boolean matchesText(Node node, String lowerText, String category) {
+        if (node instanceof Term term) {
+            return lowerText.contains(term.keyword());
+        }
+        if (node instanceof Phrase phrase) {
+            return lowerText.contains(phrase.keyword());
+        }
+        if (node instanceof FieldFilter filter) {
+            return filter.field() == Field.CATEGORY && filter.value().equalsIgnoreCase(category);
+        }
+        if (node instanceof Not not) {
+            return !matchesText(not.clause(), lowerText, category);
+        }
+        if (node instanceof Or or) {
+            return or.clauses().stream().anyMatch(clause -> matchesText(clause, lowerText, category));
+        }
+        return ((And) node).clauses().stream().allMatch(clause -> matchesText(clause, lowerText, category));
+    }
+
+    /**
+     * @return the keywords and phrases the tree asks for outside any NOT, for relevance scoring;
+     *         empty for a query made only of exclusions and field filters
+     */
+    static Set<String> positiveKeywords(Node node) {
+        Set<String> keywords = new LinkedHashSet<>();
+        collectPositiveKeywords(node, keywords);
+        return keywords;
+    }
+
+    private static void collectPositiveKeywords(Node node, Set<String> keywords) {
+        if (node instanceof Term term) {
+            keywords.add(term.keyword());
+        } else if (node instanceof Phrase phrase) {
+            keywords.add(phrase.keyword());
+        } else if (node instanceof And and) {
+            and.clauses().forEach(clause -> collectPositiveKeywords(clause, keywords));
+        } else if (node instanceof Or or) {
+            or.clauses().forEach(clause -> collectPositiveKeywords(clause, keywords));
+        }
+    }
+
+    // ===== MATCHERS =====
+
+    /**
+     * Iterator over matching document ids in increasing order, with the score each matching
+     * clause contributes. Starts before the first id, like {@link PostingList.Cursor}.
+     */
+    abstract static class Matcher {
+
+        /**
+         * @return the current id, -1 before the first call to next, or {@link PostingList#NO_MORE_DOCS}
+         */
+        abstract int doc();
+
+        abstract int next();
+
+        /**
+         * Move to the first matching id at or after {@code target}; a no-op if already there.
+         */
+        abstract int advance(int target);
+
+        /**
+         * @return an upper bound on the number of ids this matcher yields, used to order intersections
+         */
+        abstract long cost();
+
+        /**
+         * @return the score of the current document
+         */
+        abstract double score();
+    }
+
+    /** Matches nothing, e.g. a keyword that is not indexed. */
+    static final class EmptyMatcher extends Matcher {
+        private int doc = -1;
+
+        @Override
+        int doc() {
+            return doc;
+        }
+
+        @Override
+        int next() {
+            return doc = PostingList.NO_MORE_DOCS;
+        }
+
+        @Override
+        int advance(int target) {
+            return doc = PostingList.NO_MORE_DOCS;
+        }
+
+        @Override
+        long cost() {
+            return 0;
+        }
+
+        @Override
+        double score() {
+            return 0.0;
+        }
+    }
+
+    /** The documents of one posting list, each scoring a fixed weight. */
+    static final class PostingMatcher extends Matcher {
+        private final PostingList.Cursor cursor;
+        private final long cost;
+        private final double weight;
+
+        PostingMatcher(PostingList postings, double weight) {
+            this.cursor = postings.cursor();
+            this.cost = postings.size();
+            this.weight = weight;
+        }
+
+        @Override
+        int doc() {
+            return cursor.doc();
+        }
+
+        @Override
+        int next() {
+            return cursor.next();
+        }
+
+        @Override
+        int advance(int target) {
+            return cursor.advance(target);
+        }
+
+        @Override
+        long cost() {
+            return cost;
+        }
+
+        @Override
+        double score() {
+            return weight;
+        }
+    }
+
+    /** Every id below {@code limit} accepted by {@code live}: the universe a bare NOT subtracts from. */
+    static final class AllMatcher extends Matcher {
+        private final int limit;
+        private final IntPredicate live;
+        private int doc = -1;
+
+        AllMatcher(int limit, IntPredicate live) {
+            this.limit = limit;
+            this.live = live;
+        }
+
+        @Override
+        int doc() {
+            return doc;
+        }
+
+        @Override
+        int next() {
+            return advance(doc + 1);
+        }
+
+        @Override
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            for (int id = Math.max(target, 0); id < limit; id++) {
+                if (live.test(id)) {
+                    return doc = id;
+                }
+            }
+            return doc = PostingList.NO_MORE_DOCS;
+        }
+
+        @Override
+        long cost() {
+            return limit;
+        }
+
+        @Override
+        double score() {
+            return 0.0;
+        }
+    }
+
+    /**
+     * Documents matching every required clause and no excluded one. The cheapest required clause
+     * leads and the others only {@link Matcher#advance(int)} to its candidates, so posting lists
+     * skip whole blocks and the intersection costs about as much as its rarest term.
+     */
+    static final class ConjunctionMatcher extends Matcher {
+        private final Matcher[] required;
+        private final Matcher[] excluded;
+        private int doc = -1;
+
+        /**
+         * @param required at least one clause
+         */
+        ConjunctionMatcher(List<Matcher> required, List<Matcher> excluded) {
+            if (required.isEmpty()) {
+                throw new IllegalArgumentException("A conjunction needs at least one required clause");
+            }
+            this.required = required.toArray(Matcher[]::new);
+            Arrays.sort(this.required, Comparator.comparingLong(Matcher::cost));
+            this.excluded = excluded.toArray(Matcher[]::new);
+        }
+
+        @Override
+        int doc() {
+            return doc;
+        }
+
+        @Override
+        int next() {
+            return align(required[0].next());
+        }
+
+        @Override
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            return align(required[0].advance(target));
+        }
+
+        private int align(int candidate) {
+            Matcher lead = required[0];
+            candidates:
+            while (candidate != PostingList.NO_MORE_DOCS) {
+                for (int i = 1; i < required.length; i++) {
+                    int found = required[i].advance(candidate);
+                    if (found > candidate) {
+                        candidate = lead.advance(found);
+                        continue candidates;
+                    }
+                }
+                for (Matcher exclusion : excluded) {
+                    if (exclusion.advance(candidate) == candidate) {
+                        candidate = lead.next();
+                        continue candidates;
+                    }
+                }
+                return doc = candidate;
+            }
+            return doc = PostingList.NO_MORE_DOCS;
+        }
+
+        @Override
+        long cost() {
+            return required[0].cost();
+        }
+
+        @Override
+        double score() {
+            double score = 0.0;
+            for (Matcher clause : required) {
+                score += clause.score();
+            }
+            return score;
+        }
+    }
+
+    /** Documents matching any clause. Queries have few clauses, so the minimum is found by a scan. */
+    static final class DisjunctionMatcher extends Matcher {
+        private final Matcher[] clauses;
+        private int doc = -1;
+
+        DisjunctionMatcher(List<Matcher> clauses) {
+            this.clauses = clauses.toArray(Matcher[]::new);
+        }
+
+        @Override
+        int doc() {
+            return doc;
+        }
+
+        @Override
+        int next() {
+            int min = PostingList.NO_MORE_DOCS;
+            for (Matcher clause : clauses) {
+                int current = clause.doc() <= doc ? clause.next() : clause.doc();
+                min = Math.min(min, current);
+            }
+            return doc = min;
+        }
+
+        @Override
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            int min = PostingList.NO_MORE_DOCS;
+            for (Matcher clause : clauses) {
+                min = Math.min(min, clause.advance(target));
+            }
+            return doc = min;
+        }
+
+        @Override
+        long cost() {
+            long cost = 0;
+            for (Matcher clause : clauses) {
+                cost += clause.cost();
+            }
+            return cost;
+        }
+
+        @Override
+        double score() {
+            double score = 0.0;
+            for (Matcher clause : clauses) {
+                if (clause.doc() == doc) {
+                    score += clause.score();
+                }
+            }
+            return score;
+        }
+    }
+}
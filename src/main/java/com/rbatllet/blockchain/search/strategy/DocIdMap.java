@@ -0,0 +1,132 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Package-private mapping between block hashes and dense int document ids, with one value
+ * attached per document.
+ *
+ * <p>Indexes store {@link PostingList}s of these ids instead of hash Strings, so each hash is
+ * held once. A removed id is handed out again, the highest free id first, and removing the
+ * highest ids lowers {@link #idLimit()}. The arrays and the id range therefore stay bounded by
+ * the peak number of live documents instead of growing on every re-index or rollback, and most
+ * posting list inserts still land at or near the end of the list.</p>
+ *
+ * <p>The owner must drop a removed id from its posting lists before assigning again.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Not thread-safe; guarded by the owning index's lock.</p>
+ *
+ * @param <V> value attached to each document
+ * @since 1.0.6
+ */
+final class DocIdMap<V> {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] hashes = new String[16];
+    private Object[] values = new Object[16];
+    private final BitSet freeIds = new BitSet(); // removed ids below nextId
+    private int nextId;
+
+    /**
+     * @return the id of the hash, or -1 if it has none
+     */
+    int idOf(String hash) {
+        Integer id = ids.get(hash);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Return the id of {@code hash}, assigning the highest free id (or the next one) if it has
+     * none, and attach {@code value}.
+     */
+    int assign(String hash, V value) {
+        Integer existing = ids.get(hash);
+        int id;
+        if (existing != null) {
+            id = existing;
+        } else if (!freeIds.isEmpty()) {
+            id = freeIds.length() - 1;
+            freeIds.clear(id);
+            ids.put(hash, id);
+            hashes[id] = hash;
+        } else {
+            id = nextId++;
+            if (id == hashes.length) {
+                int capacity = hashes.length + (hashes.length >> 1);
+                hashes = Arrays.copyOf(hashes, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            ids.put(hash, id);
+            hashes[id] = hash;
+        }
+        values[id] = value;
+        return id;
+    }
+
+    /**
+     * @return the hash of a live id, or null
+     */
+    String hashOf(int id) {
+        return id >= 0 && id < nextId ? hashes[id] : null;
+    }
+
+    /**
+     * @return the value attached to a live id, or null
+     */
+    @SuppressWarnings("unchecked")
+    V valueOf(int id) {
+        return id >= 0 && id < nextId ? (V) values[id] : null;
+    }
+
+    /**
+     * Forget a hash. Its id becomes free for a later {@link #assign}.
+     *
+     * @return the removed id, or -1 if the hash had none
+     */
+    int remove(String hash) {
+        Integer id = ids.remove(hash);
+        if (id == null) {
+            return -1;
+        }
+        hashes[id] = null;
+        values[id] = null;
+        freeIds.set(id);
+        while (nextId > 0 && hashes[nextId - 1] == null) { // trim free ids off the top
+            freeIds.clear(--nextId);
+        }
+        return id;
+    }
+
+    /**
+     * @return one more than the highest live id; live ids are those below it with a hash
+     */
+    int idLimit() {
+        return nextId;
+    }
+
+    /**
+     * @return number of live documents
+     */
+    int size() {
+        return ids.size();
+    }
+
+    void clear() {
+        ids.clear();
+        hashes = new String[16];
+        values = new Object[16];
+        freeIds.clear();
+        nextId = 0;
+    }
+
+    /**
+     * @return approximate heap footprint in bytes, excluding the attached values
+     */
+    long memoryBytes() {
+        // HashMap node + boxed id + 64-char hash String per document, plus both arrays
+        return ids.size() * (48L + 16L + 56L + 64L) + 8L * (hashes.length + values.length) + freeIds.size() / 8;
+    }
+}
@@ -42,11 +42,15 @@ public class EncryptedContentSearch {
     // Search limits to prevent excessive memory usage and slow searches
     private static final int MAX_ENCRYPTED_BLOCKS_TO_SEARCH = 500;
     private static final int BATCH_SIZE = 50;
+    // Relevance floor for a Boolean match, which may hold no positive keyword ("category:x NOT y")
+    private static final double MIN_BOOLEAN_RELEVANCE = 0.1;
 
     private final Map<String, String> encryptedMetadataCache;
     private final Map<String, String> contentCache; // Non-encrypted block content for content search
     private final Map<String, Long> lastAccessTime;
     private final Map<String, PrivateMetadata> decryptedCache;
+    // Forward index: block hash -> its decryptedCache keys (one per password), so removal is O(entries of the block)
+    private final Map<String, Set<String>> decryptedKeysByBlock;
     private static final long CACHE_EXPIRY_MS = 300000; // 5 minutes
 
     // Encrypted blocks cache for pagination optimization (P1)
@@ -83,6 +87,7 @@ public class EncryptedContentSearch {
         this.contentCache = new ConcurrentHashMap<>();
         this.lastAccessTime = new ConcurrentHashMap<>();
         this.decryptedCache = new ConcurrentHashMap<>();
+        this.decryptedKeysByBlock = new ConcurrentHashMap<>();
 
         // Initialize Jackson ObjectMapper for JSON parsing
         this.objectMapper = new ObjectMapper();
@@ -152,6 +157,10 @@ public class EncryptedContentSearch {
      * 3. Early termination: Stops when enough results are found
      * 4. Hybrid search order: Fast searches first, expensive decryption last
      *
+     * A Boolean query (operators, phrases, field filters) is evaluated on each candidate's text
+     * with {@link BooleanQuery#matchesText}, so exclusions and filters hold here as they do in the
+     * public index; only its positive keywords count towards relevance.
+     *
      * @param query Search query string
      * @param password Password for decrypting private metadata (empty for non-encrypted content)
      * @param maxResults Maximum number of results
@@ -166,6 +175,12 @@ public class EncryptedContentSearch {
         logger.info("🔍 EncryptedContentSearch.searchEncryptedContent() called with query='{}', hasPassword={}, contentCache.size={}",
                     query, (password != null && !password.trim().isEmpty()), contentCache.size());
 
+        boolean isBooleanQuery = BooleanQuery.isBooleanQuery(query);
+        BooleanQuery.Node booleanQuery = isBooleanQuery ? BooleanQuery.parse(query) : null;
+        if (isBooleanQuery && booleanQuery == null) {
+            return new ArrayList<>(); // only operators, nothing to match
+        }
+
         List<EncryptedSearchResult> results = new ArrayList<>();
 
         // DEDUPLICATION: Track found block hashes to avoid duplicate results
@@ -175,7 +190,7 @@ public class EncryptedContentSearch {
         // Non-encrypted blocks are indexed in contentCache and should always be searchable
         if (!contentCache.isEmpty()) {
             logger.info("🔍 Searching in non-encrypted content cache (size={})", contentCache.size());
-            List<EncryptedSearchResult> nonEncryptedResults = searchNonEncryptedContent(query, maxResults, startTime);
+            List<EncryptedSearchResult> nonEncryptedResults = searchNonEncryptedContent(query, booleanQuery, maxResults, startTime);
             for (EncryptedSearchResult result : nonEncryptedResults) {
                 if (foundBlockHashes.add(result.getBlockHash())) {
                     results.add(result);
@@ -188,7 +203,7 @@ public class EncryptedContentSearch {
         // Search encrypted metadata when password is provided
         if (password != null && !password.trim().isEmpty() && !encryptedMetadataCache.isEmpty()) {
             logger.debug("🔍 Searching in encrypted metadata cache (size={})", encryptedMetadataCache.size());
-            List<EncryptedSearchResult> metadataResults = searchEncryptedMetadata(query, password, maxResults, startTime);
+            List<EncryptedSearchResult> metadataResults = searchEncryptedMetadata(query, booleanQuery, password, maxResults, startTime);
             for (EncryptedSearchResult result : metadataResults) {
                 if (foundBlockHashes.add(result.getBlockHash())) {
                     results.add(result);
@@ -209,16 +224,15 @@ public class EncryptedContentSearch {
                 results.size(), maxResults);
 
             List<EncryptedSearchResult> encryptedDataResults = searchEncryptedBlockDataParallel(
-                query, password, maxResults - results.size(), startTime, foundBlockHashes
+                query, booleanQuery, password, maxResults - results.size(), startTime, foundBlockHashes
             );
             results.addAll(encryptedDataResults);
         }
 
-        // Sort by relevance and limit results
-        return results.stream()
-                     .sorted((a, b) -> Double.compare(b.getRelevanceScore(), a.getRelevanceScore()))
-                     .limit(maxResults)
-                     .collect(Collectors.toList());
+        // Keep the best maxResults (bounded heap instead of sorting every result)
+        TopResults<EncryptedSearchResult> top = new TopResults<>(maxResults, EncryptedSearchResult::getRelevanceScore);
+        results.forEach(top::offer);
+        return top.toList();
     }
 
     /**
@@ -228,6 +242,7 @@ public class EncryptedContentSearch {
      * significantly improving search performance for large numbers of blocks.
      *
      * @param query Search query
+     * @param booleanQuery Parsed Boolean query, or null for a plain keyword query
      * @param password Decryption password
      * @param maxResults Maximum results needed
      * @param startTime Search start time for timing
@@ -236,13 +251,14 @@ public class EncryptedContentSearch {
      */
     private List<EncryptedSearchResult> searchEncryptedBlockDataParallel(
             String query,
+            BooleanQuery.Node booleanQuery,
             String password,
             int maxResults,
             long startTime,
             Set<String> foundBlockHashes) {
 
         List<EncryptedSearchResult> results = Collections.synchronizedList(new ArrayList<>());
-        Set<String> queryKeywords = parseQuery(query);
+        Set<String> queryKeywords = parseQuery(query, booleanQuery);
 
         // Collect all blocks to search (with limit)
         // P2 optimization: Use hybrid approach for best performance
@@ -318,8 +334,11 @@ public class EncryptedContentSearch {
                                 }
                             }
 
-                            if (matchCount > 0) {
-                                double relevanceScore = (double) matchCount / queryKeywords.size();
+                            boolean matches = booleanQuery != null
+                                ? BooleanQuery.matchesText(booleanQuery, contentLower, block.getContentCategory())
+                                : matchCount > 0;
+                            if (matches) {
+                                double relevanceScore = relevance(matchCount, queryKeywords.size());
                                 double searchTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
 
                                 return new EncryptedSearchResult(
@@ -483,9 +502,10 @@ public class EncryptedContentSearch {
     /**
      * Search in non-encrypted content cache
      */
-    private List<EncryptedSearchResult> searchNonEncryptedContent(String query, int maxResults, long startTime) {
-        Set<String> queryKeywords = parseQuery(query);
-        List<EncryptedSearchResult> results = new ArrayList<>();
+    private List<EncryptedSearchResult> searchNonEncryptedContent(String query, BooleanQuery.Node booleanQuery,
+                                                                  int maxResults, long startTime) {
+        Set<String> queryKeywords = parseQuery(query, booleanQuery);
+        TopResults<EncryptedSearchResult> top = new TopResults<>(maxResults, EncryptedSearchResult::getRelevanceScore);
 
         for (Map.Entry<String, String> entry : contentCache.entrySet()) {
             String blockHash = entry.getKey();
@@ -506,12 +526,16 @@ public class EncryptedContentSearch {
                 }
             }
 
-            if (matches) {
-                double relevanceScore = (double) matchCount / queryKeywords.size();
+            if (booleanQuery != null) {
+                matches = BooleanQuery.matchesText(booleanQuery, contentLower, null);
+            }
+
+            double relevanceScore = matches ? relevance(matchCount, queryKeywords.size()) : 0.0;
+            if (matches && top.accepts(relevanceScore)) {
                 double searchTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
                 List<String> matchingTerms = new ArrayList<>(queryKeywords);
 
-                results.add(new EncryptedSearchResult(
+                top.offer(new EncryptedSearchResult(
                     blockHash,
                     relevanceScore,
                     searchTimeMs,
@@ -525,21 +549,17 @@ public class EncryptedContentSearch {
             }
         }
 
-        // Sort by relevance and limit results
-        return results.stream()
-                     .sorted((a, b) -> Double.compare(b.getRelevanceScore(), a.getRelevanceScore()))
-                     .limit(maxResults)
-                     .collect(Collectors.toList());
+        return top.toList();
     }
 
     /**
      * Search in encrypted metadata cache (requires password)
      */
-    private List<EncryptedSearchResult> searchEncryptedMetadata(String query, String password,
-                                                                  int maxResults, long startTime) {
-        Set<String> queryKeywords = parseQuery(query);
+    private List<EncryptedSearchResult> searchEncryptedMetadata(String query, BooleanQuery.Node booleanQuery,
+                                                                  String password, int maxResults, long startTime) {
+        Set<String> queryKeywords = parseQuery(query, booleanQuery);
         logger.debug("🔍 parsed query keywords: {}", queryKeywords);
-        List<EncryptedSearchResult> results = new ArrayList<>();
+        TopResults<EncryptedSearchResult> top = new TopResults<>(maxResults, EncryptedSearchResult::getRelevanceScore);
 
         // Search through all encrypted metadata
         for (Map.Entry<String, String> entry : encryptedMetadataCache.entrySet()) {
@@ -554,9 +574,9 @@ public class EncryptedContentSearch {
                 if (privateMetadata != null) {
                     // Perform search on decrypted content
                     EncryptedSearchResult result = searchPrivateMetadata(blockHash, privateMetadata,
-                                                                        queryKeywords, query, startTime);
+                                                                        booleanQuery, queryKeywords, query, startTime);
                     if (result != null && result.getRelevanceScore() > 0.0) {
-                        results.add(result);
+                        top.offer(result);
                     }
                 }
 
@@ -566,11 +586,7 @@ public class EncryptedContentSearch {
             }
         }
 
-        // Sort by relevance and limit results
-        return results.stream()
-                .sorted((a, b) -> Double.compare(b.getRelevanceScore(), a.getRelevanceScore()))
-                .limit(maxResults)
-                .collect(Collectors.toList());
+        return top.toList();
     }
     
     
@@ -605,6 +621,7 @@ public class EncryptedContentSearch {
             // Cache the result
             decryptedCache.put(cacheKey, privateMetadata);
             lastAccessTime.put(cacheKey, System.currentTimeMillis());
+            decryptedKeysByBlock.computeIfAbsent(blockHash, k -> ConcurrentHashMap.newKeySet()).add(cacheKey);
             
             return privateMetadata;
             
@@ -699,12 +716,18 @@ public class EncryptedContentSearch {
      * Search within decrypted private metadata
      */
     private EncryptedSearchResult searchPrivateMetadata(String blockHash, PrivateMetadata metadata, 
+                                                       BooleanQuery.Node booleanQuery,
                                                        Set<String> queryKeywords, String originalQuery, 
                                                        long startTime) {
         logger.debug("🔍 searchPrivateMetadata called for block {}", blockHash.substring(0, 8));
         logger.debug("🔍 queryKeywords: {}", queryKeywords);
         logger.debug("🔍 metadata.getDetailedKeywords(): {}", metadata.getDetailedKeywords());
         logger.debug("🔍 metadata.getContentSummary(): {}", metadata.getContentSummary());
+
+        if (booleanQuery != null
+            && !BooleanQuery.matchesText(booleanQuery, searchableText(metadata), metadata.getContentCategory())) {
+            return null;
+        }
         
         double relevanceScore = 0.0;
         List<String> matchingTerms = new ArrayList<>();
@@ -752,6 +775,10 @@ public class EncryptedContentSearch {
             }
         }
         
+        if (booleanQuery != null) {
+            relevanceScore = Math.max(relevanceScore, MIN_BOOLEAN_RELEVANCE); // the tree matched
+        }
+
         if (relevanceScore > 0.0) {
             long endTime = System.nanoTime();
             double searchTimeMs = (endTime - startTime) / 1_000_000.0;
@@ -797,13 +824,39 @@ public class EncryptedContentSearch {
     }
     
     /**
-     * Parse query into individual keywords
+     * Parse query into individual keywords: the positive keywords of a Boolean query, so that
+     * operators, excluded words and field filters are not searched for, or else its words
      */
-    private Set<String> parseQuery(String query) {
+    private Set<String> parseQuery(String query, BooleanQuery.Node booleanQuery) {
+        if (booleanQuery != null) {
+            return BooleanQuery.positiveKeywords(booleanQuery);
+        }
         return Arrays.stream(query.toLowerCase().split("\\s+"))
                      .filter(word -> word.length() > 1)
                      .collect(Collectors.toSet());
     }
+
+    /**
+     * Share of the query keywords found in a match. A Boolean match that found none of them
+     * (it matched on exclusions or field filters) scores {@link #MIN_BOOLEAN_RELEVANCE}.
+     */
+    private static double relevance(int matchCount, int keywordCount) {
+        return matchCount == 0 ? MIN_BOOLEAN_RELEVANCE : (double) matchCount / keywordCount;
+    }
+
+    /**
+     * Lower-cased text of the private metadata fields a keyword search looks at, one per line
+     */
+    private static String searchableText(PrivateMetadata metadata) {
+        StringJoiner text = new StringJoiner("\n");
+        metadata.getDetailedKeywords().forEach(text::add);
+        if (metadata.getContentSummary() != null) {
+            text.add(metadata.getContentSummary());
+        }
+        metadata.getIdentifiers().forEach(text::add);
+        metadata.getSensitiveTerms().forEach(text::add);
+        return text.toString().toLowerCase();
+    }
     
     /**
      * Clean up expired cache entries
@@ -829,6 +882,12 @@ public class EncryptedContentSearch {
             boolean expired = lastAccess == null || (currentTime - lastAccess) > CACHE_EXPIRY_MS;
             if (expired) {
                 lastAccessTime.remove(entry.getKey());
+                String key = entry.getKey();
+                String blockHash = key.substring(0, key.lastIndexOf(':'));
+                decryptedKeysByBlock.computeIfPresent(blockHash, (hash, keys) -> {
+                    keys.remove(key);
+                    return keys.isEmpty() ? null : keys;
+                });
             }
             return expired;
         });
@@ -851,7 +910,28 @@ public class EncryptedContentSearch {
         contentCache.remove(blockHash);
 
         // Remove from decrypted cache (all password variants)
-        decryptedCache.entrySet().removeIf(entry -> entry.getKey().startsWith(blockHash + ":"));
+        Set<String> cacheKeys = decryptedKeysByBlock.remove(blockHash);
+        if (cacheKeys != null) {
+            for (String cacheKey : cacheKeys) {
+                decryptedCache.remove(cacheKey);
+                lastAccessTime.remove(cacheKey);
+            }
+        }
+    }
+
+    /**
+     * Remove several blocks from the encrypted search index, e.g. after a rollback.
+     * The encrypted blocks cache is invalidated once for the whole batch.
+     * @param blockHashes The block hashes to remove (null entries are ignored)
+     */
+    public void removeBlocks(Collection<String> blockHashes) {
+        if (blockHashes == null || blockHashes.isEmpty()) {
+            return;
+        }
+        for (String blockHash : blockHashes) {
+            removeBlock(blockHash);
+        }
+        invalidateEncryptedBlocksCache();
     }
     
     /**
@@ -899,6 +979,7 @@ public class EncryptedContentSearch {
         encryptedMetadataCache.clear();
         lastAccessTime.clear();
         decryptedCache.clear();
+        decryptedKeysByBlock.clear();
         // CRITICAL FIX: Also clear contentCache
         contentCache.clear();
         // P1 optimization: Clear encrypted blocks cache
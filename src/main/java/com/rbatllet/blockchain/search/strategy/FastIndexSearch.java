@@ -5,7 +5,7 @@ import com.rbatllet.blockchain.search.metadata.PublicMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
@@ -17,34 +17,60 @@ import java.util.stream.Collectors;
  *
  * Features:
  * - In-memory index for instant lookups
- * - Relevance scoring with intelligent ranking
- * - Optional fuzzy matching for authenticated searches (disabled for public search for security)
+ * - Compact postings: blocks get dense int document ids and each term keeps a
+ *   delta-encoded {@link PostingList}; hashes are resolved only for returned results
+ * - BM25 relevance scoring ({@link Bm25Scorer}, document frequency = posting list size) with
+ *   only the top results kept in a bounded heap ({@link TopResults})
+ * - Optional fuzzy matching for authenticated searches (disabled for public search for security);
+ *   candidate keywords come from a {@link FuzzyTermIndex} instead of a scan of the whole vocabulary
  * - Time-range filtering for efficient searches
  * - Content-type filtering for domain-specific searches
+ * - Boolean and phrase queries (searchBoolean): AND/OR/NOT, quoted phrases and category,
+ *   content type and time range filters, parsed by {@link BooleanQuery}; intersections
+ *   start from the rarest term and skip through the other posting lists
  *
  * Security Policy:
  * - Public search (searchPublic): Exact match only - prevents privacy leaks through similar keywords
  * - Secure search (searchSecure): Fuzzy matching enabled - allows finding similar keywords for authenticated users
  *
+ * Thread Safety: indexing and removal take a write lock, searches a shared read lock.
+ *
  * Performance Target: <50ms for 1M+ blocks
  */
 public class FastIndexSearch {
     private static final Logger logger = LoggerFactory.getLogger(FastIndexSearch.class);
     
-    private final Map<String, Set<String>> keywordIndex;
-    private final Map<String, BlockMetadataLayers> metadataCache;
-    private final Map<String, Set<String>> timeRangeIndex;
-    private final Map<String, Set<String>> contentTypeIndex;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final DocIdMap<IndexedBlock> documents;
+    private final Map<String, PostingList> keywordIndex;
+    private final NavigableMap<String, PostingList> timeRangeIndex;
+    private final Map<String, PostingList> contentTypeIndex;
+    private final Map<String, PostingList> categoryIndex;
+    private final FuzzyTermIndex fuzzyTerms;
+    private final Bm25Scorer statistics;
     
     public FastIndexSearch() {
-        this.keywordIndex = new ConcurrentHashMap<>();
-        this.metadataCache = new ConcurrentHashMap<>();
-        this.timeRangeIndex = new ConcurrentHashMap<>();
-        this.contentTypeIndex = new ConcurrentHashMap<>();
+        this.documents = new DocIdMap<>();
+        this.keywordIndex = new HashMap<>();
+        this.timeRangeIndex = new TreeMap<>(); // sorted, so "time:2024" can match its months and days
+        this.contentTypeIndex = new HashMap<>();
+        this.categoryIndex = new HashMap<>();
+        this.fuzzyTerms = new FuzzyTermIndex();
+        this.statistics = new Bm25Scorer();
+    }
+    
+    /**
+     * A block's cached metadata plus the terms it was indexed under (the forward index), so
+     * that removing or re-indexing it touches only its own posting lists.
+     */
+    private record IndexedBlock(BlockMetadataLayers metadata, String[] keywords,
+                                String timeRange, String contentType, String category) {
+        private static final String[] NO_KEYWORDS = new String[0];
     }
     
     /**
-     * Add block metadata to the fast search index
+     * Add block metadata to the fast search index.
+     * Re-indexing a block replaces the terms it was previously indexed under.
      * @param blockHash The block's hash identifier
      * @param metadata The block's complete metadata layers
      */
@@ -53,38 +79,59 @@ public class FastIndexSearch {
             return;
         }
         
-        // Cache the metadata
-        metadataCache.put(blockHash, metadata);
-        
-        PublicMetadata publicLayer = metadata.getPublicLayer();
-        if (publicLayer == null || publicLayer.isEmpty()) {
-            return; // No public metadata to index
-        }
-        
-        // Index keywords
-        for (String keyword : publicLayer.getGeneralKeywords()) {
-            // Phase 5.4 FIX: Strip "public:" prefix for intuitive searching
-            // Blocks are stored with "public:medical" but users search for "medical"
-            // This allows users to search naturally without knowing about internal prefixes
-            String indexableKeyword = keyword.toLowerCase();
-            if (indexableKeyword.startsWith("public:")) {
-                indexableKeyword = indexableKeyword.substring("public:".length());
+        lock.writeLock().lock();
+        try {
+            // Drop the previous terms; DocIdMap hands the freed id out again
+            unindex(blockHash);
+            
+            PublicMetadata publicLayer = metadata.getPublicLayer();
+            if (publicLayer == null || publicLayer.isEmpty()) {
+                // No public metadata to index, but keep the metadata cached
+                documents.assign(blockHash, new IndexedBlock(metadata, IndexedBlock.NO_KEYWORDS, null, null, null));
+                statistics.addDocument(0);
+                return;
             }
-
-            keywordIndex.computeIfAbsent(indexableKeyword, k -> ConcurrentHashMap.newKeySet())
-                       .add(blockHash);
-        }
-        
-        // Index time range
-        if (publicLayer.getTimeRange() != null && !publicLayer.getTimeRange().trim().isEmpty()) {
-            timeRangeIndex.computeIfAbsent(publicLayer.getTimeRange(), k -> ConcurrentHashMap.newKeySet())
-                         .add(blockHash);
-        }
-        
-        // Index content type
-        if (publicLayer.getContentType() != null && !publicLayer.getContentType().trim().isEmpty()) {
-            contentTypeIndex.computeIfAbsent(publicLayer.getContentType(), k -> ConcurrentHashMap.newKeySet())
-                           .add(blockHash);
+            
+            Set<String> keywords = new LinkedHashSet<>();
+            for (String keyword : publicLayer.getGeneralKeywords()) {
+                // Phase 5.4 FIX: Strip "public:" prefix for intuitive searching
+                // Blocks are stored with "public:medical" but users search for "medical"
+                // This allows users to search naturally without knowing about internal prefixes
+                String indexableKeyword = keyword.toLowerCase();
+                if (indexableKeyword.startsWith("public:")) {
+                    indexableKeyword = indexableKeyword.substring("public:".length());
+                }
+                keywords.add(indexableKeyword);
+            }
+            String timeRange = publicLayer.getTimeRange() != null && !publicLayer.getTimeRange().trim().isEmpty()
+                ? publicLayer.getTimeRange() : null;
+            String contentType = publicLayer.getContentType() != null && !publicLayer.getContentType().trim().isEmpty()
+                ? publicLayer.getContentType() : null;
+            String category = publicLayer.getBlockCategory() != null && !publicLayer.getBlockCategory().trim().isEmpty()
+                ? publicLayer.getBlockCategory() : null;
+            
+            int docId = documents.assign(blockHash,
+                new IndexedBlock(metadata, keywords.toArray(String[]::new), timeRange, contentType, category));
+            statistics.addDocument(keywords.size());
+            
+            // Index keywords, time range, content type and category
+            for (String keyword : keywords) {
+                keywordIndex.computeIfAbsent(keyword, k -> {
+                    fuzzyTerms.add(k);
+                    return new PostingList();
+                }).add(docId);
+            }
+            if (timeRange != null) {
+                timeRangeIndex.computeIfAbsent(timeRange, k -> new PostingList()).add(docId);
+            }
+            if (contentType != null) {
+                contentTypeIndex.computeIfAbsent(contentType, k -> new PostingList()).add(docId);
+            }
+            if (category != null) {
+                categoryIndex.computeIfAbsent(category, k -> new PostingList()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
     
@@ -97,18 +144,116 @@ public class FastIndexSearch {
             return;
         }
         
-        // Remove from metadata cache
-        metadataCache.remove(blockHash);
-        
-        // Remove from all indexes
-        keywordIndex.values().forEach(set -> set.remove(blockHash));
-        timeRangeIndex.values().forEach(set -> set.remove(blockHash));
-        contentTypeIndex.values().forEach(set -> set.remove(blockHash));
+        lock.writeLock().lock();
+        try {
+            unindex(blockHash);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove several blocks at once, e.g. after a rollback. Each affected posting list is
+     * re-encoded once, however many of the removed blocks it holds.
+     * @param blockHashes The block hashes to remove (null entries are ignored)
+     * @return number of blocks that were indexed and are now removed
+     */
+    public int removeBlocks(Collection<String> blockHashes) {
+        if (blockHashes == null || blockHashes.isEmpty()) {
+            return 0;
+        }
         
-        // Clean up empty index entries
-        keywordIndex.entrySet().removeIf(entry -> entry.getValue().isEmpty());
-        timeRangeIndex.entrySet().removeIf(entry -> entry.getValue().isEmpty());
-        contentTypeIndex.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+        lock.writeLock().lock();
+        try {
+            Map<String, List<Integer>> keywordIds = new HashMap<>();
+            Map<String, List<Integer>> timeRangeIds = new HashMap<>();
+            Map<String, List<Integer>> contentTypeIds = new HashMap<>();
+            Map<String, List<Integer>> categoryIds = new HashMap<>();
+            int removed = 0;
+            for (String blockHash : blockHashes) {
+                int docId = blockHash != null ? documents.idOf(blockHash) : -1;
+                if (docId < 0) {
+                    continue;
+                }
+                IndexedBlock block = documents.valueOf(docId);
+                documents.remove(blockHash);
+                statistics.removeDocument(block.keywords().length);
+                removed++;
+                for (String keyword : block.keywords()) {
+                    keywordIds.computeIfAbsent(keyword, k -> new ArrayList<>()).add(docId);
+                }
+                if (block.timeRange() != null) {
+                    timeRangeIds.computeIfAbsent(block.timeRange(), k -> new ArrayList<>()).add(docId);
+                }
+                if (block.contentType() != null) {
+                    contentTypeIds.computeIfAbsent(block.contentType(), k -> new ArrayList<>()).add(docId);
+                }
+                if (block.category() != null) {
+                    categoryIds.computeIfAbsent(block.category(), k -> new ArrayList<>()).add(docId);
+                }
+            }
+            removeAll(keywordIndex, keywordIds);
+            for (String keyword : keywordIds.keySet()) {
+                if (!keywordIndex.containsKey(keyword)) {
+                    fuzzyTerms.remove(keyword);
+                }
+            }
+            removeAll(timeRangeIndex, timeRangeIds);
+            removeAll(contentTypeIndex, contentTypeIds);
+            removeAll(categoryIndex, categoryIds);
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Remove a block's document id from the posting lists of its own terms. Caller holds the write lock.
+     */
+    private void unindex(String blockHash) {
+        int docId = documents.idOf(blockHash);
+        if (docId < 0) {
+            return;
+        }
+        IndexedBlock block = documents.valueOf(docId);
+        documents.remove(blockHash);
+        statistics.removeDocument(block.keywords().length);
+        for (String keyword : block.keywords()) {
+            if (removeFrom(keywordIndex, keyword, docId)) {
+                fuzzyTerms.remove(keyword);
+            }
+        }
+        removeFrom(timeRangeIndex, block.timeRange(), docId);
+        removeFrom(contentTypeIndex, block.contentType(), docId);
+        removeFrom(categoryIndex, block.category(), docId);
+    }
+    
+    /**
+     * @return true if the term's posting list became empty and was dropped
+     */
+    private static boolean removeFrom(Map<String, PostingList> index, String term, int docId) {
+        if (term == null) {
+            return false;
+        }
+        PostingList postings = index.get(term);
+        if (postings != null && postings.remove(docId) && postings.isEmpty()) {
+            index.remove(term);
+            return true;
+        }
+        return false;
+    }
+    
+    private static void removeAll(Map<String, PostingList> index, Map<String, List<Integer>> idsByTerm) {
+        for (Map.Entry<String, List<Integer>> entry : idsByTerm.entrySet()) {
+            PostingList postings = index.get(entry.getKey());
+            if (postings == null) {
+                continue;
+            }
+            int[] ids = entry.getValue().stream().mapToInt(Integer::intValue).sorted().toArray();
+            if (postings.removeAll(ids) > 0 && postings.isEmpty()) {
+                index.remove(entry.getKey());
+            }
+        }
     }
     
     /**
@@ -137,6 +282,15 @@ public class FastIndexSearch {
      * @return Ranked list of matching block hashes
      */
     public List<FastSearchResult> searchFast(String query, int maxResults, boolean enableFuzzy) {
+        return search(query, maxResults, enableFuzzy, null, null);
+    }
+
+    /**
+     * Score the postings of the query keywords, optionally restricted to the documents of one
+     * time range or content type, and resolve hashes for the top {@code maxResults} only.
+     */
+    private List<FastSearchResult> search(String query, int maxResults, boolean enableFuzzy,
+                                          Map<String, PostingList> filterIndex, String filterValue) {
         if (query == null || query.trim().isEmpty()) {
             return new ArrayList<>();
         }
@@ -153,60 +307,276 @@ public class FastIndexSearch {
 
         // Parse query into keywords
         Set<String> queryKeywords = parseQuery(query);
-        logger.debug("🔍 FastIndexSearch: query='{}', parsed keywords={}, total indexed keywords={}, fuzzy={}",
-            query, queryKeywords, keywordIndex.size(), enableFuzzy);
-
-        // Find matching blocks
-        Map<String, Double> blockScores = new HashMap<>();
-
-        for (String keyword : queryKeywords) {
-            // Exact matches
-            Set<String> exactMatches = keywordIndex.get(keyword.toLowerCase());
-            logger.debug("🔍 FastIndexSearch: checking keyword='{}', exact matches={}",
-                keyword.toLowerCase(), exactMatches != null ? exactMatches.size() : 0);
-            if (exactMatches != null) {
-                for (String blockHash : exactMatches) {
-                    blockScores.merge(blockHash, 3.0, Double::sum); // High score for exact match
+
+        lock.readLock().lock();
+        try {
+            PostingList filter = null;
+            if (filterIndex != null) {
+                filter = filterIndex.get(filterValue);
+                if (filter == null || filter.isEmpty()) {
+                    return new ArrayList<>();
                 }
             }
 
-            // Fuzzy matches (only if enabled and for authenticated searches)
-            if (enableFuzzy) {
-                for (Map.Entry<String, Set<String>> entry : keywordIndex.entrySet()) {
-                    String indexedKeyword = entry.getKey();
-                    if (isFuzzyMatch(keyword, indexedKeyword, enableFuzzy)) {
-                        double fuzzyScore = calculateFuzzyScore(keyword, indexedKeyword);
-                        for (String blockHash : entry.getValue()) {
-                            blockScores.merge(blockHash, fuzzyScore, Double::sum);
+            logger.debug("🔍 FastIndexSearch: query='{}', parsed keywords={}, total indexed keywords={}, fuzzy={}",
+                query, queryKeywords, keywordIndex.size(), enableFuzzy);
+
+            // Find matching postings and their weights
+            List<PostingList> matchedPostings = new ArrayList<>();
+            List<Double> weights = new ArrayList<>();
+
+            for (String keyword : queryKeywords) {
+                // Exact matches
+                PostingList exactMatches = keywordIndex.get(keyword.toLowerCase());
+                logger.debug("🔍 FastIndexSearch: checking keyword='{}', exact matches={}",
+                    keyword.toLowerCase(), exactMatches != null ? exactMatches.size() : 0);
+                if (exactMatches != null) {
+                    matchedPostings.add(exactMatches);
+                    weights.add(3.0 * statistics.idf(exactMatches.size())); // High score for exact match
+                }
+
+                // Fuzzy matches (only if enabled and for authenticated searches)
+                // Only the candidates of the fuzzy term index are compared, not the whole vocabulary
+                if (enableFuzzy) {
+                    for (String indexedKeyword : fuzzyTerms.candidates(keyword.toLowerCase())) {
+                        if (isFuzzyMatch(keyword, indexedKeyword, enableFuzzy)) {
+                            PostingList fuzzyMatches = keywordIndex.get(indexedKeyword);
+                            matchedPostings.add(fuzzyMatches);
+                            weights.add(calculateFuzzyScore(keyword, indexedKeyword) * statistics.idf(fuzzyMatches.size()));
                         }
                     }
                 }
             }
+
+            // Rank by relevance; hashes and metadata are resolved for the returned results only
+            TopResults<ScoredDocument> top = new TopResults<>(maxResults, ScoredDocument::score);
+            scoreDocuments(matchedPostings, weights, filter, top);
+
+            double searchTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            List<FastSearchResult> results = new ArrayList<>(top.size());
+            for (ScoredDocument document : top.toList()) {
+                BlockMetadataLayers metadata = documents.valueOf(document.docId()).metadata();
+                results.add(new FastSearchResult(documents.hashOf(document.docId()), document.score(), searchTimeMs,
+                                                 metadata != null ? metadata.getPublicLayer() : null));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
         }
+    }
 
-        // Calculate relevance scores
-        List<FastSearchResult> results = blockScores.entrySet().stream()
-            .map(entry -> {
-                String blockHash = entry.getKey();
-                double score = entry.getValue();
-                BlockMetadataLayers metadata = metadataCache.get(blockHash);
+    private record ScoredDocument(int docId, double score) { }
 
-                // Enhance score with metadata richness
-                if (metadata != null) {
-                    score += metadata.getMetadataRichness() * 0.1;
+    /**
+     * Merge the postings in document id order, summing the idf-scaled weights of the lists each
+     * document appears in, apply the BM25 length normalisation and add the metadata richness
+     * bonus. Documents outside {@code filter} are skipped; a result object is created only for
+     * documents that enter {@code top}.
+     */
+    private void scoreDocuments(List<PostingList> postings, List<Double> weights, PostingList filter,
+                                TopResults<ScoredDocument> top) {
+        PriorityQueue<PostingHead> heads = new PriorityQueue<>(Math.max(1, postings.size()),
+            Comparator.comparingInt(head -> head.cursor.doc()));
+        for (int i = 0; i < postings.size(); i++) {
+            PostingList.Cursor cursor = postings.get(i).cursor();
+            if (cursor.next() != PostingList.NO_MORE_DOCS) {
+                heads.add(new PostingHead(cursor, weights.get(i)));
+            }
+        }
+        PostingList.Cursor filterCursor = filter != null ? filter.cursor() : null;
+
+        while (!heads.isEmpty()) {
+            int docId = heads.peek().cursor.doc();
+            double score = 0.0;
+            while (!heads.isEmpty() && heads.peek().cursor.doc() == docId) {
+                PostingHead head = heads.poll();
+                score += head.weight;
+                if (head.cursor.next() != PostingList.NO_MORE_DOCS) {
+                    heads.add(head);
                 }
+            }
+            if (filterCursor != null && filterCursor.advance(docId) != docId) {
+                continue;
+            }
+
+            score = finalScore(docId, score);
+            if (top.accepts(score)) {
+                top.offer(new ScoredDocument(docId, score));
+            }
+        }
+    }
 
-                long endTime = System.nanoTime();
-                double searchTimeMs = (endTime - startTime) / 1_000_000.0;
+    private record PostingHead(PostingList.Cursor cursor, double weight) { }
+    
+    /**
+     * BM25 length normalisation (each keyword occurs once per block), then the metadata richness bonus.
+     */
+    private double finalScore(int docId, double termScore) {
+        IndexedBlock block = documents.valueOf(docId);
+        double score = termScore * statistics.termFrequencyNorm(1, block.keywords().length);
+        if (block.metadata() != null) {
+            score += block.metadata().getMetadataRichness() * 0.1;
+        }
+        return score;
+    }
+    
+    /**
+     * Search with a Boolean query, e.g. {@code cardiology AND 2024 NOT draft},
+     * {@code "heart surgery" OR (cardiology -draft)} or {@code category:medium type:text time:2024-01}.
+     * See {@link BooleanQuery} for the syntax. Adjacent clauses are ANDed; matching is exact
+     * (no fuzzy expansion), as for public search.
+     *
+     * Intersections are led by their cheapest clause, and the other posting lists only skip
+     * forward to its candidates, so a selective query costs about as much as its rarest term
+     * instead of the union of all of them. Matches are ranked like {@link #searchFast(String, int)}:
+     * BM25 weights of the matched keywords plus the metadata richness bonus; field filters
+     * restrict without scoring.
+     *
+     * @param query Boolean query string
+     * @param maxResults Maximum number of results to return
+     * @return Ranked list of matching block hashes
+     */
+    public List<FastSearchResult> searchBoolean(String query, int maxResults) {
+        if (query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (maxResults < 0) {
+            throw new IllegalArgumentException("maxResults cannot be negative: " + maxResults);
+        }
+        if (maxResults == 0) {
+            return new ArrayList<>();
+        }
+
+        long startTime = System.nanoTime();
+        BooleanQuery.Node parsed = BooleanQuery.parse(query);
+        if (parsed == null) {
+            return new ArrayList<>();
+        }
 
-                return new FastSearchResult(blockHash, score, searchTimeMs,
-                                          metadata != null ? metadata.getPublicLayer() : null);
-            })
-            .sorted((a, b) -> Double.compare(b.getRelevanceScore(), a.getRelevanceScore()))
-            .limit(maxResults)
-            .collect(Collectors.toList());
+        lock.readLock().lock();
+        try {
+            BooleanQuery.Matcher matcher = toMatcher(parsed);
+            logger.debug("🔍 FastIndexSearch boolean: query='{}', parsed={}, estimated cost={}",
+                query, parsed, matcher.cost());
 
-        return results;
+            TopResults<ScoredDocument> top = new TopResults<>(maxResults, ScoredDocument::score);
+            for (int docId = matcher.next(); docId != PostingList.NO_MORE_DOCS; docId = matcher.next()) {
+                double score = finalScore(docId, matcher.score());
+                if (top.accepts(score)) {
+                    top.offer(new ScoredDocument(docId, score));
+                }
+            }
+
+            double searchTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
+            List<FastSearchResult> results = new ArrayList<>(top.size());
+            for (ScoredDocument document : top.toList()) {
+                BlockMetadataLayers metadata = documents.valueOf(document.docId()).metadata();
+                results.add(new FastSearchResult(documents.hashOf(document.docId()), document.score(), searchTimeMs,
+                                                 metadata != null ? metadata.getPublicLayer() : null));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Build the matcher of a query tree against the current indexes. Caller holds the read lock.
+     */
+    private BooleanQuery.Matcher toMatcher(BooleanQuery.Node node) {
+        if (node instanceof BooleanQuery.Term term) {
+            return keywordMatcher(term.keyword());
+        }
+        if (node instanceof BooleanQuery.Phrase phrase) {
+            // No positions in the index: the multi-word keyword itself, or all of its words
+            List<BooleanQuery.Matcher> words = new ArrayList<>();
+            for (String word : phrase.words()) {
+                words.add(keywordMatcher(word));
+            }
+            return new BooleanQuery.DisjunctionMatcher(List.of(
+                keywordMatcher(phrase.keyword()),
+                new BooleanQuery.ConjunctionMatcher(words, List.of())));
+        }
+        if (node instanceof BooleanQuery.FieldFilter filter) {
+            List<BooleanQuery.Matcher> values = new ArrayList<>();
+            for (PostingList postings : fieldPostings(filter.field(), filter.value())) {
+                values.add(new BooleanQuery.PostingMatcher(postings, 0.0));
+            }
+            return union(values);
+        }
+        if (node instanceof BooleanQuery.Or or) {
+            List<BooleanQuery.Matcher> clauses = new ArrayList<>();
+            for (BooleanQuery.Node clause : or.clauses()) {
+                clauses.add(toMatcher(clause));
+            }
+            return union(clauses);
+        }
+        List<BooleanQuery.Node> clauses = node instanceof BooleanQuery.And and
+            ? and.clauses() : List.of(node); // a lone NOT subtracts from every document
+        List<BooleanQuery.Matcher> required = new ArrayList<>();
+        List<BooleanQuery.Matcher> excluded = new ArrayList<>();
+        for (BooleanQuery.Node clause : clauses) {
+            if (clause instanceof BooleanQuery.Not not) {
+                excluded.add(toMatcher(not.clause()));
+            } else {
+                required.add(toMatcher(clause));
+            }
+        }
+        if (required.isEmpty()) {
+            required.add(new BooleanQuery.AllMatcher(documents.idLimit(), id -> documents.hashOf(id) != null));
+        }
+        return required.size() == 1 && excluded.isEmpty()
+            ? required.get(0) : new BooleanQuery.ConjunctionMatcher(required, excluded);
+    }
+    
+    private BooleanQuery.Matcher keywordMatcher(String keyword) {
+        PostingList postings = keywordIndex.get(keyword);
+        if (postings == null) {
+            return new BooleanQuery.EmptyMatcher();
+        }
+        return new BooleanQuery.PostingMatcher(postings, 3.0 * statistics.idf(postings.size()));
+    }
+    
+    private static BooleanQuery.Matcher union(List<BooleanQuery.Matcher> clauses) {
+        if (clauses.isEmpty()) {
+            return new BooleanQuery.EmptyMatcher();
+        }
+        return clauses.size() == 1 ? clauses.get(0) : new BooleanQuery.DisjunctionMatcher(clauses);
+    }
+    
+    /**
+     * Posting lists of the field values a filter selects. Category and content type compare
+     * ignoring case, and a content type without a subtype ("image") selects all of its subtypes;
+     * a time range selects every indexed range it prefixes ("2024" selects "2024-01", "2024-02-14"...).
+     */
+    private List<PostingList> fieldPostings(BooleanQuery.Field field, String value) {
+        switch (field) {
+            case TIME_RANGE:
+                return new ArrayList<>(timeRangeIndex.subMap(value, true, value + Character.MAX_VALUE, false).values());
+            case CONTENT_TYPE: {
+                List<PostingList> postings = new ArrayList<>();
+                String majorType = value.contains("/") ? null : value + "/";
+                for (Map.Entry<String, PostingList> entry : contentTypeIndex.entrySet()) {
+                    String contentType = entry.getKey();
+                    if (contentType.equalsIgnoreCase(value)
+                        || (majorType != null && contentType.regionMatches(true, 0, majorType, 0, majorType.length()))) {
+                        postings.add(entry.getValue());
+                    }
+                }
+                return postings;
+            }
+            case CATEGORY: {
+                List<PostingList> postings = new ArrayList<>();
+                for (Map.Entry<String, PostingList> entry : categoryIndex.entrySet()) {
+                    if (entry.getKey().equalsIgnoreCase(value)) {
+                        postings.add(entry.getValue());
+                    }
+                }
+                return postings;
+            }
+            default:
+                return List.of();
+        }
     }
     
     /**
@@ -226,19 +596,8 @@ public class FastIndexSearch {
             return searchFast(query, maxResults);
         }
         
-        // Get blocks of specified content type
-        Set<String> typeBlocks = contentTypeIndex.get(contentType);
-        if (typeBlocks == null || typeBlocks.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        // Perform regular search and filter by content type
-        List<FastSearchResult> allResults = searchFast(query, maxResults * 2); // Get more to filter
-        
-        return allResults.stream()
-            .filter(result -> typeBlocks.contains(result.getBlockHash()))
-            .limit(maxResults)
-            .collect(Collectors.toList());
+        // Search only the blocks of the specified content type
+        return search(query, maxResults, false, contentTypeIndex, contentType);
     }
     
     /**
@@ -258,19 +617,8 @@ public class FastIndexSearch {
             return searchFast(query, maxResults);
         }
         
-        // Get blocks within time range
-        Set<String> timeBlocks = timeRangeIndex.get(timeRange);
-        if (timeBlocks == null || timeBlocks.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        // Perform regular search and filter by time range
-        List<FastSearchResult> allResults = searchFast(query, maxResults * 2);
-        
-        return allResults.stream()
-            .filter(result -> timeBlocks.contains(result.getBlockHash()))
-            .limit(maxResults)
-            .collect(Collectors.toList());
+        // Search only the blocks within the time range
+        return search(query, maxResults, false, timeRangeIndex, timeRange);
     }
     
     // ===== HELPER METHODS =====
@@ -378,36 +726,33 @@ public class FastIndexSearch {
 
     // ===== STATISTICS AND MONITORING =====
     public FastIndexStats getIndexStats() {
-        return new FastIndexStats(
-            metadataCache.size(),
-            keywordIndex.size(),
-            timeRangeIndex.size(),
-            contentTypeIndex.size(),
-            calculateIndexSize()
-        );
+        lock.readLock().lock();
+        try {
+            return new FastIndexStats(
+                documents.size(),
+                keywordIndex.size(),
+                timeRangeIndex.size(),
+                contentTypeIndex.size(),
+                calculateIndexSize()
+            );
+        } finally {
+            lock.readLock().unlock();
+        }
     }
     
     /**
      * Calculate total memory usage of indexes
      */
     private long calculateIndexSize() {
-        long size = 0;
-        
-        // Approximate memory usage calculation
-        size += keywordIndex.size() * 64; // Map entries
-        size += keywordIndex.values().stream()
-                           .mapToLong(Set::size)
-                           .sum() * 32; // Set entries
+        long size = documents.memoryBytes();
         
-        size += timeRangeIndex.size() * 64;
-        size += timeRangeIndex.values().stream()
-                             .mapToLong(Set::size)
-                             .sum() * 32;
-        
-        size += contentTypeIndex.size() * 64;
-        size += contentTypeIndex.values().stream()
-                               .mapToLong(Set::size)
-                               .sum() * 32;
+        // Approximate memory usage calculation: map entry + term String + posting list
+        for (Map<String, PostingList> index : List.of(keywordIndex, timeRangeIndex, contentTypeIndex, categoryIndex)) {
+            for (Map.Entry<String, PostingList> entry : index.entrySet()) {
+                size += 32 + 40 + entry.getKey().length() + entry.getValue().memoryBytes();
+            }
+        }
+        size += fuzzyTerms.memoryBytes();
         
         return size;
     }
@@ -416,10 +761,18 @@ public class FastIndexSearch {
      * Clear all indexes
      */
     public void clearAll() {
-        keywordIndex.clear();
-        metadataCache.clear();
-        timeRangeIndex.clear();
-        contentTypeIndex.clear();
+        lock.writeLock().lock();
+        try {
+            keywordIndex.clear();
+            documents.clear();
+            timeRangeIndex.clear();
+            contentTypeIndex.clear();
+            categoryIndex.clear();
+            fuzzyTerms.clear();
+            statistics.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
     
     /**
@@ -0,0 +1,215 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Package-private lookup of the indexed keywords that may fuzzy-match a query word, so that
+ * {@link FastIndexSearch} no longer compares every query word against the whole vocabulary.
+ *
+ * <p>A fuzzy match is a term that contains the query, is contained in it, or (both longer than
+ * 3 characters) is within 30% edit distance of it. Each case has its own lookup:</p>
+ * <pre>
+ * term contains query → bigram → {@link PostingList} of term ids, intersected rarest first
+ * query contains term → exact lookup of each substring of the query
+ * within 30% distance → merge of the bigram lists of the query, keeping terms that share
+ *                       enough bigram positions for their length (q-gram count filter)
+ * </pre>
+ * <p>{@link #candidates(String)} returns a superset of the matching terms. The caller still
+ * applies its own match test and fuzzy score to each candidate, so results and scores are the
+ * same as with a full vocabulary scan.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Not thread-safe; guarded by {@link FastIndexSearch}'s lock.</p>
+ *
+ * @since 1.0.6
+ */
+final class FuzzyTermIndex {
+
+    private final DocIdMap<Void> termIds = new DocIdMap<>();
+    private final Map<String, PostingList> bigramIndex = new HashMap<>();
+
+    /**
+     * Add a term; adding a known term does nothing.
+     */
+    void add(String term) {
+        if (termIds.idOf(term) >= 0) {
+            return;
+        }
+        int id = termIds.assign(term, null);
+        for (String bigram : bigrams(term)) {
+            bigramIndex.computeIfAbsent(bigram, k -> new PostingList()).add(id);
+        }
+    }
+
+    void remove(String term) {
+        int id = termIds.remove(term);
+        if (id < 0) {
+            return;
+        }
+        for (String bigram : bigrams(term)) {
+            PostingList postings = bigramIndex.get(bigram);
+            if (postings != null && postings.remove(id) && postings.isEmpty()) {
+                bigramIndex.remove(bigram);
+            }
+        }
+    }
+
+    int size() {
+        return termIds.size();
+    }
+
+    void clear() {
+        termIds.clear();
+        bigramIndex.clear();
+    }
+
+    /**
+     * @return approximate heap footprint in bytes
+     */
+    long memoryBytes() {
+        // HashMap node, boxed id and array slots per term (the term Strings are shared with the
+        // keyword index), plus the bigram lists
+        long size = termIds.size() * (48L + 16L + 16L);
+        for (PostingList postings : bigramIndex.values()) {
+            size += 32L + 48L + postings.memoryBytes();
+        }
+        return size;
+    }
+
+    /**
+     * @param query lower-case query word
+     * @return every term that contains the query, is contained in it, or is within the 30% edit
+     *         distance bound of it (plus possibly a few that are not)
+     */
+    Set<String> candidates(String query) {
+        Set<String> candidates = new HashSet<>();
+        if (query == null || query.isEmpty() || termIds.size() == 0) {
+            return candidates;
+        }
+        addContaining(query, candidates);
+        addContained(query, candidates);
+        if (query.length() > 3) {
+            addWithinDistance(query, candidates);
+        }
+        return candidates;
+    }
+
+    private void addContaining(String query, Set<String> candidates) {
+        if (query.length() < 2) {
+            // No bigram to look up; never sent by FastIndexSearch, which drops 1-character words
+            for (int id = 0; id < termIds.idLimit(); id++) {
+                String term = termIds.hashOf(id);
+                if (term != null && term.contains(query)) {
+                    candidates.add(term);
+                }
+            }
+            return;
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (String bigram : bigrams(query)) {
+            PostingList postings = bigramIndex.get(bigram);
+            if (postings == null) {
+                return;
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        // Intersect, driving from the rarest bigram and skipping through the others
+        PostingList.Cursor lead = lists.get(0).cursor();
+        List<PostingList.Cursor> others = new ArrayList<>(lists.size() - 1);
+        for (int i = 1; i < lists.size(); i++) {
+            others.add(lists.get(i).cursor());
+        }
+        int id = lead.next();
+        while (id != PostingList.NO_MORE_DOCS) {
+            int target = id;
+            for (PostingList.Cursor other : others) {
+                target = Math.max(target, other.advance(target));
+            }
+            if (target == id) {
+                String term = termIds.hashOf(id);
+                if (term.contains(query)) {
+                    candidates.add(term);
+                }
+                id = lead.next();
+            } else {
+                id = lead.advance(target);
+            }
+        }
+    }
+
+    private void addContained(String query, Set<String> candidates) {
+        for (int start = 0; start < query.length(); start++) {
+            for (int end = start + 1; end <= query.length(); end++) {
+                String substring = query.substring(start, end);
+                if (termIds.idOf(substring) >= 0) {
+                    candidates.add(substring);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bigram count filter: an edit that turns the query into a term destroys at most two of the
+     * query's {@code n - 1} bigram positions (an insertion at most one), so a term of length
+     * {@code L} within distance {@code d} still contains at least
+     * {@code (n - 1) - 2d + max(0, L - n)} of them. With the 30% rule this bound is always at
+     * least 1, so terms sharing no bigram are never candidates and are never looked at.
+     */
+    private void addWithinDistance(String query, Set<String> candidates) {
+        int n = query.length();
+        int longestTerm = (10 * n) / 7;
+        int[] minShared = new int[longestTerm + 1]; // 0 = no term of that length can match
+        for (int length = 4; length <= longestTerm; length++) {
+            int maxLength = Math.max(n, length);
+            int maxDistance = (3 * maxLength - 1) / 10; // largest d with d / maxLength < 0.3
+            if (Math.abs(length - n) <= maxDistance) {
+                minShared[length] = Math.max(1, (n - 1) - 2 * maxDistance + Math.max(0, length - n));
+            }
+        }
+
+        // Merge the postings of each bigram position of the query, counting positions per term
+        PriorityQueue<PostingList.Cursor> heads = new PriorityQueue<>(n,
+            Comparator.comparingInt(PostingList.Cursor::doc));
+        for (int i = 0; i + 2 <= n; i++) {
+            PostingList postings = bigramIndex.get(query.substring(i, i + 2));
+            if (postings != null) {
+                PostingList.Cursor cursor = postings.cursor();
+                cursor.next();
+                heads.add(cursor);
+            }
+        }
+        while (!heads.isEmpty()) {
+            int id = heads.peek().doc();
+            int shared = 0;
+            while (!heads.isEmpty() && heads.peek().doc() == id) {
+                PostingList.Cursor cursor = heads.poll();
+                shared++;
+                if (cursor.next() != PostingList.NO_MORE_DOCS) {
+                    heads.add(cursor);
+                }
+            }
+            String term = termIds.hashOf(id);
+            int length = term.length();
+            if (length < minShared.length && minShared[length] > 0 && shared >= minShared[length]) {
+                candidates.add(term);
+            }
+        }
+    }
+
+    private static Set<String> bigrams(String term) {
+        Set<String> bigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= term.length(); i++) {
+            bigrams.add(term.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+}
@@ -0,0 +1,321 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import java.util.Arrays;
+
+/**
+ * Package-private sorted set of int document ids, stored delta-encoded.
+ *
+ * <p>Ids are grouped in blocks of {@link #BLOCK_SIZE}. A full block keeps its first id in a skip
+ * table and the gaps to the following ids as varints, so a posting usually costs one or two
+ * bytes instead of a 64-character hash String in a concurrent set. Ids above the last full
+ * block stay in a small uncompressed tail until the block fills:</p>
+ * <pre>
+ * blockFirst[b]  blockOffset[b]  → data[offset..] = varint(id[1]-id[0]) … varint(id[127]-id[126])
+ * tail[0..tailSize)              ← newest ids, not yet encoded
+ * </pre>
+ * <ul>
+ *   <li>Appending an id greater than all others (the usual case, since {@link DocIdMap} hands
+ *       out new ids above the others and reuses the highest free id) is O(1) amortised. Other inserts and removals re-encode only the
+ *       blocks from the affected one onwards, so removing recent documents is cheap.</li>
+ *   <li>{@link Cursor#advance(int)} binary-searches the skip table, so intersections skip
+ *       whole blocks without decoding them.</li>
+ * </ul>
+ *
+ * <p><strong>Thread Safety:</strong> Not thread-safe. {@link FastIndexSearch} guards its lists
+ * with a read/write lock; a cursor is valid only while its list is not modified.</p>
+ *
+ * @since 1.0.6
+ */
+final class PostingList {
+
+    /** Returned by a cursor once it is exhausted. */
+    static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    /** Ids per encoded block (and per skip table entry). */
+    static final int BLOCK_SIZE = 128;
+
+    private static final byte[] NO_BYTES = new byte[0];
+    private static final int[] NO_INTS = new int[0];
+
+    private byte[] data = NO_BYTES;
+    private int dataLength;
+    private int[] blockFirst = NO_INTS;
+    private int[] blockOffset = NO_INTS;
+    private int blockCount;
+    private int[] tail = NO_INTS;
+    private int tailSize;
+    private int size;
+    private int lastId = -1;
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param id document id (non-negative)
+     * @return true if the id was not present
+     * @throws IllegalArgumentException if id is negative
+     */
+    boolean add(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Document id cannot be negative: " + id);
+        }
+        if (id > lastId) {
+            append(id);
+            return true;
+        }
+        if (contains(id)) {
+            return false;
+        }
+        int from = blockOf(id);
+        int[] ids = idsFrom(from);
+        int at = -Arrays.binarySearch(ids, id) - 1;
+        int[] updated = new int[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, at);
+        updated[at] = id;
+        System.arraycopy(ids, at, updated, at + 1, ids.length - at);
+        replaceFrom(from, updated);
+        return true;
+    }
+
+    /**
+     * @return true if the id was present
+     */
+    boolean remove(int id) {
+        return removeAll(new int[] {id}) == 1;
+    }
+
+    /**
+     * Remove several ids at once. Only the blocks from the one holding the smallest removed id
+     * onwards are re-encoded, so removing the newest documents touches the tail only.
+     *
+     * @param sortedIds ids to remove, ascending
+     * @return number of ids that were present and removed
+     */
+    int removeAll(int[] sortedIds) {
+        if (sortedIds.length == 0 || size == 0 || sortedIds[0] > lastId) {
+            return 0;
+        }
+        int from = blockOf(Math.max(0, sortedIds[0]));
+        int[] ids = idsFrom(from);
+        int[] kept = new int[ids.length];
+        int keptCount = 0;
+        int j = 0;
+        for (int id : ids) {
+            while (j < sortedIds.length && sortedIds[j] < id) {
+                j++;
+            }
+            if (j < sortedIds.length && sortedIds[j] == id) {
+                j++;
+            } else {
+                kept[keptCount++] = id;
+            }
+        }
+        int removed = ids.length - keptCount;
+        if (removed > 0) {
+            replaceFrom(from, Arrays.copyOf(kept, keptCount));
+        }
+        return removed;
+    }
+
+    boolean contains(int id) {
+        return id >= 0 && id <= lastId && cursor().advance(id) == id;
+    }
+
+    /**
+     * @return all ids in ascending order
+     */
+    int[] toArray() {
+        int[] ids = new int[size];
+        Cursor cursor = cursor();
+        for (int i = 0; i < size; i++) {
+            ids[i] = cursor.next();
+        }
+        return ids;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * @return approximate heap footprint in bytes
+     */
+    long memoryBytes() {
+        return 56L + data.length + 4L * (blockFirst.length + blockOffset.length + tail.length);
+    }
+
+    private void append(int id) {
+        if (tailSize == tail.length) {
+            tail = Arrays.copyOf(tail, Math.min(BLOCK_SIZE, Math.max(2, tail.length * 2)));
+        }
+        tail[tailSize++] = id;
+        lastId = id;
+        size++;
+        if (tailSize == BLOCK_SIZE) {
+            encodeTail();
+        }
+    }
+
+    private void encodeTail() {
+        if (blockCount == blockFirst.length) {
+            int capacity = Math.max(4, blockCount * 2);
+            blockFirst = Arrays.copyOf(blockFirst, capacity);
+            blockOffset = Arrays.copyOf(blockOffset, capacity);
+        }
+        int needed = dataLength + 5 * (BLOCK_SIZE - 1);
+        if (needed > data.length) {
+            data = Arrays.copyOf(data, Math.max(needed, data.length + (data.length >> 1)));
+        }
+        blockFirst[blockCount] = tail[0];
+        blockOffset[blockCount] = dataLength;
+        for (int i = 1; i < BLOCK_SIZE; i++) {
+            int delta = tail[i] - tail[i - 1];
+            while ((delta & ~0x7F) != 0) {
+                data[dataLength++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            data[dataLength++] = (byte) delta;
+        }
+        blockCount++;
+        tailSize = 0;
+    }
+
+    /**
+     * @return index of the encoded block that would hold {@code id}, or blockCount for the tail
+     */
+    private int blockOf(int id) {
+        if (blockCount == 0 || (tailSize > 0 && id >= tail[0])) {
+            return blockCount;
+        }
+        int found = Arrays.binarySearch(blockFirst, 0, blockCount, id);
+        return found >= 0 ? found : Math.max(0, -found - 2);
+    }
+
+    /**
+     * @return the ids of encoded block {@code block} onwards, tail included
+     */
+    private int[] idsFrom(int block) {
+        int[] ids = new int[size - block * BLOCK_SIZE];
+        Cursor cursor = new Cursor();
+        cursor.block = block;
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cursor.next();
+        }
+        return ids;
+    }
+
+    /**
+     * Drop encoded block {@code block} onwards (tail included) and append {@code ids} instead.
+     */
+    private void replaceFrom(int block, int[] ids) {
+        if (block < blockCount) {
+            dataLength = blockOffset[block];
+        }
+        size = block * BLOCK_SIZE;
+        blockCount = block;
+        tailSize = 0;
+        lastId = -1;
+        if (block > 0) {
+            Cursor cursor = new Cursor();
+            cursor.block = block - 1;
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                lastId = cursor.next();
+            }
+        }
+        for (int id : ids) {
+            append(id);
+        }
+        if (size == 0) {
+            data = NO_BYTES;
+            blockFirst = NO_INTS;
+            blockOffset = NO_INTS;
+            tail = NO_INTS;
+        }
+    }
+
+    /**
+     * Forward iterator over the ids.
+     */
+    final class Cursor {
+        private int block;       // encoded block index; blockCount means the tail
+        private int position;    // index of the next id within the block or tail
+        private int offset;      // byte offset of the next gap within data
+        private int doc = -1;
+
+        /**
+         * @return the current id, -1 before the first call to next, or {@link #NO_MORE_DOCS}
+         */
+        int doc() {
+            return doc;
+        }
+
+        /**
+         * @return the next id, or {@link #NO_MORE_DOCS}
+         */
+        int next() {
+            while (block < blockCount) {
+                if (position == 0) {
+                    offset = blockOffset[block];
+                    position = 1;
+                    return doc = blockFirst[block];
+                }
+                if (position < BLOCK_SIZE) {
+                    int delta = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = data[offset++];
+                        delta |= (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    position++;
+                    return doc += delta;
+                }
+                block++;
+                position = 0;
+            }
+            if (position < tailSize) {
+                return doc = tail[position++];
+            }
+            return doc = NO_MORE_DOCS;
+        }
+
+        /**
+         * Move to the first id at or after {@code target}.
+         *
+         * @return that id, or {@link #NO_MORE_DOCS}
+         */
+        int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            if (target > lastId) {
+                block = blockCount;
+                position = tailSize;
+                return doc = NO_MORE_DOCS;
+            }
+            if (block < blockCount) {
+                if (tailSize > 0 && target >= tail[0]) {
+                    block = blockCount;
+                    position = 0;
+                } else {
+                    int found = Arrays.binarySearch(blockFirst, block + 1, blockCount, target);
+                    int skipTo = found >= 0 ? found : -found - 2;
+                    if (skipTo > block) {
+                        block = skipTo;
+                        position = 0;
+                    }
+                }
+            }
+            while (next() < target) {
+                // decode forward within the block
+            }
+            return doc;
+        }
+    }
+}
@@ -108,6 +108,7 @@ public class SearchStrategyRouter {
             
             switch (chosenStrategy) {
                 case FAST_PUBLIC:
+                case BOOLEAN_PUBLIC:
                     result = executePublicSearch(query, maxResults, analysis);
                     break;
                     
@@ -178,6 +179,11 @@ public class SearchStrategyRouter {
      * Analyze the complexity of a search query
      */
     private QueryComplexity analyzeQueryComplexity(String query) {
+        // Operators, phrases and field filters: executed by the Boolean query engine
+        if (BooleanQuery.isBooleanQuery(query)) {
+            return QueryComplexity.BOOLEAN;
+        }
+        
         String[] words = query.toLowerCase().split("\\s+");
         
         // Simple: 1-2 words, no special patterns
@@ -227,8 +233,9 @@ public class SearchStrategyRouter {
             return SearchStrategy.HYBRID_CASCADE;
         }
         
-        // Complex queries with password: Use hybrid cascade
-        if (complexity == QueryComplexity.COMPLEX && hasPassword) {
+        // Complex and Boolean queries with password: Use hybrid cascade
+        // (both stages evaluate Boolean queries: executePublicSearch and EncryptedContentSearch)
+        if ((complexity == QueryComplexity.COMPLEX || complexity == QueryComplexity.BOOLEAN) && hasPassword) {
             return SearchStrategy.HYBRID_CASCADE;
         }
         
@@ -247,6 +254,11 @@ public class SearchStrategyRouter {
             return SearchStrategy.PARALLEL_MULTI;
         }
         
+        // Boolean queries WITHOUT password: Use the Boolean public search
+        if (complexity == QueryComplexity.BOOLEAN) {
+            return SearchStrategy.BOOLEAN_PUBLIC;
+        }
+        
         // Simple queries WITHOUT password: Use fast public search
         return SearchStrategy.FAST_PUBLIC;
     }
@@ -254,11 +266,13 @@ public class SearchStrategyRouter {
     // ===== STRATEGY EXECUTION METHODS =====
     
     /**
-     * Execute fast public metadata search
+     * Execute fast public metadata search (Boolean queries go to the Boolean query engine)
      */
     private AdvancedSearchResult executePublicSearch(String query, int maxResults, QueryAnalysis analysis) {
         logger.info("⚡ FAST PUBLIC: Searching for query='{}' with maxResults={}", query, maxResults);
-        List<FastIndexSearch.FastSearchResult> fastResults = fastIndexSearch.searchFast(query, maxResults);
+        List<FastIndexSearch.FastSearchResult> fastResults = analysis.getComplexity() == QueryComplexity.BOOLEAN
+            ? fastIndexSearch.searchBoolean(query, maxResults)
+            : fastIndexSearch.searchFast(query, maxResults);
         logger.info("⚡ FAST PUBLIC: Found {} results from FastIndexSearch", fastResults.size());
         
         List<SearchResultItem> items = fastResults.stream()
@@ -436,6 +450,14 @@ public class SearchStrategyRouter {
         encryptedContentSearch.removeBlock(blockHash);
     }
     
+    /**
+     * Remove several blocks from all search indexes in one batch (e.g. after a rollback)
+     */
+    public void removeBlocks(Collection<String> blockHashes) {
+        fastIndexSearch.removeBlocks(blockHashes);
+        encryptedContentSearch.removeBlocks(blockHashes);
+    }
+    
     /**
      * Get comprehensive search statistics
      */
@@ -485,7 +507,8 @@ public class SearchStrategyRouter {
         FAST_PUBLIC("Fast public metadata search"),
         ENCRYPTED_CONTENT("Encrypted content search"),
         HYBRID_CASCADE("Hybrid cascade (fast -> encrypted)"),
-        PARALLEL_MULTI("Parallel multi-strategy search");
+        PARALLEL_MULTI("Parallel multi-strategy search"),
+        BOOLEAN_PUBLIC("Boolean query over public metadata");
         
         private final String description;
         
@@ -497,7 +520,9 @@ public class SearchStrategyRouter {
     }
     
     public enum QueryComplexity {
-        SIMPLE, MEDIUM, COMPLEX
+        SIMPLE, MEDIUM, COMPLEX,
+        /** AND/OR/NOT, quoted phrases or field filters; see {@link FastIndexSearch#searchBoolean(String, int)} */
+        BOOLEAN
     }
     
     public enum SearchResultSource {
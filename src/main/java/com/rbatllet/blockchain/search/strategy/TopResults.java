@@ -0,0 +1,98 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps the {@code capacity} highest-scoring items offered to it, for ranking search results
+ * without collecting and sorting every candidate.
+ *
+ * <p>A bounded min-heap: the root is the weakest kept item, so an item that cannot make the
+ * cut is rejected after one comparison and an accepted one costs O(log k). Callers that build
+ * result objects can test {@link #accepts(double)} first and skip building the rejected ones.
+ * Among equal scores the item offered first wins, so the result equals a stable sort by
+ * descending score followed by {@code limit(capacity)}.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Not thread-safe; use one instance per query.</p>
+ *
+ * @param <T> ranked item
+ * @since 1.0.6
+ */
+public final class TopResults<T> {
+
+    private record Entry<T>(T item, double score, long sequence) { }
+
+    // Weakest first: lowest score, then the most recently offered
+    private static final Comparator<Entry<?>> WEAKEST_FIRST =
+        Comparator.<Entry<?>>comparingDouble(Entry::score)
+            .thenComparing(Comparator.<Entry<?>>comparingLong(Entry::sequence).reversed());
+
+    private final int capacity;
+    private final ToDoubleFunction<? super T> scoreFunction;
+    private final PriorityQueue<Entry<T>> heap;
+    private long sequence;
+
+    /**
+     * @param capacity number of items to keep (k)
+     * @param scoreFunction relevance score of an item; higher is better
+     * @throws IllegalArgumentException if capacity is negative or scoreFunction is null
+     */
+    public TopResults(int capacity, ToDoubleFunction<? super T> scoreFunction) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        if (scoreFunction == null) {
+            throw new IllegalArgumentException("Score function cannot be null");
+        }
+        this.capacity = capacity;
+        this.scoreFunction = scoreFunction;
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(capacity, 1024)), WEAKEST_FIRST);
+    }
+
+    /**
+     * @return true if an item with this score offered now would be kept
+     */
+    public boolean accepts(double score) {
+        return capacity > 0 && (heap.size() < capacity || score > heap.peek().score());
+    }
+
+    /**
+     * @return true if the item was kept (possibly evicting the weakest kept item)
+     */
+    public boolean offer(T item) {
+        double score = scoreFunction.applyAsDouble(item);
+        long order = sequence++;
+        if (!accepts(score)) {
+            return false;
+        }
+        if (heap.size() == capacity) {
+            heap.poll();
+        }
+        heap.add(new Entry<>(item, score, order));
+        return true;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * @return the kept items, best first
+     */
+    public List<T> toList() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(WEAKEST_FIRST.reversed());
+        List<T> items = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            items.add(entry.item());
+        }
+        return items;
+    }
+}
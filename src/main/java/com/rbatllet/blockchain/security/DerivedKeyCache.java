@@ -0,0 +1,133 @@
+package com.rbatllet.blockchain.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.rbatllet.blockchain.util.BoundedLruCache;
+
+import static com.rbatllet.blockchain.util.CryptoUtil.getSecureRandom;
+
+/**
+ * Package-private bounded LRU cache of password-derived keys with a time to live.
+ *
+ * <p>Used by {@link KeyDerivationUtil} when enabled with
+ * {@link KeyDerivationUtil#enableDerivedKeyCache(int, java.time.Duration)}, so decrypting many
+ * items protected by the same password and salt runs PBKDF2 once. Entries are keyed by an
+ * HMAC-SHA3-256 of (algorithm, iterations, key length, salt, password) under a random
+ * per-process secret, so the cache keys cannot be used to test password guesses. Callers get
+ * copies; the cached key bytes are zeroed when an entry expires, is evicted or is cleared.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Lookups and updates are synchronized; counters are atomic.</p>
+ *
+ * @since 1.0.6
+ */
+final class DerivedKeyCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA3-256";
+
+    private record Entry(byte[] key, long expiresAtNanos) { }
+
+    private final long ttlNanos;
+    private final byte[] secret = new byte[32];
+    private final AtomicLong evictions = new AtomicLong();
+    private final BoundedLruCache<String, Entry> entries;
+
+    DerivedKeyCache(int capacity, long ttlNanos) {
+        if (ttlNanos <= 0) {
+            throw new IllegalArgumentException("Time to live must be positive");
+        }
+        this.ttlNanos = ttlNanos;
+        getSecureRandom().nextBytes(secret);
+        this.entries = new BoundedLruCache<>(capacity, this::discard);
+    }
+
+    /**
+     * @return the cache key of a derivation
+     */
+    String cacheKey(String algorithm, String password, byte[] salt, int iterations, int keyLength) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+            byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+            mac.update(ByteBuffer.allocate(4 * Integer.BYTES)
+                .putInt(name.length).putInt(iterations).putInt(keyLength).putInt(salt.length).array());
+            mac.update(name);
+            mac.update(salt);
+            mac.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+
+    /**
+     * @return a copy of the cached key, or {@code null} on a miss or if it expired
+     */
+    synchronized byte[] get(String cacheKey) {
+        Entry entry = entries.get(cacheKey, cached -> System.nanoTime() - cached.expiresAtNanos() < 0);
+        if (entry != null) {
+            return entry.key().clone();
+        }
+        Entry expired = entries.remove(cacheKey);
+        if (expired != null) {
+            discard(expired);
+        }
+        return null;
+    }
+
+    /**
+     * Cache a copy of {@code key}; expired entries are dropped first.
+     */
+    synchronized void put(String cacheKey, byte[] key) {
+        long now = System.nanoTime();
+        entries.removeIf(entry -> {
+            if (now - entry.expiresAtNanos() >= 0) {
+                discard(entry);
+                return true;
+            }
+            return false;
+        });
+        Entry previous = entries.put(cacheKey, new Entry(key.clone(), now + ttlNanos));
+        if (previous != null) {
+            Arrays.fill(previous.key(), (byte) 0);
+        }
+    }
+
+    /**
+     * Zero and drop all keys and reset the statistics.
+     */
+    synchronized void clear() {
+        entries.removeIf(entry -> {
+            Arrays.fill(entry.key(), (byte) 0);
+            return true;
+        });
+        entries.resetStatistics();
+        evictions.set(0);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return snapshot with size, capacity, ttlMs, hits, misses, evictions and hit rate (percentage)
+     */
+    Map<String, Object> getStatistics() {
+        Map<String, Object> stats = entries.getStatistics();
+        stats.put("ttlMs", ttlNanos / 1_000_000);
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    private void discard(Entry entry) {
+        Arrays.fill(entry.key(), (byte) 0);
+        evictions.incrementAndGet();
+    }
+}
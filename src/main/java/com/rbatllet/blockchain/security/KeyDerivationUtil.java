@@ -3,7 +3,9 @@ package com.rbatllet.blockchain.security;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Map;
 
 import static com.rbatllet.blockchain.util.CryptoUtil.getSecureRandom;
 
@@ -22,6 +24,10 @@ import static com.rbatllet.blockchain.util.CryptoUtil.getSecureRandom;
  *   <li>Key length: 256 bits for AES-256</li>
  * </ul>
  *
+ * <p>Derivations can optionally be served from a bounded, expiring in-memory cache
+ * ({@link #enableDerivedKeyCache(int, Duration)}), for workloads that decrypt many items
+ * protected by the same password and salt.</p>
+ *
  * @see <a href="https://pages.nist.gov/800-63-3/sp800-63b.html#sec5">NIST Digital Identity Guidelines</a>
  */
 public final class KeyDerivationUtil {
@@ -36,6 +42,14 @@ public final class KeyDerivationUtil {
     private static final int DEFAULT_ITERATIONS = 210000; // OWASP 2023 recommendation for PBKDF2-HMAC-SHA512
     private static final int DEFAULT_KEY_LENGTH = 32; // 256-bit key for AES-256
 
+    /** Default number of keys kept by {@link #enableDerivedKeyCache()}. */
+    public static final int DEFAULT_DERIVED_KEY_CACHE_SIZE = 256;
+    /** Default time a key is kept by {@link #enableDerivedKeyCache()}. */
+    public static final Duration DEFAULT_DERIVED_KEY_CACHE_TTL = Duration.ofMinutes(5);
+
+    // Null while disabled (default)
+    private static volatile DerivedKeyCache derivedKeyCache;
+
     /**
      * Generate a random salt for key derivation.
      *
@@ -83,18 +97,139 @@ public final class KeyDerivationUtil {
      * @throws RuntimeException if key derivation fails
      */
     public static byte[] deriveKey(String password, byte[] salt, int iterations, int keyLength) {
+        return deriveKey(PBKDF2_ALGORITHM, password, salt, iterations, keyLength);
+    }
+
+    /**
+     * Derive a key from password with the given PBKDF2 variant (e.g. {@code PBKDF2WithHmacSHA256}
+     * for data encrypted by {@code SecureBlockEncryptionService}).
+     *
+     * <p>When the derived key cache is enabled, a derivation with the same algorithm, password,
+     * salt, iterations and key length is served from it.</p>
+     *
+     * @param algorithm PBKDF2 algorithm name for {@link SecretKeyFactory}
+     * @param password Password to derive key from
+     * @param salt Salt bytes
+     * @param iterations Number of PBKDF2 iterations
+     * @param keyLength Derived key length in bytes
+     * @return Derived key bytes (a new array the caller may clear)
+     * @throws RuntimeException if key derivation fails
+     * @since 1.0.6
+     */
+    public static byte[] deriveKey(String algorithm, String password, byte[] salt, int iterations, int keyLength) {
+        DerivedKeyCache cache = derivedKeyCache;
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = cache.cacheKey(algorithm, password, salt, iterations, keyLength);
+            byte[] cached = cache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        PBEKeySpec spec = new PBEKeySpec(
+            password.toCharArray(),
+            salt,
+            iterations,
+            keyLength * 8 // key length in bits
+        );
         try {
-            PBEKeySpec spec = new PBEKeySpec(
-                password.toCharArray(),
-                salt,
-                iterations,
-                keyLength * 8 // key length in bits
-            );
-            SecretKeyFactory factory = SecretKeyFactory.getInstance(PBKDF2_ALGORITHM);
-            return factory.generateSecret(spec).getEncoded();
+            SecretKeyFactory factory = SecretKeyFactory.getInstance(algorithm);
+            byte[] derived = factory.generateSecret(spec).getEncoded();
+            if (cache != null) {
+                cache.put(cacheKey, derived);
+            }
+            return derived;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to derive key from password using " + PBKDF2_ALGORITHM, e);
+            throw new RuntimeException("Failed to derive key from password using " + algorithm, e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * Enable the derived key cache with {@link #DEFAULT_DERIVED_KEY_CACHE_SIZE} entries and a
+     * time to live of {@link #DEFAULT_DERIVED_KEY_CACHE_TTL}.
+     *
+     * @since 1.0.6
+     * @see #enableDerivedKeyCache(int, Duration)
+     */
+    public static void enableDerivedKeyCache() {
+        enableDerivedKeyCache(DEFAULT_DERIVED_KEY_CACHE_SIZE, DEFAULT_DERIVED_KEY_CACHE_TTL);
+    }
+
+    /**
+     * Enable (or resize) the derived key cache.
+     *
+     * <p>Keys derived by {@link #deriveKey(String, String, byte[], int, int)} and the methods
+     * delegating to it are kept in memory for up to {@code ttl}, so repeated decryptions with
+     * the same password and salt (paging through results, re-running a search) skip PBKDF2.
+     * Keys are zeroed when they expire or are evicted. Disabled by default, as derived keys then
+     * stay in memory longer; a previously enabled cache is cleared.</p>
+     *
+     * @param maxEntries maximum number of cached keys (least recently used evicted first)
+     * @param ttl time a key is kept after it was derived
+     * @throws IllegalArgumentException if {@code maxEntries} or {@code ttl} is not positive
+     * @since 1.0.6
+     */
+    public static void enableDerivedKeyCache(int maxEntries, Duration ttl) {
+        if (ttl == null) {
+            throw new IllegalArgumentException("Time to live cannot be null");
+        }
+        DerivedKeyCache previous = derivedKeyCache;
+        derivedKeyCache = new DerivedKeyCache(maxEntries, ttl.toNanos());
+        if (previous != null) {
+            previous.clear();
+        }
+    }
+
+    /**
+     * Disable the derived key cache and zero all cached keys.
+     *
+     * @since 1.0.6
+     */
+    public static void disableDerivedKeyCache() {
+        DerivedKeyCache previous = derivedKeyCache;
+        derivedKeyCache = null;
+        if (previous != null) {
+            previous.clear();
+        }
+    }
+
+    /**
+     * @return true if derivations are served from the derived key cache
+     * @since 1.0.6
+     */
+    public static boolean isDerivedKeyCacheEnabled() {
+        return derivedKeyCache != null;
+    }
+
+    /**
+     * Zero and drop all cached keys and reset the cache statistics (e.g. after a password change).
+     *
+     * @since 1.0.6
+     */
+    public static void clearDerivedKeyCache() {
+        DerivedKeyCache cache = derivedKeyCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Statistics of the derived key cache.
+     *
+     * @return enabled, and when enabled size, capacity, ttlMs, hits, misses, evictions and
+     *         hitRate (percentage)
+     * @since 1.0.6
+     */
+    public static Map<String, Object> getDerivedKeyCacheStatistics() {
+        DerivedKeyCache cache = derivedKeyCache;
+        if (cache == null) {
+            return Map.of("enabled", false);
         }
+        Map<String, Object> stats = cache.getStatistics();
+        stats.put("enabled", true);
+        return stats;
     }
 
     /**
@@ -0,0 +1,160 @@
+package com.rbatllet.blockchain.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short, non-secret key check values that tell which password a block was encrypted with,
+ * without decrypting it.
+ *
+ * <p>A verifier is created once per password and chain: the password goes through PBKDF2 with
+ * the chain's genesis block hash as salt, at the same cost as the per-item derivation of
+ * {@code SecureBlockEncryptionService}. The check value of a block is then one HMAC of its
+ * hash, truncated to {@value #CHECK_VALUE_BYTES} bytes:</p>
+ *
+ * <pre>
+ * K          = PBKDF2-HMAC-SHA256(password, genesisHash, 10000 iterations, 32 bytes)
+ * checkValue = hex(HMAC-SHA3-256(K, "block-password-verifier|" + blockHash)[0..4])
+ * </pre>
+ *
+ * <p>Matching a password against many blocks therefore costs one PBKDF2 run plus one HMAC per
+ * block, instead of one PBKDF2 and a decryption attempt per block. The truncation leaves
+ * roughly one in four billion wrong passwords matching a given block, so a match is confirmed
+ * by the normal decryption.</p>
+ *
+ * <p><strong>Security:</strong> the same shortcut is available to an attacker who can read the
+ * chain. The salt is per chain (the genesis hash), not per block, so one PBKDF2 run per guess
+ * tests that guess against every check value on the chain at once, for every password in use;
+ * without check values, the random per-block salts forced a separate PBKDF2 run per guess and
+ * block. Check values therefore make offline guessing cheaper by a factor of the number of
+ * encrypted blocks, and only high-entropy passwords should be used for encrypted blocks.</p>
+ *
+ * <p>Derived keys are kept in a small expiring cache ({@value #KEY_CACHE_SIZE} passwords,
+ * {@value #KEY_CACHE_TTL_MINUTES} minutes), so writing many blocks with one password runs
+ * PBKDF2 once; {@link #clearCache()} drops them.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Instances are safe for concurrent use until
+ * {@link #destroy()} is called.</p>
+ *
+ * @since 1.0.6
+ */
+public final class PasswordVerifier {
+
+    /** Bytes of HMAC output kept in a check value. */
+    public static final int CHECK_VALUE_BYTES = 4;
+
+    private static final String KDF_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int KDF_ITERATIONS = 10000;
+    private static final int KEY_LENGTH = 32;
+    private static final String HMAC_ALGORITHM = "HmacSHA3-256";
+    private static final byte[] DOMAIN = "block-password-verifier|".getBytes(StandardCharsets.UTF_8);
+
+    /** Passwords whose verifier keys are cached. */
+    public static final int KEY_CACHE_SIZE = 64;
+    /** Minutes a cached verifier key is kept. */
+    public static final int KEY_CACHE_TTL_MINUTES = 5;
+
+    private static final DerivedKeyCache KEY_CACHE =
+        new DerivedKeyCache(KEY_CACHE_SIZE, TimeUnit.MINUTES.toNanos(KEY_CACHE_TTL_MINUTES));
+
+    private final byte[] key;
+    private volatile boolean destroyed;
+
+    private PasswordVerifier(byte[] key) {
+        this.key = key;
+    }
+
+    /**
+     * Derive the verifier of a password on a chain, or get its key from the cache.
+     *
+     * @param password the encryption password
+     * @param genesisHash hash of the chain's genesis block (per-chain salt)
+     * @return the verifier
+     * @throws IllegalArgumentException if password or genesisHash is null or empty
+     */
+    public static PasswordVerifier derive(String password, String genesisHash) {
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        if (genesisHash == null || genesisHash.isEmpty()) {
+            throw new IllegalArgumentException("Genesis hash cannot be null or empty");
+        }
+        byte[] salt = genesisHash.getBytes(StandardCharsets.UTF_8);
+        String cacheKey = KEY_CACHE.cacheKey(KDF_ALGORITHM, password, salt, KDF_ITERATIONS, KEY_LENGTH);
+        byte[] key = KEY_CACHE.get(cacheKey);
+        if (key == null) {
+            key = KeyDerivationUtil.deriveKey(KDF_ALGORITHM, password, salt, KDF_ITERATIONS, KEY_LENGTH);
+            KEY_CACHE.put(cacheKey, key);
+        }
+        return new PasswordVerifier(key);
+    }
+
+    /**
+     * Zero and drop all cached verifier keys. Verifiers already derived are not affected.
+     */
+    public static void clearCache() {
+        KEY_CACHE.clear();
+    }
+
+    /**
+     * @param blockHash hash of the block
+     * @return the hex check value to store with the block
+     * @throws IllegalArgumentException if blockHash is null
+     * @throws IllegalStateException if the verifier was destroyed
+     */
+    public String checkValue(String blockHash) {
+        return HexFormat.of().formatHex(compute(blockHash));
+    }
+
+    /**
+     * @param blockHash hash of the block
+     * @param checkValue check value stored with the block (may be null)
+     * @return true if the check value was made with this verifier's password; false for a
+     *         missing or malformed check value
+     * @throws IllegalStateException if the verifier was destroyed
+     */
+    public boolean matches(String blockHash, String checkValue) {
+        if (blockHash == null || checkValue == null || checkValue.length() != CHECK_VALUE_BYTES * 2) {
+            return false;
+        }
+        byte[] stored;
+        try {
+            stored = HexFormat.of().parseHex(checkValue);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(compute(blockHash), stored);
+    }
+
+    /**
+     * Zero the derived key. Further use throws {@link IllegalStateException}.
+     */
+    public void destroy() {
+        destroyed = true;
+        Arrays.fill(key, (byte) 0);
+    }
+
+    private byte[] compute(String blockHash) {
+        if (blockHash == null) {
+            throw new IllegalArgumentException("Block hash cannot be null");
+        }
+        if (destroyed) {
+            throw new IllegalStateException("Password verifier has been destroyed");
+        }
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            mac.update(DOMAIN);
+            byte[] tag = mac.doFinal(blockHash.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(tag, CHECK_VALUE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.rbatllet.blockchain.service;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Package-private chunked AES-256-GCM format for off-chain files.
+ *
+ * <p>Legacy off-chain files are one GCM message over the whole payload, so storing or reading
+ * one needs the whole file in memory. A chunked file is a header followed by independently
+ * authenticated segments:</p>
+ * <pre>
+ * file    := MAGIC version:u8 segmentSize:i32 segment+
+ * segment := AES-GCM(key, nonce(index, last), aad = header, plaintext[segmentSize]) (last one shorter)
+ * nonce   := ivPrefix[7] index:i32 last:u8
+ * </pre>
+ * <ul>
+ *   <li>The 7-byte nonce prefix is the start of the file's random IV (stored in
+ *       {@code OffChainData.encryptionIV}); the segment index and the last-segment flag in the
+ *       nonce make reordered, dropped or truncated segments fail authentication.</li>
+ *   <li>Every segment but the last holds exactly {@code segmentSize} plaintext bytes, so the
+ *       plaintext size and the position of any byte follow from the file size: a byte range
+ *       is read by decrypting only the segments it covers.</li>
+ * </ul>
+ *
+ * <p>Files are recognized by their header; a legacy file is read as before.</p>
+ *
+ * @since 1.0.6
+ */
+final class ChunkedAeadFormat {
+
+    static final byte[] MAGIC = {'P', 'B', 'C', 'K'};
+    static final int VERSION = 1;
+    static final int HEADER_LENGTH = MAGIC.length + 1 + Integer.BYTES;
+    static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+    static final int TAG_LENGTH = 16;
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int NONCE_PREFIX_LENGTH = 7;
+    private static final int MIN_SEGMENT_SIZE = 1024;
+    private static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private ChunkedAeadFormat() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * @return true if {@code path} starts with a chunked format header
+     */
+    static boolean isChunked(Path path) {
+        byte[] head = new byte[MAGIC.length + 1];
+        try (InputStream in = Files.newInputStream(path)) {
+            return in.readNBytes(head, 0, head.length) == head.length
+                && Arrays.equals(head, 0, MAGIC.length, MAGIC, 0, MAGIC.length)
+                && head[MAGIC.length] == VERSION;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Size of the chunked file for {@code plaintextSize} bytes.
+     */
+    static long encryptedSize(long plaintextSize, int segmentSize) {
+        long segments = Math.max(1, (plaintextSize + segmentSize - 1) / segmentSize);
+        return HEADER_LENGTH + plaintextSize + segments * TAG_LENGTH;
+    }
+
+    /**
+     * Plaintext size of a chunked file of {@code fileSize} bytes.
+     *
+     * @throws IOException if no plaintext size yields this file size
+     */
+    static long plaintextSize(long fileSize, int segmentSize) throws IOException {
+        long body = fileSize - HEADER_LENGTH;
+        long stride = (long) segmentSize + TAG_LENGTH;
+        long segments = (body + stride - 1) / stride;
+        long plaintext = body - segments * TAG_LENGTH;
+        if (body < TAG_LENGTH || plaintext < 0 || encryptedSize(plaintext, segmentSize) != fileSize) {
+            throw new IOException("Truncated chunked off-chain file (" + fileSize + " bytes)");
+        }
+        return plaintext;
+    }
+
+    /**
+     * Check the header at the position of {@code head} and return its segment size.
+     *
+     * @throws IOException if {@code head} does not start with a chunked format header
+     */
+    static int segmentSize(ByteBuffer head, String name) throws IOException {
+        if (head.remaining() < HEADER_LENGTH) {
+            throw new IOException("Truncated chunked off-chain header: " + name);
+        }
+        byte[] magic = new byte[MAGIC.length];
+        head.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || head.get() != VERSION) {
+            throw new IOException("Not a chunked off-chain file: " + name);
+        }
+        int segmentSize = head.getInt();
+        if (segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IOException("Invalid segment size " + segmentSize + " in " + name);
+        }
+        return segmentSize;
+    }
+
+    static byte[] header(int segmentSize) {
+        return ByteBuffer.allocate(HEADER_LENGTH).put(MAGIC).put((byte) VERSION).putInt(segmentSize).array();
+    }
+
+    private static GCMParameterSpec nonce(byte[] iv, int index, boolean last) {
+        byte[] nonce = ByteBuffer.allocate(NONCE_PREFIX_LENGTH + Integer.BYTES + 1)
+            .put(iv, 0, NONCE_PREFIX_LENGTH)
+            .putInt(index)
+            .put((byte) (last ? 1 : 0))
+            .array();
+        return new GCMParameterSpec(TAG_LENGTH * 8, nonce);
+    }
+
+    private static Cipher newCipher() throws IOException {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("AES-GCM is not available", e);
+        }
+    }
+
+    /**
+     * Encrypting stream: plaintext is buffered one segment at a time. The SHA3-256 of the
+     * plaintext is computed on the way. {@link #close()} writes the last segment; a stream
+     * that is not closed leaves a file that fails authentication.
+     */
+    static final class Writer extends OutputStream {
+
+        private final OutputStream out;
+        private final SecretKey key;
+        private final byte[] iv;
+        private final byte[] header;
+        private final byte[] buffer;
+        private final Cipher cipher;
+        private final MessageDigest digest;
+        private int buffered;
+        private int segmentIndex;
+        private long plaintextSize;
+        private boolean closed;
+
+        Writer(OutputStream out, SecretKey key, byte[] iv, int segmentSize, MessageDigest digest) throws IOException {
+            if (segmentSize < MIN_SEGMENT_SIZE || segmentSize > MAX_SEGMENT_SIZE) {
+                throw new IllegalArgumentException("Segment size out of range: " + segmentSize);
+            }
+            this.out = out;
+            this.key = key;
+            this.iv = iv.clone();
+            this.header = header(segmentSize);
+            this.buffer = new byte[segmentSize];
+            this.cipher = newCipher();
+            this.digest = digest;
+            out.write(header);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            digest.update(b, off, len);
+            plaintextSize += len;
+            while (len > 0) {
+                // A full segment is encrypted only once more data arrives: the last one is marked
+                if (buffered == buffer.length) {
+                    writeSegment(false);
+                }
+                int n = Math.min(len, buffer.length - buffered);
+                System.arraycopy(b, off, buffer, buffered, n);
+                buffered += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void writeSegment(boolean last) throws IOException {
+            try {
+                cipher.init(Cipher.ENCRYPT_MODE, key, nonce(iv, segmentIndex, last));
+                cipher.updateAAD(header);
+                out.write(cipher.doFinal(buffer, 0, buffered));
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Cannot encrypt off-chain segment " + segmentIndex, e);
+            }
+            segmentIndex++;
+            buffered = 0;
+        }
+
+        long plaintextSize() {
+            return plaintextSize;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                writeSegment(true);
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Read-only decrypting channel with random access. Only the segment holding the current
+     * position is decrypted; it is kept until a read moves past it.
+     */
+    static final class ReadChannel implements SeekableByteChannel {
+
+        private final SeekableByteChannel source;
+        private final SecretKey key;
+        private final byte[] iv;
+        private final byte[] header;
+        private final int segmentSize;
+        private final long segments;
+        private final long size;
+        private final Cipher cipher;
+        private long position;
+        private long loadedIndex = -1;
+        private byte[] loaded;
+
+        ReadChannel(Path path, SecretKey key, byte[] iv) throws IOException {
+            this(FileChannel.open(path), path.toString(), key, iv);
+        }
+
+        /**
+         * Read the chunked file held by {@code source} (e.g. a pack entry); closing this
+         * channel closes {@code source}.
+         */
+        ReadChannel(SeekableByteChannel source, String name, SecretKey key, byte[] iv) throws IOException {
+            this.source = source;
+            try {
+                ByteBuffer head = ByteBuffer.allocate(HEADER_LENGTH);
+                readFully(head, 0);
+                head.flip();
+                this.segmentSize = segmentSize(head, name);
+                this.header = header(segmentSize);
+                this.size = plaintextSize(source.size(), segmentSize);
+                this.segments = Math.max(1, (size + segmentSize - 1) / segmentSize);
+                this.key = key;
+                this.iv = iv.clone();
+                this.cipher = newCipher();
+            } catch (IOException | RuntimeException e) {
+                source.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            ensureOpen();
+            if (position >= size) {
+                // An empty payload still has one segment to authenticate
+                if (size == 0 && loadedIndex < 0) {
+                    load(0);
+                }
+                return -1;
+            }
+            int total = 0;
+            while (dst.hasRemaining() && position < size) {
+                long index = position / segmentSize;
+                if (index != loadedIndex) {
+                    load(index);
+                }
+                int offset = (int) (position - index * segmentSize);
+                int n = Math.min(dst.remaining(), loaded.length - offset);
+                dst.put(loaded, offset, n);
+                position += n;
+                total += n;
+            }
+            return total;
+        }
+
+        private void load(long index) throws IOException {
+            long stride = (long) segmentSize + TAG_LENGTH;
+            long offset = HEADER_LENGTH + index * stride;
+            int length = (int) Math.min(stride, source.size() - offset);
+            ByteBuffer ciphertext = ByteBuffer.allocate(length);
+            readFully(ciphertext, offset);
+            try {
+                cipher.init(Cipher.DECRYPT_MODE, key, nonce(iv, (int) index, index == segments - 1));
+                cipher.updateAAD(header);
+                loaded = cipher.doFinal(ciphertext.array());
+            } catch (AEADBadTagException e) {
+                throw new IOException("Off-chain segment " + index + " failed authentication", e);
+            } catch (GeneralSecurityException e) {
+                throw new IOException("Cannot decrypt off-chain segment " + index, e);
+            }
+            loadedIndex = index;
+        }
+
+        private void readFully(ByteBuffer dst, long offset) throws IOException {
+            source.position(offset + dst.position());
+            while (dst.hasRemaining()) {
+                int n = source.read(dst);
+                if (n < 0) {
+                    throw new IOException("Unexpected end of off-chain file");
+                }
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (!source.isOpen()) {
+                throw new ClosedChannelException();
+            }
+        }
+
+        @Override
+        public long position() throws IOException {
+            ensureOpen();
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            if (newPosition < 0) {
+                throw new IllegalArgumentException("Negative position: " + newPosition);
+            }
+            position = newPosition;
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            ensureOpen();
+            return size;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return source.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            loaded = null;
+            source.close();
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.rbatllet.blockchain.service;
+
+import com.rbatllet.blockchain.util.CryptoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Package-private content-addressed, deduplicating store for off-chain payloads.
+ *
+ * <p>A blob is named by a keyed hash (HMAC-SHA3-256 under a per-store secret) of its
+ * plaintext, so identical payloads share one file and the name reveals nothing about the
+ * content without the secret. Blobs are fanned out over two levels of 256 subdirectories:</p>
+ * <pre>
+ * off-chain-data/blobs/
+ * ├── store.key                    ← per-store secret (created on first use)
+ * └── 3f/a2/3fa2…e1.blob           ← chunked AES-GCM payload
+ *           3fa2…e1.refs           ← reference count
+ * </pre>
+ *
+ * <p>The blob is encrypted (in {@link ChunkedAeadFormat}) under a data key derived from the
+ * plaintext and the secret, so every block storing the same payload derives the same key
+ * without reading it back; each reference keeps that key wrapped under its own password
+ * (see {@link OffChainStorageService#storeData(byte[], String, java.security.PrivateKey, String, String)}).</p>
+ *
+ * <p>Every {@link #store} adds a reference and every {@link #release} removes one; the blob is
+ * deleted with its last reference. A store whose block transaction rolls back leaves one
+ * reference too many, which {@code OffChainCleanupService.cleanupOrphanedFiles()} corrects
+ * against the database.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Thread-safe within one JVM: reference updates of a blob
+ * are serialized by a striped lock shared by all instances.</p>
+ *
+ * @since 1.0.6
+ */
+final class ContentAddressedBlobStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentAddressedBlobStore.class);
+
+    static final String BLOB_DIRECTORY = "blobs";
+    static final String BLOB_EXTENSION = ".blob";
+    static final String REFS_EXTENSION = ".refs";
+    private static final String KEY_FILE = "store.key";
+    private static final String HMAC_ALGORITHM = "HmacSHA3-256";
+    private static final int IV_LENGTH = 12;
+    private static final Pattern BLOB_NAME = Pattern.compile("^[0-9a-f]{64}\\" + BLOB_EXTENSION + "$");
+
+    // Shared by all instances: several services may address the same directory
+    private static final Object[] LOCKS = new Object[64];
+    static {
+        Arrays.setAll(LOCKS, i -> new Object());
+    }
+
+    private final Path root;
+    private volatile byte[] secret;
+
+    /**
+     * A stored blob and the key material needed to add a reference to it.
+     *
+     * @param path blob file
+     * @param dataKey AES-256 key the blob is encrypted with
+     * @param iv IV of the blob (nonce prefix of its segments)
+     * @param created true if this call wrote the blob, false if it was already stored
+     */
+    record Blob(Path path, SecretKey dataKey, byte[] iv, boolean created) {
+    }
+
+    ContentAddressedBlobStore(Path offChainDirectory) {
+        this.root = offChainDirectory.resolve(BLOB_DIRECTORY);
+    }
+
+    /**
+     * @return true if {@code path} names a blob of a content-addressed store
+     */
+    static boolean isBlobPath(Path path) {
+        Path parent = path.getParent();
+        return BLOB_NAME.matcher(path.getFileName().toString()).matches()
+            && parent != null && parent.getParent() != null && parent.getParent().getParent() != null
+            && BLOB_DIRECTORY.equals(parent.getParent().getParent().getFileName().toString());
+    }
+
+    Path root() {
+        return root;
+    }
+
+    /**
+     * Store {@code data} (or find the blob already holding it) and add one reference.
+     */
+    Blob store(byte[] data) throws IOException, GeneralSecurityException {
+        byte[] storeSecret = secret();
+        String blobId = HexFormat.of().formatHex(hmac(storeSecret, "blob-id", data));
+        SecretKey dataKey = new SecretKeySpec(hmac(storeSecret, "blob-key", data), "AES");
+        byte[] iv = Arrays.copyOf(hmac(storeSecret, "blob-iv", blobId.getBytes(StandardCharsets.US_ASCII)), IV_LENGTH);
+        Path blob = blobPath(blobId);
+
+        synchronized (lockFor(blob)) {
+            boolean created = !Files.exists(blob);
+            if (created) {
+                Files.createDirectories(blob.getParent());
+                Path temp = Files.createTempFile(blob.getParent(), blobId, ".tmp");
+                try {
+                    try (OutputStream out = new ChunkedAeadFormat.Writer(
+                            new BufferedOutputStream(Files.newOutputStream(temp)), dataKey, iv,
+                            ChunkedAeadFormat.DEFAULT_SEGMENT_SIZE, MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM))) {
+                        out.write(data);
+                    }
+                    moveAtomically(temp, blob);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                writeReferenceCount(blob, 1);
+            } else {
+                writeReferenceCount(blob, readReferenceCount(blob) + 1);
+                logger.debug("♻️ Off-chain blob {} reused", blobId);
+            }
+            return new Blob(blob, dataKey, iv, created);
+        }
+    }
+
+    /**
+     * Remove one reference to {@code blob}, deleting it with its last reference.
+     *
+     * @return true if the blob file was deleted
+     */
+    boolean release(Path blob) throws IOException {
+        synchronized (lockFor(blob)) {
+            long references = readReferenceCount(blob) - 1;
+            if (references > 0) {
+                writeReferenceCount(blob, references);
+                return false;
+            }
+            Files.deleteIfExists(refsPath(blob));
+            return Files.deleteIfExists(blob);
+        }
+    }
+
+    /**
+     * @return the recorded reference count of {@code blob} (1 if the count file is missing)
+     */
+    long referenceCount(Path blob) throws IOException {
+        synchronized (lockFor(blob)) {
+            return readReferenceCount(blob);
+        }
+    }
+
+    /**
+     * Overwrite the reference count of {@code blob}; used to reconcile it with the database.
+     */
+    void setReferenceCount(Path blob, long references) throws IOException {
+        synchronized (lockFor(blob)) {
+            writeReferenceCount(blob, references);
+        }
+    }
+
+    /**
+     * Delete {@code blob} and its reference count regardless of the count.
+     *
+     * @return true if the blob file was deleted
+     */
+    boolean delete(Path blob) throws IOException {
+        synchronized (lockFor(blob)) {
+            Files.deleteIfExists(refsPath(blob));
+            return Files.deleteIfExists(blob);
+        }
+    }
+
+    /**
+     * Bring reference counts in line with the database: blobs no block references are
+     * deleted, other counts are set to the number of referencing blocks. Counts updated after
+     * {@code cutoff} are left alone, as they may belong to blocks not yet committed.
+     *
+     * @param references referencing blocks per blob file name
+     * @param maxDeletions maximum number of blobs to delete
+     * @return number of blobs deleted and bytes freed
+     */
+    OffChainStorageService.BlobCleanupResult reconcile(Map<String, Long> references, Instant cutoff, int maxDeletions) throws IOException {
+        int deleted = 0;
+        long freed = 0;
+        if (!Files.isDirectory(root)) {
+            return new OffChainStorageService.BlobCleanupResult(0, 0);
+        }
+        List<Path> blobs;
+        try (Stream<Path> walk = Files.walk(root, 3)) {
+            blobs = walk.filter(ContentAddressedBlobStore::isBlobPath).toList();
+        }
+        for (Path blob : blobs) {
+            long referenced = references.getOrDefault(blob.getFileName().toString(), 0L);
+            synchronized (lockFor(blob)) {
+                if (!Files.exists(blob)) {
+                    continue;
+                }
+                Path refs = refsPath(blob);
+                Instant updated = Files.getLastModifiedTime(Files.exists(refs) ? refs : blob).toInstant();
+                long recorded = readReferenceCount(blob);
+                if (referenced > recorded) {
+                    // Raising is always safe
+                    writeReferenceCount(blob, referenced);
+                } else if (referenced < recorded && updated.isBefore(cutoff)) {
+                    if (referenced > 0) {
+                        writeReferenceCount(blob, referenced);
+                    } else if (deleted < maxDeletions) {
+                        long size = Files.size(blob);
+                        Files.deleteIfExists(refs);
+                        if (Files.deleteIfExists(blob)) {
+                            deleted++;
+                            freed += size;
+                        }
+                    }
+                }
+            }
+        }
+        return new OffChainStorageService.BlobCleanupResult(deleted, freed);
+    }
+
+    static Path refsPath(Path blob) {
+        String name = blob.getFileName().toString();
+        return blob.resolveSibling(name.substring(0, name.length() - BLOB_EXTENSION.length()) + REFS_EXTENSION);
+    }
+
+    private Path blobPath(String blobId) {
+        return root.resolve(blobId.substring(0, 2)).resolve(blobId.substring(2, 4)).resolve(blobId + BLOB_EXTENSION);
+    }
+
+    private static Object lockFor(Path blob) {
+        return LOCKS[Math.floorMod(blob.getFileName().hashCode(), LOCKS.length)];
+    }
+
+    private static long readReferenceCount(Path blob) throws IOException {
+        Path refs = refsPath(blob);
+        if (!Files.exists(refs)) {
+            return Files.exists(blob) ? 1 : 0;
+        }
+        try {
+            return Long.parseLong(Files.readString(refs, StandardCharsets.US_ASCII).trim());
+        } catch (NumberFormatException e) {
+            // A damaged count must not get the blob deleted early; cleanup reconciles it
+            logger.warn("⚠️ Unreadable reference count for {}, assuming 1", blob);
+            return 1;
+        }
+    }
+
+    private static void writeReferenceCount(Path blob, long references) throws IOException {
+        Path refs = refsPath(blob);
+        Path temp = Files.createTempFile(refs.getParent(), refs.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temp, Long.toString(references), StandardCharsets.US_ASCII);
+            moveAtomically(temp, refs);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String label, byte[] data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+        mac.update(label.getBytes(StandardCharsets.US_ASCII));
+        mac.update((byte) 0);
+        return mac.doFinal(data);
+    }
+
+    /**
+     * Per-store secret, created with owner-only permissions on first use.
+     */
+    private byte[] secret() throws IOException {
+        byte[] current = secret;
+        if (current != null) {
+            return current;
+        }
+        synchronized (LOCKS) {
+            if (secret == null) {
+                Files.createDirectories(root);
+                Path keyFile = root.resolve(KEY_FILE);
+                if (!Files.exists(keyFile)) {
+                    byte[] generated = new byte[32];
+                    CryptoUtil.getSecureRandom().nextBytes(generated);
+                    Path temp = Files.createTempFile(root, KEY_FILE, ".tmp");
+                    try {
+                        Files.write(temp, generated);
+                        restrictToOwner(temp);
+                        Files.move(temp, keyFile);
+                    } catch (java.nio.file.FileAlreadyExistsException e) {
+                        logger.debug("Blob store key created concurrently");
+                    } finally {
+                        Files.deleteIfExists(temp);
+                    }
+                }
+                secret = Files.readAllBytes(keyFile);
+            }
+            return secret;
+        }
+    }
+
+    private static void restrictToOwner(Path file) {
+        try {
+            Files.setPosixFilePermissions(file, java.nio.file.attribute.PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException | IOException e) {
+            logger.debug("Cannot restrict permissions of {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.rbatllet.blockchain.service;
+
+import com.rbatllet.blockchain.entity.OffChainData;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Streaming writer for an off-chain file, returned by
+ * {@link OffChainStorageService#openStoreStream(String, PrivateKey, String, String)}.
+ *
+ * <p>Bytes written are encrypted segment by segment (see {@link ChunkedAeadFormat}), so memory
+ * use is bounded by one segment whatever the payload size. {@link #close()} writes the last
+ * segment and signs the SHA3-256 hash of the plaintext; the metadata to attach to a block is
+ * then available from {@link #getOffChainData()}. If writing fails, {@link #abort()} removes
+ * the partial file.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Not thread-safe; one writer per stored file.</p>
+ *
+ * @since 1.0.6
+ */
+public final class OffChainOutputStream extends OutputStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffChainOutputStream.class);
+
+    private final ChunkedAeadFormat.Writer writer;
+    private final MessageDigest digest;
+    private final Path path;
+    private final byte[] iv;
+    private final byte[] salt;
+    private final PrivateKey signerKey;
+    private final String signerPublicKey;
+    private final String contentType;
+    private OffChainData offChainData;
+    private boolean closed;
+
+    OffChainOutputStream(ChunkedAeadFormat.Writer writer, MessageDigest digest, Path path, byte[] iv, byte[] salt,
+                         PrivateKey signerKey, String signerPublicKey, String contentType) {
+        this.writer = writer;
+        this.digest = digest;
+        this.path = path;
+        this.iv = iv;
+        this.salt = salt;
+        this.signerKey = signerKey;
+        this.signerPublicKey = signerPublicKey;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        writer.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        writer.write(b, off, len);
+    }
+
+    /**
+     * Finish the file and sign it. On failure the partial file is removed.
+     *
+     * @throws IOException if the file cannot be completed or the payload is empty
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.close();
+            if (writer.plaintextSize() == 0) {
+                throw new IllegalArgumentException("Data cannot be null or empty");
+            }
+            String dataHash = HexFormat.of().formatHex(digest.digest());
+            offChainData = new OffChainData(
+                dataHash,
+                CryptoUtil.signData(dataHash, signerKey),
+                path.toString(),
+                writer.plaintextSize(),
+                Base64.getEncoder().encodeToString(iv),
+                Base64.getEncoder().encodeToString(salt),
+                contentType != null ? contentType : "application/octet-stream",
+                signerPublicKey
+            );
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly();
+            throw e;
+        }
+    }
+
+    /**
+     * Discard the file being written.
+     */
+    public void abort() {
+        if (!closed) {
+            closed = true;
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.debug("Closing aborted off-chain file {}: {}", path, e.getMessage());
+            }
+        }
+        offChainData = null;
+        deleteQuietly();
+    }
+
+    /**
+     * @return metadata of the stored file
+     * @throws IllegalStateException if the stream has not been closed successfully
+     */
+    public OffChainData getOffChainData() {
+        if (offChainData == null) {
+            throw new IllegalStateException("Off-chain file is not complete: close() the stream first");
+        }
+        return offChainData;
+    }
+
+    private void deleteQuietly() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("⚠️ Cannot delete incomplete off-chain file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package com.rbatllet.blockchain.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Package-private append-only pack files for small off-chain payloads.
+ *
+ * <p>Each stored payload (a complete chunked file, see {@link ChunkedAeadFormat}) is appended
+ * to the current pack instead of getting a file of its own, so storing, verifying, cleaning up
+ * and exporting many payloads costs no file creation or open/close per payload:</p>
+ * <pre>
+ * off-chain-data/packs/
+ * ├── pack-000001.pack     entry*        (closed at {@link #MAX_PACK_BYTES})
+ * ├── pack-000001.del      entryId:i64*  (deleted entries)
+ * └── pack-000002.pack                   (current)
+ * entry := MAGIC id:i64 createdMillis:i64 length:i32 data[length]
+ * </pre>
+ * <ul>
+ *   <li>A payload is referenced as {@code <pack path>#<entry id>} in
+ *       {@code OffChainData.filePath}; ids are never reused within a pack.</li>
+ *   <li>The offset index (entry id → offset, length) is built by walking the entry headers
+ *       when a pack is first used and kept in memory; a torn append at the end of the last
+ *       pack is cut off at that point.</li>
+ *   <li>Reads are slices of a read-only memory mapping of the pack.</li>
+ *   <li>Deleting an entry only records its id; {@link #compact} drops unreferenced entries and
+ *       rewrites packs that are mostly dead, keeping entry ids so references stay valid.</li>
+ * </ul>
+ *
+ * <p><strong>Thread Safety:</strong> Thread-safe within one JVM: pack state is shared by all
+ * instances and guarded per pack; appends are serialized.</p>
+ *
+ * @since 1.0.6
+ */
+final class OffChainPackStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffChainPackStore.class);
+
+    static final String PACK_DIRECTORY = "packs";
+    static final long MAX_PACK_BYTES = 256L * 1024 * 1024;
+
+    private static final String PACK_EXTENSION = ".pack";
+    private static final String DELETED_EXTENSION = ".del";
+    private static final int ENTRY_MAGIC = 0x50424b45; // "PBKE"
+    private static final int ENTRY_HEADER_LENGTH = Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final Pattern PACK_NAME = Pattern.compile("^pack-(\\d{6})\\.pack$");
+    private static final Pattern REFERENCE = Pattern.compile("^(.*pack-\\d{6}\\.pack)#(\\d+)$");
+
+    // Shared by all instances: several services may address the same directory
+    private static final Map<Path, Pack> PACKS = new ConcurrentHashMap<>();
+    private static final Map<Path, Path> CURRENT_PACKS = new ConcurrentHashMap<>();
+    private static final Object APPEND_LOCK = new Object();
+
+    private final Path root;
+
+    /**
+     * Location of one entry in its pack.
+     */
+    private record Entry(long offset, int length, long createdMillis) {
+    }
+
+    OffChainPackStore(Path offChainDirectory) {
+        this.root = offChainDirectory.resolve(PACK_DIRECTORY);
+    }
+
+    /**
+     * @return true if {@code filePath} is a pack entry reference
+     */
+    static boolean isReference(String filePath) {
+        return filePath != null && REFERENCE.matcher(filePath).matches();
+    }
+
+    /**
+     * Append {@code data} as a new entry.
+     *
+     * @return the reference to store in {@code OffChainData.filePath}
+     */
+    String append(byte[] data) throws IOException {
+        synchronized (APPEND_LOCK) {
+            Files.createDirectories(root);
+            Pack pack = currentPack(data.length);
+            pack.lock.writeLock().lock();
+            try {
+                long id = pack.nextId++;
+                long created = System.currentTimeMillis();
+                ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_LENGTH)
+                    .putInt(ENTRY_MAGIC).putLong(id).putLong(created).putInt(data.length).flip();
+                try (FileChannel channel = FileChannel.open(pack.path, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE)) {
+                    writeFully(channel, new ByteBuffer[] {header, ByteBuffer.wrap(data)}, pack.end);
+                }
+                pack.entries.put(id, new Entry(pack.end + ENTRY_HEADER_LENGTH, data.length, created));
+                pack.end += ENTRY_HEADER_LENGTH + data.length;
+                return pack.path + "#" + id;
+            } finally {
+                pack.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * @return a read-only view of the entry, backed by the pack's memory mapping
+     * @throws FileNotFoundException if the entry does not exist or was deleted
+     */
+    static ByteBuffer read(String reference) throws IOException {
+        Located located = locate(reference);
+        Pack pack = located.pack();
+        pack.lock.readLock().lock();
+        try {
+            Entry entry = located.entry(reference);
+            if (pack.mapped == null || pack.mapped.capacity() < entry.offset() + entry.length()) {
+                // Appended (or compacted) since the last mapping
+                pack.lock.readLock().unlock();
+                pack.lock.writeLock().lock();
+                try {
+                    pack.map();
+                } finally {
+                    pack.lock.readLock().lock();
+                    pack.lock.writeLock().unlock();
+                }
+                entry = located.entry(reference);
+            }
+            return pack.mapped.slice((int) entry.offset(), entry.length()).asReadOnlyBuffer();
+        } finally {
+            pack.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return true if the entry exists and was not deleted
+     */
+    static boolean exists(String reference) {
+        try {
+            return length(reference) >= 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return stored length of the entry
+     * @throws FileNotFoundException if the entry does not exist or was deleted
+     */
+    static long length(String reference) throws IOException {
+        return locate(reference).entry(reference).length();
+    }
+
+    /**
+     * @return time the entry was appended, in epoch milliseconds
+     * @throws FileNotFoundException if the entry does not exist or was deleted
+     */
+    static long createdMillis(String reference) throws IOException {
+        return locate(reference).entry(reference).createdMillis();
+    }
+
+    /**
+     * Delete an entry. Its bytes are reclaimed by {@link #compact}.
+     *
+     * @return true if the entry existed
+     */
+    static boolean delete(String reference) throws IOException {
+        Located located;
+        try {
+            located = locate(reference);
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+        return located.pack().delete(entryId(reference));
+    }
+
+    /**
+     * Delete entries that no block references and rewrite packs whose dead bytes exceed half
+     * their size. Entries appended after {@code cutoff} are kept, as their blocks may not be
+     * committed yet.
+     *
+     * @param referenced referenced entries, as {@code <pack file name>#<entry id>}
+     * @param maxDeletions maximum number of entries to delete
+     */
+    OffChainStorageService.PackCompactionResult compact(Set<String> referenced, Instant cutoff, int maxDeletions) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return new OffChainStorageService.PackCompactionResult(0, 0, 0);
+        }
+        List<Path> packs;
+        try (Stream<Path> files = Files.list(root)) {
+            packs = files.filter(p -> PACK_NAME.matcher(p.getFileName().toString()).matches()).sorted().toList();
+        }
+        int deleted = 0;
+        int rewritten = 0;
+        long freed = 0;
+        synchronized (APPEND_LOCK) {
+            for (Path path : packs) {
+                Pack pack = pack(path);
+                if (pack == null) {
+                    continue;
+                }
+                String name = path.getFileName().toString();
+                for (Map.Entry<Long, Entry> entry : pack.liveEntries()) {
+                    if (deleted < maxDeletions
+                            && !referenced.contains(name + "#" + entry.getKey())
+                            && entry.getValue().createdMillis() < cutoff.toEpochMilli()
+                            && pack.delete(entry.getKey())) {
+                        deleted++;
+                    }
+                }
+                long before = Files.size(path);
+                if (pack.rewriteIfMostlyDead()) {
+                    rewritten++;
+                    freed += before - Files.size(path);
+                }
+            }
+        }
+        return new OffChainStorageService.PackCompactionResult(deleted, rewritten, freed);
+    }
+
+    // ========== Pack state ==========
+
+    private record Located(Pack pack, long id) {
+        Entry entry(String reference) throws FileNotFoundException {
+            pack.lock.readLock().lock();
+            try {
+                Entry entry = pack.entries.get(id);
+                if (entry == null) {
+                    throw new FileNotFoundException("Off-chain pack entry not found: " + reference);
+                }
+                return entry;
+            } finally {
+                pack.lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static Located locate(String reference) throws IOException {
+        Matcher matcher = REFERENCE.matcher(reference);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not an off-chain pack reference: " + reference);
+        }
+        Pack pack = pack(Path.of(matcher.group(1)));
+        if (pack == null) {
+            throw new FileNotFoundException("Off-chain pack not found: " + matcher.group(1));
+        }
+        return new Located(pack, Long.parseLong(matcher.group(2)));
+    }
+
+    private static long entryId(String reference) {
+        Matcher matcher = REFERENCE.matcher(reference);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not an off-chain pack reference: " + reference);
+        }
+        return Long.parseLong(matcher.group(2));
+    }
+
+    /**
+     * Cached state of the pack at {@code path}, reloaded if the file was replaced or truncated
+     * behind our back (one {@code stat}, no open).
+     *
+     * @return the pack, or null if the file does not exist
+     */
+    private static Pack pack(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            PACKS.remove(key);
+            return null;
+        }
+        Object fileKey = fileKey(attributes);
+        Pack cached = PACKS.get(key);
+        if (cached != null && Objects.equals(cached.fileKey, fileKey) && attributes.size() >= cached.end) {
+            return cached;
+        }
+        synchronized (PACKS) {
+            cached = PACKS.get(key);
+            if (cached != null && Objects.equals(cached.fileKey, fileKey(key)) && Files.size(key) >= cached.end) {
+                return cached;
+            }
+            Pack loaded = Pack.load(key);
+            PACKS.put(key, loaded);
+            return loaded;
+        }
+    }
+
+    /**
+     * Pack the next entry of {@code length} bytes goes to; a new one is started when the
+     * current pack would exceed {@link #MAX_PACK_BYTES}.
+     */
+    private Pack currentPack(int length) throws IOException {
+        Path rootKey = root.toAbsolutePath().normalize();
+        Path currentPath = CURRENT_PACKS.get(rootKey);
+        Pack current = currentPath != null ? pack(currentPath) : null;
+        int number;
+        if (current != null) {
+            number = packNumber(currentPath);
+        } else {
+            // First append in this JVM (or the pack was removed): continue after the highest
+            number = 0;
+            try (Stream<Path> files = Files.list(root)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Matcher matcher = PACK_NAME.matcher(file.getFileName().toString());
+                    if (matcher.matches()) {
+                        number = Math.max(number, Integer.parseInt(matcher.group(1)));
+                    }
+                }
+            }
+            current = number > 0 ? pack(packPath(number)) : null;
+        }
+        if (current == null || (current.end > 0 && current.end + ENTRY_HEADER_LENGTH + length > MAX_PACK_BYTES)) {
+            Path next = packPath(number + 1);
+            Files.createFile(next);
+            current = pack(next);
+        }
+        CURRENT_PACKS.put(rootKey, current.path);
+        return current;
+    }
+
+    private static int packNumber(Path pack) {
+        Matcher matcher = PACK_NAME.matcher(pack.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private Path packPath(int number) {
+        return root.resolve(String.format("pack-%06d%s", number, PACK_EXTENSION));
+    }
+
+    private static Object fileKey(Path path) throws IOException {
+        return fileKey(Files.readAttributes(path, BasicFileAttributes.class));
+    }
+
+    private static Object fileKey(BasicFileAttributes attributes) {
+        return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer[] buffers, long position) throws IOException {
+        channel.position(position);
+        while (buffers[buffers.length - 1].hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    /**
+     * One pack file: its offset index, deleted ids and mapping.
+     */
+    private static final class Pack {
+        final Path path;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final Map<Long, Entry> entries = new LinkedHashMap<>();
+        Object fileKey;
+        long end;
+        long nextId;
+        long deadBytes;
+        MappedByteBuffer mapped;
+
+        private Pack(Path path) {
+            this.path = path;
+        }
+
+        static Pack load(Path path) throws IOException {
+            Pack pack = new Pack(path);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_LENGTH);
+                long position = 0;
+                while (position + ENTRY_HEADER_LENGTH <= size) {
+                    header.clear();
+                    while (header.hasRemaining() && channel.read(header, position + header.position()) > 0) {
+                        // read the whole header
+                    }
+                    header.flip();
+                    if (header.getInt() != ENTRY_MAGIC) {
+                        break;
+                    }
+                    long id = header.getLong();
+                    long created = header.getLong();
+                    int length = header.getInt();
+                    if (length < 0 || position + ENTRY_HEADER_LENGTH + length > size) {
+                        break;
+                    }
+                    pack.entries.put(id, new Entry(position + ENTRY_HEADER_LENGTH, length, created));
+                    pack.nextId = Math.max(pack.nextId, id + 1);
+                    position += ENTRY_HEADER_LENGTH + length;
+                }
+                if (position < size) {
+                    // Torn append: the entry was never referenced
+                    logger.warn("⚠️ Truncating {} bytes of incomplete off-chain pack entry in {}",
+                        size - position, path);
+                    channel.truncate(position);
+                }
+                pack.end = position;
+            }
+            Path deleted = deletedPath(path);
+            if (Files.exists(deleted)) {
+                ByteBuffer ids = ByteBuffer.wrap(Files.readAllBytes(deleted));
+                while (ids.remaining() >= Long.BYTES) {
+                    Entry removed = pack.entries.remove(ids.getLong());
+                    if (removed != null) {
+                        pack.deadBytes += ENTRY_HEADER_LENGTH + removed.length();
+                    }
+                }
+            }
+            pack.fileKey = fileKey(path);
+            return pack;
+        }
+
+        List<Map.Entry<Long, Entry>> liveEntries() {
+            lock.readLock().lock();
+            try {
+                return new ArrayList<>(entries.entrySet());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean delete(long id) throws IOException {
+            lock.writeLock().lock();
+            try {
+                Entry removed = entries.remove(id);
+                if (removed == null) {
+                    return false;
+                }
+                Files.write(deletedPath(path), ByteBuffer.allocate(Long.BYTES).putLong(id).array(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                deadBytes += ENTRY_HEADER_LENGTH + removed.length();
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Map the whole pack read-only. Slices of earlier mappings stay valid.
+         */
+        MappedByteBuffer map() throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+            }
+            return mapped;
+        }
+
+        /**
+         * Rewrite the pack with its live entries only (same ids) if more than half of it is
+         * dead. The new file replaces the old one atomically; the deleted-id file is dropped
+         * after it, and a stale one only lists ids that are no longer present.
+         */
+        boolean rewriteIfMostlyDead() throws IOException {
+            lock.writeLock().lock();
+            try {
+                if (deadBytes == 0 || deadBytes * 2 < end) {
+                    return false;
+                }
+                Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+                Map<Long, Entry> moved = new LinkedHashMap<>();
+                try {
+                    try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+                         FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                        long position = 0;
+                        for (Map.Entry<Long, Entry> live : entries.entrySet()) {
+                            Entry entry = live.getValue();
+                            long start = entry.offset() - ENTRY_HEADER_LENGTH;
+                            long length = ENTRY_HEADER_LENGTH + entry.length();
+                            long copied = 0;
+                            while (copied < length) {
+                                copied += source.transferTo(start + copied, length - copied, target);
+                            }
+                            moved.put(live.getKey(), new Entry(position + ENTRY_HEADER_LENGTH, entry.length(),
+                                entry.createdMillis()));
+                            position += length;
+                        }
+                        target.force(true);
+                    }
+                    try {
+                        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                Files.deleteIfExists(deletedPath(path));
+                entries.clear();
+                entries.putAll(moved);
+                end = moved.values().stream().mapToLong(e -> e.offset() + e.length()).max().orElse(0);
+                deadBytes = 0;
+                mapped = null;
+                fileKey = fileKey(path);
+                logger.debug("📦 Compacted off-chain pack {} ({} live entries)", path.getFileName(), entries.size());
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private static Path deletedPath(Path pack) {
+            String name = pack.getFileName().toString();
+            return pack.resolveSibling(name.substring(0, name.length() - PACK_EXTENSION.length()) + DELETED_EXTENSION);
+        }
+    }
+}
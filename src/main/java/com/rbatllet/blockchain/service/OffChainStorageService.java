@@ -6,15 +6,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.rbatllet.blockchain.util.CryptoUtil;
 import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.PrivateKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
 
 import static com.rbatllet.blockchain.util.CryptoUtil.getSecureRandom;
 
@@ -34,6 +48,66 @@ public class OffChainStorageService {
     private static final int IV_LENGTH = 12; // 96-bit IV recommended for GCM
     private static final int GCM_TAG_LENGTH = 16; // 128-bit authentication tag
     private static final int BUFFER_SIZE = 8192; // 8KB buffer for streaming
+
+    /** Largest payload {@link #setPackedStorage(boolean) packed storage} appends to a pack file. */
+    public static final int PACKED_PAYLOAD_MAX_BYTES = 4 * 1024 * 1024;
+
+    private final ContentAddressedBlobStore blobStore = new ContentAddressedBlobStore(Paths.get(OFF_CHAIN_DIRECTORY));
+    private final OffChainPackStore packStore = new OffChainPackStore(Paths.get(OFF_CHAIN_DIRECTORY));
+    private volatile boolean contentAddressed;
+    private volatile boolean packed;
+
+    /**
+     * Enable or disable content-addressed storage for {@link #storeData(byte[], String, PrivateKey, String, String)}
+     * and {@link #stageData}.
+     *
+     * <p>When enabled, identical payloads share one blob under {@code off-chain-data/blobs/},
+     * named by a keyed hash of the content and reference-counted: {@link #deleteData(OffChainData)}
+     * removes one reference and the blob goes with the last one. Each reference still has its own
+     * password: the blob's data key is stored wrapped under it in
+     * {@link OffChainData#getWrappedDataKey()}. Streamed stores
+     * ({@link #storeData(InputStream, String, PrivateKey, String, String)}, {@link #openStoreStream})
+     * are not deduplicated, since the blob name is only known once the whole payload is read.
+     * Existing files are read and deleted as before either way.</p>
+     *
+     * @since 1.0.6
+     */
+    public void setContentAddressed(boolean contentAddressed) {
+        this.contentAddressed = contentAddressed;
+    }
+
+    /**
+     * @return true if byte-array stores are deduplicated into content-addressed blobs
+     * @since 1.0.6
+     */
+    public boolean isContentAddressed() {
+        return contentAddressed;
+    }
+
+    /**
+     * Enable or disable pack-file storage for {@link #storeData(byte[], String, PrivateKey, String, String)}
+     * and {@link #stageData}.
+     *
+     * <p>When enabled, payloads up to {@link #PACKED_PAYLOAD_MAX_BYTES} are appended to shared,
+     * append-only pack files under {@code off-chain-data/packs/} instead of one file each, and
+     * read through a memory mapping. {@link OffChainData#getFilePath()} then holds
+     * {@code <pack>#<entry id>}; every method of this service accepts both forms. Deleted entries
+     * are reclaimed by {@link #compactPacks(Set, Duration, int)}. Content-addressed storage takes
+     * precedence when both are enabled.</p>
+     *
+     * @since 1.0.6
+     */
+    public void setPackedStorage(boolean packed) {
+        this.packed = packed;
+    }
+
+    /**
+     * @return true if small byte-array stores are appended to pack files
+     * @since 1.0.6
+     */
+    public boolean isPackedStorage() {
+        return packed;
+    }
     
     /**
      * Store large data off-chain with encryption and integrity verification
@@ -53,29 +127,201 @@ public class OffChainStorageService {
             throw new IllegalArgumentException("Signer key cannot be null");
         }
 
-        // Create off-chain directory if it doesn't exist
-        createOffChainDirectory();
+        if (contentAddressed) {
+            return storeBlobReference(data, password, signerKey, signerPublicKey, contentType);
+        }
+        if (packed && data.length <= PACKED_PAYLOAD_MAX_BYTES) {
+            return storePackEntry(data, password, signerKey, signerPublicKey, contentType);
+        }
 
-        // Generate unique filename, IV, and salt
-        String fileName = generateUniqueFileName();
-        String filePath = OFF_CHAIN_DIRECTORY + File.separator + fileName;
-        byte[] iv = generateIV();
+        // Chunked format: encrypted segment by segment, hash computed on the way
+        OffChainOutputStream out = openStoreStream(password, signerKey, signerPublicKey, contentType);
+        try {
+            out.write(data);
+        } catch (IOException e) {
+            out.abort();
+            throw e;
+        }
+        out.close();
+        return out.getOffChainData();
+    }
+
+    /**
+     * Add a reference to the content-addressed blob holding {@code data}, storing the blob if
+     * it is new. The blob's data key is wrapped with AES-GCM under a key derived from
+     * {@code password} and a fresh salt.
+     */
+    private OffChainData storeBlobReference(byte[] data, String password, PrivateKey signerKey,
+                                            String signerPublicKey, String contentType) throws Exception {
+        ContentAddressedBlobStore.Blob blob = blobStore.store(data);
+        try {
+            byte[] salt = KeyDerivationUtil.generateSalt();
+            String wrappedKey = wrapKey(blob.dataKey().getEncoded(), password, salt);
+
+            String dataHash = calculateDataHash(data);
+            OffChainData offChainData = new OffChainData(
+                dataHash,
+                CryptoUtil.signData(dataHash, signerKey),
+                blob.path().toString(),
+                (long) data.length,
+                Base64.getEncoder().encodeToString(blob.iv()),
+                Base64.getEncoder().encodeToString(salt),
+                contentType != null ? contentType : "application/octet-stream",
+                signerPublicKey
+            );
+            offChainData.setWrappedDataKey(wrappedKey);
+            return offChainData;
+        } catch (Exception e) {
+            blobStore.release(blob.path());
+            throw e;
+        }
+    }
+
+    /**
+     * Off-chain file written by {@link #stageData(byte[], PrivateKey, String, String)}:
+     * its metadata and the random key its content is encrypted with.
+     *
+     * @param offChainData metadata; not readable until {@link #wrapDataKey} has been called
+     * @param dataKey raw AES-256 data key (the caller zeroes it when done)
+     * @since 1.0.6
+     */
+    public record StagedData(OffChainData offChainData, byte[] dataKey) {
+    }
+
+    /**
+     * Encrypt and store {@code data} under a data key of its own, before the password of the
+     * block it will belong to is known.
+     *
+     * <p>The storage is chosen as by {@link #storeData(byte[], String, PrivateKey, String, String)}:
+     * a reference to a content-addressed blob (whose data key is shared by identical payloads),
+     * a pack entry or a chunked file, both under a fresh random data key. The stored bytes, hash
+     * and signature are final; {@link #wrapDataKey} then binds the data key to a password (and
+     * may be called again with another one), which costs one key derivation instead of
+     * re-encrypting the data. Used to prepare large payloads outside the chain's write lock.
+     * Delete the data with {@link #deleteData(OffChainData)} if it is not used.</p>
+     *
+     * @since 1.0.6
+     */
+    public StagedData stageData(byte[] data, PrivateKey signerKey, String signerPublicKey,
+                                String contentType) throws Exception {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("Data cannot be null or empty");
+        }
+        if (signerKey == null) {
+            throw new IllegalArgumentException("Signer key cannot be null");
+        }
+        // The salt is used to derive the key that wraps the data key
         byte[] salt = KeyDerivationUtil.generateSalt();
 
-        // Calculate hash of original data (for integrity verification)
-        String dataHash = calculateDataHash(data);
+        if (contentAddressed) {
+            ContentAddressedBlobStore.Blob blob = blobStore.store(data);
+            try {
+                String dataHash = calculateDataHash(data);
+                OffChainData offChainData = new OffChainData(
+                    dataHash,
+                    CryptoUtil.signData(dataHash, signerKey),
+                    blob.path().toString(),
+                    (long) data.length,
+                    Base64.getEncoder().encodeToString(blob.iv()),
+                    Base64.getEncoder().encodeToString(salt),
+                    contentType != null ? contentType : "application/octet-stream",
+                    signerPublicKey
+                );
+                return new StagedData(offChainData, blob.dataKey().getEncoded());
+            } catch (Exception e) {
+                blobStore.release(blob.path());
+                throw e;
+            }
+        }
+
+        byte[] dataKey = new byte[32];
+        getSecureRandom().nextBytes(dataKey);
+        SecretKeySpec secretKey = new SecretKeySpec(dataKey, "AES");
+        if (packed && data.length <= PACKED_PAYLOAD_MAX_BYTES) {
+            return new StagedData(appendPackEntry(data, secretKey, salt, signerKey, signerPublicKey, contentType),
+                dataKey);
+        }
+
+        createOffChainDirectory();
+        Path filePath = Paths.get(OFF_CHAIN_DIRECTORY, generateUniqueFileName());
+        byte[] iv = generateIV();
+        MessageDigest digest = MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM);
+        ChunkedAeadFormat.Writer writer = new ChunkedAeadFormat.Writer(
+            new BufferedOutputStream(Files.newOutputStream(filePath), BUFFER_SIZE),
+            secretKey, iv, ChunkedAeadFormat.DEFAULT_SEGMENT_SIZE, digest);
+        OffChainOutputStream out = new OffChainOutputStream(writer, digest, filePath, iv,
+            salt, signerKey, signerPublicKey, contentType);
+        try {
+            out.write(data);
+        } catch (IOException e) {
+            out.abort();
+            throw e;
+        }
+        out.close();
+        return new StagedData(out.getOffChainData(), dataKey);
+    }
+
+    /**
+     * Make staged data readable with {@code password}: wrap its data key with AES-GCM under
+     * a key derived from the password and the file's salt, replacing any previous wrapping.
+     *
+     * @since 1.0.6
+     */
+    public void wrapDataKey(StagedData staged, String password) throws Exception {
+        if (password == null || password.trim().isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        OffChainData offChainData = staged.offChainData();
+        byte[] salt = Base64.getDecoder().decode(offChainData.getEncryptionSalt());
+        offChainData.setWrappedDataKey(wrapKey(staged.dataKey(), password, salt));
+    }
 
-        // Encrypt and store data
-        encryptAndStoreData(data, filePath, password, iv, salt);
+    /**
+     * @return IV followed by the AES-GCM encryption of {@code key} under a key derived from
+     *         {@code password} and {@code salt}, Base64 encoded
+     */
+    private String wrapKey(byte[] key, String password, byte[] salt) throws Exception {
+        byte[] wrapIv = generateIV();
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.ENCRYPT_MODE, KeyDerivationUtil.deriveSecretKey(password, salt),
+            new GCMParameterSpec(GCM_TAG_LENGTH * 8, wrapIv));
+        byte[] wrapped = cipher.doFinal(key);
+        byte[] wrappedKey = new byte[IV_LENGTH + wrapped.length];
+        System.arraycopy(wrapIv, 0, wrappedKey, 0, IV_LENGTH);
+        System.arraycopy(wrapped, 0, wrappedKey, IV_LENGTH, wrapped.length);
+        return Base64.getEncoder().encodeToString(wrappedKey);
+    }
 
-        // Sign the data hash
-        String signature = CryptoUtil.signData(dataHash, signerKey);
+    /**
+     * Encrypt {@code data} in the chunked format in memory and append it to the current pack.
+     */
+    private OffChainData storePackEntry(byte[] data, String password, PrivateKey signerKey,
+                                        String signerPublicKey, String contentType) throws Exception {
+        byte[] salt = KeyDerivationUtil.generateSalt();
+        return appendPackEntry(data, KeyDerivationUtil.deriveSecretKey(password, salt), salt, signerKey,
+            signerPublicKey, contentType);
+    }
 
-        // Create and return OffChainData metadata
+    /**
+     * Append {@code data}, encrypted in the chunked format under {@code secretKey}, to the
+     * current pack. {@code salt} is recorded with the entry.
+     */
+    private OffChainData appendPackEntry(byte[] data, SecretKey secretKey, byte[] salt, PrivateKey signerKey,
+                                         String signerPublicKey, String contentType) throws Exception {
+        byte[] iv = generateIV();
+        MessageDigest digest = MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM);
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream(
+            (int) ChunkedAeadFormat.encryptedSize(data.length, ChunkedAeadFormat.DEFAULT_SEGMENT_SIZE));
+        try (OutputStream out = new ChunkedAeadFormat.Writer(encrypted, secretKey,
+                iv, ChunkedAeadFormat.DEFAULT_SEGMENT_SIZE, digest)) {
+            out.write(data);
+        }
+        String dataHash = bytesToHex(digest.digest());
+        String reference = packStore.append(encrypted.toByteArray());
         return new OffChainData(
             dataHash,
-            signature,
-            filePath,
+            CryptoUtil.signData(dataHash, signerKey),
+            reference,
             (long) data.length,
             Base64.getEncoder().encodeToString(iv),
             Base64.getEncoder().encodeToString(salt),
@@ -83,7 +329,81 @@ public class OffChainStorageService {
             signerPublicKey
         );
     }
-    
+
+    /**
+     * Unwrap the data key of a content-addressed blob reference.
+     */
+    private SecretKeySpec unwrapDataKey(OffChainData offChainData, String password, byte[] salt) throws Exception {
+        byte[] wrappedKey = Base64.getDecoder().decode(offChainData.getWrappedDataKey());
+        if (wrappedKey.length <= IV_LENGTH + GCM_TAG_LENGTH) {
+            throw new SecurityException("Malformed wrapped data key");
+        }
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, KeyDerivationUtil.deriveSecretKey(password, salt),
+            new GCMParameterSpec(GCM_TAG_LENGTH * 8, wrappedKey, 0, IV_LENGTH));
+        return new SecretKeySpec(cipher.doFinal(wrappedKey, IV_LENGTH, wrappedKey.length - IV_LENGTH), "AES");
+    }
+
+    /**
+     * Store data read from {@code data} off-chain with bounded memory (one encryption segment).
+     * The stream is read to its end but not closed.
+     *
+     * @see #openStoreStream(String, PrivateKey, String, String)
+     * @since 1.0.6
+     */
+    public OffChainData storeData(InputStream data, String password, PrivateKey signerKey,
+                                  String signerPublicKey, String contentType) throws Exception {
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null or empty");
+        }
+        OffChainOutputStream out = openStoreStream(password, signerKey, signerPublicKey, contentType);
+        try {
+            data.transferTo(out);
+        } catch (IOException | RuntimeException e) {
+            out.abort();
+            throw e;
+        }
+        out.close();
+        return out.getOffChainData();
+    }
+
+    /**
+     * Open a stream that stores the bytes written to it as a new off-chain file.
+     *
+     * <p>The file uses the chunked AES-256-GCM format: fixed-size segments, each with its own
+     * nonce and authentication tag, so a payload of any size is written with one segment in
+     * memory. The metadata is available from {@link OffChainOutputStream#getOffChainData()}
+     * after {@link OffChainOutputStream#close()}.</p>
+     *
+     * @since 1.0.6
+     */
+    public OffChainOutputStream openStoreStream(String password, PrivateKey signerKey,
+                                                String signerPublicKey, String contentType) throws Exception {
+        if (password == null || password.trim().isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        if (signerKey == null) {
+            throw new IllegalArgumentException("Signer key cannot be null");
+        }
+
+        // Create off-chain directory if it doesn't exist
+        createOffChainDirectory();
+
+        // Generate unique filename, IV, and salt
+        String fileName = generateUniqueFileName();
+        Path filePath = Paths.get(OFF_CHAIN_DIRECTORY, fileName);
+        byte[] iv = generateIV();
+        byte[] salt = KeyDerivationUtil.generateSalt();
+        SecretKeySpec secretKey = KeyDerivationUtil.deriveSecretKey(password, salt);
+        MessageDigest digest = MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM);
+
+        ChunkedAeadFormat.Writer writer = new ChunkedAeadFormat.Writer(
+            new BufferedOutputStream(Files.newOutputStream(filePath), BUFFER_SIZE),
+            secretKey, iv, ChunkedAeadFormat.DEFAULT_SEGMENT_SIZE, digest);
+        return new OffChainOutputStream(writer, digest, filePath, iv, salt, signerKey, signerPublicKey,
+            contentType);
+    }
+
     /**
      * Retrieve and decrypt off-chain data with integrity verification
      * Uses PBKDF2WithHmacSHA512 for quantum-resistant password-based key derivation
@@ -99,11 +419,17 @@ public class OffChainStorageService {
         }
 
         // Check if file exists
-        Path filePath = Paths.get(offChainData.getFilePath());
-        if (!Files.exists(filePath)) {
+        if (!storedDataExists(offChainData.getFilePath())) {
             throw new FileNotFoundException("Off-chain data file not found: " + offChainData.getFilePath());
         }
 
+        if (OffChainPackStore.isReference(offChainData.getFilePath())
+                || ChunkedAeadFormat.isChunked(Paths.get(offChainData.getFilePath()))) {
+            try (InputStream in = openDataStream(offChainData, password)) {
+                return in.readAllBytes(); // hash verified at end of stream
+            }
+        }
+
         // Decrypt data
         byte[] iv = Base64.getDecoder().decode(offChainData.getEncryptionIV());
         byte[] salt = Base64.getDecoder().decode(offChainData.getEncryptionSalt());
@@ -118,24 +444,85 @@ public class OffChainStorageService {
         return decryptedData;
     }
     
+    /**
+     * Open a decrypting stream over off-chain data.
+     *
+     * <p>Chunked files are decrypted one segment at a time; the SHA3-256 hash of the payload is
+     * checked against the metadata when the end of the stream is reached, which then throws
+     * {@link SecurityException} on a mismatch. Legacy single-message files are decrypted and
+     * checked when the stream is opened.</p>
+     *
+     * @since 1.0.6
+     */
+    public InputStream openDataStream(OffChainData offChainData, String password) throws Exception {
+        SeekableByteChannel channel = openDataChannel(offChainData, password);
+        if (channel instanceof ChunkedAeadFormat.ReadChannel) {
+            MessageDigest digest = MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM);
+            return new HashVerifyingInputStream(Channels.newInputStream(channel), digest, offChainData.getDataHash());
+        }
+        return Channels.newInputStream(channel);
+    }
+
+    /**
+     * Open a read-only, seekable channel over the decrypted off-chain data.
+     *
+     * <p>For chunked files a read decrypts and authenticates only the segments covering the
+     * requested range, so any byte range is read without decrypting the whole file. A
+     * tampered segment fails with an {@link IOException} when it is read. Legacy files are
+     * decrypted and hash-checked in memory when the channel is opened.</p>
+     *
+     * @since 1.0.6
+     */
+    public SeekableByteChannel openDataChannel(OffChainData offChainData, String password) throws Exception {
+        if (offChainData == null) {
+            throw new IllegalArgumentException("OffChainData cannot be null");
+        }
+        if (password == null || password.trim().isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        String filePath = offChainData.getFilePath();
+        if (!storedDataExists(filePath)) {
+            throw new FileNotFoundException("Off-chain data file not found: " + filePath);
+        }
+        boolean packEntry = OffChainPackStore.isReference(filePath);
+        if (!packEntry && !ChunkedAeadFormat.isChunked(Paths.get(filePath))) {
+            return new ByteBufferChannel(ByteBuffer.wrap(retrieveData(offChainData, password)));
+        }
+        byte[] iv = Base64.getDecoder().decode(offChainData.getEncryptionIV());
+        byte[] salt = Base64.getDecoder().decode(offChainData.getEncryptionSalt());
+        SecretKeySpec secretKey = offChainData.getWrappedDataKey() != null
+            ? unwrapDataKey(offChainData, password, salt)
+            : KeyDerivationUtil.deriveSecretKey(password, salt);
+        if (packEntry) {
+            // Memory-mapped: no file is opened per read
+            return new ChunkedAeadFormat.ReadChannel(new ByteBufferChannel(OffChainPackStore.read(filePath)),
+                filePath, secretKey, iv);
+        }
+        return new ChunkedAeadFormat.ReadChannel(Paths.get(filePath), secretKey, iv);
+    }
+
     /**
      * Verify data integrity and signature by attempting full decryption
+     * Chunked files are streamed, so verification needs one segment of memory.
      */
     public boolean verifyIntegrity(OffChainData offChainData, String password) {
         try {
-            byte[] data = retrieveData(offChainData, password);
-            
+            long length;
+            try (InputStream in = openDataStream(offChainData, password)) {
+                length = in.transferTo(OutputStream.nullOutputStream());
+            }
+
             // Additional validation: ensure data is not empty and has reasonable size
-            if (data == null || data.length == 0) {
+            if (length == 0) {
                 logger.error("❌ Integrity verification failed: Retrieved data is empty");
                 return false;
             }
             
             // Verify data size matches expected file size (accounting for potential padding)
             long expectedSize = offChainData.getFileSize();
-            if (expectedSize > 0 && Math.abs(data.length - expectedSize) > 16) {
+            if (expectedSize > 0 && Math.abs(length - expectedSize) > 16) {
                 logger.error("❌ Integrity verification failed: Data size mismatch - expected: {}, actual: {}", 
-                    expectedSize, data.length);
+                    expectedSize, length);
                 return false;
             }
             
@@ -148,7 +535,10 @@ public class OffChainStorageService {
     }
     
     /**
-     * Delete off-chain data file
+     * Delete off-chain data file.
+     * For a content-addressed blob this releases one reference; the blob file is deleted with
+     * the last one, and the result is true once the reference is released. A pack entry is
+     * marked deleted.
      */
     public boolean deleteData(OffChainData offChainData) {
         // Validate input
@@ -164,7 +554,20 @@ public class OffChainStorageService {
         }
         
         try {
+            if (OffChainPackStore.isReference(offChainData.getFilePath())) {
+                // Space is reclaimed by compactPacks()
+                return OffChainPackStore.delete(offChainData.getFilePath());
+            }
             Path path = Paths.get(offChainData.getFilePath());
+            if (ContentAddressedBlobStore.isBlobPath(path)) {
+                if (!Files.exists(path)) {
+                    return false;
+                }
+                if (blobStore.release(path)) {
+                    logger.debug("✅ Deleted off-chain blob after its last reference: {}", path);
+                }
+                return true;
+            }
             boolean deleted = Files.deleteIfExists(path);
             if (deleted) {
                 logger.debug("✅ Deleted off-chain file: {}", offChainData.getFilePath());
@@ -180,28 +583,62 @@ public class OffChainStorageService {
     }
     
     /**
-     * Encrypt data using AES-GCM and store to file
-     * GCM provides authenticated encryption in a single operation
-     * Uses PBKDF2WithHmacSHA512 for quantum-resistant password-based key derivation
+     * Outcome of {@link #cleanupBlobs(Map, Duration, int)}.
+     *
+     * @param deletedCount blobs deleted
+     * @param spaceFreed bytes freed
+     * @since 1.0.6
      */
-    private void encryptAndStoreData(byte[] data, String filePath, String password, byte[] iv, byte[] salt) throws Exception {
-        SecretKeySpec secretKey = KeyDerivationUtil.deriveSecretKey(password, salt);
-        GCMParameterSpec gcmSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv); // Tag length in bits
+    public record BlobCleanupResult(int deletedCount, long spaceFreed) {
+    }
 
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, gcmSpec);
+    /**
+     * Reconcile content-addressed blob reference counts with the database.
+     *
+     * <p>Blobs that no block references are deleted and other counts are corrected to the
+     * number of referencing blocks. Counts that changed within {@code gracePeriod} are left
+     * alone: a reference is counted before the block holding it commits. Used by
+     * {@code OffChainCleanupService.cleanupOrphanedFiles()}.</p>
+     *
+     * @param references number of referencing blocks per blob file name ({@code <id>.blob})
+     * @param gracePeriod minimum age of a count before it is lowered
+     * @param maxDeletions maximum number of blobs to delete
+     * @since 1.0.6
+     */
+    public BlobCleanupResult cleanupBlobs(Map<String, Long> references, Duration gracePeriod, int maxDeletions)
+            throws IOException {
+        return blobStore.reconcile(references, Instant.now().minus(gracePeriod), maxDeletions);
+    }
 
-        // GCM encrypts all data in one operation (no streaming needed for integrity)
-        byte[] encryptedData = cipher.doFinal(data);
+    /**
+     * Outcome of {@link #compactPacks(Set, Duration, int)}.
+     *
+     * @param deletedEntries unreferenced pack entries deleted
+     * @param rewrittenPacks pack files rewritten without their deleted entries
+     * @param spaceFreed bytes freed
+     * @since 1.0.6
+     */
+    public record PackCompactionResult(int deletedEntries, int rewrittenPacks, long spaceFreed) {
+    }
 
-        // Write encrypted data to file
-        try (FileOutputStream fos = new FileOutputStream(filePath)) {
-            fos.write(encryptedData);
-        }
+    /**
+     * Delete pack entries no block references and rewrite pack files that are more than half
+     * deleted entries. Entries appended within {@code gracePeriod} are kept, as their blocks
+     * may not be committed yet. Entry references stay valid across rewrites. Used by
+     * {@code OffChainCleanupService.cleanupOrphanedFiles()}.
+     *
+     * @param referenced referenced entries as {@code <pack file name>#<entry id>}
+     * @param gracePeriod minimum age of an entry before it is deleted as unreferenced
+     * @param maxDeletions maximum number of entries to delete
+     * @since 1.0.6
+     */
+    public PackCompactionResult compactPacks(Set<String> referenced, Duration gracePeriod, int maxDeletions)
+            throws IOException {
+        return packStore.compact(referenced, Instant.now().minus(gracePeriod), maxDeletions);
     }
-    
+
     /**
-     * Decrypt data from file using AES-GCM
+     * Decrypt a legacy single-message file using AES-GCM
      * GCM provides authenticated decryption with integrity verification
      * Uses PBKDF2WithHmacSHA512 for quantum-resistant password-based key derivation
      */
@@ -283,7 +720,7 @@ public class OffChainStorageService {
      */
     public long getFileSize(OffChainData offChainData) {
         try {
-            return Files.size(Paths.get(offChainData.getFilePath()));
+            return storedFileSize(offChainData.getFilePath());
         } catch (Exception e) {
             return -1;
         }
@@ -293,7 +730,67 @@ public class OffChainStorageService {
      * Check if off-chain data file exists
      */
     public boolean fileExists(OffChainData offChainData) {
-        return Files.exists(Paths.get(offChainData.getFilePath()));
+        return storedDataExists(offChainData.getFilePath());
+    }
+
+    /**
+     * @return true if the off-chain file or pack entry at {@code filePath} exists and is readable
+     * @since 1.0.6
+     */
+    public static boolean storedDataExists(String filePath) {
+        if (filePath == null) {
+            return false;
+        }
+        if (OffChainPackStore.isReference(filePath)) {
+            return OffChainPackStore.exists(filePath);
+        }
+        Path path = Paths.get(filePath);
+        return Files.exists(path) && Files.isReadable(path);
+    }
+
+    /**
+     * @return encrypted size of the off-chain file or pack entry at {@code filePath}
+     * @throws IOException if it does not exist
+     * @since 1.0.6
+     */
+    public static long storedFileSize(String filePath) throws IOException {
+        if (OffChainPackStore.isReference(filePath)) {
+            return OffChainPackStore.length(filePath);
+        }
+        return Files.size(Paths.get(filePath));
+    }
+
+    /**
+     * @return last write time of the off-chain file, or append time of the pack entry, at
+     *         {@code filePath} (epoch milliseconds)
+     * @throws IOException if it does not exist
+     * @since 1.0.6
+     */
+    public static long storedLastModified(String filePath) throws IOException {
+        if (OffChainPackStore.isReference(filePath)) {
+            return OffChainPackStore.createdMillis(filePath);
+        }
+        return Files.getLastModifiedTime(Paths.get(filePath)).toMillis();
+    }
+
+    /**
+     * Copy the encrypted off-chain file or pack entry at {@code filePath} to a standalone file
+     * (e.g. for export); a pack entry becomes an ordinary chunked file.
+     *
+     * @since 1.0.6
+     */
+    public static void copyStoredFile(String filePath, Path target) throws IOException {
+        if (OffChainPackStore.isReference(filePath)) {
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer entry = OffChainPackStore.read(filePath);
+                while (entry.hasRemaining()) {
+                    out.write(entry);
+                }
+            }
+            return;
+        }
+        Files.copy(Paths.get(filePath), target, StandardCopyOption.REPLACE_EXISTING);
     }
 
     /**
@@ -314,6 +811,10 @@ public class OffChainStorageService {
      */
     public boolean verifyFileStructure(OffChainData offChainData) {
         try {
+            if (OffChainPackStore.isReference(offChainData.getFilePath())) {
+                return verifyPackEntryStructure(offChainData);
+            }
+
             // Check 1: File must exist
             Path filePath = Paths.get(offChainData.getFilePath());
             if (!Files.exists(filePath)) {
@@ -342,7 +843,16 @@ public class OffChainStorageService {
             // Check 4: Verify expected size relationship
             // Encrypted file should be larger than original (due to GCM tag)
             long expectedOriginalSize = offChainData.getFileSize();
-            if (expectedOriginalSize > 0) {
+            if (ChunkedAeadFormat.isChunked(filePath)) {
+                // Chunked file: header plus one tag per segment, exactly
+                long expectedEncryptedSize = ChunkedAeadFormat.encryptedSize(expectedOriginalSize,
+                    chunkedSegmentSize(filePath));
+                if (actualSize != expectedEncryptedSize) {
+                    logger.debug("File structure check failed: Chunked file size {} does not match {} for {} bytes",
+                        actualSize, expectedEncryptedSize, expectedOriginalSize);
+                    return false;
+                }
+            } else if (expectedOriginalSize > 0) {
                 // Encrypted size should be: original_size + GCM_TAG_LENGTH
                 // Allow some tolerance for edge cases
                 long minEncryptedSize = expectedOriginalSize + GCM_TAG_LENGTH - 8;
@@ -385,4 +895,194 @@ public class OffChainStorageService {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@link #verifyFileStructure(OffChainData)} for a pack entry: chunked header, exact size
+     * for the recorded payload size and a valid IV.
+     */
+    private boolean verifyPackEntryStructure(OffChainData offChainData) throws IOException {
+        if (!OffChainPackStore.exists(offChainData.getFilePath())) {
+            logger.debug("File structure check failed: Pack entry does not exist: {}", offChainData.getFilePath());
+            return false;
+        }
+        ByteBuffer entry = OffChainPackStore.read(offChainData.getFilePath());
+        long expectedSize = ChunkedAeadFormat.encryptedSize(offChainData.getFileSize(),
+            ChunkedAeadFormat.segmentSize(entry.duplicate(), offChainData.getFilePath()));
+        if (entry.remaining() != expectedSize) {
+            logger.debug("File structure check failed: Pack entry size {} does not match {} for {} bytes",
+                entry.remaining(), expectedSize, offChainData.getFileSize());
+            return false;
+        }
+        byte[] iv = Base64.getDecoder().decode(offChainData.getEncryptionIV());
+        if (iv.length != IV_LENGTH) {
+            logger.debug("File structure check failed: Invalid IV length: {} (expected {})", iv.length, IV_LENGTH);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Size an off-chain file would have in the legacy single-message format: the payload plus
+     * one GCM tag. For chunked files the header and per-segment tags are excluded, so size
+     * checks written for legacy files (payload size within one tag of this value) hold for both.
+     *
+     * @throws IOException if a chunked file is truncated or cannot be read
+     * @since 1.0.6
+     */
+    public static long storedPayloadSize(Path filePath) throws IOException {
+        if (OffChainPackStore.isReference(filePath.toString())) {
+            ByteBuffer entry = OffChainPackStore.read(filePath.toString());
+            return ChunkedAeadFormat.plaintextSize(entry.remaining(),
+                ChunkedAeadFormat.segmentSize(entry.duplicate(), filePath.toString())) + GCM_TAG_LENGTH;
+        }
+        long fileSize = Files.size(filePath);
+        if (!ChunkedAeadFormat.isChunked(filePath)) {
+            return fileSize;
+        }
+        return ChunkedAeadFormat.plaintextSize(fileSize, chunkedSegmentSize(filePath)) + GCM_TAG_LENGTH;
+    }
+
+    /**
+     * Segment size recorded in a chunked file header.
+     */
+    private static int chunkedSegmentSize(Path filePath) throws IOException {
+        try (InputStream in = Files.newInputStream(filePath)) {
+            byte[] header = in.readNBytes(ChunkedAeadFormat.HEADER_LENGTH);
+            if (header.length < ChunkedAeadFormat.HEADER_LENGTH) {
+                throw new IOException("Truncated chunked off-chain header");
+            }
+            return ByteBuffer.wrap(header, ChunkedAeadFormat.HEADER_LENGTH - Integer.BYTES, Integer.BYTES).getInt();
+        }
+    }
+
+    /**
+     * Checks the SHA3-256 of everything read against the expected hash at end of stream.
+     */
+    private static final class HashVerifyingInputStream extends FilterInputStream {
+        private final MessageDigest digest;
+        private final String expectedHash;
+        private boolean verified;
+
+        HashVerifyingInputStream(InputStream in, MessageDigest digest, String expectedHash) {
+            super(in);
+            this.digest = digest;
+            this.expectedHash = expectedHash;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                verify();
+            } else {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n < 0) {
+                verify();
+            } else {
+                digest.update(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes must be hashed too
+            if (n <= 0) {
+                return 0;
+            }
+            int read = read(new byte[(int) Math.min(n, BUFFER_SIZE)]);
+            return Math.max(read, 0);
+        }
+
+        private void verify() {
+            if (!verified) {
+                verified = true;
+                String actualHash = HexFormat.of().formatHex(digest.digest());
+                if (!actualHash.equals(expectedHash)) {
+                    throw new SecurityException("Data integrity verification failed. File may be corrupted or tampered with.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Read-only channel over a buffer: decrypted legacy data or a memory-mapped pack entry.
+     */
+    private static final class ByteBufferChannel implements SeekableByteChannel {
+        private final ByteBuffer data;
+        private long position;
+        private boolean open = true;
+
+        ByteBufferChannel(ByteBuffer data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            ensureOpen();
+            if (position >= data.limit()) {
+                return -1;
+            }
+            int n = (int) Math.min(dst.remaining(), data.limit() - position);
+            dst.put(dst.position(), data, (int) position, n);
+            dst.position(dst.position() + n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public long position() throws IOException {
+            ensureOpen();
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) throws IOException {
+            ensureOpen();
+            if (newPosition < 0) {
+                throw new IllegalArgumentException("Negative position: " + newPosition);
+            }
+            position = newPosition;
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            ensureOpen();
+            return data.limit();
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            throw new NonWritableChannelException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (!open) {
+                throw new ClosedChannelException();
+            }
+        }
+    }
+}
@@ -470,11 +470,50 @@ public class PerformanceMetricsService {
     
     // Performance optimization methods integrated from PerformanceOptimizationFixes
     public List<Block> getBlocksOptimized(Blockchain blockchain, int startIndex, int batchSize) {
+        int effectiveBatchSize = effectiveBatchSize(batchSize);
+        if (effectiveBatchSize == 0) {
+            return new ArrayList<>();
+        }
+
+        // Use pagination to avoid loading all blocks into memory
+        long blockCount = blockchain.getBlockCount();
+        if (startIndex >= blockCount) {
+            return new ArrayList<>();
+        }
+
+        int limit = (int) Math.min(effectiveBatchSize, blockCount - startIndex);
+        return blockchain.getBlocksPaginated(startIndex, limit);
+    }
+
+    /**
+     * Keyset variant of {@link #getBlocksOptimized(Blockchain, int, int)}: returns the next
+     * batch of blocks after {@code afterBlockNumber}. Pass {@code -1} for the first batch and
+     * the number of the last block returned for each following one; an empty list marks the
+     * end of the chain. Every batch costs the same regardless of its position in the chain.
+     *
+     * @param blockchain chain to read
+     * @param afterBlockNumber exclusive lower bound ({@code -1} to start at the genesis block)
+     * @param batchSize requested batch size (reduced under memory pressure)
+     * @return next batch in block number order, or empty after a shutdown request
+     * @since 1.0.6
+     */
+    public List<Block> getBlocksOptimizedAfter(Blockchain blockchain, long afterBlockNumber, int batchSize) {
+        int effectiveBatchSize = effectiveBatchSize(batchSize);
+        if (effectiveBatchSize == 0) {
+            return new ArrayList<>();
+        }
+        return blockchain.getBlocksAfter(afterBlockNumber, effectiveBatchSize);
+    }
+
+    /**
+     * @return memory-aware batch size capped at MAX_BATCH_SIZE, or 0 after a shutdown request
+     */
+    private int effectiveBatchSize(int batchSize) {
         // Check for shutdown request
         synchronized (optimizationLock) {
             if (shutdownRequested) {
                 logger.info("Optimization shutdown requested, returning empty result");
-                return new ArrayList<>();
+                return 0;
             }
         }
         
@@ -486,16 +525,7 @@ public class PerformanceMetricsService {
                        usedMemory / (1024 * 1024), batchSize);
         }
         
-        int effectiveBatchSize = Math.min(batchSize, MAX_BATCH_SIZE);
-
-        // Use pagination to avoid loading all blocks into memory
-        long blockCount = blockchain.getBlockCount();
-        if (startIndex >= blockCount) {
-            return new ArrayList<>();
-        }
-
-        int limit = (int) Math.min(effectiveBatchSize, blockCount - startIndex);
-        return blockchain.getBlocksPaginated(startIndex, limit);
+        return Math.min(batchSize, MAX_BATCH_SIZE);
     }
     
     public void rebuildCacheMemoryOptimized(Blockchain blockchain) {
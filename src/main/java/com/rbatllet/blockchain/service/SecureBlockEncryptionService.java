@@ -1,5 +1,6 @@
 package com.rbatllet.blockchain.service;
 
+import com.rbatllet.blockchain.security.KeyDerivationUtil;
 import com.rbatllet.blockchain.util.CryptoUtil;
 import javax.crypto.Cipher;
 import javax.crypto.spec.GCMParameterSpec;
@@ -199,23 +200,10 @@ public class SecureBlockEncryptionService {
     
     /**
      * Derive encryption key from password using PBKDF2 with SHA-3-256
+     * (served from the derived key cache when {@link KeyDerivationUtil#enableDerivedKeyCache()} is on)
      */
-    private static byte[] deriveKeyFromPassword(String password, byte[] salt) throws Exception {
-        // Use PBKDF2 for key stretching
-        javax.crypto.spec.PBEKeySpec spec = new javax.crypto.spec.PBEKeySpec(
-            password.toCharArray(), 
-            salt, 
-            KEY_ITERATION_COUNT, 
-            AES_KEY_LENGTH * 8
-        );
-        
-        javax.crypto.SecretKeyFactory factory = javax.crypto.SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-        byte[] derivedKey = factory.generateSecret(spec).getEncoded();
-        
-        // Clear the spec
-        spec.clearPassword();
-        
-        return derivedKey;
+    private static byte[] deriveKeyFromPassword(String password, byte[] salt) {
+        return KeyDerivationUtil.deriveKey("PBKDF2WithHmacSHA256", password, salt, KEY_ITERATION_COUNT, AES_KEY_LENGTH);
     }
     
     /**
@@ -1247,13 +1247,18 @@ public class UserFriendlyEncryptionAPI {
         // OPTIMIZED (Priority 2): Process blocks in batches with early termination
         List<Block> similarBlocks = new ArrayList<>();
         
-        long totalBlocks = blockchain.getBlockCount();
+        // Keyset pagination: each batch seeks past the last block of the previous one
+        long afterBlockNumber = -1L;
 
-        for (long offset = 0; offset < totalBlocks && similarBlocks.size() < maxResults; offset += MemorySafetyConstants.FALLBACK_BATCH_SIZE) {
-            List<Block> batchBlocks = blockchain.getBlocksPaginated(
-                offset,
+        while (similarBlocks.size() < maxResults) {
+            List<Block> batchBlocks = blockchain.getBlocksAfter(
+                afterBlockNumber,
                 MemorySafetyConstants.FALLBACK_BATCH_SIZE
             );
+            if (batchBlocks.isEmpty()) {
+                break;
+            }
+            afterBlockNumber = batchBlocks.get(batchBlocks.size() - 1).getBlockNumber();
 
             for (Block block : batchBlocks) {
                 // Early termination when maxResults reached
@@ -2762,11 +2767,8 @@ public class UserFriendlyEncryptionAPI {
             sb.append("📋 Recent Activity (Last 5 Blocks):\n");
             sb.append("-".repeat(50)).append("\n");
 
-            // Get the last 5 blocks using pagination
-            long blockCount = totalBlocks.get();
-            int startIndex = (int) Math.max(0, blockCount - 5);
-            int limit = (int) Math.min(5, blockCount);
-            List<Block> recentBlocks = blockchain.getBlocksPaginated(startIndex, limit);
+            // Get the last 5 blocks (keyset seek from the chain tip, no OFFSET scan)
+            List<Block> recentBlocks = blockchain.getBlocksBefore(Long.MAX_VALUE, 5);
 
             for (Block block : recentBlocks) {
                 sb.append(
@@ -7502,9 +7504,8 @@ public class UserFriendlyEncryptionAPI {
             if (includeTrends) {
                 // Simplified trend analysis
                 if (chainLength > 10) {
-                    // Get last 10 blocks efficiently using pagination
-                    long offset = Math.max(0, chainLength - 10);
-                    List<Block> recentBlocks = blockchain.getBlocksPaginated(offset, 10);
+                    // Get last 10 blocks (keyset seek from the chain tip, no OFFSET scan)
+                    List<Block> recentBlocks = blockchain.getBlocksBefore(Long.MAX_VALUE, 10);
 
                     // Check for recent block creation rate
                     if (!recentBlocks.isEmpty()) {
@@ -7696,18 +7697,13 @@ public class UserFriendlyEncryptionAPI {
                 blockHash.substring(0, 8)
             );
 
-            long blockCount = blockchain.getBlockCount();
-            if (blockCount == 0) {
-                logger.debug("No blocks available for hash search");
-                return null;
-            }
-
-            // Search in batches from newest to oldest (most queries are for recent blocks)
-            for (long offset = blockCount - MemorySafetyConstants.DEFAULT_BATCH_SIZE; offset >= 0; offset -= MemorySafetyConstants.DEFAULT_BATCH_SIZE) {
-                // Calculate actual batch size (avoid negative on last batch)
-                long actualBatchSize = Math.min(MemorySafetyConstants.DEFAULT_BATCH_SIZE, blockCount - offset);
-                
-                List<Block> batch = blockchain.getBlocksPaginated(offset, (int) actualBatchSize);
+            // Search in batches from newest to oldest (most queries are for recent blocks),
+            // seeking backwards from the first block of the previous batch
+            long beforeBlockNumber = Long.MAX_VALUE;
+            List<Block> batch;
+            while (!(batch = blockchain.getBlocksBefore(
+                    beforeBlockNumber, MemorySafetyConstants.DEFAULT_BATCH_SIZE)).isEmpty()) {
+                beforeBlockNumber = batch.get(0).getBlockNumber();
 
                 // Search within current batch
                 for (Block block : batch) {
@@ -12614,7 +12610,7 @@ public class UserFriendlyEncryptionAPI {
      * P0 OPTIMIZATION: Native database query for ENCRYPTED_FOR search.
      * Uses indexed {@code getBlocksByRecipientPublicKey()} for recipient-encrypted blocks.
      * <p>
-     * <b>Note:</b> This ONLY returns blocks encrypted for the recipient (with {@code recipient_public_key}).
+     * <b>Note:</b> This ONLY returns blocks encrypted for the recipient (with a recipient key).
      * Password-encrypted blocks are NOT included here - they appear in CREATED_BY and ACCESSIBLE searches.
      * </p>
      *
@@ -0,0 +1,159 @@
+package com.rbatllet.blockchain.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Bounded least-recently-used map with hit/miss statistics, shared by the library's lookup
+ * caches (block hash → number, parsed public keys, derived keys).
+ *
+ * <p>Once {@code capacity} entries are held, inserting another one evicts the least recently
+ * read or written entry and passes its value to the optional eviction listener (e.g. to zero
+ * key material). Null keys and values are not stored.</p>
+ *
+ * <p><strong>Thread Safety:</strong> All methods are synchronized; hit/miss counters are atomic.</p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @since 1.0.6
+ */
+public final class BoundedLruCache<K, V> {
+
+    private final int capacity;
+    private final Consumer<? super V> evictionListener;
+    private final LinkedHashMap<K, V> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param capacity maximum number of entries (positive)
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public BoundedLruCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param capacity maximum number of entries (positive)
+     * @param evictionListener called with each value evicted to respect the capacity, or null
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public BoundedLruCache(int capacity, Consumer<? super V> evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.evictionListener = evictionListener;
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= BoundedLruCache.this.capacity) {
+                    return false;
+                }
+                if (BoundedLruCache.this.evictionListener != null) {
+                    BoundedLruCache.this.evictionListener.accept(eldest.getValue());
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return the cached value, or {@code null} on a miss
+     */
+    public synchronized V get(K key) {
+        return get(key, value -> true);
+    }
+
+    /**
+     * Look up a value that is only a hit if {@code usable} accepts it (e.g. not expired, or
+     * matching the caller's input). A rejected value stays cached and counts as a miss.
+     *
+     * @return the cached value, or {@code null} on a miss
+     */
+    public synchronized V get(K key, Predicate<? super V> usable) {
+        V value = key != null ? entries.get(key) : null;
+        if (value != null && usable.test(value)) {
+            hits.incrementAndGet();
+            return value;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @return the value previously cached for the key, or {@code null}
+     */
+    public synchronized V put(K key, V value) {
+        if (key == null || value == null) {
+            return null;
+        }
+        return entries.put(key, value);
+    }
+
+    /**
+     * @return the removed value, or {@code null}
+     */
+    public synchronized V remove(K key) {
+        return key != null ? entries.remove(key) : null;
+    }
+
+    /**
+     * Remove every entry whose value matches {@code filter}. The eviction listener is not called.
+     *
+     * @return number of entries removed
+     */
+    public synchronized int removeIf(Predicate<? super V> filter) {
+        int removed = 0;
+        for (Iterator<V> it = entries.values().iterator(); it.hasNext(); ) {
+            if (filter.test(it.next())) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drop all entries (statistics are kept; see {@link #resetStatistics()}).
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return snapshot with size, capacity, hits, misses and hit rate (percentage)
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", size());
+        stats.put("capacity", capacity);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total > 0 ? (hitCount * 100.0) / total : 0.0);
+        return stats;
+    }
+}
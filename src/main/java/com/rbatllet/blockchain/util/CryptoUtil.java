@@ -1,6 +1,11 @@
 package com.rbatllet.blockchain.util;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.KeyFactory;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
@@ -205,33 +210,204 @@ public class CryptoUtil {
     }    
     /**
      * Calculate hash using SHA-3 (thread-safe method)
+     *
+     * <p>Streams the UTF-8 encoding of {@code input} into a reusable per-thread
+     * {@link HashBuilder}; no intermediate byte[] copy of the input is made. That builder is
+     * separate from the one returned by {@link #hashBuilder()}, so this method can be called
+     * while a builder is in progress.</p>
      * 
      * @param input The string to hash
      * @return The hexadecimal hash string
      */
     public static String calculateHash(String input) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
-            byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error calculating hash", e);
+        HashBuilder builder = CALCULATE_HASH_BUILDER.get();
+        builder.reset();
+        return builder.append(input).toHex();
+    }
+
+    /**
+     * Get a reset SHA3-256 {@link HashBuilder}, normally this thread's reusable one.
+     *
+     * <p>The builder is in use until {@link HashBuilder#toHex()} is called. If it is requested
+     * again before then on the same thread (a nested hash), a new builder is returned instead, so
+     * the outer digest is never reset.</p>
+     *
+     * @return a builder ready for use
+     */
+    public static HashBuilder hashBuilder() {
+        HashBuilder builder = HASH_BUILDER.get();
+        if (builder.inUse) {
+            return new HashBuilder();
         }
+        builder.reset();
+        builder.inUse = true;
+        return builder;
     }
-    
+
+    private static final ThreadLocal<HashBuilder> HASH_BUILDER =
+        ThreadLocal.withInitial(HashBuilder::new);
+
+    private static final ThreadLocal<HashBuilder> CALCULATE_HASH_BUILDER =
+        ThreadLocal.withInitial(HashBuilder::new);
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     /**
      * Convert bytes to hexadecimal (thread-safe method)
      *
      * @param bytes The byte array to convert
+     * @param length Number of leading bytes to convert
      * @return Hexadecimal string representation
      */
-    private static String bytesToHex(byte[] bytes) {
-        // Pre-calculate capacity: each byte becomes 2 hex characters
-        StringBuilder result = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            result.append(String.format("%02x", b));
+    private static String bytesToHex(byte[] bytes, int length) {
+        // Table lookup: each byte becomes 2 hex characters
+        char[] result = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            int b = bytes[i] & 0xFF;
+            result[i * 2] = HEX_DIGITS[b >>> 4];
+            result[i * 2 + 1] = HEX_DIGITS[b & 0x0F];
+        }
+        return new String(result);
+    }
+
+    /**
+     * Incremental SHA3-256 hasher that feeds fields straight into a reused {@link MessageDigest}.
+     *
+     * <p>Appending several values produces exactly the same digest as
+     * {@code calculateHash(String.valueOf(a) + b + ...)} without building the concatenated
+     * String or its UTF-8 byte[] copy. Strings are encoded through a fixed 8KB buffer
+     * (ASCII fast path, {@link CharsetEncoder} otherwise); unpaired surrogates are replaced
+     * with {@code '?'} just like {@link String#getBytes(java.nio.charset.Charset)}.</p>
+     *
+     * <p>Instances are not thread-safe. Obtain one per use via {@link CryptoUtil#hashBuilder()}.</p>
+     *
+     * @since 1.0.6
+     */
+    public static final class HashBuilder {
+        private static final int BUFFER_SIZE = 8192;
+
+        private final MessageDigest digest;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final byte[] digestBytes;
+        private boolean inUse;
+
+        private HashBuilder() {
+            try {
+                this.digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("Error calculating hash", e);
+            }
+            this.digestBytes = new byte[digest.getDigestLength()];
+        }
+
+        private void reset() {
+            digest.reset();
+            buffer.clear();
+        }
+
+        /**
+         * Append the UTF-8 encoding of {@code value}.
+         *
+         * @param value text to hash (must not be null)
+         * @return this builder
+         */
+        public HashBuilder append(String value) {
+            byte[] out = buffer.array();
+            int length = value.length();
+            int i = 0;
+            // ASCII fast path (hex hashes, Base64 keys, most payloads)
+            while (i < length) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                out[buffer.position()] = (byte) c;
+                buffer.position(buffer.position() + 1);
+                i++;
+            }
+            if (i < length) {
+                encodeRemaining(value, i);
+            }
+            return this;
+        }
+
+        /**
+         * Append the decimal representation of {@code value} (same bytes as {@code Long.toString}).
+         *
+         * @param value number to hash
+         * @return this builder
+         */
+        public HashBuilder append(long value) {
+            if (buffer.remaining() < 20) {
+                drain();
+            }
+            byte[] out = buffer.array();
+            int start = buffer.position();
+            int end = start + stringSize(value);
+            int pos = end;
+            // Negate into negative space so Long.MIN_VALUE is handled without overflow
+            long v = value < 0 ? value : -value;
+            do {
+                out[--pos] = (byte) ('0' - (v % 10));
+                v /= 10;
+            } while (v != 0);
+            if (value < 0) {
+                out[--pos] = '-';
+            }
+            buffer.position(end);
+            return this;
+        }
+
+        /**
+         * Finish the digest and return it as lowercase hex. The builder is reset afterwards.
+         *
+         * @return hexadecimal SHA3-256 hash
+         */
+        public String toHex() {
+            try {
+                drain();
+                int length = digest.digest(digestBytes, 0, digestBytes.length);
+                return bytesToHex(digestBytes, length);
+            } catch (DigestException e) {
+                throw new RuntimeException("Error calculating hash", e);
+            } finally {
+                inUse = false;
+            }
+        }
+
+        private void encodeRemaining(String value, int from) {
+            encoder.reset();
+            CharBuffer in = CharBuffer.wrap(value, from, value.length());
+            while (encoder.encode(in, buffer, true).isOverflow()) {
+                drain();
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (buffer.position() > 0) {
+                digest.update(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        }
+
+        private static int stringSize(long value) {
+            int digits = 1;
+            long v = value < 0 ? value : -value;
+            while (v <= -10) {
+                v /= 10;
+                digits++;
+            }
+            return value < 0 ? digits + 1 : digits;
         }
-        return result.toString();
     }
     
     /**
@@ -423,7 +599,8 @@ public class CryptoUtil {
                 );
             }
 
-            Signature sig = Signature.getInstance(SIGNATURE_INSTANCE);
+            // initVerify() fully resets the per-thread instance, including after a failed verify
+            Signature sig = VERIFIER.get();
             sig.initVerify(publicKey);
             sig.update(data.getBytes(StandardCharsets.UTF_8));
             byte[] signatureBytes = Base64.getDecoder().decode(signature);
@@ -432,6 +609,15 @@ public class CryptoUtil {
             throw new RuntimeException("Error verifying ML-DSA-87 signature: " + e.getMessage(), e);
         }
     }
+
+    /** Per-thread ML-DSA verifier, reused by {@link #verifySignature(String, String, PublicKey)}. */
+    private static final ThreadLocal<Signature> VERIFIER = ThreadLocal.withInitial(() -> {
+        try {
+            return Signature.getInstance(SIGNATURE_INSTANCE);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(SIGNATURE_INSTANCE + " signature algorithm not available", e);
+        }
+    });
     
     /**
      * Convert a public key to Base64 string (thread-safe method)
@@ -467,6 +653,72 @@ public class CryptoUtil {
         }
     }
 
+    /** Parsed signer keys shared by all verification paths (validation, recovery, admin checks). */
+    private static final PublicKeyCache PUBLIC_KEY_CACHE = new PublicKeyCache(PublicKeyCache.DEFAULT_CAPACITY);
+
+    /**
+     * Convert a Base64 string to an ML-DSA-87 public key, reusing a previously parsed key.
+     *
+     * <p>Equivalent to {@link #stringToPublicKey(String)} for repeated verification with the
+     * same few signer keys. The fingerprint (SHA3-256 of the key string) is computed here;
+     * callers that already have it should use {@link #getCachedPublicKey(String, String)}.</p>
+     *
+     * @param publicKeyString Base64 encoded ML-DSA-87 public key
+     * @return The decoded public key
+     * @throws RuntimeException if the key cannot be parsed (same as {@link #stringToPublicKey(String)})
+     * @since 1.0.6
+     */
+    public static PublicKey getCachedPublicKey(String publicKeyString) {
+        return getCachedPublicKey(null, publicKeyString);
+    }
+
+    /**
+     * Convert a Base64 string to an ML-DSA-87 public key using a bounded cache keyed by the
+     * key's fingerprint (e.g. {@link com.rbatllet.blockchain.entity.Block#getSignerKeyFingerprint()}).
+     *
+     * <p>A cached key is only returned if it was parsed from exactly {@code publicKeyString},
+     * so a fingerprint that does not match the key string costs a parse but never returns
+     * another key. Keys that fail to parse are not cached.</p>
+     *
+     * @param fingerprint SHA3-256 fingerprint of the key string, or null to compute it
+     * @param publicKeyString Base64 encoded ML-DSA-87 public key
+     * @return The decoded public key
+     * @throws RuntimeException if the key cannot be parsed (same as {@link #stringToPublicKey(String)})
+     * @since 1.0.6
+     */
+    public static PublicKey getCachedPublicKey(String fingerprint, String publicKeyString) {
+        if (publicKeyString == null) {
+            return stringToPublicKey(null);
+        }
+        String cacheKey = fingerprint != null ? fingerprint : calculateHash(publicKeyString);
+        PublicKey cached = PUBLIC_KEY_CACHE.get(cacheKey, publicKeyString);
+        if (cached != null) {
+            return cached;
+        }
+        PublicKey parsed = stringToPublicKey(publicKeyString);
+        PUBLIC_KEY_CACHE.put(cacheKey, publicKeyString, parsed);
+        return parsed;
+    }
+
+    /**
+     * Statistics of the parsed public key cache behind {@link #getCachedPublicKey(String, String)}.
+     *
+     * @return size, capacity, hits, misses and hitRate (percentage)
+     * @since 1.0.6
+     */
+    public static Map<String, Object> getPublicKeyCacheStatistics() {
+        return PUBLIC_KEY_CACHE.getStatistics();
+    }
+
+    /**
+     * Drop all parsed public keys and reset the cache statistics.
+     *
+     * @since 1.0.6
+     */
+    public static void clearPublicKeyCache() {
+        PUBLIC_KEY_CACHE.clear();
+    }
+
     /**
      * Convert a Base64 string to ML-DSA-87 private key (thread-safe method)
      *
@@ -0,0 +1,62 @@
+package com.rbatllet.blockchain.util;
+
+import java.security.PublicKey;
+import java.util.Map;
+
+/**
+ * Package-private bounded LRU cache of key fingerprint → parsed {@link PublicKey}.
+ *
+ * <p>Used by {@link CryptoUtil#getCachedPublicKey(String, String)} so that signature
+ * verification does not Base64-decode and X.509-parse the same signer key for every block.
+ * Each entry keeps the encoded key it was parsed from and a hit is only returned when the
+ * requested key string matches it, so a fingerprint that does not belong to the key string
+ * (corrupted or tampered data) can never yield a different key.</p>
+ *
+ * <p><strong>Thread Safety:</strong> Thread-safe; backed by a {@link BoundedLruCache}.</p>
+ *
+ * @since 1.0.6
+ */
+final class PublicKeyCache {
+
+    /** Default number of cached keys (a parsed ML-DSA-87 key plus its encoding is ~10KB). */
+    static final int DEFAULT_CAPACITY = 1_000;
+
+    private record Entry(String encodedKey, PublicKey publicKey) { }
+
+    private final BoundedLruCache<String, Entry> entries;
+
+    PublicKeyCache(int capacity) {
+        this.entries = new BoundedLruCache<>(capacity);
+    }
+
+    /**
+     * @return cached key for {@code fingerprint} if it was parsed from {@code encodedKey},
+     *         or {@code null} on a miss
+     */
+    PublicKey get(String fingerprint, String encodedKey) {
+        Entry entry = entries.get(fingerprint, cached -> cached.encodedKey().equals(encodedKey));
+        return entry != null ? entry.publicKey() : null;
+    }
+
+    void put(String fingerprint, String encodedKey, PublicKey publicKey) {
+        if (encodedKey != null && publicKey != null) {
+            entries.put(fingerprint, new Entry(encodedKey, publicKey));
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        entries.resetStatistics();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return snapshot with size, capacity, hits, misses and hit rate (percentage)
+     */
+    Map<String, Object> getStatistics() {
+        return entries.getStatistics();
+    }
+}
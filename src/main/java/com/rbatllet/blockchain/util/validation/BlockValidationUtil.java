@@ -3,10 +3,12 @@ package com.rbatllet.blockchain.util.validation;
 import com.rbatllet.blockchain.entity.Block;
 import com.rbatllet.blockchain.validation.BlockValidationResult;
 import com.rbatllet.blockchain.core.Blockchain;
+import com.rbatllet.blockchain.service.OffChainStorageService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.io.File;
+import java.nio.file.Paths;
 /**
  * Utility class for blockchain validation operations
  * Migrated from CLI project to core for better reusability
@@ -65,8 +67,7 @@ public class BlockValidationUtil {
         try {
             // Check if off-chain file exists
             String filePath = block.getOffChainData().getFilePath();
-            File offChainFile = new File(filePath);
-            if (!offChainFile.exists()) {
+            if (!OffChainStorageService.storedDataExists(filePath)) {
                 logger.error("❌ Off-chain file missing: {}", filePath);
                 return false;
             }
@@ -91,9 +92,7 @@ public class BlockValidationUtil {
         }
         
         try {
-            String filePath = block.getOffChainData().getFilePath();
-            File offChainFile = new File(filePath);
-            return offChainFile.exists() && offChainFile.canRead();
+            return OffChainStorageService.storedDataExists(block.getOffChainData().getFilePath());
         } catch (Exception e) {
             return false;
         }
@@ -135,12 +134,14 @@ public class BlockValidationUtil {
             }
             
             // Check file size consistency (account for AES encryption padding)
-            File file = new File(offChainData.getFilePath());
-            if (file.exists() && offChainData.getFileSize() != null) {
-                long sizeDifference = Math.abs(file.length() - offChainData.getFileSize());
+            String filePath = offChainData.getFilePath();
+            if (OffChainStorageService.storedDataExists(filePath) && offChainData.getFileSize() != null) {
+                long sizeDifference = Math.abs(OffChainStorageService.storedPayloadSize(Paths.get(filePath))
+                    - offChainData.getFileSize());
                 if (sizeDifference > 16) { // Allow up to 16 bytes for AES padding
                     logger.error("❌ Off-chain file size mismatch: expected {}, actual {} (difference: {})", 
-                                offChainData.getFileSize(), file.length(), sizeDifference);
+                                offChainData.getFileSize(), OffChainStorageService.storedFileSize(filePath),
+                                sizeDifference);
                     return false;
                 }
             }
@@ -192,19 +193,14 @@ public class BlockValidationUtil {
             
             // 2. Check file existence and accessibility
             if (offChainData.getFilePath() != null) {
-                File file = new File(offChainData.getFilePath());
-                if (!file.exists()) {
-                    issues.append("File does not exist; ");
+                String filePath = offChainData.getFilePath();
+                if (!OffChainStorageService.storedDataExists(filePath)) {
+                    issues.append(new File(filePath).exists() ? "File is not readable; " : "File does not exist; ");
                     isValid = false;
                 } else {
-                    if (!file.canRead()) {
-                        issues.append("File is not readable; ");
-                        isValid = false;
-                    }
-                    
                     // 3. Check file size consistency (account for AES encryption padding)
                     if (offChainData.getFileSize() != null) {
-                        long actualSize = file.length();
+                        long actualSize = OffChainStorageService.storedPayloadSize(Paths.get(filePath));
                         long expectedSize = offChainData.getFileSize();
                         // AES encryption adds up to 16 bytes of padding
                         long sizeDifference = Math.abs(actualSize - expectedSize);
@@ -216,7 +212,7 @@ public class BlockValidationUtil {
                     }
                     
                     // 4. Check if file is suspiciously small or large
-                    long fileSize = file.length();
+                    long fileSize = OffChainStorageService.storedFileSize(filePath);
                     if (fileSize == 0) {
                         issues.append("File is empty; ");
                         isValid = false;
@@ -258,14 +254,12 @@ public class BlockValidationUtil {
         
         try {
             var offChainData = block.getOffChainData();
-            File file = new File(offChainData.getFilePath());
-            
-            if (!file.exists()) {
+            if (!OffChainStorageService.storedDataExists(offChainData.getFilePath())) {
                 return false; // Missing file is a form of tampering
             }
             
             // Check file modification time vs creation time
-            long fileModified = file.lastModified();
+            long fileModified = OffChainStorageService.storedLastModified(offChainData.getFilePath());
             long dataCreated = offChainData.getCreatedAt().atZone(java.time.ZoneId.systemDefault())
                                             .toInstant().toEpochMilli();
             
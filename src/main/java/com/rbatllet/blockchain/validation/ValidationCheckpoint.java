@@ -0,0 +1,58 @@
+package com.rbatllet.blockchain.validation;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Persisted "verified-through" watermark for incremental chain validation.
+ *
+ * <p>Records the last block of an unbroken prefix of the chain that passed structural and
+ * cryptographic validation, together with the time of that validation and a fingerprint of the
+ * authorized-key set that was in force. Later validations resume after this block instead of
+ * starting from genesis.</p>
+ *
+ * <p>A checkpoint is only trusted while:</p>
+ * <ul>
+ *   <li>the block at {@link #getBlockNumber()} still has hash {@link #getBlockHash()}</li>
+ *   <li>the authorization records that existed at {@link #getValidatedAt()} are unchanged
+ *       ({@link #getAuthorizedKeysFingerprint()})</li>
+ * </ul>
+ *
+ * @since 1.0.6
+ */
+public final class ValidationCheckpoint {
+    private final long blockNumber;
+    private final String blockHash;
+    private final LocalDateTime validatedAt;
+    private final String authorizedKeysFingerprint;
+
+    public ValidationCheckpoint(long blockNumber, String blockHash, LocalDateTime validatedAt,
+                                String authorizedKeysFingerprint) {
+        if (blockNumber < 0) {
+            throw new IllegalArgumentException("Block number cannot be negative");
+        }
+        this.blockNumber = blockNumber;
+        this.blockHash = Objects.requireNonNull(blockHash, "blockHash cannot be null");
+        this.validatedAt = Objects.requireNonNull(validatedAt, "validatedAt cannot be null");
+        this.authorizedKeysFingerprint = Objects.requireNonNull(authorizedKeysFingerprint,
+            "authorizedKeysFingerprint cannot be null");
+    }
+
+    /** Last verified block number (inclusive). */
+    public long getBlockNumber() { return blockNumber; }
+
+    /** Hash of the last verified block at validation time. */
+    public String getBlockHash() { return blockHash; }
+
+    /** Time at which the validation that produced this checkpoint started. */
+    public LocalDateTime getValidatedAt() { return validatedAt; }
+
+    /** SHA3 fingerprint of the authorization records in force at {@link #getValidatedAt()}. */
+    public String getAuthorizedKeysFingerprint() { return authorizedKeysFingerprint; }
+
+    @Override
+    public String toString() {
+        return String.format("ValidationCheckpoint{block=%d, hash=%s..., validatedAt=%s}",
+            blockNumber, blockHash.substring(0, Math.min(16, blockHash.length())), validatedAt);
+    }
+}
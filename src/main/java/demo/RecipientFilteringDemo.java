@@ -298,7 +298,7 @@ public class RecipientFilteringDemo {
         long endTime = System.nanoTime();
 
         System.out.println("   1. Single database query with index");
-        System.out.println("   2. O(1) index lookup on recipient_public_key");
+        System.out.println("   2. O(1) index lookup on recipient_key_fingerprint");
         System.out.println("   3. Returns only matching blocks");
         System.out.println("   Complexity: O(k) where k = matching blocks");
         System.out.println("   Query time: " + (endTime - startTime) / 1_000_000 + " ms");
@@ -346,7 +346,7 @@ public class RecipientFilteringDemo {
 
         System.out.println();
         System.out.println("🔒 Security & Integrity:");
-        System.out.println("   recipient_public_key is immutable (updatable=false)");
+        System.out.println("   recipient_key_fingerprint is immutable (updatable=false)");
         System.out.println("   Included in hash calculation (cryptographically bound)");
         System.out.println("   Cannot be modified after block creation");
 
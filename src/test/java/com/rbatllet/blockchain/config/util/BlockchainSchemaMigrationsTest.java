@@ -0,0 +1,127 @@
+package com.rbatllet.blockchain.config.util;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the versioned blockchain schema migrations.
+ */
+@DisplayName("BlockchainSchemaMigrations Tests")
+class BlockchainSchemaMigrationsTest {
+
+    @Test
+    @DisplayName("Hash index migration SQL per database")
+    void testHashIndexSql() {
+        assertEquals("CREATE INDEX idx_blocks_hash ON blocks (hash)",
+            BlockchainSchemaMigrations.blocksHashIndex(DatabaseConfig.DatabaseType.MYSQL).getSql());
+        for (DatabaseConfig.DatabaseType type : new DatabaseConfig.DatabaseType[] {
+                DatabaseConfig.DatabaseType.H2,
+                DatabaseConfig.DatabaseType.SQLITE,
+                DatabaseConfig.DatabaseType.POSTGRESQL}) {
+            assertEquals("CREATE INDEX IF NOT EXISTS idx_blocks_hash ON blocks (hash)",
+                BlockchainSchemaMigrations.blocksHashIndex(type).getSql());
+        }
+        assertEquals("V1", BlockchainSchemaMigrations.all(DatabaseConfig.DatabaseType.H2).get(0).getVersion());
+        assertThrows(IllegalArgumentException.class, () -> BlockchainSchemaMigrations.blocksHashIndex(null));
+    }
+
+    @Test
+    @DisplayName("Hash index migration applies to an existing blocks table and is idempotent")
+    void testHashIndexMigrationOnExistingTable() throws Exception {
+        String jdbcUrl = "jdbc:h2:mem:test_" + UUID.randomUUID().toString().replace("-", "") + ";DB_CLOSE_DELAY=-1";
+        DatabaseConfig config = DatabaseConfig.forDatabaseUrl(DatabaseConfig.DatabaseType.H2, jdbcUrl, "sa", "");
+
+        try (Connection conn = DriverManager.getConnection(jdbcUrl, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE blocks (block_number BIGINT PRIMARY KEY, hash VARCHAR(64) NOT NULL)");
+            stmt.execute("CREATE TABLE off_chain_data (id BIGINT PRIMARY KEY, dataHash VARCHAR(64) NOT NULL)");
+            // Simulate a schema where Hibernate already created the index
+            stmt.execute("CREATE INDEX idx_blocks_hash ON blocks (hash)");
+        }
+
+        DatabaseMigrator migrator = new DatabaseMigrator(config);
+        migrator.addMigrations(BlockchainSchemaMigrations.all(DatabaseConfig.DatabaseType.H2));
+        DatabaseMigrator.MigrationResult result = migrator.migrate();
+        assertTrue(result.isSuccess(), "Migration should succeed: " + result.getErrorMessage());
+        assertEquals(BlockchainSchemaMigrations.all(DatabaseConfig.DatabaseType.H2).size(),
+            result.getMigrationsApplied());
+
+        DatabaseMigrator.MigrationResult again = migrator.migrate();
+        assertTrue(again.isSuccess());
+        assertEquals(0, again.getMigrationsApplied());
+
+        try (Connection conn = DriverManager.getConnection(jdbcUrl, "sa", "");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = 'IDX_BLOCKS_HASH'")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Public key dictionary migrations per database")
+    void testPublicKeyDictionarySql() {
+        var mysql = BlockchainSchemaMigrations.publicKeyDictionary(DatabaseConfig.DatabaseType.MYSQL);
+        var postgres = BlockchainSchemaMigrations.publicKeyDictionary(DatabaseConfig.DatabaseType.POSTGRESQL);
+        assertEquals(7, mysql.size());
+        assertEquals("V2", postgres.get(0).getVersion());
+        assertEquals("V8", postgres.get(6).getVersion());
+        assertTrue(mysql.get(0).getSql().contains("DATETIME(6)"));
+        assertEquals("DROP INDEX idx_blocks_signer_public_key ON blocks", mysql.get(5).getSql());
+        assertEquals("DROP INDEX IF EXISTS idx_blocks_signer_public_key", postgres.get(5).getSql());
+        assertEquals("CREATE INDEX IF NOT EXISTS idx_blocks_recipient_key_fingerprint ON blocks (recipient_key_fingerprint)",
+            postgres.get(4).getSql());
+        assertThrows(IllegalArgumentException.class, () -> BlockchainSchemaMigrations.publicKeyDictionary(null));
+    }
+
+    @Test
+    @DisplayName("Public key dictionary migrations replace the TEXT key indexes")
+    void testPublicKeyDictionaryMigrationOnLegacyTable() throws Exception {
+        String jdbcUrl = "jdbc:h2:mem:test_" + UUID.randomUUID().toString().replace("-", "") + ";DB_CLOSE_DELAY=-1";
+        DatabaseConfig config = DatabaseConfig.forDatabaseUrl(DatabaseConfig.DatabaseType.H2, jdbcUrl, "sa", "");
+
+        try (Connection conn = DriverManager.getConnection(jdbcUrl, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE blocks (block_number BIGINT PRIMARY KEY, hash VARCHAR(64) NOT NULL, " +
+                "signer_public_key TEXT, recipient_public_key TEXT)");
+            stmt.execute("CREATE INDEX idx_blocks_signer_public_key ON blocks (signer_public_key)");
+            stmt.execute("CREATE INDEX idx_blocks_recipient_public_key ON blocks (recipient_public_key)");
+            stmt.execute("CREATE TABLE off_chain_data (id BIGINT PRIMARY KEY, dataHash VARCHAR(64) NOT NULL)");
+        }
+
+        DatabaseMigrator migrator = new DatabaseMigrator(config);
+        migrator.addMigrations(BlockchainSchemaMigrations.all(DatabaseConfig.DatabaseType.H2));
+        DatabaseMigrator.MigrationResult result = migrator.migrate();
+        assertTrue(result.isSuccess(), "Migration should succeed: " + result.getErrorMessage());
+
+        try (Connection conn = DriverManager.getConnection(jdbcUrl, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'BLOCKS' " +
+                    "AND INDEX_NAME LIKE 'IDX_BLOCKS_%' ORDER BY INDEX_NAME")) {
+                StringBuilder names = new StringBuilder();
+                while (rs.next()) {
+                    names.append(rs.getString(1)).append(' ');
+                }
+                assertEquals("IDX_BLOCKS_HASH IDX_BLOCKS_RECIPIENT_KEY_FINGERPRINT IDX_BLOCKS_SIGNER_KEY_FINGERPRINT ",
+                    names.toString());
+            }
+            stmt.execute("INSERT INTO public_keys (fingerprint, public_key, created_at) " +
+                "VALUES ('" + "a".repeat(64) + "', 'key', CURRENT_TIMESTAMP)");
+            stmt.execute("INSERT INTO blocks (block_number, hash, signer_key_fingerprint) " +
+                "VALUES (1, 'h', '" + "a".repeat(64) + "')");
+            stmt.execute("INSERT INTO off_chain_data (id, dataHash, wrappedDataKey) " +
+                "VALUES (1, '" + "b".repeat(64) + "', 'key')");
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.entity.OffChainData;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for the binary chain export ({@link Blockchain#exportChainBinary(String)}),
+ * its import and {@link ChainExportConverter}.
+ */
+@DisplayName("Binary chain export")
+public class BinaryChainExportTest {
+
+    private static final String JSON_FILE = "binary-export-test.json";
+    private static final String BINARY_FILE = "binary-export-test.pbcx";
+    private static final String CONVERTED_JSON_FILE = "binary-export-converted.json";
+    private static final String CONVERTED_BINARY_FILE = "binary-export-converted.pbcx";
+    private static final String CORRUPTED_FILE = "binary-export-corrupted.pbcx";
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+        blockchain.setValidationParallelism(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String file : List.of(JSON_FILE, BINARY_FILE, CONVERTED_JSON_FILE, CONVERTED_BINARY_FILE, CORRUPTED_FILE)) {
+            new File(file).delete();
+        }
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private void addBlocks(String prefix, int count) {
+        List<Blockchain.BlockWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new Blockchain.BlockWriteRequest(String.format("%s %04d", prefix, i),
+                bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic()));
+        }
+        blockchain.addBlocksBatch(requests);
+    }
+
+    @Test
+    @DisplayName("A multi-segment binary export is smaller than JSON and imports to the same chain")
+    void testBinaryRoundTrip() {
+        addBlocks("Binary block", 2100);
+        long count = blockchain.getBlockCount();
+        Block sample = blockchain.getBlock(1234L);
+        String lastHash = blockchain.getLastBlock().getHash();
+
+        assertTrue(blockchain.exportChain(JSON_FILE));
+        assertTrue(blockchain.exportChainBinary(BINARY_FILE));
+        assertTrue(new File(BINARY_FILE).length() * 2 < new File(JSON_FILE).length(),
+            "Binary export should be less than half the JSON size");
+
+        blockchain.clearAndReinitialize();
+        assertTrue(blockchain.importChain(BINARY_FILE));
+
+        assertEquals(count, blockchain.getBlockCount());
+        assertEquals(lastHash, blockchain.getLastBlock().getHash());
+        Block imported = blockchain.getBlock(1234L);
+        assertEquals(sample.getData(), imported.getData());
+        assertEquals(sample.getTimestamp(), imported.getTimestamp());
+        assertEquals(sample.getSignature(), imported.getSignature());
+        assertEquals(sample.getSignerPublicKey(), imported.getSignerPublicKey());
+        assertEquals("0", blockchain.getBlock(0L).getPreviousHash());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+
+    @Test
+    @DisplayName("JSON and binary exports convert into each other without loss")
+    void testConversionRoundTrip() throws Exception {
+        addBlocks("Converted block", 30);
+        long count = blockchain.getBlockCount();
+        assertTrue(blockchain.exportChain(JSON_FILE, false));
+
+        assertEquals(count, ChainExportConverter.jsonToBinary(JSON_FILE, CONVERTED_BINARY_FILE));
+        assertEquals(count, ChainExportConverter.binaryToJson(CONVERTED_BINARY_FILE, CONVERTED_JSON_FILE));
+        assertEquals(Files.readString(Path.of(JSON_FILE)), Files.readString(Path.of(CONVERTED_JSON_FILE)));
+
+        blockchain.setValidationParallelism(1);
+        blockchain.clearAndReinitialize();
+        assertTrue(blockchain.importChain(CONVERTED_BINARY_FILE), "Sequential decoding imports the converted file");
+        assertEquals(count, blockchain.getBlockCount());
+        assertEquals("Converted block 0029", blockchain.getLastBlock().getData());
+    }
+
+    @Test
+    @DisplayName("A corrupted or truncated binary export is rejected and the current chain is kept")
+    void testCorruptedExportRejected() throws Exception {
+        addBlocks("Exported block", 20);
+        assertTrue(blockchain.exportChainBinary(BINARY_FILE));
+        byte[] bytes = Files.readAllBytes(Path.of(BINARY_FILE));
+
+        addBlocks("Local block", 3);
+        long count = blockchain.getBlockCount();
+        String lastHash = blockchain.getLastBlock().getHash();
+
+        byte[] corrupted = bytes.clone();
+        corrupted[corrupted.length - 40] ^= 0x5A; // inside the compressed blocks segment
+        Files.write(Path.of(CORRUPTED_FILE), corrupted);
+        assertFalse(blockchain.importChain(CORRUPTED_FILE), "Segment checksum mismatch must be rejected");
+        assertEquals(count, blockchain.getBlockCount());
+        assertEquals(lastHash, blockchain.getLastBlock().getHash());
+
+        Files.write(Path.of(CORRUPTED_FILE), Arrays.copyOf(bytes, bytes.length - 9));
+        assertFalse(blockchain.importChain(CORRUPTED_FILE), "Missing trailer must be rejected");
+        assertEquals(count, blockchain.getBlockCount());
+        assertThrows(IllegalStateException.class,
+            () -> ChainExportConverter.binaryToJson(CORRUPTED_FILE, CONVERTED_JSON_FILE));
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+
+    @Test
+    @DisplayName("Oversized segment, count and field lengths are rejected before allocation")
+    void testOversizedLengthsRejected() throws Exception {
+        // Segment header announcing a 2GB payload
+        Files.write(Path.of(CORRUPTED_FILE), header(out -> {
+            out.writeByte(1);
+            out.writeInt(Integer.MAX_VALUE);
+            out.writeInt(0);
+            out.writeInt(16);
+        }));
+        assertCorrupted();
+
+        // Valid segment whose record count exceeds its payload
+        Files.write(Path.of(CORRUPTED_FILE), header(out -> writeSegment(out, payload -> {
+            payload.writeInt(0);
+            payload.writeInt(Integer.MAX_VALUE);
+        })));
+        assertCorrupted();
+
+        // Valid segment whose single record claims a 2GB field
+        Files.write(Path.of(CORRUPTED_FILE), header(out -> writeSegment(out, payload -> {
+            payload.writeInt(0);
+            payload.writeInt(1);
+            payload.writeInt(Integer.MAX_VALUE - 1);
+            payload.writeInt(0);
+        })));
+        assertCorrupted();
+    }
+
+    @Test
+    @DisplayName("Password check values survive a binary round trip, with and without off-chain data")
+    void testPasswordCheckValueRoundTrip() throws Exception {
+        Block offChain = syntheticBlock(1L, "0a1b2c3d");
+        OffChainData offChainData = new OffChainData();
+        offChainData.setDataHash("e".repeat(64));
+        offChainData.setFilePath("off-chain-data/chunk.dat");
+        offChain.setOffChainData(offChainData);
+        Block onChain = syntheticBlock(2L, "deadbeef");
+        Block legacy = syntheticBlock(3L, null);
+
+        try (BinaryChainFormat.Writer writer = new BinaryChainFormat.Writer(
+                new File(BINARY_FILE), 3L, null, null, 1)) {
+            writer.writeBlock(offChain);
+            writer.writeBlock(onChain);
+            writer.writeBlock(legacy);
+            writer.finish();
+        }
+
+        try (BinaryChainFormat.Reader reader = new BinaryChainFormat.Reader(new File(BINARY_FILE), null)) {
+            Block first = reader.nextBlock();
+            assertEquals("0a1b2c3d", first.getPasswordCheckValue());
+            assertNull(first.getOffChainData().getWrappedDataKey());
+            assertEquals("off-chain-data/chunk.dat", first.getOffChainData().getFilePath());
+            assertEquals("deadbeef", reader.nextBlock().getPasswordCheckValue());
+            assertNull(reader.nextBlock().getPasswordCheckValue());
+            assertNull(reader.nextBlock());
+        }
+    }
+
+    private static Block syntheticBlock(long blockNumber, String checkValue) {
+        Block block = new Block();
+        block.setBlockNumber(blockNumber);
+        block.setTimestamp(LocalDateTime.of(2026, 1, 1, 0, 0));
+        block.setPreviousHash("a".repeat(64));
+        block.setHash("b".repeat(64));
+        block.setData("Block " + blockNumber);
+        block.setIsEncrypted(checkValue != null);
+        block.setPasswordCheckValue(checkValue);
+        return block;
+    }
+
+    private void assertCorrupted() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> new BinaryChainFormat.Reader(new File(CORRUPTED_FILE), null).close());
+        assertTrue(e.getMessage().startsWith("Corrupted binary chain export"), e.getMessage());
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /** Magic, version, block count and export timestamp, followed by {@code body}. */
+    private static byte[] header(Body body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(BinaryChainFormat.MAGIC);
+        out.writeByte(BinaryChainFormat.VERSION);
+        out.writeLong(0L);
+        out.writeByte(0); // no export timestamp
+        body.write(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /** Authorized keys segment with a correct length and checksum around {@code body}. */
+    private static void writeSegment(DataOutputStream out, Body body) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(payload);
+        body.write(data);
+        data.flush();
+        byte[] raw = payload.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(raw);
+        Deflater deflater = new Deflater();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] compressed = new byte[raw.length + 64];
+        int length = deflater.deflate(compressed);
+        deflater.end();
+        out.writeByte(1);
+        out.writeInt(raw.length);
+        out.writeInt((int) crc.getValue());
+        out.writeInt(length);
+        out.write(compressed, 0, length);
+    }
+}
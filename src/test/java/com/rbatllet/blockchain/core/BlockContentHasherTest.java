@@ -0,0 +1,115 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for the streaming block hash path ({@link Blockchain#calculateBlockHash(Block)}).
+ *
+ * <p>The streamed digest must be identical to hashing the String built by
+ * {@link Blockchain#buildBlockContent(Block)} for every kind of block.</p>
+ */
+@DisplayName("Streaming block hash")
+public class BlockContentHasherTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private void assertSameHash(Block block) {
+        assertEquals(
+            CryptoUtil.calculateHash(blockchain.buildBlockContent(block)),
+            blockchain.calculateBlockHash(block),
+            "Streaming hash must match string-based hash for block " + block.getBlockNumber()
+        );
+    }
+
+    @Test
+    @DisplayName("Stored chain hashes are reproduced by the streaming path")
+    void testStoredBlocks() {
+        blockchain.addBlock("Plain block with accents: café 中文 😀", bootstrapKeyPair.getPrivate(),
+            bootstrapKeyPair.getPublic());
+        Block encrypted = blockchain.addEncryptedBlock("Secret payload", "StrongPassword123!",
+            bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+        assertNotNull(encrypted);
+
+        List<Block> blocks = blockchain.getBlocksPaginated(0, 10);
+        assertEquals(3, blocks.size());
+        for (Block block : blocks) {
+            assertSameHash(block);
+        }
+        // Genesis is hashed before its "GENESIS" signer marker is set, so only user blocks are recomputed
+        for (Block block : blocks.subList(1, blocks.size())) {
+            assertEquals(block.getHash(), blockchain.calculateBlockHash(block),
+                "Stored hash must be reproduced for block " + block.getBlockNumber());
+        }
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+
+    @Test
+    @DisplayName("Unset fields, recipients and large payloads hash identically")
+    void testEdgeCases() {
+        assertSameHash(new Block());
+
+        Block recipientBlock = new Block(5L, "abc123", "data", LocalDateTime.of(2025, 1, 2, 3, 4, 5),
+            null, null, CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()));
+        recipientBlock.setRecipientPublicKey(CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()));
+        assertSameHash(recipientBlock);
+
+        Block encryptedBlock = new Block(6L, "def456", "[ENCRYPTED]", LocalDateTime.now(), null, null, "signer");
+        encryptedBlock.setIsEncrypted(true);
+        encryptedBlock.setEncryptionMetadata("encrypted-metadata-😀");
+        assertSameHash(encryptedBlock);
+
+        StringBuilder payload = new StringBuilder();
+        while (payload.length() < 1_000_000) {
+            payload.append("Large payload ñ \uD800 ").append(payload.length());
+        }
+        assertSameHash(new Block(7L, "0", payload.toString(), LocalDateTime.now(), null, null, "signer"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for the hash → block number lookup cache behind hash-based block retrieval.
+ *
+ * <p>Cached lookups must return exactly what the database holds, including after
+ * rollback reuses block numbers for different blocks.</p>
+ */
+@DisplayName("Block hash lookup cache")
+public class BlockHashLookupCacheTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private List<Block> addBlocks(int count, String prefix) {
+        List<Blockchain.BlockWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new Blockchain.BlockWriteRequest(
+                prefix + " block " + i,
+                bootstrapKeyPair.getPrivate(),
+                bootstrapKeyPair.getPublic()
+            ));
+        }
+        return blockchain.addBlocksBatch(requests, true);
+    }
+
+    private long hits() {
+        return (Long) blockchain.getBlockHashCacheStatistics().get("hits");
+    }
+
+    @Test
+    @DisplayName("Repeated lookups are served through the cache")
+    void testRepeatedLookupHitsCache() {
+        Block block = addBlocks(3, "cached").get(1);
+
+        Block first = blockchain.getBlockByHash(block.getHash());
+        assertNotNull(first);
+        assertEquals(block.getBlockNumber(), first.getBlockNumber());
+
+        long hitsBefore = hits();
+        Block second = blockchain.getBlockByHash(block.getHash());
+        assertEquals(block.getBlockNumber(), second.getBlockNumber());
+        assertEquals(block.getHash(), second.getHash());
+        assertTrue(hits() > hitsBefore, "Second lookup should hit the cache");
+
+        Map<String, Object> stats = blockchain.getBlockHashCacheStatistics();
+        assertTrue((Integer) stats.get("size") > 0);
+        assertTrue((Double) stats.get("hitRate") > 0.0);
+
+        assertNull(blockchain.getBlockByHash("0".repeat(64)));
+    }
+
+    @Test
+    @DisplayName("Rollback and re-add never returns a block for a stale hash")
+    void testRollbackKeepsLookupsCorrect() {
+        List<Block> original = addBlocks(5, "original");
+        String removedHash = original.get(4).getHash();
+        long removedNumber = original.get(4).getBlockNumber();
+        assertNotNull(blockchain.getBlockByHash(removedHash));
+
+        assertTrue(blockchain.rollbackToBlock(removedNumber - 1));
+        assertNull(blockchain.getBlockByHash(removedHash));
+
+        Block replacement = addBlocks(1, "replacement").get(0);
+        assertEquals(removedNumber, replacement.getBlockNumber());
+        assertNotEquals(removedHash, replacement.getHash());
+
+        assertNull(blockchain.getBlockByHash(removedHash), "Old hash must not resolve to the reused number");
+        Block found = blockchain.getBlockByHash(replacement.getHash());
+        assertEquals(replacement.getHash(), found.getHash());
+    }
+
+    @Test
+    @DisplayName("Batch retrieval mixes cached and uncached hashes in block order")
+    void testBatchRetrieval() {
+        List<Block> blocks = addBlocks(6, "batch");
+        // Warm the cache for half of the hashes
+        blockchain.getBlockByHash(blocks.get(1).getHash());
+        blockchain.getBlockByHash(blocks.get(4).getHash());
+
+        List<String> hashes = new ArrayList<>();
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            hashes.add(blocks.get(i).getHash());
+        }
+        hashes.add("f".repeat(64));
+
+        List<Block> result = blockchain.batchRetrieveBlocksByHash(hashes);
+        assertEquals(6, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(blocks.get(i).getBlockNumber(), result.get(i).getBlockNumber());
+            assertEquals(blocks.get(i).getHash(), result.get(i).getHash());
+        }
+
+        // Stale cache entries after reinitialization fall back to the database
+        blockchain.clearAndReinitialize();
+        assertTrue(blockchain.batchRetrieveBlocksByHash(hashes).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cache rejects invalid capacity and evicts beyond its bound")
+    void testCacheBound() {
+        assertThrows(IllegalArgumentException.class, () -> new BlockHashCache(0));
+
+        BlockHashCache cache = new BlockHashCache(2);
+        cache.put("a", 1L);
+        cache.put("b", 2L);
+        cache.get("a");
+        cache.put("c", 3L);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"), "Least recently used entry should be evicted");
+        assertEquals(1L, cache.get("a"));
+
+        cache.removeFrom(3L);
+        assertNull(cache.get("c"));
+        assertEquals(1L, cache.get("a"));
+    }
+}
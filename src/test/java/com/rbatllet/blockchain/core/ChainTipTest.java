@@ -0,0 +1,144 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Tests for the in-memory chain tip used by block appends, {@link Blockchain#getLastBlock()}
+ * and {@link Blockchain#getBlockCount()}.
+ */
+@DisplayName("Cached chain tip")
+public class ChainTipTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+    private BlockRepository repository;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+        repository = new BlockRepository();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private Block add(String data) {
+        return blockchain.addBlockAndReturn(data, bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+    }
+
+    private void assertTipMatchesDatabase() {
+        Block last = repository.getLastBlockWithRefresh();
+        assertEquals(repository.getBlockCount(), blockchain.getBlockCount());
+        assertEquals(last.getBlockNumber(), blockchain.getLastBlock().getBlockNumber());
+        assertEquals(last.getHash(), blockchain.getLastBlock().getHash());
+        assertEquals(repository.getBlockByNumber(0L).getHash(), repository.getChainTip().genesisHash());
+    }
+
+    @Test
+    @DisplayName("Appends, batch appends and rollbacks keep the tip in step with the database")
+    void testTipFollowsChain() {
+        assertTipMatchesDatabase();
+
+        Block first = add("First");
+        Block second = add("Second");
+        assertEquals(first.getBlockNumber() + 1, second.getBlockNumber());
+        assertEquals(first.getHash(), second.getPreviousHash());
+        assertTipMatchesDatabase();
+
+        blockchain.addBlocksBatch(List.of(
+            new Blockchain.BlockWriteRequest("Batch 1", bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic()),
+            new Blockchain.BlockWriteRequest("Batch 2", bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic())
+        ));
+        assertTipMatchesDatabase();
+
+        assertTrue(blockchain.rollbackBlocks(3L));
+        assertTipMatchesDatabase();
+        assertEquals(first.getHash(), blockchain.getLastBlock().getHash());
+
+        Block next = add("After rollback");
+        assertEquals(first.getBlockNumber() + 1, next.getBlockNumber());
+        assertEquals(first.getHash(), next.getPreviousHash());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+
+    @Test
+    @DisplayName("Blocks of a rolled back transaction never reach the tip")
+    void testRolledBackTransaction() {
+        Block before = add("Committed");
+        long countBefore = blockchain.getBlockCount();
+
+        EntityManager em = JPAUtil.getEntityManager();
+        em.getTransaction().begin();
+        try {
+            Block uncommitted = add("Uncommitted");
+            assertNotNull(uncommitted);
+            assertEquals(countBefore + 1, blockchain.getBlockCount(), "Own transaction sees its block");
+            Block chained = add("Uncommitted 2");
+            assertEquals(uncommitted.getHash(), chained.getPreviousHash());
+        } finally {
+            em.getTransaction().rollback();
+            em.close();
+        }
+
+        assertEquals(countBefore, blockchain.getBlockCount());
+        Block after = add("After rollback");
+        assertEquals(before.getBlockNumber() + 1, after.getBlockNumber());
+        assertEquals(before.getHash(), after.getPreviousHash());
+        assertTipMatchesDatabase();
+    }
+
+    @Test
+    @DisplayName("Blocks removed outside the API are detected by getLastBlock()")
+    void testExternalDelete() {
+        Block first = add("First");
+        add("Second");
+
+        JPAUtil.executeInTransaction(em ->
+            em.createQuery("DELETE FROM Block b WHERE b.blockNumber > :n")
+                .setParameter("n", first.getBlockNumber())
+                .executeUpdate());
+
+        assertEquals(first.getHash(), blockchain.getLastBlock().getHash());
+        assertTipMatchesDatabase();
+    }
+}
@@ -0,0 +1,226 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.AuthorizedKey;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.security.UserRole;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for {@link Blockchain#exportChainDelta(String, long)} and
+ * {@link Blockchain#importChainDelta(String)}.
+ */
+@DisplayName("Delta chain export and import")
+public class DeltaChainExportTest {
+
+    private static final String EXPORT_DIR = "delta-export-test";
+    private static final String FULL_FILE = EXPORT_DIR + "/full.json";
+    private static final String DELTA_FILE = EXPORT_DIR + "/delta.json";
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        blockchain.completeCleanupForTestsWithBackups();
+        Path dir = Path.of(EXPORT_DIR);
+        if (Files.exists(dir)) {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private void addBlocks(String prefix, int count, KeyPair signer) {
+        List<Blockchain.BlockWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new Blockchain.BlockWriteRequest(String.format("%s %04d", prefix, i),
+                signer.getPrivate(), signer.getPublic()));
+        }
+        blockchain.addBlocksBatch(requests);
+    }
+
+    @Test
+    @DisplayName("A delta with new blocks, a new signer and an off-chain file extends a replica to the source chain")
+    void testDeltaExtendsReplica() throws Exception {
+        addBlocks("Base block", 30, bootstrapKeyPair);
+        long anchor = blockchain.getLastBlock().getBlockNumber();
+        assertTrue(blockchain.exportChain(FULL_FILE));
+
+        KeyPair newSigner = CryptoUtil.generateKeyPair();
+        assertTrue(blockchain.addAuthorizedKey(CryptoUtil.publicKeyToString(newSigner.getPublic()),
+            "DeltaSigner", bootstrapKeyPair, UserRole.USER));
+        addBlocks("Delta block", 15, newSigner);
+        Block offChainBlock = blockchain.addBlockAndReturn("Off-chain delta entry. ".repeat(30000),
+            bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+        assertTrue(offChainBlock.hasOffChainData());
+        long count = blockchain.getBlockCount();
+        String lastHash = blockchain.getLastBlock().getHash();
+
+        assertTrue(blockchain.exportChainDelta(DELTA_FILE, anchor));
+        assertTrue(Files.size(Path.of(DELTA_FILE)) < Files.size(Path.of(FULL_FILE)));
+
+        // Replica: the full export, then the delta
+        blockchain.clearAndReinitialize();
+        assertTrue(blockchain.importChain(FULL_FILE));
+        assertEquals(anchor + 1, blockchain.getBlockCount());
+        assertTrue(blockchain.importChainDelta(DELTA_FILE));
+
+        assertEquals(count, blockchain.getBlockCount());
+        assertEquals(lastHash, blockchain.getLastBlock().getHash());
+        assertEquals("Delta block 0014", blockchain.getBlock(anchor + 15).getData());
+        Block restored = blockchain.getBlock(offChainBlock.getBlockNumber());
+        assertTrue(restored.hasOffChainData());
+        assertTrue(new File(restored.getOffChainData().getFilePath()).exists());
+        assertNotNull(blockchain.getAuthorizedKeyByOwner("DeltaSigner"));
+        assertTrue(blockchain.validateChainDetailed().isValid());
+
+        // Applying the same delta again no longer matches the anchor
+        assertFalse(blockchain.importChainDelta(DELTA_FILE));
+        assertEquals(count, blockchain.getBlockCount());
+    }
+
+    @Test
+    @DisplayName("A delta is only applied on its anchor, and full and delta imports do not mix")
+    void testAnchorChecks() {
+        addBlocks("Base block", 10, bootstrapKeyPair);
+        long anchor = blockchain.getLastBlock().getBlockNumber();
+        addBlocks("Delta block", 5, bootstrapKeyPair);
+        assertTrue(blockchain.exportChainDelta(DELTA_FILE, anchor));
+        assertTrue(blockchain.exportChain(FULL_FILE));
+
+        // The chain has moved past the anchor
+        long count = blockchain.getBlockCount();
+        assertFalse(blockchain.importChainDelta(DELTA_FILE));
+        assertEquals(count, blockchain.getBlockCount());
+
+        // A forked chain with the same length at the anchor has a different anchor hash
+        assertTrue(blockchain.rollbackToBlock(anchor - 1));
+        addBlocks("Fork block", 1, bootstrapKeyPair);
+        assertEquals(anchor, blockchain.getLastBlock().getBlockNumber());
+        assertFalse(blockchain.importChainDelta(DELTA_FILE));
+        assertEquals(anchor + 1, blockchain.getBlockCount());
+
+        assertFalse(blockchain.importChain(DELTA_FILE), "A delta is not a full chain");
+        assertFalse(blockchain.importChainDelta(FULL_FILE), "A full export has no anchor");
+
+        // Exporting after the last block writes an empty delta, which applies as a no-op
+        long tip = blockchain.getLastBlock().getBlockNumber();
+        assertTrue(blockchain.exportChainDelta(DELTA_FILE, tip));
+        assertTrue(blockchain.importChainDelta(DELTA_FILE));
+        assertEquals(tip + 1, blockchain.getBlockCount());
+
+        assertFalse(blockchain.exportChainDelta(DELTA_FILE, tip + 10), "Missing anchor block");
+        assertThrows(IllegalArgumentException.class, () -> blockchain.exportChainDelta(DELTA_FILE, -1));
+    }
+
+    @Test
+    @DisplayName("A delta that fails verification rolls back its blocks and key changes")
+    void testFailedDeltaRollsBack() throws Exception {
+        addBlocks("Base block", 5, bootstrapKeyPair);
+        long anchor = blockchain.getLastBlock().getBlockNumber();
+        assertTrue(blockchain.exportChain(FULL_FILE));
+
+        KeyPair newSigner = CryptoUtil.generateKeyPair();
+        assertTrue(blockchain.addAuthorizedKey(CryptoUtil.publicKeyToString(newSigner.getPublic()),
+            "DeltaSigner", bootstrapKeyPair, UserRole.USER));
+        addBlocks("Delta block", 3, newSigner);
+        assertTrue(blockchain.addBlockAndReturn("Off-chain delta entry. ".repeat(30000),
+            bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic()).hasOffChainData());
+        assertTrue(blockchain.exportChainDelta(DELTA_FILE, anchor));
+
+        // Damage the off-chain file shipped with the delta
+        try (Stream<Path> backups = Files.list(Path.of(EXPORT_DIR, "off-chain-backup"))) {
+            Path backup = backups.findFirst().orElseThrow();
+            byte[] bytes = Files.readAllBytes(backup);
+            bytes[bytes.length / 2] ^= 0x5A;
+            Files.write(backup, bytes);
+        }
+
+        blockchain.clearAndReinitialize();
+        assertTrue(blockchain.importChain(FULL_FILE));
+        assertFalse(blockchain.importChainDelta(DELTA_FILE));
+        assertEquals(anchor + 1, blockchain.getBlockCount());
+        assertNull(blockchain.getAuthorizedKeyByOwner("DeltaSigner"), "The key added by the delta is rolled back");
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+
+    @Test
+    @DisplayName("A revocation carried by a delta keeps its original revocation time")
+    void testDeltaRevocationTime() {
+        KeyPair signer = CryptoUtil.generateKeyPair();
+        String signerKey = CryptoUtil.publicKeyToString(signer.getPublic());
+        assertTrue(blockchain.addAuthorizedKey(signerKey, "RevokedSigner", bootstrapKeyPair, UserRole.USER));
+        addBlocks("Base block", 3, signer);
+        long anchor = blockchain.getLastBlock().getBlockNumber();
+        assertTrue(blockchain.exportChain(FULL_FILE));
+
+        assertTrue(blockchain.revokeAuthorizedKey(signerKey));
+        addBlocks("Delta block", 2, bootstrapKeyPair);
+        AuthorizedKey revoked = revocation(signerKey);
+        assertNotNull(revoked.getRevokedAt());
+        assertTrue(blockchain.exportChainDelta(DELTA_FILE, anchor));
+
+        blockchain.clearAndReinitialize();
+        assertTrue(blockchain.importChain(FULL_FILE));
+        assertTrue(blockchain.importChainDelta(DELTA_FILE));
+        assertEquals(revoked.getRevokedAt(), revocation(signerKey).getRevokedAt());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+
+    private AuthorizedKey revocation(String publicKey) {
+        return blockchain.getAllAuthorizedKeys().stream()
+            .filter(key -> key.getPublicKey().equals(publicKey) && !key.isActive())
+            .findFirst()
+            .orElseThrow();
+    }
+}
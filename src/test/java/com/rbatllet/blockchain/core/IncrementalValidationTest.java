@@ -0,0 +1,163 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.security.UserRole;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+import com.rbatllet.blockchain.validation.ChainValidationResult;
+import com.rbatllet.blockchain.validation.ValidationCheckpoint;
+
+/**
+ * Tests for incremental chain validation ({@link Blockchain#setIncrementalValidationEnabled(boolean)}).
+ *
+ * <p>Validation must resume after the persisted checkpoint and the checkpoint must be
+ * discarded whenever the verified prefix or the authorization records change.</p>
+ */
+@DisplayName("Incremental chain validation")
+public class IncrementalValidationTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+        addBlocks(bootstrapKeyPair, 10, "initial");
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.setIncrementalValidationEnabled(false);
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private void addBlocks(KeyPair signer, int count, String prefix) {
+        List<Blockchain.BlockWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new Blockchain.BlockWriteRequest(
+                prefix + " block " + i,
+                signer.getPrivate(),
+                signer.getPublic()
+            ));
+        }
+        blockchain.addBlocksBatch(requests, true);
+    }
+
+    @Test
+    @DisplayName("Disabled by default: every run validates the whole chain")
+    void testDisabledByDefault() {
+        assertFalse(blockchain.isIncrementalValidationEnabled());
+
+        assertEquals(11, blockchain.validateChainDetailed().getTotalBlocks());
+        assertEquals(11, blockchain.validateChainDetailed().getTotalBlocks());
+        assertNull(blockchain.getValidationCheckpoint());
+    }
+
+    @Test
+    @DisplayName("Second run only validates blocks added after the checkpoint")
+    void testResumesAfterCheckpoint() {
+        blockchain.setIncrementalValidationEnabled(true);
+
+        ChainValidationResult first = blockchain.validateChainDetailed();
+        assertEquals(11, first.getTotalBlocks());
+        assertTrue(first.isValid());
+
+        ValidationCheckpoint checkpoint = blockchain.getValidationCheckpoint();
+        assertNotNull(checkpoint);
+        assertEquals(10L, checkpoint.getBlockNumber());
+        assertEquals(blockchain.getBlock(10L).getHash(), checkpoint.getBlockHash());
+
+        addBlocks(bootstrapKeyPair, 5, "appended");
+
+        ChainValidationResult second = blockchain.validateChainDetailed();
+        assertEquals(5, second.getTotalBlocks());
+        assertTrue(second.isValid());
+        assertEquals(11L, second.getBlockResults().get(0).getBlock().getBlockNumber());
+        assertEquals(15L, blockchain.getValidationCheckpoint().getBlockNumber());
+
+        // Nothing new: empty, valid result
+        assertEquals(0, blockchain.validateChainDetailed().getTotalBlocks());
+
+        // Streaming validation shares the same checkpoint
+        addBlocks(bootstrapKeyPair, 3, "streamed");
+        List<Long> seen = new ArrayList<>();
+        Blockchain.ValidationSummary summary = blockchain.validateChainStreaming(
+            batch -> batch.forEach(r -> seen.add(r.getBlock().getBlockNumber())),
+            2
+        );
+        assertEquals(3, summary.getTotalBlocks());
+        assertEquals(List.of(16L, 17L, 18L), seen);
+        assertEquals(18L, blockchain.getValidationCheckpoint().getBlockNumber());
+    }
+
+    @Test
+    @DisplayName("Rollback below the checkpoint invalidates it")
+    void testRollbackInvalidatesCheckpoint() {
+        blockchain.setIncrementalValidationEnabled(true);
+        blockchain.validateChainDetailed();
+        assertEquals(10L, blockchain.getValidationCheckpoint().getBlockNumber());
+
+        assertTrue(blockchain.rollbackToBlock(5L));
+        assertNull(blockchain.getValidationCheckpoint());
+
+        addBlocks(bootstrapKeyPair, 2, "replacement");
+        ChainValidationResult result = blockchain.validateChainDetailed();
+        assertEquals(8, result.getTotalBlocks(), "Full validation expected after rollback");
+        assertEquals(7L, blockchain.getValidationCheckpoint().getBlockNumber());
+    }
+
+    @Test
+    @DisplayName("Key revocation invalidates the checkpoint")
+    void testRevocationInvalidatesCheckpoint() throws Exception {
+        KeyPair userKeys = CryptoUtil.generateKeyPair();
+        String userPublicKey = CryptoUtil.publicKeyToString(userKeys.getPublic());
+        assertTrue(blockchain.addAuthorizedKey(userPublicKey, "user", bootstrapKeyPair, UserRole.USER));
+        addBlocks(userKeys, 3, "user");
+
+        blockchain.setIncrementalValidationEnabled(true);
+        blockchain.validateChainDetailed();
+        assertNotNull(blockchain.getValidationCheckpoint());
+
+        assertTrue(blockchain.revokeAuthorizedKey(userPublicKey));
+        assertNull(blockchain.getValidationCheckpoint());
+
+        ChainValidationResult result = blockchain.validateChainDetailed();
+        assertEquals(14, result.getTotalBlocks(), "Full validation expected after revocation");
+    }
+}
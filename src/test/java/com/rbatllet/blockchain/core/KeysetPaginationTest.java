@@ -0,0 +1,135 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for keyset ("blocks after block number X") pagination.
+ */
+@DisplayName("Keyset pagination")
+public class KeysetPaginationTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+        List<Blockchain.BlockWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            requests.add(new Blockchain.BlockWriteRequest("Block " + i,
+                bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic()));
+        }
+        blockchain.addBlocksBatch(requests);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    @Test
+    @DisplayName("Pages follow the cursor in block number order and end with an empty page")
+    void testCursorWalk() {
+        List<Long> walked = new ArrayList<>();
+        long after = -1L;
+        List<Block> page;
+        while (!(page = blockchain.getBlocksAfter(after, 7)).isEmpty()) {
+            assertTrue(page.size() <= 7);
+            for (Block block : page) {
+                walked.add(block.getBlockNumber());
+            }
+            after = page.get(page.size() - 1).getBlockNumber();
+        }
+
+        List<Long> expected = new ArrayList<>();
+        for (Block block : blockchain.getBlocksPaginated(0, (int) blockchain.getBlockCount())) {
+            expected.add(block.getBlockNumber());
+        }
+        assertEquals(expected, walked);
+        assertEquals(blockchain.getBlockCount(), walked.size());
+
+        List<Block> tail = blockchain.getBlocksAfter(20L, 100);
+        assertEquals(21L, tail.get(0).getBlockNumber());
+        assertEquals(blockchain.getLastBlock().getBlockNumber(), tail.get(tail.size() - 1).getBlockNumber());
+        assertThrows(IllegalArgumentException.class, () -> blockchain.getBlocksAfter(-1L, 0));
+    }
+
+    @Test
+    @DisplayName("Backward pages walk from the tip to genesis without overlap")
+    void testBackwardCursorWalk() {
+        List<Long> walked = new ArrayList<>();
+        long before = Long.MAX_VALUE;
+        List<Block> page;
+        while (!(page = blockchain.getBlocksBefore(before, 7)).isEmpty()) {
+            assertTrue(page.size() <= 7);
+            for (int i = page.size() - 1; i >= 0; i--) {
+                walked.add(page.get(i).getBlockNumber());
+            }
+            before = page.get(0).getBlockNumber();
+        }
+        assertEquals(blockchain.getBlockCount(), walked.size());
+        assertEquals(blockchain.getLastBlock().getBlockNumber(), walked.get(0));
+        assertEquals(0L, walked.get(walked.size() - 1));
+
+        List<Block> lastFive = blockchain.getBlocksBefore(Long.MAX_VALUE, 5);
+        assertEquals(5, lastFive.size());
+        assertTrue(lastFive.get(0).getBlockNumber() < lastFive.get(4).getBlockNumber(), "ascending order");
+        assertEquals(blockchain.getLastBlock().getBlockNumber(), lastFive.get(4).getBlockNumber());
+        assertThrows(IllegalArgumentException.class, () -> blockchain.getBlocksBefore(10L, 0));
+    }
+
+    @Test
+    @DisplayName("Full-chain scans built on the cursor see every block once")
+    void testScansOnCursor() {
+        long count = blockchain.getBlockCount();
+
+        List<Long> streamed = new ArrayList<>();
+        new BlockRepository().streamBlocksAfter(4L, block -> streamed.add(block.getBlockNumber()));
+        assertEquals(count - 5, streamed.size());
+        assertEquals(5L, streamed.get(0));
+
+        assertTrue(blockchain.validateChainDetailed().isValid());
+        assertTrue(blockchain.rollbackBlocks(10L));
+        assertEquals(count - 10, blockchain.getBlockCount());
+        assertTrue(blockchain.rollbackToBlock(3L));
+        assertEquals(4L, blockchain.getBlockCount());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+}
@@ -0,0 +1,173 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.exception.UnauthorizedKeyException;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for {@link Blockchain#addLargePayload} and {@link Blockchain#openLargePayload(Block)}.
+ */
+@DisplayName("Large payload chunking")
+public class LargePayloadTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+    private ExecutorService executor;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+        executor = new ForkJoinPool(4);
+        blockchain.setBatchSigningExecutor(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.setBatchSigningExecutor(null);
+        executor.shutdown();
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private static byte[] payload(int size) {
+        byte[] data = new byte[size];
+        new Random(7).nextBytes(data);
+        return data;
+    }
+
+    private static long offChainFileCount() throws IOException {
+        Path dir = Path.of("off-chain-data");
+        if (!Files.exists(dir)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    @DisplayName("A payload above the block size limit is stored as chunk blocks plus a manifest and read back")
+    void testLargePayloadRoundTrip() throws Exception {
+        int size = 2 * Blockchain.LARGE_PAYLOAD_CHUNK_BYTES + 3 * 1024 * 1024 + 17;
+        assertTrue(size > blockchain.getMaxBlockSizeBytes());
+        byte[] data = payload(size);
+        long countBefore = blockchain.getBlockCount();
+
+        Block manifestBlock = blockchain.addLargePayload(new ByteArrayInputStream(data), "image/tiff",
+            bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+
+        assertEquals(countBefore + 4, blockchain.getBlockCount());
+        assertEquals(manifestBlock.getHash(), blockchain.getLastBlock().getHash());
+        LargePayloadManifest manifest = LargePayloadManifest.fromBlock(blockchain.getLastBlock());
+        assertEquals(3, manifest.chunks().size());
+        assertEquals(size, manifest.totalSize());
+        assertEquals("image/tiff", manifest.contentType());
+        assertEquals(countBefore, manifest.chunks().get(0).blockNumber());
+        Block chunkBlock = blockchain.getBlock(manifest.chunks().get(2).blockNumber());
+        assertTrue(chunkBlock.hasOffChainData());
+        assertEquals(3 * 1024 * 1024 + 17, chunkBlock.getOffChainData().getFileSize());
+
+        try (InputStream in = blockchain.openLargePayload(blockchain.getLastBlock())) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        assertTrue(blockchain.validateChainDetailed().isValid());
+        assertThrows(IllegalArgumentException.class, () -> blockchain.openLargePayload(chunkBlock));
+    }
+
+    @Test
+    @DisplayName("A tampered chunk file fails the reassembly stream")
+    void testTamperedChunkDetected() throws Exception {
+        byte[] data = payload(Blockchain.LARGE_PAYLOAD_CHUNK_BYTES + 1000);
+        Block manifestBlock = blockchain.addLargePayload(new ByteArrayInputStream(data), null,
+            bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+        LargePayloadManifest manifest = LargePayloadManifest.fromBlock(manifestBlock);
+        assertEquals("application/octet-stream", manifest.contentType());
+
+        Block secondChunk = blockchain.getBlock(manifest.chunks().get(1).blockNumber());
+        Path file = Path.of(secondChunk.getOffChainData().getFilePath());
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(file, bytes);
+
+        try (InputStream in = blockchain.openLargePayload(manifestBlock)) {
+            byte[] firstChunk = in.readNBytes(Blockchain.LARGE_PAYLOAD_CHUNK_BYTES);
+            assertArrayEquals(Arrays.copyOf(data, firstChunk.length), firstChunk,
+                "The untouched chunk is returned");
+            assertThrows(IOException.class, in::readAllBytes);
+        }
+    }
+
+    @Test
+    @DisplayName("A failed or rejected write leaves no blocks and no off-chain files behind")
+    void testFailedWriteLeavesNothing() throws Exception {
+        long countBefore = blockchain.getBlockCount();
+        long filesBefore = offChainFileCount();
+
+        // The stream fails after more than one window of chunks has been stored
+        InputStream failing = new SequenceInputStream(
+            new ByteArrayInputStream(payload(9 * Blockchain.LARGE_PAYLOAD_CHUNK_BYTES)),
+            new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("Scanner disconnected");
+                }
+            });
+        assertThrows(RuntimeException.class, () -> blockchain.addLargePayload(failing, null,
+            bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic()));
+        assertEquals(countBefore, blockchain.getBlockCount());
+        assertEquals(filesBefore, offChainFileCount());
+
+        assertThrows(IllegalArgumentException.class, () -> blockchain.addLargePayload(
+            new ByteArrayInputStream(new byte[0]), null, bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic()));
+        KeyPair stranger = CryptoUtil.generateKeyPair();
+        assertThrows(UnauthorizedKeyException.class, () -> blockchain.addLargePayload(
+            new ByteArrayInputStream(payload(100)), null, stranger.getPrivate(), stranger.getPublic()));
+        assertEquals(countBefore, blockchain.getBlockCount());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+}
@@ -0,0 +1,232 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.entity.OffChainData;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.maintenance.OffChainCleanupService;
+import com.rbatllet.blockchain.service.OffChainStorageService;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for content-addressed, reference-counted off-chain storage
+ * ({@link Blockchain#setOffChainDeduplicationEnabled(boolean)}).
+ */
+@DisplayName("Off-chain deduplication")
+public class OffChainDeduplicationTest {
+
+    private static final Path BLOB_ROOT = Path.of("off-chain-data", "blobs");
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+        blockchain.setOffChainDeduplicationEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.setOffChainDeduplicationEnabled(false);
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    /** Text above the off-chain threshold, distinct per seed. */
+    private static String largeText(char seed) {
+        return ("Scanned record " + seed + " ").repeat(40_000);
+    }
+
+    private Block addOffChainBlock(String data) {
+        assertTrue(blockchain.addBlock(data, bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic()));
+        Block block = blockchain.getLastBlock();
+        assertTrue(block.hasOffChainData());
+        return block;
+    }
+
+    private static List<Path> blobFiles() throws IOException {
+        if (!Files.exists(BLOB_ROOT)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(BLOB_ROOT)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".blob")).toList();
+        }
+    }
+
+    private static Path refsFile(Path blob) {
+        return blob.resolveSibling(blob.getFileName().toString().replace(".blob", ".refs"));
+    }
+
+    private static void backdate(Path blob) throws IOException {
+        Files.setLastModifiedTime(refsFile(blob), FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS)));
+    }
+
+    @Test
+    @DisplayName("Identical payloads share one sharded blob and each block reads it with its own password")
+    void testIdenticalPayloadsShareOneBlob() throws Exception {
+        String text = largeText('A');
+        Block first = addOffChainBlock(text);
+        Block second = addOffChainBlock(text);
+        Block other = addOffChainBlock(largeText('B'));
+
+        OffChainData a = first.getOffChainData();
+        OffChainData b = second.getOffChainData();
+        assertEquals(a.getFilePath(), b.getFilePath());
+        assertNotEquals(a.getEncryptionSalt(), b.getEncryptionSalt());
+        assertNotEquals(a.getWrappedDataKey(), b.getWrappedDataKey());
+        assertNotEquals(a.getFilePath(), other.getOffChainData().getFilePath());
+        assertEquals(2, blobFiles().size());
+
+        // off-chain-data/blobs/ab/cd/abcd….blob
+        Path blob = Path.of(a.getFilePath());
+        String name = blob.getFileName().toString();
+        assertEquals(BLOB_ROOT.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name), blob);
+        assertEquals("2", Files.readString(refsFile(blob)).trim());
+        assertFalse(new String(Files.readAllBytes(blob), StandardCharsets.ISO_8859_1).contains("Scanned record"));
+
+        assertEquals(text, blockchain.getOffChainData(blockchain.getBlock(first.getBlockNumber())));
+        assertEquals(text, blockchain.getOffChainData(blockchain.getBlock(second.getBlockNumber())));
+        assertTrue(blockchain.verifyAllOffChainIntegrity());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+
+        // Without the block's password the wrapped key does not open
+        OffChainStorageService service = new OffChainStorageService();
+        assertFalse(service.verifyIntegrity(a, "NotTheBlockPassword1!"));
+    }
+
+    @Test
+    @DisplayName("Identical large payload chunks are staged into one shared blob")
+    void testLargePayloadChunksShareOneBlob() throws Exception {
+        byte[] chunk = new byte[Blockchain.LARGE_PAYLOAD_CHUNK_BYTES];
+        Arrays.fill(chunk, (byte) 'L');
+        byte[] payload = new byte[chunk.length * 2];
+        System.arraycopy(chunk, 0, payload, 0, chunk.length);
+        System.arraycopy(chunk, 0, payload, chunk.length, chunk.length);
+
+        Block manifest = blockchain.addLargePayload(new ByteArrayInputStream(payload), "application/octet-stream",
+            bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+        OffChainData first = blockchain.getBlock(manifest.getBlockNumber() - 2).getOffChainData();
+        OffChainData second = blockchain.getBlock(manifest.getBlockNumber() - 1).getOffChainData();
+
+        assertEquals(first.getFilePath(), second.getFilePath());
+        assertNotEquals(first.getWrappedDataKey(), second.getWrappedDataKey());
+        assertEquals(1, blobFiles().size());
+        assertEquals("2", Files.readString(refsFile(Path.of(first.getFilePath()))).trim());
+        try (InputStream in = blockchain.openLargePayload(manifest)) {
+            assertArrayEquals(payload, in.readAllBytes());
+        }
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+
+    @Test
+    @DisplayName("Rollback deletes a shared blob only with its last block")
+    void testRollbackReleasesReferences() throws Exception {
+        String text = largeText('C');
+        addOffChainBlock(text);
+        Block second = addOffChainBlock(text);
+        Path blob = Path.of(second.getOffChainData().getFilePath());
+
+        assertTrue(blockchain.rollbackBlocks(1L));
+        assertTrue(Files.exists(blob), "Blob is still referenced by the first block");
+        assertEquals("1", Files.readString(refsFile(blob)).trim());
+        assertEquals(text, blockchain.getOffChainData(blockchain.getLastBlock()));
+
+        assertTrue(blockchain.rollbackBlocks(1L));
+        assertFalse(Files.exists(blob));
+        assertFalse(Files.exists(refsFile(blob)));
+        assertTrue(blockchain.validateChainDetailed().isValid());
+
+        // Switching the mode off keeps per-block files for new data
+        blockchain.setOffChainDeduplicationEnabled(false);
+        Block plain = addOffChainBlock(text);
+        assertNull(plain.getOffChainData().getWrappedDataKey());
+        assertTrue(blobFiles().isEmpty());
+        assertEquals(text, blockchain.getOffChainData(plain));
+    }
+
+    @Test
+    @DisplayName("Cleanup deletes unreferenced blobs after the grace period and corrects counts")
+    void testCleanupReconcilesBlobs() throws Exception {
+        String text = largeText('D');
+        Block block = addOffChainBlock(text);
+        Path referenced = Path.of(block.getOffChainData().getFilePath());
+
+        // References without a block: a stored orphan and an extra count on the referenced blob
+        OffChainStorageService service = new OffChainStorageService();
+        service.setContentAddressed(true);
+        OffChainData orphan = service.storeData(largeText('E').getBytes(StandardCharsets.UTF_8),
+            "OrphanPassword123!", bootstrapKeyPair.getPrivate(),
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()), "text/plain");
+        OffChainData extra = service.storeData(text.getBytes(StandardCharsets.UTF_8),
+            "ExtraPassword123!", bootstrapKeyPair.getPrivate(),
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()), "text/plain");
+        assertEquals(block.getOffChainData().getFilePath(), extra.getFilePath());
+        assertEquals("2", Files.readString(refsFile(referenced)).trim());
+        Path orphanBlob = Path.of(orphan.getFilePath());
+
+        OffChainCleanupService cleanup = new OffChainCleanupService();
+        assertNotNull(cleanup.cleanupOrphanedFiles());
+        assertTrue(Files.exists(orphanBlob), "Recent references may belong to uncommitted blocks");
+
+        backdate(orphanBlob);
+        backdate(referenced);
+        OffChainCleanupService.CleanupResult result = cleanup.cleanupOrphanedFiles();
+        assertEquals(1, result.getDeletedCount());
+        assertFalse(Files.exists(orphanBlob));
+        assertTrue(Files.exists(referenced));
+        assertEquals("1", Files.readString(refsFile(referenced)).trim());
+        assertEquals(text, blockchain.getOffChainData(blockchain.getLastBlock()));
+
+        // The corrected count lets rollback of the only block delete the blob
+        assertTrue(blockchain.rollbackBlocks(1L));
+        assertFalse(Files.exists(referenced));
+    }
+}
@@ -0,0 +1,210 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.entity.OffChainData;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.maintenance.OffChainCleanupService;
+import com.rbatllet.blockchain.service.OffChainStorageService;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for append-only pack files holding small off-chain payloads
+ * ({@link Blockchain#setOffChainPackedStorageEnabled(boolean)}).
+ */
+@DisplayName("Off-chain pack storage")
+public class OffChainPackStorageTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+        blockchain.setOffChainPackedStorageEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.setOffChainPackedStorageEnabled(false);
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    /** Text above the off-chain threshold, distinct per seed. */
+    private static String largeText(char seed) {
+        return ("Scanned record " + seed + " ").repeat(40_000);
+    }
+
+    private Block addOffChainBlock(String data) {
+        assertTrue(blockchain.addBlock(data, bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic()));
+        Block block = blockchain.getLastBlock();
+        assertTrue(block.hasOffChainData());
+        return block;
+    }
+
+    private static Path packFile(OffChainData data) {
+        String reference = data.getFilePath();
+        return Path.of(reference.substring(0, reference.lastIndexOf('#')));
+    }
+
+    private OffChainData storeOrphan(char seed) throws Exception {
+        OffChainStorageService service = new OffChainStorageService();
+        service.setPackedStorage(true);
+        return service.storeData(largeText(seed).getBytes(StandardCharsets.UTF_8),
+            "OrphanPassword123!", bootstrapKeyPair.getPrivate(),
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()), "text/plain");
+    }
+
+    @Test
+    @DisplayName("Small payloads share one encrypted pack file and read back by entry reference")
+    void testPayloadsShareOnePack() throws Exception {
+        Block first = addOffChainBlock(largeText('A'));
+        Block second = addOffChainBlock(largeText('B'));
+        Block third = addOffChainBlock(largeText('C'));
+
+        OffChainData a = first.getOffChainData();
+        assertTrue(a.getFilePath().matches(".*pack-\\d{6}\\.pack#\\d+"), a.getFilePath());
+        Path pack = packFile(a);
+        assertEquals(pack, packFile(second.getOffChainData()));
+        assertEquals(pack, packFile(third.getOffChainData()));
+        try (var files = Files.list(pack.getParent())) {
+            assertEquals(1, files.filter(p -> p.toString().endsWith(".pack")).count());
+        }
+        assertFalse(new String(Files.readAllBytes(pack), StandardCharsets.ISO_8859_1).contains("Scanned record"));
+
+        assertEquals(largeText('A'), blockchain.getOffChainData(blockchain.getBlock(first.getBlockNumber())));
+        assertEquals(largeText('B'), blockchain.getOffChainData(blockchain.getBlock(second.getBlockNumber())));
+        assertEquals(largeText('C'), blockchain.getOffChainData(blockchain.getBlock(third.getBlockNumber())));
+        assertTrue(blockchain.verifyAllOffChainIntegrity());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+
+        OffChainStorageService service = new OffChainStorageService();
+        OffChainData b = second.getOffChainData();
+        assertTrue(service.fileExists(b));
+        assertFalse(service.verifyIntegrity(b, "NotTheBlockPassword1!"));
+    }
+
+    @Test
+    @DisplayName("Random-access reads decrypt only the requested range of a pack entry")
+    void testRandomAccessRead() throws Exception {
+        Block block = addOffChainBlock(largeText('R'));
+        OffChainData orphan = storeOrphan('Q');
+        String text = largeText('Q');
+
+        OffChainStorageService service = new OffChainStorageService();
+        try (SeekableByteChannel channel = service.openDataChannel(orphan, "OrphanPassword123!")) {
+            assertEquals(text.length(), channel.size());
+            ByteBuffer dst = ByteBuffer.allocate(100);
+            channel.position(300_000);
+            while (dst.hasRemaining() && channel.read(dst) > 0) {
+                // keep reading
+            }
+            assertArrayEquals(text.substring(300_000, 300_100).getBytes(StandardCharsets.UTF_8), dst.array());
+        }
+
+        // An entry appended after a block's entry does not disturb its reads
+        assertEquals(largeText('R'), blockchain.getOffChainData(blockchain.getBlock(block.getBlockNumber())));
+    }
+
+    @Test
+    @DisplayName("Rollback deletes entries and exports write standalone files")
+    void testRollbackAndExport(@TempDir Path exportDir) throws Exception {
+        addOffChainBlock(largeText('D'));
+        Block second = addOffChainBlock(largeText('E'));
+        OffChainData removed = second.getOffChainData();
+        OffChainStorageService service = new OffChainStorageService();
+
+        assertTrue(blockchain.rollbackBlocks(1L));
+        assertFalse(service.fileExists(removed));
+        assertTrue(Files.exists(packFile(removed)), "The pack still holds the first block");
+        assertEquals(largeText('D'), blockchain.getOffChainData(blockchain.getLastBlock()));
+        assertTrue(blockchain.validateChainDetailed().isValid());
+
+        OffChainData kept = blockchain.getLastBlock().getOffChainData();
+        assertTrue(blockchain.exportChain(exportDir.resolve("chain.json").toString(), true));
+        try (var files = Files.walk(exportDir)) {
+            Path exported = files
+                .filter(p -> p.getFileName().toString().endsWith(".pack_" + kept.getFilePath().split("#")[1]))
+                .findFirst()
+                .orElseThrow();
+            assertEquals(OffChainStorageService.storedFileSize(kept.getFilePath()), Files.size(exported));
+        }
+    }
+
+    @Test
+    @DisplayName("Cleanup keeps recent unreferenced entries and compaction rewrites mostly-deleted packs")
+    void testCleanupCompactsPacks() throws Exception {
+        Block block = addOffChainBlock(largeText('F'));
+        OffChainData orphan = storeOrphan('G');
+        OffChainData second = storeOrphan('H');
+        Path pack = packFile(orphan);
+        OffChainStorageService service = new OffChainStorageService();
+
+        OffChainCleanupService cleanup = new OffChainCleanupService();
+        assertNotNull(cleanup.cleanupOrphanedFiles());
+        assertTrue(service.fileExists(orphan), "Recent entries may belong to uncommitted blocks");
+        assertTrue(service.fileExists(second));
+
+        long before = Files.size(pack);
+        String referenced = pack.getFileName() + "#" + block.getOffChainData().getFilePath().split("#")[1];
+        OffChainStorageService.PackCompactionResult result =
+            service.compactPacks(Set.of(referenced), Duration.ZERO, 100);
+        assertEquals(2, result.deletedEntries());
+        assertEquals(1, result.rewrittenPacks());
+        assertTrue(Files.size(pack) < before);
+        assertFalse(service.fileExists(orphan));
+        assertFalse(service.fileExists(second));
+
+        // The surviving entry keeps its reference across the rewrite
+        assertEquals(largeText('F'), blockchain.getOffChainData(blockchain.getBlock(block.getBlockNumber())));
+        assertTrue(blockchain.verifyAllOffChainIntegrity());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+
+        // New entries continue in the compacted pack
+        Block next = addOffChainBlock(largeText('I'));
+        assertEquals(largeText('I'), blockchain.getOffChainData(next));
+        assertEquals(largeText('F'), blockchain.getOffChainData(blockchain.getBlock(block.getBlockNumber())));
+    }
+}
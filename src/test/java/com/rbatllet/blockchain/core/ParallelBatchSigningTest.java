@@ -0,0 +1,146 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+import com.rbatllet.blockchain.validation.ChainValidationResult;
+
+/**
+ * Tests for parallel ML-DSA signing in {@link Blockchain#addBlocksBatch(List, boolean)}.
+ *
+ * <p>Verifies that blocks signed on a configured executor produce the same
+ * hash chain and valid signatures as the sequential path.</p>
+ */
+@DisplayName("Parallel batch signing")
+public class ParallelBatchSigningTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.setBatchSigningExecutor(null);
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private List<Blockchain.BlockWriteRequest> createRequests(int count, String prefix) {
+        List<Blockchain.BlockWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new Blockchain.BlockWriteRequest(
+                prefix + " block " + i,
+                bootstrapKeyPair.getPrivate(),
+                bootstrapKeyPair.getPublic()
+            ));
+        }
+        return requests;
+    }
+
+    private void assertChainedAndSigned(List<Block> blocks) {
+        for (int i = 0; i < blocks.size(); i++) {
+            Block block = blocks.get(i);
+            assertNotNull(block.getSignature(), "Block " + block.getBlockNumber() + " must be signed");
+            assertTrue(
+                CryptoUtil.verifySignature(blockchain.buildBlockContent(block), block.getSignature(),
+                    bootstrapKeyPair.getPublic()),
+                "Signature of block " + block.getBlockNumber() + " must verify"
+            );
+            if (i > 0) {
+                assertEquals(blocks.get(i - 1).getHash(), block.getPreviousHash(),
+                    "Block " + block.getBlockNumber() + " must link to its predecessor");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Default mode signs sequentially")
+    void testDefaultIsSequential() {
+        assertNull(blockchain.getBatchSigningExecutor());
+
+        List<Block> blocks = blockchain.addBlocksBatch(createRequests(10, "sequential"), true);
+
+        assertEquals(10, blocks.size());
+        assertChainedAndSigned(blocks);
+    }
+
+    @Test
+    @DisplayName("Fork-join executor produces a valid chain across several flush chunks")
+    void testForkJoinSigning() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            blockchain.setBatchSigningExecutor(pool);
+
+            // 120 blocks spans three 50-block flush chunks, including a partial one
+            List<Block> blocks = blockchain.addBlocksBatch(createRequests(120, "fork-join"), true);
+
+            assertEquals(120, blocks.size());
+            assertChainedAndSigned(blocks);
+
+            ChainValidationResult result = blockchain.validateChainDetailed();
+            assertTrue(result.isStructurallyIntact(), "Chain must be structurally intact");
+            assertTrue(result.isFullyCompliant(), "Chain must be fully compliant");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Virtual-thread executor produces a valid chain")
+    void testVirtualThreadSigning() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            blockchain.setBatchSigningExecutor(executor);
+
+            List<Block> first = blockchain.addBlocksBatch(createRequests(20, "virtual-a"), true);
+            List<Block> second = blockchain.addBlocksBatch(createRequests(20, "virtual-b"), true);
+
+            assertChainedAndSigned(first);
+            assertChainedAndSigned(second);
+            assertEquals(first.get(first.size() - 1).getHash(), second.get(0).getPreviousHash(),
+                "Consecutive batches must be chained");
+            assertTrue(blockchain.validateChainDetailed().isValid());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+import com.rbatllet.blockchain.validation.BlockValidationResult;
+import com.rbatllet.blockchain.validation.ChainValidationResult;
+
+/**
+ * Tests for fork-join chain validation ({@link Blockchain#setValidationParallelism(int)}).
+ *
+ * <p>Parallel validation must return exactly the same results, in the same order,
+ * as sequential validation.</p>
+ */
+@DisplayName("Parallel chain validation")
+public class ParallelChainValidationTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+
+        List<Blockchain.BlockWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 75; i++) {
+            requests.add(new Blockchain.BlockWriteRequest(
+                "Validation block " + i,
+                bootstrapKeyPair.getPrivate(),
+                bootstrapKeyPair.getPublic()
+            ));
+        }
+        blockchain.addBlocksBatch(requests, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.setValidationParallelism(1);
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    @Test
+    @DisplayName("Parallelism must be at least 1")
+    void testInvalidParallelism() {
+        assertEquals(1, blockchain.getValidationParallelism());
+        assertThrows(IllegalArgumentException.class, () -> blockchain.setValidationParallelism(0));
+        assertThrows(IllegalArgumentException.class, () -> blockchain.setValidationParallelism(-4));
+    }
+
+    @Test
+    @DisplayName("Detailed validation results are identical in parallel mode")
+    void testDetailedValidationMatchesSequential() {
+        ChainValidationResult sequential = blockchain.validateChainDetailed();
+
+        blockchain.setValidationParallelism(4);
+        ChainValidationResult parallel = blockchain.validateChainDetailed();
+
+        assertEquals(76, parallel.getTotalBlocks());
+        assertEquals(sequential.getTotalBlocks(), parallel.getTotalBlocks());
+        assertEquals(sequential.getValidBlocks(), parallel.getValidBlocks());
+        assertEquals(sequential.getInvalidBlocks(), parallel.getInvalidBlocks());
+        assertEquals(sequential.getRevokedBlocks(), parallel.getRevokedBlocks());
+        assertTrue(parallel.isStructurallyIntact());
+        assertTrue(parallel.isFullyCompliant());
+
+        List<BlockValidationResult> sequentialResults = sequential.getBlockResults();
+        List<BlockValidationResult> parallelResults = parallel.getBlockResults();
+        for (int i = 0; i < sequentialResults.size(); i++) {
+            assertEquals(sequentialResults.get(i).getBlock().getBlockNumber(),
+                parallelResults.get(i).getBlock().getBlockNumber(), "Results must keep block order");
+            assertEquals(sequentialResults.get(i).getStatus(), parallelResults.get(i).getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Streaming validation delivers ordered batches in parallel mode")
+    void testStreamingValidationMatchesSequential() {
+        Blockchain.ValidationSummary sequential = blockchain.validateChainStreaming(batch -> { }, 20);
+
+        blockchain.setValidationParallelism(3);
+        List<Long> seenBlockNumbers = new ArrayList<>();
+        Blockchain.ValidationSummary parallel = blockchain.validateChainStreaming(
+            batch -> batch.forEach(r -> seenBlockNumbers.add(r.getBlock().getBlockNumber())),
+            20
+        );
+
+        assertEquals(sequential.getTotalBlocks(), parallel.getTotalBlocks());
+        assertEquals(sequential.getValidBlocks(), parallel.getValidBlocks());
+        assertEquals(sequential.getInvalidBlocks(), parallel.getInvalidBlocks());
+        assertTrue(parallel.isValid());
+
+        assertEquals(76, seenBlockNumbers.size());
+        for (int i = 0; i < seenBlockNumbers.size(); i++) {
+            assertEquals((long) i, seenBlockNumbers.get(i));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.entity.PublicKeyEntry;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for the interned public key dictionary ({@code public_keys}) referenced by block rows.
+ *
+ * <p>Blocks must behave exactly as before (same keys, same hashes, same lookups) while each
+ * distinct key is stored once and block rows only hold 64-character fingerprints.</p>
+ */
+@DisplayName("Public key dictionary")
+public class PublicKeyDictionaryTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private static KeyPair recipientKeyPair;
+    private Blockchain blockchain;
+    private String signerKey;
+    private String recipientKey;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+        recipientKeyPair = CryptoUtil.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        signerKey = CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic());
+        recipientKey = CryptoUtil.publicKeyToString(recipientKeyPair.getPublic());
+        blockchain.createBootstrapAdmin(signerKey, "BOOTSTRAP_ADMIN");
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private long dictionarySize() {
+        return JPAUtil.executeInTransaction(em ->
+            em.createQuery("SELECT COUNT(p) FROM PublicKeyEntry p", Long.class).getSingleResult());
+    }
+
+    private Object[] storedKeyColumns(long blockNumber) {
+        return JPAUtil.executeInTransaction(em -> (Object[]) em.createNativeQuery(
+                "SELECT signer_key_fingerprint, recipient_key_fingerprint FROM blocks WHERE block_number = ?1")
+            .setParameter(1, blockNumber)
+            .getSingleResult());
+    }
+
+    @Test
+    @DisplayName("Each distinct key is stored once and blocks hold fingerprints")
+    void testKeysAreInterned() {
+        Block first = blockchain.addBlockAndReturn("First message", bootstrapKeyPair.getPrivate(),
+            bootstrapKeyPair.getPublic(), recipientKey);
+        assertNotNull(first);
+        long sizeAfterFirst = dictionarySize();
+
+        blockchain.addBlockAndReturn("Second message", bootstrapKeyPair.getPrivate(),
+            bootstrapKeyPair.getPublic(), recipientKey);
+        blockchain.addBlock("Plain message", bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+        assertEquals(sizeAfterFirst, dictionarySize(), "Known keys must not be stored again");
+
+        Object[] columns = storedKeyColumns(first.getBlockNumber());
+        assertEquals(PublicKeyEntry.fingerprintOf(signerKey), columns[0]);
+        assertEquals(PublicKeyEntry.fingerprintOf(recipientKey), columns[1]);
+        assertEquals(64, ((String) columns[0]).length());
+
+        Block reloaded = blockchain.getBlock(first.getBlockNumber());
+        assertEquals(signerKey, reloaded.getSignerPublicKey());
+        assertEquals(recipientKey, reloaded.getRecipientPublicKey());
+        assertEquals(first.getHash(), blockchain.calculateBlockHash(reloaded), "Hash input must be unchanged");
+        assertEquals("GENESIS", blockchain.getBlock(0L).getSignerPublicKey());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+
+    @Test
+    @DisplayName("Signer and recipient lookups resolve through fingerprints")
+    void testLookupsByFingerprint() {
+        blockchain.addBlockAndReturn("For recipient 1", bootstrapKeyPair.getPrivate(),
+            bootstrapKeyPair.getPublic(), recipientKey);
+        blockchain.addBlockAndReturn("For recipient 2", bootstrapKeyPair.getPrivate(),
+            bootstrapKeyPair.getPublic(), recipientKey);
+        blockchain.addBlock("Public message", bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+
+        List<Block> bySigner = blockchain.getBlocksBySignerPublicKey(signerKey);
+        assertEquals(3, bySigner.size());
+        assertTrue(bySigner.stream().allMatch(b -> signerKey.equals(b.getSignerPublicKey())));
+
+        List<Block> byRecipient = blockchain.getBlocksByRecipientPublicKey(recipientKey);
+        assertEquals(2, byRecipient.size());
+        assertEquals(2, blockchain.countBlocksByRecipientPublicKey(recipientKey));
+        assertEquals(0, blockchain.countBlocksByRecipientPublicKey(signerKey));
+
+        // Recipient sees unencrypted blocks plus the blocks addressed to them
+        assertEquals(3, blockchain.getAccessibleBlocks(recipientKey).size());
+        assertTrue(blockchain.getBlocksBySignerPublicKey(recipientKey).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Blocks from the legacy schema are moved into the dictionary")
+    void testLegacyColumnBackfill() {
+        Block block = blockchain.addBlockAndReturn("Legacy message", bootstrapKeyPair.getPrivate(),
+            bootstrapKeyPair.getPublic(), recipientKey);
+        long blockNumber = block.getBlockNumber();
+
+        // Recreate the pre-dictionary layout: full keys in block rows, no fingerprint references
+        JPAUtil.executeInTransaction(em -> {
+            em.createNativeQuery("ALTER TABLE blocks ADD COLUMN signer_public_key TEXT").executeUpdate();
+            em.createNativeQuery("ALTER TABLE blocks ADD COLUMN recipient_public_key TEXT").executeUpdate();
+            em.createNativeQuery("UPDATE blocks SET signer_public_key = ?1, recipient_public_key = ?2, " +
+                    "signer_key_fingerprint = NULL, recipient_key_fingerprint = NULL WHERE block_number = ?3")
+                .setParameter(1, signerKey)
+                .setParameter(2, recipientKey)
+                .setParameter(3, blockNumber)
+                .executeUpdate();
+            return null;
+        });
+        try {
+            assertNull(storedKeyColumns(blockNumber)[0]);
+
+            assertEquals(1, new BlockRepository().backfillLegacyPublicKeyColumns());
+
+            Object[] columns = storedKeyColumns(blockNumber);
+            assertEquals(PublicKeyEntry.fingerprintOf(signerKey), columns[0]);
+            assertEquals(PublicKeyEntry.fingerprintOf(recipientKey), columns[1]);
+            Object legacyValue = JPAUtil.executeInTransaction(em -> em.createNativeQuery(
+                    "SELECT signer_public_key FROM blocks WHERE block_number = ?1")
+                .setParameter(1, blockNumber)
+                .getSingleResult());
+            assertNull(legacyValue, "Legacy key column should be cleared");
+
+            Block reloaded = blockchain.getBlock(blockNumber);
+            assertEquals(block.getHash(), blockchain.calculateBlockHash(reloaded));
+            assertEquals(0, new BlockRepository().backfillLegacyPublicKeyColumns(), "Backfill is idempotent");
+            assertTrue(blockchain.validateChainDetailed().isValid());
+        } finally {
+            JPAUtil.executeInTransaction(em -> {
+                em.createNativeQuery("ALTER TABLE blocks DROP COLUMN signer_public_key").executeUpdate();
+                em.createNativeQuery("ALTER TABLE blocks DROP COLUMN recipient_public_key").executeUpdate();
+                return null;
+            });
+        }
+    }
+}
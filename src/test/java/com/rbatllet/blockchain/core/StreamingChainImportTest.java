@@ -0,0 +1,120 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests for the streaming, batch-verified {@link Blockchain#importChain(String)}.
+ */
+@DisplayName("Streaming chain import")
+public class StreamingChainImportTest {
+
+    private static final String EXPORT_FILE = "streaming-import-test.json";
+    private static final String TAMPERED_FILE = "streaming-import-tampered.json";
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+        blockchain.setValidationParallelism(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new File(EXPORT_FILE).delete();
+        new File(TAMPERED_FILE).delete();
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private void addBlocks(String prefix, int count) {
+        List<Blockchain.BlockWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new Blockchain.BlockWriteRequest(String.format("%s %04d", prefix, i),
+                bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic()));
+        }
+        blockchain.addBlocksBatch(requests);
+    }
+
+    @Test
+    @DisplayName("A chain spanning several import batches round-trips through export and import")
+    void testRoundTrip() {
+        addBlocks("Streamed block", 1100);
+        long count = blockchain.getBlockCount();
+        String lastHash = blockchain.getLastBlock().getHash();
+        assertTrue(blockchain.exportChain(EXPORT_FILE));
+
+        blockchain.clearAndReinitialize();
+        assertTrue(blockchain.importChain(EXPORT_FILE));
+
+        assertEquals(count, blockchain.getBlockCount());
+        assertEquals(lastHash, blockchain.getLastBlock().getHash());
+        assertEquals("Streamed block 0500", blockchain.getBlock(501L).getData());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+    }
+
+    @Test
+    @DisplayName("A tampered or malformed file is rejected and the current chain is kept")
+    void testRejectedImportKeepsChain() throws Exception {
+        addBlocks("Exported block", 20);
+        assertTrue(blockchain.exportChain(EXPORT_FILE));
+        String json = Files.readString(Path.of(EXPORT_FILE));
+        Files.writeString(Path.of(TAMPERED_FILE), json.replace("Exported block 0017", "Exported block 9999"));
+
+        addBlocks("Local block", 3);
+        long count = blockchain.getBlockCount();
+        String lastHash = blockchain.getLastBlock().getHash();
+
+        assertFalse(blockchain.importChain(TAMPERED_FILE), "Block with a forged payload must be rejected");
+        assertEquals(count, blockchain.getBlockCount());
+        assertEquals(lastHash, blockchain.getLastBlock().getHash());
+
+        Files.writeString(Path.of(TAMPERED_FILE), json.substring(0, json.length() / 2));
+        assertFalse(blockchain.importChain(TAMPERED_FILE), "Truncated file must be rejected");
+        assertEquals(count, blockchain.getBlockCount());
+        assertTrue(blockchain.validateChainDetailed().isValid());
+
+        blockchain.setValidationParallelism(1);
+        assertTrue(blockchain.importChain(EXPORT_FILE), "Sequential verification imports the intact file");
+        assertEquals(count - 3, blockchain.getBlockCount());
+    }
+}
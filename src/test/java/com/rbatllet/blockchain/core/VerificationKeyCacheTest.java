@@ -0,0 +1,89 @@
+package com.rbatllet.blockchain.core;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Tests that block validation resolves signer keys through the parsed public key cache.
+ */
+@DisplayName("Signature verification key cache")
+public class VerificationKeyCacheTest {
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private long hits() {
+        return (Long) blockchain.getPublicKeyCacheStatistics().get("hits");
+    }
+
+    @Test
+    @DisplayName("Chain and single-block validation reuse parsed signer keys")
+    void testValidationUsesCache() {
+        for (int i = 0; i < 5; i++) {
+            blockchain.addBlock("Block " + i, bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+        }
+
+        long hitsBefore = hits();
+        assertTrue(blockchain.validateChainDetailed().isValid());
+        assertTrue(hits() >= hitsBefore + 4, "One signer key should be parsed at most once per chain");
+
+        long hitsAfterChain = hits();
+        Block block = blockchain.getBlock(3L);
+        assertTrue(blockchain.validateSingleBlock(block));
+        assertTrue(hits() > hitsAfterChain, "Single-block validation (recovery path) should hit the cache");
+    }
+
+    @Test
+    @DisplayName("A cached key does not make a tampered signature valid")
+    void testTamperedSignatureStillDetected() {
+        blockchain.addBlock("Original", bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+        Block block = blockchain.getBlock(1L);
+        assertTrue(blockchain.validateSingleBlock(block));
+
+        block.setSignature(CryptoUtil.signData("something else", bootstrapKeyPair.getPrivate()));
+        assertFalse(blockchain.validateSingleBlock(block));
+    }
+}
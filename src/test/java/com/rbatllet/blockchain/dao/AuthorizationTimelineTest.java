@@ -0,0 +1,129 @@
+package com.rbatllet.blockchain.dao;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.entity.AuthorizedKey;
+import com.rbatllet.blockchain.security.UserRole;
+import com.rbatllet.blockchain.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory authorization timeline behind
+ * {@link AuthorizedKeyDAO#wasKeyAuthorizedAt} and {@link AuthorizedKeyDAO#getAuthorizedKeysAt}.
+ */
+@DisplayName("Authorization timeline")
+public class AuthorizationTimelineTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private AuthorizedKeyDAO keyDAO;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        keyDAO = new AuthorizedKeyDAO();
+        keyDAO.cleanupTestData();
+    }
+
+    private static AuthorizedKey key(String publicKey, LocalDateTime createdAt) {
+        return new AuthorizedKey(publicKey, "owner-" + publicKey, UserRole.USER, "TestCreator", createdAt);
+    }
+
+    @Test
+    @DisplayName("Windows answer like the database: latest grant at or before T, not yet revoked")
+    void testWindows() {
+        AuthorizationTimeline timeline = new AuthorizationTimeline(List.of());
+        // Granted at T0, revoked at T0+10, re-granted at T0+20 (still active)
+        timeline.put("k", 1L, T0, T0.plusMinutes(10));
+        timeline.put("k", 2L, T0.plusMinutes(20), null);
+
+        assertFalse(timeline.wasAuthorizedAt("k", T0.minusSeconds(1)));
+        assertTrue(timeline.wasAuthorizedAt("k", T0));
+        assertTrue(timeline.wasAuthorizedAt("k", T0.plusMinutes(5)));
+        assertFalse(timeline.wasAuthorizedAt("k", T0.plusMinutes(10)), "Revocation instant is exclusive");
+        assertFalse(timeline.wasAuthorizedAt("k", T0.plusMinutes(15)));
+        assertTrue(timeline.wasAuthorizedAt("k", T0.plusDays(1)));
+        assertFalse(timeline.wasAuthorizedAt("unknown", T0));
+
+        // Applying the same row again replaces its window
+        timeline.put("k", 2L, T0.plusMinutes(20), T0.plusMinutes(30));
+        assertFalse(timeline.wasAuthorizedAt("k", T0.plusDays(1)));
+        assertEquals(Set.of("k"), timeline.authorizedAt(Set.of("k", "unknown"), T0.plusMinutes(25)));
+
+        timeline.remove("k");
+        assertEquals(0, timeline.keyCount());
+    }
+
+    @Test
+    @DisplayName("Save, revoke and delete through the DAO update the timeline")
+    void testDaoUpdates() {
+        keyDAO.saveAuthorizedKey(key("alice", T0));
+        assertTrue(keyDAO.wasKeyAuthorizedAt("alice", T0.plusMinutes(1)));
+
+        keyDAO.saveAuthorizedKey(key("bob", T0));
+        assertEquals(Set.of("alice", "bob"),
+            keyDAO.getAuthorizedKeysAt(Set.of("alice", "bob", "carol"), T0.plusMinutes(1)));
+
+        keyDAO.revokeAuthorizedKey("alice");
+        assertFalse(keyDAO.wasKeyAuthorizedAt("alice", LocalDateTime.now().plusMinutes(1)));
+        assertTrue(keyDAO.wasKeyAuthorizedAt("alice", T0.plusMinutes(1)),
+            "History before the revocation is kept");
+
+        assertTrue(keyDAO.deleteAuthorizedKey("bob"));
+        assertFalse(keyDAO.wasKeyAuthorizedAt("bob", T0.plusMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("Uncommitted keys are visible to their own transaction and dropped on rollback")
+    void testTransactionVisibility() {
+        keyDAO.saveAuthorizedKey(key("alice", T0));
+        assertTrue(keyDAO.wasKeyAuthorizedAt("alice", T0.plusMinutes(1)));
+
+        EntityManager em = JPAUtil.getEntityManager();
+        em.getTransaction().begin();
+        try {
+            keyDAO.saveAuthorizedKey(key("dave", T0));
+            assertTrue(keyDAO.wasKeyAuthorizedAt("dave", T0.plusMinutes(1)),
+                "The transaction that added the key must see it");
+        } finally {
+            em.getTransaction().rollback();
+            em.close();
+        }
+
+        assertFalse(keyDAO.wasKeyAuthorizedAt("dave", T0.plusMinutes(1)));
+        assertTrue(keyDAO.wasKeyAuthorizedAt("alice", T0.plusMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("Changes made outside the DAO are picked up after invalidation")
+    void testInvalidation() {
+        keyDAO.saveAuthorizedKey(key("alice", T0));
+        assertTrue(keyDAO.wasKeyAuthorizedAt("alice", T0.plusMinutes(1)));
+
+        JPAUtil.executeInTransaction(em ->
+            em.createNativeQuery("DELETE FROM authorized_keys").executeUpdate());
+        assertTrue(keyDAO.wasKeyAuthorizedAt("alice", T0.plusMinutes(1)), "Served from the loaded timeline");
+
+        AuthorizedKeyDAO.invalidateAuthorizationTimeline();
+        assertFalse(keyDAO.wasKeyAuthorizedAt("alice", T0.plusMinutes(1)));
+    }
+}
@@ -0,0 +1,128 @@
+package com.rbatllet.blockchain.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.core.Blockchain;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+
+/**
+ * Micro-benchmark: streaming block hash vs. the previous String-concatenation path.
+ *
+ * <p>The previous path built {@code blockNumber + previousHash + data + timestamp + signerKey},
+ * copied it with {@code getBytes}, used a fresh {@link MessageDigest} and hex-encoded with
+ * {@code String.format} per byte. The streaming path feeds each field into a reused per-thread
+ * digest. Reports time and bytes allocated per hash (HotSpot thread allocation counter).</p>
+ *
+ * <p>Use: mvn test -Dtest=BlockHashBenchmarkTest</p>
+ */
+@DisplayName("Block hash benchmark")
+@Tag("performance")
+@Tag("benchmark")
+public class BlockHashBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(BlockHashBenchmarkTest.class);
+
+    private static final int WARMUP_ITERATIONS = 30;
+    private static final int MEASURED_ITERATIONS = 60;
+
+    private static Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        blockchain = new Blockchain();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    /** Previous implementation, kept here as the baseline. */
+    private static String legacyHash(Block block) throws Exception {
+        long timestampSeconds = block.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+        String content = block.getBlockNumber() + block.getPreviousHash() + block.getData()
+            + timestampSeconds + block.getSignerPublicKey();
+        MessageDigest digest = MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM);
+        byte[] hash = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+        StringBuilder result = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+
+    private record Measurement(double microsPerOp, long bytesPerOp) { }
+
+    private static Measurement measure(Supplier<String> operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.get();
+        }
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Measurement(elapsed / 1000.0 / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS);
+    }
+
+    @Test
+    @DisplayName("Streaming hash allocates less than concatenation for large blocks")
+    void compareHashPaths() throws Exception {
+        KeyPair keyPair = CryptoUtil.generateKeyPair();
+        String publicKey = CryptoUtil.publicKeyToString(keyPair.getPublic());
+
+        StringBuilder payload = new StringBuilder();
+        while (payload.length() < 1024 * 1024) {
+            payload.append("Medical record line ").append(payload.length()).append('\n');
+        }
+        Block block = new Block(42L, CryptoUtil.calculateHash("previous"), payload.toString(),
+            LocalDateTime.now(), null, null, publicKey);
+
+        assertEquals(legacyHash(block), blockchain.calculateBlockHash(block),
+            "Both paths must produce the same digest");
+
+        Measurement legacy = measure(() -> {
+            try {
+                return legacyHash(block);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Measurement streaming = measure(() -> blockchain.calculateBlockHash(block));
+
+        logger.info("📊 Block hash (1MB data + ML-DSA key):");
+        logger.info("   concat + getBytes : {} µs/op, {} bytes/op",
+            String.format("%.1f", legacy.microsPerOp()), legacy.bytesPerOp());
+        logger.info("   streaming builder : {} µs/op, {} bytes/op",
+            String.format("%.1f", streaming.microsPerOp()), streaming.bytesPerOp());
+
+        assertTrue(streaming.bytesPerOp() * 10 < legacy.bytesPerOp(),
+            "Streaming hash should allocate at least 10x less: " + streaming.bytesPerOp()
+                + " vs " + legacy.bytesPerOp());
+    }
+}
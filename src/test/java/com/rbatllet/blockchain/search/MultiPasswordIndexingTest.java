@@ -0,0 +1,153 @@
+package com.rbatllet.blockchain.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.config.DatabaseConfig;
+import com.rbatllet.blockchain.core.Blockchain;
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.indexing.IndexingCoordinator;
+import com.rbatllet.blockchain.security.PasswordVerifier;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.JPAUtil;
+import com.rbatllet.blockchain.util.TestGenesisKeyManager;
+
+/**
+ * Integration tests for password check values and multi-password indexing
+ * ({@link Blockchain#initializeAdvancedSearchWithMultiplePasswords(String[])},
+ * {@link SearchFrameworkEngine#indexBlockchainWithPasswords}).
+ */
+@DisplayName("Multi-password indexing")
+public class MultiPasswordIndexingTest {
+
+    private static final String MEDICAL = "Medical_Dept_2024!Key";
+    private static final String FINANCE = "Finance_Dept_2024!Key";
+    private static final String LEGAL = "Legal_Dept_2024!Key";
+    private static final String OTHER = "Other_Dept_2024!Key";
+
+    private static KeyPair bootstrapKeyPair;
+    private Blockchain blockchain;
+
+    @BeforeAll
+    static void setUpClass() {
+        JPAUtil.initialize(DatabaseConfig.createH2TestConfig());
+        bootstrapKeyPair = TestGenesisKeyManager.ensureGenesisKeysExist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IndexingCoordinator.getInstance().reset();
+        blockchain = new Blockchain();
+        blockchain.clearAndReinitialize();
+        blockchain.createBootstrapAdmin(
+            CryptoUtil.publicKeyToString(bootstrapKeyPair.getPublic()),
+            "BOOTSTRAP_ADMIN"
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        blockchain.completeCleanupForTestsWithBackups();
+    }
+
+    @AfterAll
+    static void tearDownClass() {
+        JPAUtil.shutdown();
+    }
+
+    private Block addEncrypted(String data, String password, String keyword) {
+        // Not auto-indexed, so the multi-password run is the only indexing of the block
+        Block block = blockchain.addEncryptedBlockWithKeywords(data, password, new String[] {keyword}, "DEPARTMENT",
+            bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic(), true);
+        assertNotNull(block);
+        return block;
+    }
+
+    /**
+     * @return the blocks whose private metadata the password opens in an encrypted search for
+     *         the keyword, i.e. the blocks indexed with that password
+     */
+    private Set<String> privateMatches(String keyword, String password) {
+        return blockchain.getSearchFrameworkEngine().searchEncryptedOnly(keyword, password, 50).getResults().stream()
+            .filter(result -> result.getPrivateMetadata() != null)
+            .map(SearchFrameworkEngine.EnhancedSearchResult::getBlockHash)
+            .collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("Encrypted blocks store a check value for their own password only")
+    void testCheckValueStored() {
+        Block medical = addEncrypted("Patient cardiology follow-up", MEDICAL, "cardiology");
+        Block finance = addEncrypted("Quarterly budget ledger", FINANCE, "ledger");
+        blockchain.addBlock("Public announcement", bootstrapKeyPair.getPrivate(), bootstrapKeyPair.getPublic());
+
+        String genesisHash = blockchain.getBlock(0L).getHash();
+        PasswordVerifier medicalVerifier = PasswordVerifier.derive(MEDICAL, genesisHash);
+        PasswordVerifier financeVerifier = PasswordVerifier.derive(FINANCE, genesisHash);
+        try {
+            Block storedMedical = blockchain.getBlock(medical.getBlockNumber());
+            Block storedFinance = blockchain.getBlock(finance.getBlockNumber());
+            assertNotNull(storedMedical.getPasswordCheckValue());
+            assertNotNull(storedFinance.getPasswordCheckValue());
+            assertTrue(medicalVerifier.matches(storedMedical.getHash(), storedMedical.getPasswordCheckValue()));
+            assertFalse(financeVerifier.matches(storedMedical.getHash(), storedMedical.getPasswordCheckValue()));
+            assertTrue(financeVerifier.matches(storedFinance.getHash(), storedFinance.getPasswordCheckValue()));
+            assertFalse(medicalVerifier.matches(storedFinance.getHash(), storedFinance.getPasswordCheckValue()));
+
+            assertNull(blockchain.getBlock(finance.getBlockNumber() + 1).getPasswordCheckValue(),
+                "Unencrypted blocks have no check value");
+        } finally {
+            medicalVerifier.destroy();
+            financeVerifier.destroy();
+        }
+        assertTrue(blockchain.validateChainDetailed().isValid(), "The check value is not part of the block hash");
+    }
+
+    @Test
+    @DisplayName("Each block is indexed with its own password, by check value or by trial decryption")
+    void testIndexedWithOwnPassword() {
+        Block medical = addEncrypted("Patient cardiology follow-up", MEDICAL, "cardiology");
+        Block finance = addEncrypted("Quarterly budget ledger", FINANCE, "ledger");
+        Block legal = addEncrypted("Contract amendment clause", LEGAL, "contract");
+        Block other = addEncrypted("Unrelated ledger archive", OTHER, "ledger");
+
+        // A block written before check values existed, under a password that is not the first one
+        Block legacy = addEncrypted("Legacy ledger entry", FINANCE, "ledger");
+        Block stored = blockchain.getBlock(legacy.getBlockNumber());
+        stored.setPasswordCheckValue(null);
+        assertTrue(blockchain.updateBlock(stored));
+        assertNull(blockchain.getBlock(legacy.getBlockNumber()).getPasswordCheckValue());
+
+        blockchain.initializeAdvancedSearchWithMultiplePasswords(new String[] {MEDICAL, FINANCE, LEGAL});
+
+        assertEquals(Set.of(medical.getHash()), privateMatches("cardiology", MEDICAL));
+        assertEquals(Set.of(finance.getHash(), legacy.getHash()), privateMatches("ledger", FINANCE),
+            "The legacy block is matched by decrypting its keywords; the unknown password's block is not");
+        assertEquals(Set.of(legal.getHash()), privateMatches("contract", LEGAL));
+
+        for (String password : List.of(MEDICAL, LEGAL)) {
+            assertTrue(privateMatches("ledger", password).isEmpty(), password);
+        }
+        assertTrue(privateMatches("cardiology", FINANCE).isEmpty());
+        assertTrue(privateMatches("contract", MEDICAL).isEmpty());
+
+        // No listed password was used for it: it is indexed with public metadata only
+        assertTrue(blockchain.getSearchFrameworkEngine().isBlockIndexed(other.getHash()));
+        assertFalse(privateMatches("ledger", OTHER).contains(other.getHash()));
+    }
+}
@@ -0,0 +1,118 @@
+package com.rbatllet.blockchain.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the persistent trigram index used by {@link OffChainFileSearch}.
+ */
+@DisplayName("Off-chain term index")
+public class OffChainTermIndexTest {
+
+    private static final String PASSWORD = "IndexPassword123!";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Excludes only documents that cannot contain the term")
+    void testExcludes() throws Exception {
+        OffChainTermIndex index = OffChainTermIndex.open(directory, PASSWORD);
+        index.add("doc1", "Quarterly REPORT for the Northern\nregion");
+        index.add("doc2", "Invoice 4711, paid in full");
+
+        assertFalse(index.excludes("doc1", "report"));
+        assertFalse(index.excludes("doc1", "  the northern "));
+        assertTrue(index.excludes("doc2", "report"));
+        assertFalse(index.excludes("doc2", "INVOICE 47"));
+        assertTrue(index.excludes("doc1", "invoice"));
+
+        // Too short to filter, or not indexed: must be searched
+        assertFalse(index.excludes("doc2", "re"));
+        assertFalse(index.excludes("doc3", "report"));
+    }
+
+    @Test
+    @DisplayName("Folds case the way the search compares it")
+    void testCaseFolding() throws Exception {
+        OffChainTermIndex index = OffChainTermIndex.open(directory, PASSWORD);
+        index.add("greek", "ΟΔΟΣ ΑΘΗΝΑΣ");
+        index.add("turkish", "İSTANBUL");
+
+        assertFalse(index.excludes("greek", "οδος"));
+        assertFalse(index.excludes("greek", "δος"));
+        assertFalse(index.excludes("turkish", "istanbul"));
+        assertFalse(index.excludes("turkish", "ıstanbul"));
+    }
+
+    @Test
+    @DisplayName("Persists encrypted and reloads only with the same password")
+    void testPersistence() throws Exception {
+        OffChainTermIndex index = OffChainTermIndex.open(directory, PASSWORD);
+        index.add("doc1", "confidential merger plans");
+        index.save();
+        assertEquals(0, index.unsavedDocuments());
+
+        OffChainTermIndex reloaded = OffChainTermIndex.open(directory, PASSWORD);
+        assertEquals(1, reloaded.size());
+        assertTrue(reloaded.contains("doc1"));
+        assertFalse(reloaded.excludes("doc1", "merger"));
+        assertTrue(reloaded.excludes("doc1", "layoffs"));
+
+        // Another password has its own (empty) index
+        assertEquals(0, OffChainTermIndex.open(directory, "OtherPassword456!").size());
+
+        // Content is not stored in clear
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                assertFalse(new String(Files.readAllBytes(file), java.nio.charset.StandardCharsets.ISO_8859_1)
+                    .contains("merger"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects a tampered index file")
+    void testTamperedIndex() throws Exception {
+        OffChainTermIndex index = OffChainTermIndex.open(directory, PASSWORD);
+        index.add("doc1", "some indexed text");
+        index.save();
+
+        Path file;
+        try (Stream<Path> files = Files.list(directory)) {
+            file = files.filter(p -> p.toString().endsWith(".idx")).findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        assertThrows(Exception.class, () -> OffChainTermIndex.open(directory, PASSWORD));
+    }
+
+    @Test
+    @DisplayName("Documents with too many trigrams are always searched")
+    void testUnfilteredDocument() throws Exception {
+        Random random = new Random(42);
+        StringBuilder noise = new StringBuilder();
+        for (int i = 0; i < 2 * OffChainTermIndex.MAX_GRAMS_PER_DOCUMENT; i++) {
+            noise.appendCodePoint(0x4E00 + random.nextInt(20_000));
+        }
+        assertNull(OffChainTermIndex.grams(noise.toString(), OffChainTermIndex.MAX_GRAMS_PER_DOCUMENT));
+
+        OffChainTermIndex index = OffChainTermIndex.open(directory, PASSWORD);
+        index.add("binary", noise.toString());
+        assertFalse(index.excludes("binary", "anything"));
+    }
+}
@@ -0,0 +1,210 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.search.metadata.BlockMetadataLayers;
+import com.rbatllet.blockchain.search.metadata.PublicMetadata;
+import com.rbatllet.blockchain.search.strategy.BooleanQuery.And;
+import com.rbatllet.blockchain.search.strategy.BooleanQuery.Field;
+import com.rbatllet.blockchain.search.strategy.BooleanQuery.FieldFilter;
+import com.rbatllet.blockchain.search.strategy.BooleanQuery.Not;
+import com.rbatllet.blockchain.search.strategy.BooleanQuery.Or;
+import com.rbatllet.blockchain.search.strategy.BooleanQuery.Phrase;
+import com.rbatllet.blockchain.search.strategy.BooleanQuery.Term;
+import com.rbatllet.blockchain.search.strategy.FastIndexSearch.FastSearchResult;
+
+/**
+ * Tests for Boolean and phrase queries: parsing ({@link BooleanQuery}) and execution
+ * ({@link FastIndexSearch#searchBoolean(String, int)}).
+ */
+@DisplayName("Boolean query engine")
+public class BooleanQueryTest {
+
+    private static final String[] WORDS = {"cardiology", "2024", "draft", "report", "urgent", "archive"};
+
+    private static PublicMetadata publicLayer(Set<String> keywords, String category, String contentType, String timeRange) {
+        PublicMetadata publicLayer = new PublicMetadata();
+        publicLayer.getGeneralKeywords().addAll(keywords);
+        publicLayer.setBlockCategory(category);
+        publicLayer.setContentType(contentType);
+        publicLayer.setTimeRange(timeRange);
+        return publicLayer;
+    }
+
+    private static Set<String> hashes(List<FastSearchResult> results) {
+        return results.stream().map(FastSearchResult::getBlockHash).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    @Test
+    @DisplayName("Parses operators, precedence, phrases and field filters")
+    void testParse() {
+        assertEquals(new And(List.of(new Term("cardiology"), new Term("2024"), new Not(new Term("draft")))),
+            BooleanQuery.parse("cardiology AND 2024 NOT draft"));
+        assertEquals(new Or(List.of(new And(List.of(new Term("a1"), new Term("b1"))), new Term("c1"))),
+            BooleanQuery.parse("a1 b1 OR c1"), "AND binds tighter than OR");
+        assertEquals(new And(List.of(new Term("a1"), new Or(List.of(new Term("b1"), new Term("c1"))))),
+            BooleanQuery.parse("a1 AND (b1 OR c1"), "An unclosed group ends with the query");
+        assertEquals(new Phrase("heart surgery", List.of("heart", "surgery")),
+            BooleanQuery.parse("\"Heart  Surgery\""));
+        assertEquals(new And(List.of(new FieldFilter(Field.CATEGORY, "MEDIUM"),
+                                     new FieldFilter(Field.TIME_RANGE, "2024-01-15 13"),
+                                     new Not(new Term("medical")))),
+            BooleanQuery.parse("category:MEDIUM time:\"2024-01-15 13\" -public:medical"));
+        assertEquals(new Term("signer:abc"), BooleanQuery.parse("signer:abc"), "Unknown fields are keywords");
+        assertEquals(new And(List.of(new Term("cardiology"), new FieldFilter(Field.CATEGORY, "medium"))),
+            BooleanQuery.parse("cardiology category:(medium)"));
+        assertEquals(new And(List.of(new Or(List.of(new FieldFilter(Field.CATEGORY, "medium"),
+                                                    new FieldFilter(Field.CATEGORY, "x y"))),
+                                     new Term("report"))),
+            BooleanQuery.parse("category:(medium OR \"x y\") report"), "A field group applies to its words only");
+        assertEquals(new And(List.of(new Term("type:"), new Term("cardiology"))),
+            BooleanQuery.parse("type: cardiology"), "A field without a value stays a keyword");
+        assertEquals(new Term("category:"), BooleanQuery.parse("category:\"\""));
+        assertNull(BooleanQuery.parse("AND OR ()"));
+
+        assertTrue(BooleanQuery.isBooleanQuery("cardiology AND 2024"));
+        assertTrue(BooleanQuery.isBooleanQuery("type:text"));
+        assertFalse(BooleanQuery.isBooleanQuery("cardiology and covid-19"), "Lower-case operators are keywords");
+        assertFalse(BooleanQuery.isBooleanQuery("public:medical"));
+    }
+
+    @Test
+    @DisplayName("Matches the same blocks as evaluating the query on each block")
+    void testSameMatchesAsPerBlockEvaluation() {
+        FastIndexSearch search = new FastIndexSearch();
+        Random random = new Random(5);
+        List<Set<String>> blocks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Set<String> keywords = new HashSet<>();
+            for (String word : WORDS) {
+                if (random.nextInt(3) == 0) {
+                    keywords.add(word);
+                }
+            }
+            keywords.add("filler" + (i % 7));
+            blocks.add(keywords);
+            search.indexBlock("hash-" + i, new BlockMetadataLayers(publicLayer(keywords, null, null, null), null));
+        }
+        // Rollback-style removals leave gaps in the document ids
+        for (int i = 0; i < 2_000; i += 9) {
+            search.removeBlock("hash-" + i);
+        }
+        // Re-adding half of them reuses the freed ids, inserting into the middle of the postings
+        for (int i = 0; i < 2_000; i += 18) {
+            search.indexBlock("hash-" + i, new BlockMetadataLayers(publicLayer(blocks.get(i), null, null, null), null));
+        }
+
+        List<String> queries = List.of(
+            "cardiology AND 2024 NOT draft",
+            "cardiology 2024 -draft -urgent",
+            "(report OR urgent) AND NOT (archive OR draft)",
+            "NOT cardiology",
+            "draft OR urgent OR missing",
+            "cardiology AND missing");
+        List<IntPredicate> expectations = List.of(
+            i -> has(blocks, i, "cardiology") && has(blocks, i, "2024") && !has(blocks, i, "draft"),
+            i -> has(blocks, i, "cardiology") && has(blocks, i, "2024") && !has(blocks, i, "draft") && !has(blocks, i, "urgent"),
+            i -> (has(blocks, i, "report") || has(blocks, i, "urgent")) && !has(blocks, i, "archive") && !has(blocks, i, "draft"),
+            i -> !has(blocks, i, "cardiology"),
+            i -> has(blocks, i, "draft") || has(blocks, i, "urgent"),
+            i -> false);
+
+        for (int q = 0; q < queries.size(); q++) {
+            Set<String> expected = new TreeSet<>();
+            for (int i = 0; i < blocks.size(); i++) {
+                if ((i % 9 != 0 || i % 18 == 0) && expectations.get(q).test(i)) {
+                    expected.add("hash-" + i);
+                }
+            }
+            assertEquals(expected, hashes(search.searchBoolean(queries.get(q), 10_000)), queries.get(q));
+        }
+        assertEquals(5, search.searchBoolean("cardiology AND 2024 NOT draft", 5).size());
+    }
+
+    private static boolean has(List<Set<String>> blocks, int index, String keyword) {
+        return blocks.get(index).contains(keyword);
+    }
+
+    @Test
+    @DisplayName("Filters by category, content type and time range, and matches phrases")
+    void testFieldsAndPhrases() {
+        FastIndexSearch search = new FastIndexSearch();
+        search.indexBlock("a", new BlockMetadataLayers(
+            publicLayer(Set.of("public:cardiology", "heart surgery"), "MEDIUM", "text/plain", "2024-01-15"), null));
+        search.indexBlock("b", new BlockMetadataLayers(
+            publicLayer(Set.of("cardiology", "heart", "surgery"), "LARGE", "image/png", "2024-02-03"), null));
+        search.indexBlock("c", new BlockMetadataLayers(
+            publicLayer(Set.of("cardiology", "heart"), "MEDIUM", "text/plain", "2023-12-31"), null));
+
+        assertEquals(Set.of("a", "c"), hashes(search.searchBoolean("cardiology category:medium", 10)));
+        assertEquals(Set.of("b"), hashes(search.searchBoolean("cardiology type:image", 10)), "Major type selects subtypes");
+        assertEquals(Set.of("a", "b"), hashes(search.searchBoolean("cardiology time:2024", 10)), "Time prefix");
+        assertEquals(Set.of("a"), hashes(search.searchBoolean("time:2024-01 OR type:\"text/html\"", 10)));
+        assertEquals(Set.of("a", "b"), hashes(search.searchBoolean("\"heart surgery\"", 10)));
+        assertEquals(Set.of("c"), hashes(search.searchBoolean("cardiology NOT \"heart surgery\"", 10)));
+        assertEquals(Set.of("a", "c"), hashes(search.searchBoolean("cardiology category:(medium)", 10)));
+        assertTrue(search.searchBoolean("cardiology type:", 10).isEmpty(), "An empty field value does not widen the query");
+
+        // Removal clears the category index too
+        search.removeBlocks(List.of("a", "c"));
+        assertTrue(search.searchBoolean("category:MEDIUM", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Router sends Boolean queries to the Boolean engine")
+    void testRouting() {
+        SearchStrategyRouter router = new SearchStrategyRouter();
+        try {
+            for (int i = 0; i < 20; i++) {
+                Set<String> keywords = new HashSet<>(Set.of("cardiology"));
+                keywords.add(i % 2 == 0 ? "2024" : "2023");
+                if (i % 4 == 0) {
+                    keywords.add("draft");
+                }
+                router.indexBlock("routed-hash-" + i, new BlockMetadataLayers(publicLayer(keywords, null, null, null), null));
+            }
+
+            SearchStrategyRouter.SearchRoutingResult result =
+                router.routeSearch("cardiology AND 2024 NOT draft", null, null, 50);
+            assertEquals(SearchStrategyRouter.QueryComplexity.BOOLEAN, result.getAnalysis().getComplexity());
+            assertEquals(SearchStrategyRouter.SearchStrategy.BOOLEAN_PUBLIC, result.getStrategyUsed());
+            assertEquals(5, result.getResult().getResults().size(), "Blocks 2, 6, 10, 14 and 18");
+
+            // With a password the cascade escalates (5 < 50 / 2) to the encrypted search, whose
+            // matches must honour the same query, including NOT
+            for (int i = 0; i < 20; i++) {
+                router.getEncryptedContentSearch().indexNonEncryptedContent("routed-hash-" + i,
+                    "cardiology report " + (i % 2 == 0 ? "2024" : "2023") + (i % 4 == 0 ? " draft" : ""));
+            }
+            Set<String> expected = Set.of("routed-hash-2", "routed-hash-6", "routed-hash-10", "routed-hash-14", "routed-hash-18");
+            for (String password : List.of("", "secret")) {
+                result = router.routeSearch("cardiology AND 2024 NOT draft", password, null, 50);
+                assertEquals(SearchStrategyRouter.SearchStrategy.HYBRID_CASCADE, result.getStrategyUsed());
+                assertEquals(expected, result.getResult().getResults().stream()
+                    .map(SearchStrategyRouter.SearchResultItem::getBlockHash)
+                    .collect(Collectors.toSet()), "Password \"" + password + "\"");
+            }
+
+            result = router.routeSearch("cardiology 2024", null, null, 50);
+            assertEquals(SearchStrategyRouter.SearchStrategy.FAST_PUBLIC, result.getStrategyUsed());
+            assertEquals(20, result.getResult().getResults().size(), "Plain queries still OR their words");
+        } finally {
+            router.shutdown();
+        }
+    }
+}
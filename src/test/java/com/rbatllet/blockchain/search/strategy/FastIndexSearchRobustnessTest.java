@@ -170,6 +170,62 @@ class FastIndexSearchRobustnessTest {
         logger.info("✅ Test passed: removeBlock removes existing block correctly");
     }
 
+    @Test
+    @DisplayName("Re-indexing a block should replace its previous keywords")
+    void testReindexReplacesKeywords() {
+        logTestContext("indexBlock", "re-index with different keywords");
+        
+        String blockHash = "reindex-test-hash";
+        fastIndexSearch.indexBlock(blockHash, createMockMetadata());
+        
+        PublicMetadata updated = new PublicMetadata();
+        updated.getGeneralKeywords().add("medical");
+        updated.setContentType("text/plain");
+        fastIndexSearch.indexBlock(blockHash, new BlockMetadataLayers(updated, null));
+        
+        assertTrue(fastIndexSearch.searchFast("financial", 10).isEmpty(), "Old keyword should no longer match");
+        assertTrue(fastIndexSearch.searchByContentType("medical", "application/json", 10).isEmpty(),
+                   "Old content type should no longer match");
+        assertEquals(blockHash, fastIndexSearch.searchFast("medical", 10).get(0).getBlockHash());
+        
+        FastIndexStats stats = fastIndexSearch.getIndexStats();
+        assertEquals(1, stats.getBlocksIndexed(), "Should still index one block");
+        assertEquals(1, stats.getUniqueKeywords(), "Only the new keyword should remain");
+        
+        logger.info("✅ Test passed: re-indexing replaces previous keywords");
+    }
+
+    @Test
+    @DisplayName("removeBlocks should remove a batch of blocks and keep the others searchable")
+    void testRemoveBlocksBatch() {
+        logTestContext("removeBlocks", "batch removal as after a rollback");
+        
+        for (int i = 0; i < 300; i++) {
+            fastIndexSearch.indexBlock("batch-hash-" + i, createMockMetadata());
+        }
+        
+        List<String> rolledBack = new java.util.ArrayList<>();
+        for (int i = 100; i < 300; i++) {
+            rolledBack.add("batch-hash-" + i);
+        }
+        rolledBack.add("non-existent-hash");
+        rolledBack.add(null);
+        
+        assertEquals(200, fastIndexSearch.removeBlocks(rolledBack));
+        assertEquals(0, fastIndexSearch.removeBlocks(null));
+        
+        List<FastSearchResult> results = fastIndexSearch.searchByTimeRange("financial", "2023-2024", 1000);
+        assertEquals(100, results.size(), "Only the remaining blocks should match");
+        assertTrue(results.stream().allMatch(r -> Integer.parseInt(r.getBlockHash().substring(11)) < 100));
+        assertEquals(100, fastIndexSearch.getIndexStats().getBlocksIndexed());
+        
+        fastIndexSearch.removeBlocks(List.of("batch-hash-0"));
+        fastIndexSearch.removeBlocks(rolledBack);
+        assertEquals(99, fastIndexSearch.searchFast("blockchain", 1000).size());
+        
+        logger.info("✅ Test passed: removeBlocks removes a batch of blocks");
+    }
+
     // ========== searchFast() Tests ==========
 
     @Test
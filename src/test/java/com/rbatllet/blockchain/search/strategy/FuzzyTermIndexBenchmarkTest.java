@@ -0,0 +1,114 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Benchmark: fuzzy keyword lookup through {@link FuzzyTermIndex} vs. the previous scan of the
+ * whole vocabulary, at 1M distinct terms.
+ *
+ * <p>Both paths apply {@code FastIndexSearch.isFuzzyMatch} to their terms, so they must report
+ * the same matches; only the number of terms compared differs.</p>
+ *
+ * <p>Use: mvn test -Dtest=FuzzyTermIndexBenchmarkTest</p>
+ */
+@DisplayName("Fuzzy term index benchmark")
+@Tag("performance")
+@Tag("benchmark")
+@Tag("slow")
+public class FuzzyTermIndexBenchmarkTest {
+    private static final Logger logger = LoggerFactory.getLogger(FuzzyTermIndexBenchmarkTest.class);
+
+    private static final int VOCABULARY_SIZE = 1_000_000;
+    private static final int QUERIES = 20;
+
+    private static String randomWord(Random random) {
+        int length = 5 + random.nextInt(8);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    @Test
+    @DisplayName("Indexed fuzzy lookup matches the full scan and is at least 10x faster at 1M terms")
+    void compareFuzzyLookup() throws Exception {
+        Method isFuzzyMatch = FastIndexSearch.class.getDeclaredMethod(
+            "isFuzzyMatch", String.class, String.class, boolean.class);
+        isFuzzyMatch.setAccessible(true);
+        FastIndexSearch search = new FastIndexSearch();
+
+        Random random = new Random(42);
+        Set<String> vocabulary = new HashSet<>(VOCABULARY_SIZE * 2);
+        while (vocabulary.size() < VOCABULARY_SIZE) {
+            vocabulary.add(randomWord(random));
+        }
+        long buildStart = System.nanoTime();
+        FuzzyTermIndex index = new FuzzyTermIndex();
+        for (String term : vocabulary) {
+            index.add(term);
+        }
+        double buildMs = (System.nanoTime() - buildStart) / 1_000_000.0;
+
+        // Misspellings of indexed terms: one substitution each
+        List<String> terms = new ArrayList<>(vocabulary);
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            char[] word = terms.get(random.nextInt(terms.size())).toCharArray();
+            word[random.nextInt(word.length)] = (char) ('a' + random.nextInt(26));
+            queries.add(new String(word));
+        }
+
+        long scanNanos = 0;
+        long indexNanos = 0;
+        long candidatesCompared = 0;
+        for (String query : queries) {
+            long start = System.nanoTime();
+            Set<String> scanned = new HashSet<>();
+            for (String term : terms) {
+                if ((boolean) isFuzzyMatch.invoke(search, query, term, true)) {
+                    scanned.add(term);
+                }
+            }
+            scanNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Set<String> candidates = index.candidates(query);
+            Set<String> indexed = new HashSet<>();
+            for (String term : candidates) {
+                if ((boolean) isFuzzyMatch.invoke(search, query, term, true)) {
+                    indexed.add(term);
+                }
+            }
+            indexNanos += System.nanoTime() - start;
+            candidatesCompared += candidates.size();
+
+            assertEquals(scanned, indexed, "Both paths must find the same terms for '" + query + "'");
+        }
+
+        double scanMs = scanNanos / 1_000_000.0 / QUERIES;
+        double indexMs = indexNanos / 1_000_000.0 / QUERIES;
+        logger.info("📊 Fuzzy lookup, {} distinct terms ({} queries):", VOCABULARY_SIZE, QUERIES);
+        logger.info("   index build       : {} ms", String.format("%.0f", buildMs));
+        logger.info("   full scan         : {} ms/query", String.format("%.1f", scanMs));
+        logger.info("   fuzzy term index  : {} ms/query, {} candidates/query",
+            String.format("%.1f", indexMs), candidatesCompared / QUERIES);
+
+        assertTrue(indexMs * 10 < scanMs,
+            "Indexed lookup should be at least 10x faster: " + indexMs + " vs " + scanMs + " ms");
+    }
+}
@@ -0,0 +1,91 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.search.metadata.BlockMetadataLayers;
+import com.rbatllet.blockchain.search.metadata.PublicMetadata;
+
+/**
+ * Tests for the fuzzy keyword candidates ({@link FuzzyTermIndex}) of {@link FastIndexSearch}:
+ * they must include every keyword the full vocabulary scan used to match.
+ */
+@DisplayName("Fuzzy term index")
+public class FuzzyTermIndexTest {
+
+    private static String randomWord(Random random, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(5))); // small alphabet: many near matches
+        }
+        return word.toString();
+    }
+
+    private static Set<String> scanMatches(Method isFuzzyMatch, FastIndexSearch search, String query,
+                                           Iterable<String> vocabulary) throws Exception {
+        Set<String> matches = new TreeSet<>();
+        for (String term : vocabulary) {
+            if ((boolean) isFuzzyMatch.invoke(search, query, term, true)) {
+                matches.add(term);
+            }
+        }
+        return matches;
+    }
+
+    @Test
+    @DisplayName("Candidates filtered by isFuzzyMatch equal a full vocabulary scan")
+    void testSameMatchesAsFullScan() throws Exception {
+        Method isFuzzyMatch = FastIndexSearch.class.getDeclaredMethod(
+            "isFuzzyMatch", String.class, String.class, boolean.class);
+        isFuzzyMatch.setAccessible(true);
+        FastIndexSearch search = new FastIndexSearch();
+
+        Random random = new Random(11);
+        FuzzyTermIndex index = new FuzzyTermIndex();
+        Set<String> vocabulary = new TreeSet<>();
+        for (int i = 0; i < 4_000; i++) {
+            String term = randomWord(random, 1, 16);
+            vocabulary.add(term);
+            index.add(term);
+        }
+        List<String> removed = new ArrayList<>(vocabulary).subList(0, 500);
+        for (String term : List.copyOf(removed)) {
+            index.remove(term);
+            vocabulary.remove(term);
+        }
+        assertEquals(vocabulary.size(), index.size());
+
+        for (int i = 0; i < 300; i++) {
+            String query = randomWord(random, 2, 16);
+            Set<String> expected = scanMatches(isFuzzyMatch, search, query, vocabulary);
+            Set<String> actual = scanMatches(isFuzzyMatch, search, query, index.candidates(query));
+            assertEquals(expected, actual, "Fuzzy matches differ for query '" + query + "'");
+        }
+    }
+
+    @Test
+    @DisplayName("Fuzzy search finds misspellings and substrings through the index")
+    void testFuzzySearch() {
+        FastIndexSearch search = new FastIndexSearch();
+        PublicMetadata publicLayer = new PublicMetadata();
+        publicLayer.getGeneralKeywords().add("blockchain");
+        search.indexBlock("fuzzy-hash", new BlockMetadataLayers(publicLayer, null));
+
+        assertEquals(1, search.searchFast("blokchain", 10, true).size(), "One deletion should match");
+        assertTrue(search.searchFast("blokchain", 10, false).isEmpty(), "Public search stays exact");
+        assertEquals(1, search.searchFast("chain", 10, true).size(), "Substring should match");
+        search.removeBlock("fuzzy-hash");
+        assertTrue(search.searchFast("blokchain", 10, true).isEmpty(), "Removed keywords should not match");
+    }
+}
@@ -0,0 +1,161 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the compressed postings ({@link PostingList}) and document ids ({@link DocIdMap})
+ * behind {@link FastIndexSearch}.
+ */
+@DisplayName("Posting lists and document ids")
+public class PostingListTest {
+
+    private static int[] toArray(TreeSet<Integer> ids) {
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    @DisplayName("Random adds and removes match a sorted set across block boundaries")
+    void testMatchesSortedSet() {
+        Random random = new Random(7);
+        PostingList postings = new PostingList();
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        int next = 0;
+        for (int i = 0; i < 5_000; i++) {
+            next += 1 + random.nextInt(i % 3 == 0 ? 100_000 : 3);
+            assertTrue(postings.add(next));
+            expected.add(next);
+        }
+        for (int i = 0; i < 300; i++) {
+            int id = random.nextInt(next);
+            assertEquals(expected.add(id), postings.add(id));
+        }
+        for (int i = 0; i < 300; i++) {
+            int id = random.nextInt(next);
+            assertEquals(expected.remove(id), postings.remove(id));
+        }
+
+        assertEquals(expected.size(), postings.size());
+        assertArrayEquals(toArray(expected), postings.toArray());
+        for (int i = 0; i < 2_000; i++) {
+            int id = random.nextInt(next + 10);
+            assertEquals(expected.contains(id), postings.contains(id));
+        }
+        assertTrue(postings.memoryBytes() < expected.size() * 4L, "Postings should take under 4 bytes each");
+    }
+
+    @Test
+    @DisplayName("Cursor advance skips blocks and never moves backwards")
+    void testCursorAdvance() {
+        PostingList postings = new PostingList();
+        for (int id = 0; id < 10_000; id += 3) {
+            postings.add(id);
+        }
+
+        PostingList.Cursor cursor = postings.cursor();
+        assertEquals(-1, cursor.doc());
+        assertEquals(0, cursor.next());
+        assertEquals(3, cursor.advance(2));
+        assertEquals(3, cursor.advance(1));
+        assertEquals(5_001, cursor.advance(5_000));
+        assertEquals(5_004, cursor.next());
+        assertEquals(9_999, cursor.advance(9_998));
+        assertEquals(PostingList.NO_MORE_DOCS, cursor.next());
+        assertEquals(PostingList.NO_MORE_DOCS, postings.cursor().advance(10_000));
+
+        assertEquals(PostingList.NO_MORE_DOCS, new PostingList().cursor().next());
+        assertThrows(IllegalArgumentException.class, () -> postings.add(-1));
+    }
+
+    @Test
+    @DisplayName("Bulk removal drops exactly the given ids from blocks and tail")
+    void testRemoveAll() {
+        PostingList postings = new PostingList();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int id = 0; id < 1_000; id += 2) {
+            postings.add(id);
+            expected.add(id);
+        }
+
+        // Newest documents (tail plus last block), as after a rollback
+        int[] newest = java.util.stream.IntStream.range(850, 1_000).toArray();
+        assertEquals(75, postings.removeAll(newest));
+        expected.removeIf(id -> id >= 850);
+        assertArrayEquals(toArray(expected), postings.toArray());
+        assertEquals(848, postings.cursor().advance(848));
+        assertEquals(PostingList.NO_MORE_DOCS, postings.cursor().advance(849));
+
+        // Scattered ids across several encoded blocks, some absent
+        assertEquals(3, postings.removeAll(new int[] {1, 2, 300, 301, 600}));
+        expected.removeAll(java.util.List.of(2, 300, 600));
+        assertArrayEquals(toArray(expected), postings.toArray());
+        assertEquals(0, postings.removeAll(new int[] {5_000}));
+
+        postings.add(5_000);
+        assertEquals(5_000, postings.toArray()[postings.size() - 1]);
+        assertEquals(postings.size(), postings.removeAll(postings.toArray()));
+        assertTrue(postings.isEmpty());
+        assertEquals(PostingList.NO_MORE_DOCS, postings.cursor().next());
+    }
+
+    @Test
+    @DisplayName("Document ids are dense, stable per hash and reused after removal")
+    void testDocIdMap() {
+        DocIdMap<String> documents = new DocIdMap<>();
+        assertEquals(0, documents.assign("hash-a", "A"));
+        assertEquals(1, documents.assign("hash-b", "B"));
+        assertEquals(0, documents.assign("hash-a", "A2"));
+        assertEquals("A2", documents.valueOf(0));
+        assertEquals("hash-b", documents.hashOf(1));
+
+        assertEquals(0, documents.remove("hash-a"));
+        assertEquals(-1, documents.remove("hash-a"));
+        assertNull(documents.hashOf(0));
+        assertEquals(-1, documents.idOf("hash-a"));
+        assertEquals(2, documents.idLimit());
+        assertEquals(0, documents.assign("hash-a", "A3"), "The free id is handed out again");
+        assertEquals(2, documents.size());
+
+        for (int i = 0; i < 100; i++) {
+            documents.assign("hash-" + i, "v" + i);
+        }
+        assertEquals("hash-99", documents.hashOf(documents.idOf("hash-99")));
+
+        // The highest free id goes first, and removing the top ids lowers the limit
+        documents.remove("hash-10");
+        documents.remove("hash-20");
+        assertEquals(22, documents.assign("hash-x", "X"));
+        assertEquals(12, documents.assign("hash-y", "Y"));
+        for (int i = 50; i < 100; i++) {
+            documents.remove("hash-" + i);
+        }
+        assertEquals(52, documents.idLimit());
+        documents.remove("hash-40");
+        assertEquals(42, documents.assign("hash-z", "Z"), "Trimmed ids are not free ids");
+        assertEquals(52, documents.assign("hash-50", "v50"));
+
+        // Re-indexing churn keeps the id range at the live count
+        for (int round = 0; round < 1_000; round++) {
+            String hash = "hash-" + (round % 40);
+            documents.remove(hash);
+            documents.assign(hash, "round" + round);
+        }
+        assertEquals(documents.size(), documents.idLimit());
+
+        documents.clear();
+        assertEquals(0, documents.size());
+        assertEquals(0, documents.idLimit());
+        assertFalse(documents.idOf("hash-b") >= 0);
+    }
+}
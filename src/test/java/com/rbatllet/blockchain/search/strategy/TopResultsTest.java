@@ -0,0 +1,93 @@
+package com.rbatllet.blockchain.search.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.search.metadata.BlockMetadataLayers;
+import com.rbatllet.blockchain.search.metadata.PublicMetadata;
+import com.rbatllet.blockchain.search.strategy.FastIndexSearch.FastSearchResult;
+
+/**
+ * Tests for top-k ranking ({@link TopResults}) and BM25 scoring ({@link Bm25Scorer}).
+ */
+@DisplayName("Top results and BM25 ranking")
+public class TopResultsTest {
+
+    private record Item(int id, double score) { }
+
+    @Test
+    @DisplayName("Keeps the same items, in the same order, as a stable sort and limit")
+    void testMatchesSortAndLimit() {
+        Random random = new Random(3);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            items.add(new Item(i, random.nextInt(50) / 10.0)); // many ties
+        }
+
+        for (int k : new int[] {0, 1, 20, 10_000, 20_000}) {
+            TopResults<Item> top = new TopResults<>(k, Item::score);
+            items.forEach(top::offer);
+            List<Item> expected = items.stream()
+                .sorted(Comparator.comparingDouble(Item::score).reversed())
+                .limit(k)
+                .toList();
+            assertEquals(expected, top.toList(), "Top " + k + " should match sort + limit");
+        }
+
+        TopResults<Item> top = new TopResults<>(2, Item::score);
+        assertTrue(top.offer(new Item(0, 1.0)));
+        assertTrue(top.offer(new Item(1, 2.0)));
+        assertFalse(top.accepts(1.0), "A tie with the weakest kept item is rejected");
+        assertTrue(top.accepts(1.5));
+        assertFalse(top.offer(new Item(2, 0.5)));
+        assertEquals(2, top.size());
+        assertThrows(IllegalArgumentException.class, () -> new TopResults<Item>(-1, Item::score));
+    }
+
+    @Test
+    @DisplayName("BM25 favours rare terms and short documents")
+    void testBm25() {
+        Bm25Scorer scorer = new Bm25Scorer();
+        for (int i = 0; i < 1_000; i++) {
+            scorer.addDocument(5);
+        }
+        assertTrue(scorer.idf(1) > scorer.idf(500));
+        assertTrue(scorer.idf(1_000) > 0.0, "Even a term in every document scores above 0");
+        assertTrue(scorer.score(1, 10, 2) > scorer.score(1, 10, 20));
+        assertEquals(1.0, scorer.termFrequencyNorm(1, 5), 1e-9, "Average length with tf 1 is neutral");
+        scorer.removeDocument(5);
+        assertEquals(999, scorer.documentCount());
+        assertEquals(5.0, scorer.averageLength(), 1e-9);
+
+        // In FastIndexSearch a block matching a rare keyword outranks one matching a common keyword
+        FastIndexSearch search = new FastIndexSearch();
+        for (int i = 0; i < 200; i++) {
+            PublicMetadata publicLayer = new PublicMetadata();
+            publicLayer.getGeneralKeywords().add("common");
+            if (i == 150) {
+                publicLayer.getGeneralKeywords().add("rare");
+            } else {
+                publicLayer.getGeneralKeywords().add("filler" + (i % 2));
+            }
+            search.indexBlock("hash-" + i, new BlockMetadataLayers(publicLayer, null));
+        }
+        PublicMetadata rareOnly = new PublicMetadata();
+        rareOnly.getGeneralKeywords().addAll(List.of("rare", "other"));
+        search.indexBlock("hash-rare", new BlockMetadataLayers(rareOnly, null));
+
+        List<FastSearchResult> results = search.searchFast("common rare", 3);
+        assertEquals("hash-150", results.get(0).getBlockHash(), "Both terms should rank first");
+        assertEquals("hash-rare", results.get(1).getBlockHash(), "The rare term alone should beat the common one");
+        assertEquals(200, search.searchFast("common", 500).size());
+    }
+}
@@ -0,0 +1,122 @@
+package com.rbatllet.blockchain.security;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.rbatllet.blockchain.service.SecureBlockEncryptionService;
+
+/**
+ * Tests for the opt-in derived key cache of {@link KeyDerivationUtil}.
+ */
+@DisplayName("Derived key cache")
+public class DerivedKeyCacheTest {
+
+    private static final String PASSWORD = "CachePassword123!";
+
+    @AfterEach
+    void tearDown() {
+        KeyDerivationUtil.disableDerivedKeyCache();
+    }
+
+    private static long stat(String name) {
+        return ((Number) KeyDerivationUtil.getDerivedKeyCacheStatistics().get(name)).longValue();
+    }
+
+    @Test
+    @DisplayName("Disabled by default")
+    void testDisabledByDefault() {
+        assertFalse(KeyDerivationUtil.isDerivedKeyCacheEnabled());
+        assertEquals(Map.of("enabled", false), KeyDerivationUtil.getDerivedKeyCacheStatistics());
+    }
+
+    @Test
+    @DisplayName("Cached keys equal fresh derivations and are returned as copies")
+    void testHitsReturnEqualCopies() {
+        byte[] salt = KeyDerivationUtil.generateSalt();
+        byte[] uncached = KeyDerivationUtil.deriveKey(PASSWORD, salt);
+
+        KeyDerivationUtil.enableDerivedKeyCache();
+        byte[] first = KeyDerivationUtil.deriveKey(PASSWORD, salt);
+        byte[] second = KeyDerivationUtil.deriveKey(PASSWORD, salt);
+
+        assertArrayEquals(uncached, first);
+        assertArrayEquals(uncached, second);
+        assertNotSame(first, second);
+        assertEquals(1, stat("misses"));
+        assertEquals(1, stat("hits"));
+
+        // Callers clearing their copy do not affect the cache
+        Arrays.fill(second, (byte) 0);
+        assertArrayEquals(uncached, KeyDerivationUtil.deriveKey(PASSWORD, salt));
+    }
+
+    @Test
+    @DisplayName("Every derivation parameter is part of the cache key")
+    void testCacheKeyParameters() {
+        KeyDerivationUtil.enableDerivedKeyCache();
+        byte[] salt = KeyDerivationUtil.generateSalt();
+        KeyDerivationUtil.deriveKey(PASSWORD, salt);
+
+        KeyDerivationUtil.deriveKey(PASSWORD + "x", salt);
+        KeyDerivationUtil.deriveKey(PASSWORD, KeyDerivationUtil.generateSalt());
+        KeyDerivationUtil.deriveKey(PASSWORD, salt, 1000, 32);
+        KeyDerivationUtil.deriveKey(PASSWORD, salt, KeyDerivationUtil.getDefaultIterations(), 16);
+        KeyDerivationUtil.deriveKey("PBKDF2WithHmacSHA256", PASSWORD, salt,
+            KeyDerivationUtil.getDefaultIterations(), 32);
+
+        assertEquals(0, stat("hits"));
+        assertEquals(6, stat("misses"));
+    }
+
+    @Test
+    @DisplayName("Bounded by size and time to live, zeroing evicted keys")
+    void testBounds() throws Exception {
+        DerivedKeyCache cache = new DerivedKeyCache(2, Duration.ofMillis(50).toNanos());
+        byte[] a = {1, 2, 3};
+        cache.put("a", a);
+        cache.put("b", new byte[] {4});
+        cache.get("a");
+        cache.put("c", new byte[] {5});
+
+        assertNull(cache.get("b"), "Least recently used entry should be evicted");
+        assertArrayEquals(a, cache.get("a"));
+        assertEquals(1L, cache.getStatistics().get("evictions"));
+
+        Thread.sleep(80);
+        assertNull(cache.get("a"), "Expired entry should not be returned");
+        assertEquals(1, cache.size());
+
+        assertThrows(IllegalArgumentException.class, () -> new DerivedKeyCache(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new DerivedKeyCache(1, 0));
+    }
+
+    @Test
+    @DisplayName("Block decryption with one password derives its key once")
+    void testBlockDecryptionUsesCache() throws Exception {
+        String encrypted = SecureBlockEncryptionService.encryptToString("confidential block data", PASSWORD);
+
+        KeyDerivationUtil.enableDerivedKeyCache(16, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("confidential block data", SecureBlockEncryptionService.decryptFromString(encrypted, PASSWORD));
+        }
+        assertEquals(1, stat("misses"));
+        assertEquals(4, stat("hits"));
+        assertTrue((Double) KeyDerivationUtil.getDerivedKeyCacheStatistics().get("hitRate") > 0.0);
+
+        KeyDerivationUtil.clearDerivedKeyCache();
+        assertEquals(0, stat("size"));
+    }
+}
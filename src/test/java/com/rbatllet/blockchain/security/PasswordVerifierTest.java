@@ -0,0 +1,77 @@
+package com.rbatllet.blockchain.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for password check values ({@link PasswordVerifier}).
+ */
+@DisplayName("Password verifier")
+public class PasswordVerifierTest {
+
+    private static final String GENESIS = "a".repeat(64);
+    private static final String BLOCK = "b".repeat(64);
+
+    @Test
+    @DisplayName("Check values match only the password, chain and block they were made for")
+    void testMatching() {
+        PasswordVerifier medical = PasswordVerifier.derive("Medical_Dept_2024!", GENESIS);
+        PasswordVerifier finance = PasswordVerifier.derive("Finance_Dept_2024!", GENESIS);
+        PasswordVerifier otherChain = PasswordVerifier.derive("Medical_Dept_2024!", "c".repeat(64));
+
+        String checkValue = medical.checkValue(BLOCK);
+        assertEquals(PasswordVerifier.CHECK_VALUE_BYTES * 2, checkValue.length());
+        assertTrue(checkValue.matches("[0-9a-f]+"));
+        assertEquals(checkValue, PasswordVerifier.derive("Medical_Dept_2024!", GENESIS).checkValue(BLOCK));
+
+        assertTrue(medical.matches(BLOCK, checkValue));
+        assertFalse(finance.matches(BLOCK, checkValue));
+        assertFalse(otherChain.matches(BLOCK, checkValue));
+        assertFalse(medical.matches("d".repeat(64), checkValue));
+        assertNotEquals(checkValue, medical.checkValue("d".repeat(64)));
+    }
+
+    @Test
+    @DisplayName("Cached keys are copies: destroying a verifier does not affect the next one")
+    void testCachedKeys() {
+        PasswordVerifier first = PasswordVerifier.derive("Password123!", GENESIS);
+        String checkValue = first.checkValue(BLOCK);
+        first.destroy();
+
+        PasswordVerifier cached = PasswordVerifier.derive("Password123!", GENESIS);
+        assertEquals(checkValue, cached.checkValue(BLOCK));
+        PasswordVerifier.clearCache();
+        assertTrue(cached.matches(BLOCK, checkValue), "Clearing the cache keeps derived verifiers");
+        assertEquals(checkValue, PasswordVerifier.derive("Password123!", GENESIS).checkValue(BLOCK));
+    }
+
+    @Test
+    @DisplayName("Missing or malformed check values never match")
+    void testMalformedCheckValues() {
+        PasswordVerifier verifier = PasswordVerifier.derive("Password123!", GENESIS);
+        assertFalse(verifier.matches(BLOCK, null));
+        assertFalse(verifier.matches(BLOCK, ""));
+        assertFalse(verifier.matches(BLOCK, "zzzzzzzz"));
+        assertFalse(verifier.matches(BLOCK, verifier.checkValue(BLOCK) + "00"));
+        assertFalse(verifier.matches(null, verifier.checkValue(BLOCK)));
+    }
+
+    @Test
+    @DisplayName("Invalid arguments and destroyed verifiers are rejected")
+    void testInvalidUse() {
+        assertThrows(IllegalArgumentException.class, () -> PasswordVerifier.derive(null, GENESIS));
+        assertThrows(IllegalArgumentException.class, () -> PasswordVerifier.derive("", GENESIS));
+        assertThrows(IllegalArgumentException.class, () -> PasswordVerifier.derive("Password123!", null));
+
+        PasswordVerifier verifier = PasswordVerifier.derive("Password123!", GENESIS);
+        assertThrows(IllegalArgumentException.class, () -> verifier.checkValue(null));
+        verifier.destroy();
+        assertThrows(IllegalStateException.class, () -> verifier.checkValue(BLOCK));
+    }
+}
@@ -0,0 +1,227 @@
+package com.rbatllet.blockchain.service;
+
+import com.rbatllet.blockchain.entity.Block;
+import com.rbatllet.blockchain.entity.OffChainData;
+import com.rbatllet.blockchain.security.KeyDerivationUtil;
+import com.rbatllet.blockchain.util.CryptoUtil;
+import com.rbatllet.blockchain.util.validation.BlockValidationUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the chunked off-chain format: streaming store, streaming and random-access reads,
+ * segment authentication and compatibility with legacy single-message files.
+ */
+@DisplayName("Chunked off-chain storage")
+public class ChunkedOffChainStorageTest {
+
+    private static final String PASSWORD = "ChunkedPassword123!";
+    private static final int SEGMENT = ChunkedAeadFormat.DEFAULT_SEGMENT_SIZE;
+
+    private OffChainStorageService service;
+    private KeyPair keyPair;
+    private String publicKey;
+    private final List<OffChainData> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        service = new OffChainStorageService();
+        keyPair = CryptoUtil.generateKeyPair();
+        publicKey = CryptoUtil.publicKeyToString(keyPair.getPublic());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stored.forEach(service::deleteData);
+    }
+
+    private static byte[] payload(int size) {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        return data;
+    }
+
+    private OffChainData store(byte[] data) throws Exception {
+        OffChainData offChainData = service.storeData(new ByteArrayInputStream(data), PASSWORD,
+            keyPair.getPrivate(), publicKey, "application/octet-stream");
+        stored.add(offChainData);
+        return offChainData;
+    }
+
+    @Test
+    @DisplayName("A multi-segment payload is stored from a stream and read back by all read paths")
+    void testStreamRoundTrip() throws Exception {
+        byte[] data = payload(5 * SEGMENT + 123);
+        OffChainData offChainData = store(data);
+        Path file = Path.of(offChainData.getFilePath());
+
+        assertTrue(ChunkedAeadFormat.isChunked(file));
+        assertEquals(ChunkedAeadFormat.encryptedSize(data.length, SEGMENT), Files.size(file));
+        assertEquals(data.length, offChainData.getFileSize());
+        String expectedHash = HexFormat.of().formatHex(
+            MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM).digest(data));
+        assertEquals(expectedHash, offChainData.getDataHash());
+
+        try (InputStream in = service.openDataStream(offChainData, PASSWORD)) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        assertArrayEquals(data, service.retrieveData(offChainData, PASSWORD));
+        assertTrue(service.verifyIntegrity(offChainData, PASSWORD));
+        assertTrue(service.verifyFileStructure(offChainData));
+
+        Block block = new Block();
+        block.setOffChainData(offChainData);
+        assertTrue(BlockValidationUtil.validateOffChainMetadata(block));
+        assertTrue(BlockValidationUtil.validateOffChainDataDetailed(block).isValid());
+    }
+
+    @Test
+    @DisplayName("A byte range spanning a segment boundary is read through the seekable channel")
+    void testRandomAccessRead() throws Exception {
+        byte[] data = payload(4 * SEGMENT);
+        OffChainData offChainData = store(data);
+
+        try (SeekableByteChannel channel = service.openDataChannel(offChainData, PASSWORD)) {
+            assertEquals(data.length, channel.size());
+            int start = 3 * SEGMENT - 100;
+            ByteBuffer range = ByteBuffer.allocate(300);
+            channel.position(start);
+            while (range.hasRemaining() && channel.read(range) > 0) {
+                // read until the range is filled
+            }
+            assertArrayEquals(Arrays.copyOfRange(data, start, start + 300), range.array());
+
+            channel.position(10);
+            ByteBuffer head = ByteBuffer.allocate(16);
+            channel.read(head);
+            assertArrayEquals(Arrays.copyOfRange(data, 10, 26), head.array());
+
+            channel.position(data.length);
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+
+    @Test
+    @DisplayName("A tampered segment fails only when it is read, and truncation is rejected")
+    void testTamperAndTruncationDetected() throws Exception {
+        byte[] data = payload(3 * SEGMENT + 10);
+        OffChainData offChainData = store(data);
+        Path file = Path.of(offChainData.getFilePath());
+        byte[] original = Files.readAllBytes(file);
+
+        // Flip one byte inside segment 2
+        byte[] tampered = original.clone();
+        tampered[ChunkedAeadFormat.HEADER_LENGTH + 2 * (SEGMENT + ChunkedAeadFormat.TAG_LENGTH) + 5] ^= 0x01;
+        Files.write(file, tampered);
+        try (SeekableByteChannel channel = service.openDataChannel(offChainData, PASSWORD)) {
+            ByteBuffer first = ByteBuffer.allocate(64);
+            channel.read(first);
+            assertArrayEquals(Arrays.copyOf(data, 64), first.array(), "Untouched segment still reads");
+            channel.position(2L * SEGMENT);
+            IOException e = assertThrows(IOException.class, () -> channel.read(ByteBuffer.allocate(64)));
+            assertTrue(e.getMessage().contains("segment 2"));
+        }
+        assertFalse(service.verifyIntegrity(offChainData, PASSWORD));
+
+        // Dropping the whole last segment leaves a well-formed size that fails authentication
+        Files.write(file, Arrays.copyOf(original, ChunkedAeadFormat.HEADER_LENGTH
+            + 3 * (SEGMENT + ChunkedAeadFormat.TAG_LENGTH)));
+        assertThrows(Exception.class, () -> service.retrieveData(offChainData, PASSWORD));
+        assertFalse(service.verifyFileStructure(offChainData));
+
+        // A last segment shorter than its tag cannot come from any payload size
+        Files.write(file, Arrays.copyOf(original, original.length - 20));
+        assertThrows(IOException.class, () -> service.openDataChannel(offChainData, PASSWORD));
+
+        // Cutting into the last segment otherwise fails its authentication
+        Files.write(file, Arrays.copyOf(original, original.length - 5));
+        assertFalse(service.verifyIntegrity(offChainData, PASSWORD));
+        assertFalse(service.verifyFileStructure(offChainData));
+
+        Files.write(file, original);
+        assertThrows(Exception.class, () -> service.retrieveData(offChainData, "WrongPassword123!"));
+        assertArrayEquals(data, service.retrieveData(offChainData, PASSWORD));
+    }
+
+    @Test
+    @DisplayName("The output stream API stores incrementally and cleans up on abort or empty payload")
+    void testOutputStreamApi() throws Exception {
+        byte[] data = payload(2 * SEGMENT + 7);
+        OffChainOutputStream out = service.openStoreStream(PASSWORD, keyPair.getPrivate(), publicKey, null);
+        assertThrows(IllegalStateException.class, out::getOffChainData);
+        for (int offset = 0; offset < data.length; offset += 1000) {
+            out.write(data, offset, Math.min(1000, data.length - offset));
+        }
+        out.close();
+        OffChainData offChainData = out.getOffChainData();
+        stored.add(offChainData);
+        assertEquals("application/octet-stream", offChainData.getContentType());
+        assertTrue(CryptoUtil.verifySignature(offChainData.getDataHash(), offChainData.getSignature(),
+            keyPair.getPublic()));
+        assertArrayEquals(data, service.retrieveData(offChainData, PASSWORD));
+
+        OffChainOutputStream aborted = service.openStoreStream(PASSWORD, keyPair.getPrivate(), publicKey, null);
+        aborted.write(data, 0, 100);
+        aborted.abort();
+        assertThrows(IllegalStateException.class, aborted::getOffChainData);
+
+        OffChainOutputStream empty = service.openStoreStream(PASSWORD, keyPair.getPrivate(), publicKey, null);
+        assertThrows(IllegalArgumentException.class, empty::close);
+        assertThrows(IllegalArgumentException.class,
+            () -> service.storeData(new byte[0], PASSWORD, keyPair.getPrivate(), publicKey, null));
+    }
+
+    @Test
+    @DisplayName("Legacy single-message files are still read, verified and checked")
+    void testLegacyFileReadable() throws Exception {
+        byte[] data = payload(SEGMENT + 500);
+        OffChainData chunked = store(data);
+        byte[] iv = Base64.getDecoder().decode(chunked.getEncryptionIV());
+        byte[] salt = Base64.getDecoder().decode(chunked.getEncryptionSalt());
+
+        // Rewrite the file as one GCM message, as stored before the chunked format
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE,
+            KeyDerivationUtil.deriveSecretKey(PASSWORD, salt),
+            new GCMParameterSpec(128, iv));
+        Path file = Path.of(chunked.getFilePath());
+        Files.write(file, cipher.doFinal(data));
+        assertFalse(ChunkedAeadFormat.isChunked(file));
+
+        assertArrayEquals(data, service.retrieveData(chunked, PASSWORD));
+        try (InputStream in = service.openDataStream(chunked, PASSWORD)) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+        try (SeekableByteChannel channel = service.openDataChannel(chunked, PASSWORD)) {
+            ByteBuffer tail = ByteBuffer.allocate(500);
+            channel.position(SEGMENT);
+            channel.read(tail);
+            assertArrayEquals(Arrays.copyOfRange(data, SEGMENT, SEGMENT + 500), tail.array());
+        }
+        assertTrue(service.verifyIntegrity(chunked, PASSWORD));
+        assertTrue(service.verifyFileStructure(chunked));
+        assertEquals(data.length + 16L, OffChainStorageService.storedPayloadSize(file));
+    }
+}
@@ -0,0 +1,64 @@
+package com.rbatllet.blockchain.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BoundedLruCache}.
+ */
+@DisplayName("Bounded LRU cache")
+public class BoundedLruCacheTest {
+
+    @Test
+    @DisplayName("Evicts the least recently used entry and reports it to the listener")
+    public void testEviction() {
+        List<String> evicted = new ArrayList<>();
+        BoundedLruCache<String, String> cache = new BoundedLruCache<>(2, evicted::add);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        assertEquals("A", cache.get("a")); // "b" is now the eldest
+        cache.put("c", "C");
+
+        assertEquals(List.of("B"), evicted);
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.put("a", "A2"), "put returns the previous value");
+        assertNull(cache.put(null, "X"));
+        assertNull(cache.put("x", null));
+        assertThrows(IllegalArgumentException.class, () -> new BoundedLruCache<String, String>(0));
+    }
+
+    @Test
+    @DisplayName("Counts hits and misses, including values rejected by the caller")
+    public void testStatistics() {
+        BoundedLruCache<String, Long> cache = new BoundedLruCache<>(10);
+        for (long i = 0; i < 5; i++) {
+            cache.put("h" + i, i);
+        }
+        assertEquals(3L, cache.get("h3"));
+        assertNull(cache.get("h3", number -> number > 3), "A rejected value is a miss");
+        assertEquals(3L, cache.get("h3"), "and stays cached");
+        assertNull(cache.get("missing"));
+
+        assertEquals(2, cache.removeIf(number -> number >= 3));
+        assertEquals(3, cache.size());
+
+        Map<String, Object> stats = cache.getStatistics();
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+        assertEquals(50.0, (Double) stats.get("hitRate"), 1e-9);
+        assertEquals(10, stats.get("capacity"));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(2L, cache.getStatistics().get("hits"), "clear keeps the statistics");
+        cache.resetStatistics();
+        assertEquals(0L, cache.getStatistics().get("hits"));
+    }
+}
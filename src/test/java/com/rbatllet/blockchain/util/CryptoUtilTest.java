@@ -43,6 +43,54 @@ public class CryptoUtilTest {
         assertNotEquals(hash, hash3);
     }
     
+    @Test
+    @DisplayName("Streaming hash builder matches hashing the concatenated string")
+    public void testHashBuilderMatchesConcatenation() throws Exception {
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            large.append("payload-").append(i).append(" \u00e9\u4e2d\uD83D\uDE00 ");
+        }
+        String[] inputs = {
+            "",
+            testData,
+            "caf\u00e9 \u4e2d\u6587 \uD83D\uDE00",
+            "lone \uD800 surrogate \uDC00 end \uD83D",
+            large.toString()
+        };
+        long[] numbers = {0L, 7L, -42L, 1_700_000_000L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+        java.security.MessageDigest digest = java.security.MessageDigest.getInstance(CryptoUtil.HASH_ALGORITHM);
+        for (String input : inputs) {
+            String expected = java.util.HexFormat.of().formatHex(
+                digest.digest(input.getBytes(java.nio.charset.StandardCharsets.UTF_8)));
+            assertEquals(expected, CryptoUtil.calculateHash(input), "calculateHash must match reference digest");
+
+            for (long number : numbers) {
+                String concatenated = number + input + number;
+                assertEquals(CryptoUtil.calculateHash(concatenated),
+                    CryptoUtil.hashBuilder().append(number).append(input).append(number).toHex(),
+                    "Builder must match concatenation for " + number);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Hashes computed while a builder is in progress do not reset it")
+    public void testHashBuilderReentry() {
+        String expected = CryptoUtil.calculateHash("outer-start" + "outer-end");
+
+        CryptoUtil.HashBuilder outer = CryptoUtil.hashBuilder().append("outer-start");
+        assertEquals(CryptoUtil.calculateHash("inner"), CryptoUtil.calculateHash("inner"));
+        String nested = CryptoUtil.hashBuilder().append("inner").toHex();
+        assertEquals(CryptoUtil.calculateHash("inner"), nested, "A nested builder hashes independently");
+        assertEquals(expected, outer.append("outer-end").toHex(), "The outer digest must survive nested hashes");
+
+        // Once finished, the thread's builder is reused again
+        CryptoUtil.HashBuilder again = CryptoUtil.hashBuilder();
+        assertSame(outer, again);
+        again.toHex();
+    }
+
     // Legacy SHA-256 test removed as part of modernization
     
     @Test
@@ -0,0 +1,116 @@
+package com.rbatllet.blockchain.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the parsed public key cache and the per-thread signature verifier in {@link CryptoUtil}.
+ */
+@DisplayName("Public key cache and reusable verifier")
+public class PublicKeyCacheTest {
+
+    private KeyPair keyPair;
+    private String keyString;
+
+    @BeforeEach
+    public void setUp() {
+        keyPair = CryptoUtil.generateKeyPair();
+        keyString = CryptoUtil.publicKeyToString(keyPair.getPublic());
+    }
+
+    private long hits() {
+        return (Long) CryptoUtil.getPublicKeyCacheStatistics().get("hits");
+    }
+
+    @Test
+    @DisplayName("Cached keys are equal to freshly parsed keys and reused")
+    public void testCachedKeyReuse() {
+        PublicKey first = CryptoUtil.getCachedPublicKey(keyString);
+        assertEquals(CryptoUtil.stringToPublicKey(keyString), first);
+
+        long hitsBefore = hits();
+        PublicKey second = CryptoUtil.getCachedPublicKey(CryptoUtil.calculateHash(keyString), keyString);
+        assertSame(first, second, "Second lookup should return the parsed instance");
+        assertTrue(hits() > hitsBefore);
+
+        Map<String, Object> stats = CryptoUtil.getPublicKeyCacheStatistics();
+        assertTrue((Integer) stats.get("size") > 0);
+        assertTrue((Double) stats.get("hitRate") > 0.0);
+    }
+
+    @Test
+    @DisplayName("A fingerprint never returns a key parsed from another key string")
+    public void testMismatchedFingerprint() {
+        String fingerprint = CryptoUtil.calculateHash(keyString);
+        CryptoUtil.getCachedPublicKey(fingerprint, keyString);
+
+        KeyPair other = CryptoUtil.generateKeyPair();
+        String otherString = CryptoUtil.publicKeyToString(other.getPublic());
+        PublicKey resolved = CryptoUtil.getCachedPublicKey(fingerprint, otherString);
+        assertEquals(other.getPublic(), resolved);
+        assertNotEquals(keyPair.getPublic(), resolved);
+
+        assertThrows(RuntimeException.class, () -> CryptoUtil.getCachedPublicKey("not-base64-!!"));
+        assertThrows(RuntimeException.class, () -> CryptoUtil.getCachedPublicKey(null));
+    }
+
+    @Test
+    @DisplayName("Bounded LRU eviction and invalid capacity")
+    public void testCacheBound() {
+        assertThrows(IllegalArgumentException.class, () -> new PublicKeyCache(0));
+
+        PublicKey key = keyPair.getPublic();
+        PublicKeyCache cache = new PublicKeyCache(2);
+        cache.put("a", "ka", key);
+        cache.put("b", "kb", key);
+        assertSame(key, cache.get("a", "ka"));
+        cache.put("c", "kc", key);
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b", "kb"), "Least recently used entry should be evicted");
+        assertNull(cache.get("a", "other"), "Encoded key must match");
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getStatistics().get("hits"));
+    }
+
+    @Test
+    @DisplayName("Reused verifier stays correct after failures and across threads")
+    public void testReusedVerifier() throws Exception {
+        String signature = CryptoUtil.signData("payload", keyPair.getPrivate());
+        PublicKey publicKey = CryptoUtil.getCachedPublicKey(keyString);
+
+        assertTrue(CryptoUtil.verifySignature("payload", signature, publicKey));
+        assertFalse(CryptoUtil.verifySignature("tampered", signature, publicKey));
+        assertThrows(RuntimeException.class, () -> CryptoUtil.verifySignature("payload", "%%%", publicKey));
+        assertTrue(CryptoUtil.verifySignature("payload", signature, publicKey),
+            "Verifier must be reusable after a failed verification");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                boolean tamper = i % 2 == 1;
+                results.add(executor.submit(() -> CryptoUtil.verifySignature(
+                    tamper ? "tampered" : "payload", signature, CryptoUtil.getCachedPublicKey(keyString))));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i % 2 == 0, results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}